@@ -0,0 +1,164 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.watto.ge.helper.BC6HDecoder;
+import org.watto.ge.helper.BC7Decoder;
+import org.watto.ge.helper.NativeBC6Decomp;
+import org.watto.ge.helper.NativeBC7Decomp;
+
+/**
+**********************************************************************************************
+Compares the pure-Java BC7 and BC6H decoders against the native (JNI) ones. Each operation
+decodes a whole texture of random blocks, with the modes spread evenly across the blocks, and
+the decoding speed is reported in MB/s (of 32-bit pixels) by the Throughput counter. The native
+decoders can only be benchmarked on Windows.
+**********************************************************************************************
+**/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BCDecoderBenchmark {
+
+  @Param({ "BC7", "BC6H", "BC6H_Signed" })
+  public String format;
+
+  @Param({ "Java", "Native" })
+  public String decoder;
+
+  /** The width and height of the texture, in pixels **/
+  @Param({ "1024" })
+  public int size;
+
+  byte[] blocks;
+
+  int numBlocks;
+
+  byte[] blockData = new byte[16];
+
+  int[] pixels = new int[16];
+
+  float[] floats = new float[48];
+
+  BC7Decoder bc7Decoder = new BC7Decoder();
+
+  BC6HDecoder bc6Decoder = new BC6HDecoder();
+
+  NativeBC7Decomp nativeBC7 = null;
+
+  NativeBC6Decomp nativeBC6 = null;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Setup(Level.Trial)
+  public void setup() {
+    boolean bc7 = format.equals("BC7");
+    if (decoder.equals("Native")) {
+      if (bc7) {
+        if (!NativeBC7Decomp.isAvailable()) {
+          throw new IllegalStateException("The native BC7 decoder isn't available on this platform");
+        }
+        nativeBC7 = new NativeBC7Decomp();
+      }
+      else {
+        if (!NativeBC6Decomp.isAvailable()) {
+          throw new IllegalStateException("The native BC6H decoder isn't available on this platform");
+        }
+        nativeBC6 = new NativeBC6Decomp();
+      }
+    }
+
+    numBlocks = (size / 4) * (size / 4);
+    blocks = new byte[numBlocks * 16];
+    new Random(SyntheticCorpus.SEED).nextBytes(blocks);
+
+    // random bytes would mostly be the low modes, so set the mode bits of each block instead
+    int[] bc6Modes = { 0x00, 0x01, 0x02, 0x06, 0x0A, 0x0E, 0x12, 0x16, 0x1A, 0x1E, 0x03, 0x07, 0x0B, 0x0F };
+    for (int i = 0; i < numBlocks; i++) {
+      int first = blocks[i * 16] & 0xFF;
+      if (bc7) {
+        int mode = i % 8;
+        first = (first & ~((2 << mode) - 1)) | (1 << mode);
+      }
+      else {
+        first = (first & 0xE0) | bc6Modes[i % bc6Modes.length];
+      }
+      blocks[i * 16] = (byte) first;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Decodes every block in the texture
+  **********************************************************************************************
+  **/
+  @Benchmark
+  public int decode(Throughput throughput) {
+    boolean signed = format.equals("BC6H_Signed");
+    int total = 0;
+
+    for (int i = 0, offset = 0; i < numBlocks; i++, offset += 16) {
+      if (nativeBC7 != null) {
+        System.arraycopy(blocks, offset, blockData, 0, 16);
+        nativeBC7.unpackBC7Block(blockData, pixels);
+        total += pixels[0];
+      }
+      else if (nativeBC6 != null) {
+        System.arraycopy(blocks, offset, blockData, 0, 16);
+        if (signed) {
+          nativeBC6.unpackBC6BlockSigned(blockData, floats);
+        }
+        else {
+          nativeBC6.unpackBC6Block(blockData, floats);
+        }
+        total += (int) floats[0];
+      }
+      else if (format.equals("BC7")) {
+        bc7Decoder.decodeBlock(blocks, offset, pixels, 0, 4);
+        total += pixels[0];
+      }
+      else {
+        bc6Decoder.decodeBlock(blocks, offset, floats, signed);
+        total += (int) floats[0];
+      }
+    }
+
+    throughput.add(numBlocks * 16 * 4);
+    return total;
+  }
+
+}
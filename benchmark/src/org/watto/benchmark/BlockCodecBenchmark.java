@@ -0,0 +1,123 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.watto.io.codec.BlockCodec;
+import org.watto.io.codec.BlockCodecRegistry;
+
+/**
+**********************************************************************************************
+Compares all the BlockCodecs for a format against each other, on the same compressed blocks of a
+SyntheticCorpus. Each operation decompresses the whole corpus, and the decompression speed is
+reported in MB/s by the Throughput counter. The fastest codec for a format can then be chosen
+with the BlockCodec_<i>format</i> setting.
+**********************************************************************************************
+**/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockCodecBenchmark {
+
+  /** Each codec, as <i>format</i>/<i>name</i> **/
+  @Param({ "LZ4/LZ4Java", "LZ4/Java", "LZF/Unsafe", "LZF/Java", "ZLib/Inflater", "Deflate/Inflater", "ZStd/Java", "LZO1X/Java" })
+  public String codec;
+
+  @Param({ SyntheticCorpus.TEXT, SyntheticCorpus.RECORDS, SyntheticCorpus.IMAGE, SyntheticCorpus.RANDOM })
+  public String corpus;
+
+  /** The size of the corpus, in bytes **/
+  @Param({ "4194304" })
+  public int corpusSize;
+
+  BlockCodec blockCodec;
+
+  CompressedFixture fixture;
+
+  byte[] output;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    int split = codec.indexOf('/');
+    String format = codec.substring(0, split);
+    String name = codec.substring(split + 1);
+
+    blockCodec = BlockCodecRegistry.getCodec(format, name);
+    if (blockCodec == null) {
+      throw new IllegalArgumentException("There is no BlockCodec called " + codec);
+    }
+
+    byte[] data = SyntheticCorpus.generate(corpus, corpusSize);
+    fixture = new CompressedFixture(format, data);
+    output = new byte[CompressedFixture.BLOCK_SIZE];
+
+    // make sure the codec actually decodes the data properly, otherwise the timings are meaningless
+    int numBlocks = fixture.getBlockCount();
+    for (int i = 0; i < numBlocks; i++) {
+      byte[] block = fixture.getCompressedBlock(i);
+      int length = fixture.getDecompressedLength(i);
+      int decompLength = blockCodec.decompress(block, 0, block.length, output, 0, length);
+      if (decompLength != length) {
+        throw new IOException(codec + " decompressed block " + i + " to " + decompLength + " bytes instead of " + length);
+      }
+      for (int b = 0; b < length; b++) {
+        if (output[b] != data[i * CompressedFixture.BLOCK_SIZE + b]) {
+          throw new IOException(codec + " decompressed block " + i + " incorrectly at byte " + b);
+        }
+      }
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Decompresses every block in the corpus
+  **********************************************************************************************
+  **/
+  @Benchmark
+  public int decompress(Throughput throughput) throws IOException {
+    int total = 0;
+    int numBlocks = fixture.getBlockCount();
+    for (int i = 0; i < numBlocks; i++) {
+      byte[] block = fixture.getCompressedBlock(i);
+      total += blockCodec.decompress(block, 0, block.length, output, 0, fixture.getDecompressedLength(i));
+    }
+    throughput.add(total);
+    return total;
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+import org.anarres.lzo.LzoAlgorithm;
+import org.anarres.lzo.LzoCompressor;
+import org.anarres.lzo.LzoLibrary;
+import org.anarres.lzo.lzo_uintp;
+import org.apache.commons.compress.compressors.lz4.BlockLZ4CompressorOutputStream;
+
+import com.ning.compress.lzf.ChunkEncoder;
+import com.ning.compress.lzf.LZFChunk;
+import com.ning.compress.lzf.util.ChunkEncoderFactory;
+
+import io.airlift.compress.zstd.ZstdCompressor;
+
+/**
+**********************************************************************************************
+Compresses a SyntheticCorpus into independent blocks for each BlockCodec format, so that all the
+codecs for a format can be benchmarked against the same compressed data.
+**********************************************************************************************
+**/
+public class CompressedFixture {
+
+  /** The size of each block. LZF chunks can't be any larger than this. **/
+  public static final int BLOCK_SIZE = LZFChunk.MAX_CHUNK_LEN;
+
+  byte[][] compressedBlocks;
+
+  int[] decompressedLengths;
+
+  int totalLength;
+
+  /**
+  **********************************************************************************************
+  Splits the <i>data</i> into blocks and compresses each of them in the <i>format</i>
+  **********************************************************************************************
+  **/
+  public CompressedFixture(String format, byte[] data) throws IOException {
+    totalLength = data.length;
+
+    int numBlocks = (totalLength + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    compressedBlocks = new byte[numBlocks][];
+    decompressedLengths = new int[numBlocks];
+
+    for (int i = 0; i < numBlocks; i++) {
+      int offset = i * BLOCK_SIZE;
+      int length = Math.min(BLOCK_SIZE, totalLength - offset);
+      compressedBlocks[i] = compress(format, data, offset, length);
+      decompressedLengths[i] = length;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static byte[] compress(String format, byte[] data, int offset, int length) throws IOException {
+    if (format.equals("LZ4")) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream(length);
+      BlockLZ4CompressorOutputStream lz4 = new BlockLZ4CompressorOutputStream(output);
+      lz4.write(data, offset, length);
+      lz4.close();
+      return output.toByteArray();
+    }
+    else if (format.equals("ZLib") || format.equals("Deflate")) {
+      Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, format.equals("Deflate"));
+      deflater.setInput(data, offset, length);
+      deflater.finish();
+      ByteArrayOutputStream output = new ByteArrayOutputStream(length);
+      byte[] buffer = new byte[16384];
+      while (!deflater.finished()) {
+        output.write(buffer, 0, deflater.deflate(buffer));
+      }
+      deflater.end();
+      return output.toByteArray();
+    }
+    else if (format.equals("ZStd")) {
+      ZstdCompressor compressor = new ZstdCompressor();
+      byte[] output = new byte[compressor.maxCompressedLength(length)];
+      int compLength = compressor.compress(data, offset, length, output, 0, output.length);
+      return trim(output, compLength);
+    }
+    else if (format.equals("LZO1X")) {
+      LzoCompressor compressor = LzoLibrary.getInstance().newCompressor(LzoAlgorithm.LZO1X, null);
+      byte[] output = new byte[length + length / 16 + 64 + 3];
+      lzo_uintp compLength = new lzo_uintp();
+      compressor.compress(data, offset, length, output, 0, compLength);
+      return trim(output, compLength.value);
+    }
+    else if (format.equals("LZF")) {
+      return compressLZF(data, offset, length);
+    }
+    throw new IllegalArgumentException("No compressor for format: " + format);
+  }
+
+  /**
+  **********************************************************************************************
+  The LZF codecs decode raw chunk data, so the chunk header is removed. Chunks that didn't
+  compress are stored as LZF literal runs instead.
+  **********************************************************************************************
+  **/
+  static byte[] compressLZF(byte[] data, int offset, int length) {
+    ChunkEncoder encoder = ChunkEncoderFactory.safeInstance(length);
+    byte[] chunk = encoder.encodeChunk(data, offset, length).getData();
+    encoder.close();
+
+    if (chunk[2] == LZFChunk.BLOCK_TYPE_COMPRESSED) {
+      int headerLength = LZFChunk.HEADER_LEN_COMPRESSED;
+      byte[] raw = new byte[chunk.length - headerLength];
+      System.arraycopy(chunk, headerLength, raw, 0, raw.length);
+      return raw;
+    }
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream(length + length / 32 + 1);
+    int pos = offset;
+    int end = offset + length;
+    while (pos < end) {
+      int runLength = Math.min(LZFChunk.MAX_LITERAL, end - pos);
+      output.write(runLength - 1);
+      output.write(data, pos, runLength);
+      pos += runLength;
+    }
+    return output.toByteArray();
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public int getBlockCount() {
+    return compressedBlocks.length;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public byte[] getCompressedBlock(int block) {
+    return compressedBlocks[block];
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public int getDecompressedLength(int block) {
+    return decompressedLengths[block];
+  }
+
+  /**
+  **********************************************************************************************
+  The total length of all the blocks, when they're decompressed
+  **********************************************************************************************
+  **/
+  public int getTotalLength() {
+    return totalLength;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static byte[] trim(byte[] data, int length) {
+    byte[] trimmed = new byte[length];
+    System.arraycopy(data, 0, trimmed, 0, length);
+    return trimmed;
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+**********************************************************************************************
+Measures how fast each exporter compresses a SyntheticCorpus with its pack() method, in the same
+way as when files are replaced in an archive. The compressed data is written into memory, so the
+disk speed doesn't affect the results. The speed is reported in MB/s (of uncompressed data) by
+the Throughput counter.
+**********************************************************************************************
+**/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExporterEncodeBenchmark {
+
+  @Param({ "ZLib", "LZ4", "LZMA", "REFPACK", "LZSS" })
+  public String exporter;
+
+  @Param({ SyntheticCorpus.TEXT, SyntheticCorpus.RECORDS, SyntheticCorpus.IMAGE, SyntheticCorpus.RANDOM })
+  public String corpus;
+
+  /** The size of the corpus, in bytes **/
+  @Param({ "1048576" })
+  public int corpusSize;
+
+  ExporterFixture fixture;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    fixture = new ExporterFixture(exporter, SyntheticCorpus.generate(corpus, corpusSize));
+    fixture.verify();
+  }
+
+  /**
+  **********************************************************************************************
+  Compresses the whole corpus
+  **********************************************************************************************
+  **/
+  @Benchmark
+  public long encode(Throughput throughput) {
+    long compLength = fixture.encode();
+    throughput.add(fixture.getLength());
+    return compLength;
+  }
+
+}
@@ -0,0 +1,379 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+import org.anarres.lzo.LzoAlgorithm;
+import org.anarres.lzo.LzoCompressor;
+import org.anarres.lzo.LzoLibrary;
+import org.anarres.lzo.lzo_uintp;
+import org.watto.Settings;
+import org.watto.datatype.Resource;
+import org.watto.ge.helper.DecompressedBlockCache;
+import org.watto.ge.plugin.ExporterPlugin;
+import org.watto.ge.plugin.exporter.BlockExporterWrapper;
+import org.watto.ge.plugin.exporter.BlockVariableExporterWrapper;
+import org.watto.ge.plugin.exporter.Exporter_Default;
+import org.watto.ge.plugin.exporter.Exporter_LZ4;
+import org.watto.ge.plugin.exporter.Exporter_LZMA;
+import org.watto.ge.plugin.exporter.Exporter_LZO;
+import org.watto.ge.plugin.exporter.Exporter_LZSS;
+import org.watto.ge.plugin.exporter.Exporter_REFPACK;
+import org.watto.ge.plugin.exporter.Exporter_ZLib;
+import org.watto.ge.plugin.exporter.Exporter_ZStd;
+import org.watto.io.FileManipulator;
+import org.watto.io.buffer.ByteBuffer;
+
+import io.airlift.compress.zstd.ZstdCompressor;
+
+/**
+**********************************************************************************************
+A SyntheticCorpus written to a temporary file, along with a compressed copy of it for one of the
+exporters. Exporters that have a pack() method compress the fixture themselves. The others use
+a reference encoder that writes the same format that the exporter reads.
+**********************************************************************************************
+**/
+public class ExporterFixture {
+
+  /** The exporters that can be benchmarked, for the decode benchmarks **/
+  public static final String[] DECODE_EXPORTERS = { "ZLib", "LZ4", "LZO", "LZMA", "ZStd", "REFPACK", "LZSS", "Block_ZLib", "BlockVariable_ZLib_LZ4" };
+
+  /** The exporters that have a pack() method, for the encode benchmarks **/
+  public static final String[] ENCODE_EXPORTERS = { "ZLib", "LZ4", "LZMA", "REFPACK", "LZSS" };
+
+  /** The size of each block, for the block wrappers **/
+  public static final int BLOCK_SIZE = 65536;
+
+  /** The size of each block in the LZO (lpack) format **/
+  public static final int LZO_BLOCK_SIZE = 262144;
+
+  static final byte[] LZO_MAGIC = { 0x00, (byte) 0xe9, 0x4c, 0x5a, 0x4f, (byte) 0xff, 0x1a };
+
+  static boolean settingsLoaded = false;
+
+  byte[] data;
+
+  File rawFile;
+
+  File compressedFile;
+
+  Resource rawResource;
+
+  Resource compressedResource;
+
+  ExporterPlugin exporter;
+
+  /**
+  **********************************************************************************************
+  Writes the <i>data</i> to a temporary file, and compresses it for the exporter called
+  <i>exporterName</i> (one of the DECODE_EXPORTERS)
+  **********************************************************************************************
+  **/
+  public ExporterFixture(String exporterName, byte[] data) throws IOException {
+    loadSettings();
+
+    // turn off the block cache, otherwise the block wrappers only decompress on the first iteration
+    DecompressedBlockCache.setMaxCacheSize(0);
+
+    this.data = data;
+    int length = data.length;
+
+    rawFile = createTempFile("raw");
+    writeFile(rawFile, data);
+    rawResource = new Resource(rawFile, "raw", 0, length, length, Exporter_Default.getInstance());
+
+    compressedFile = createTempFile(exporterName);
+
+    long offset = 0;
+    if (exporterName.equals("ZLib")) {
+      exporter = Exporter_ZLib.getInstance();
+      pack();
+    }
+    else if (exporterName.equals("LZ4")) {
+      exporter = Exporter_LZ4.getInstance();
+      pack();
+    }
+    else if (exporterName.equals("LZMA")) {
+      exporter = Exporter_LZMA.getInstance();
+      pack();
+    }
+    else if (exporterName.equals("REFPACK")) {
+      exporter = Exporter_REFPACK.getInstance();
+      pack();
+    }
+    else if (exporterName.equals("LZSS")) {
+      exporter = Exporter_LZSS.getInstance();
+      pack();
+      offset = 4; // skip the "slh!" header that pack() writes, which the decoder doesn't read
+    }
+    else if (exporterName.equals("ZStd")) {
+      exporter = Exporter_ZStd.getInstance();
+      ZstdCompressor compressor = new ZstdCompressor();
+      byte[] output = new byte[compressor.maxCompressedLength(length)];
+      int compLength = compressor.compress(data, 0, length, output, 0, output.length);
+      writeFile(compressedFile, output, compLength);
+    }
+    else if (exporterName.equals("LZO")) {
+      exporter = Exporter_LZO.getInstance();
+      writeFile(compressedFile, compressLpack(data));
+    }
+    else if (exporterName.equals("Block_ZLib")) {
+      exporter = createBlockWrapper(new ExporterPlugin[] { Exporter_ZLib.getInstance() }, false);
+    }
+    else if (exporterName.equals("BlockVariable_ZLib_LZ4")) {
+      exporter = createBlockWrapper(new ExporterPlugin[] { Exporter_ZLib.getInstance(), Exporter_LZ4.getInstance() }, true);
+    }
+    else {
+      throw new IllegalArgumentException("Unknown exporter: " + exporterName);
+    }
+
+    compressedResource = new Resource(compressedFile, exporterName, offset, compressedFile.length() - offset, length, exporter);
+  }
+
+  /**
+  **********************************************************************************************
+  Compresses the data in the lpack format that Exporter_LZO reads, using the LZO1X compressor
+  **********************************************************************************************
+  **/
+  static byte[] compressLpack(byte[] data) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(data.length);
+    output.write(LZO_MAGIC);
+    writeBigInt(output, 0); // flags
+    output.write(1); // method (LZO1X)
+    output.write(5); // level
+    writeBigInt(output, LZO_BLOCK_SIZE);
+
+    LzoCompressor compressor = LzoLibrary.getInstance().newCompressor(LzoAlgorithm.LZO1X, null);
+    byte[] block = new byte[LZO_BLOCK_SIZE + LZO_BLOCK_SIZE / 16 + 64 + 3];
+    lzo_uintp compLength = new lzo_uintp();
+
+    int length = data.length;
+    for (int offset = 0; offset < length; offset += LZO_BLOCK_SIZE) {
+      int blockLength = Math.min(LZO_BLOCK_SIZE, length - offset);
+      compressor.compress(data, offset, blockLength, block, 0, compLength);
+
+      writeBigInt(output, blockLength);
+      if (compLength.value < blockLength) {
+        writeBigInt(output, compLength.value);
+        output.write(block, 0, compLength.value);
+      }
+      else {
+        // stored uncompressed
+        writeBigInt(output, blockLength);
+        output.write(data, offset, blockLength);
+      }
+    }
+
+    writeBigInt(output, 0); // EOF marker
+    return output.toByteArray();
+  }
+
+  /**
+  **********************************************************************************************
+  Splits the data into ZLib (or alternating ZLib and LZ4) blocks, and builds the wrapper to read
+  them, like an archive plugin would
+  **********************************************************************************************
+  **/
+  ExporterPlugin createBlockWrapper(ExporterPlugin[] blockExporters, boolean variable) throws IOException {
+    int length = data.length;
+    int numBlocks = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+    long[] blockOffsets = new long[numBlocks];
+    long[] blockLengths = new long[numBlocks];
+    long[] decompLengths = new long[numBlocks];
+    ExporterPlugin[] exporters = new ExporterPlugin[numBlocks];
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream(length);
+    for (int i = 0; i < numBlocks; i++) {
+      int offset = i * BLOCK_SIZE;
+      int blockLength = Math.min(BLOCK_SIZE, length - offset);
+
+      exporters[i] = blockExporters[i % blockExporters.length];
+
+      String format = "ZLib";
+      if (exporters[i] instanceof Exporter_LZ4) {
+        format = "LZ4";
+      }
+      byte[] compBlock = CompressedFixture.compress(format, data, offset, blockLength);
+
+      blockOffsets[i] = output.size();
+      blockLengths[i] = compBlock.length;
+      decompLengths[i] = blockLength;
+      output.write(compBlock);
+    }
+
+    writeFile(compressedFile, output.toByteArray());
+
+    if (variable) {
+      return new BlockVariableExporterWrapper(exporters, blockOffsets, blockLengths, decompLengths);
+    }
+    return new BlockExporterWrapper(blockExporters[0], blockOffsets, blockLengths, decompLengths);
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static File createTempFile(String name) throws IOException {
+    File file = File.createTempFile("ge_benchmark_" + name + "_", ".dat");
+    file.deleteOnExit();
+    return file;
+  }
+
+  /**
+  **********************************************************************************************
+  Reads the whole compressed resource through the exporter
+  @return the number of bytes that were read
+  **********************************************************************************************
+  **/
+  public int decode() {
+    exporter.open(compressedResource);
+
+    int length = 0;
+    while (exporter.available()) {
+      exporter.read();
+      length++;
+    }
+
+    exporter.close();
+    return length;
+  }
+
+  /**
+  **********************************************************************************************
+  Compresses the raw data with the exporter, into memory
+  @return the compressed length
+  **********************************************************************************************
+  **/
+  public long encode() {
+    FileManipulator destination = new FileManipulator(new ByteBuffer(data.length + 1024));
+    exporter.pack(rawResource, destination);
+    long compLength = destination.getOffset();
+    destination.close();
+    return compLength;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public int getLength() {
+    return data.length;
+  }
+
+  /**
+  **********************************************************************************************
+  Loads the program settings, so the exporters see the same settings as they do in the program.
+  The benchmarks are run from the Game Extractor directory, so the settings are found there.
+  **********************************************************************************************
+  **/
+  static synchronized void loadSettings() {
+    if (settingsLoaded) {
+      return;
+    }
+    settingsLoaded = true;
+
+    File settingsFile = new File("settings" + File.separator + "settings.xml");
+    if (settingsFile.exists()) {
+      Settings.loadSettings(settingsFile);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  void pack() {
+    FileManipulator destination = new FileManipulator(compressedFile, true);
+    exporter.pack(rawResource, destination);
+    destination.close();
+  }
+
+  /**
+  **********************************************************************************************
+  Checks that the exporter decodes the fixture back to the original data, otherwise the timings
+  are meaningless
+  **********************************************************************************************
+  **/
+  public void verify() throws IOException {
+    exporter.open(compressedResource);
+
+    int length = data.length;
+    int pos = 0;
+    while (exporter.available()) {
+      if (pos >= length) {
+        exporter.close();
+        throw new IOException(exporter.getName() + " decoded more than " + length + " bytes");
+      }
+      if ((byte) exporter.read() != data[pos]) {
+        exporter.close();
+        throw new IOException(exporter.getName() + " decoded the wrong data at byte " + pos);
+      }
+      pos++;
+    }
+
+    exporter.close();
+
+    if (pos != length) {
+      throw new IOException(exporter.getName() + " decoded " + pos + " bytes instead of " + length);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static void writeBigInt(ByteArrayOutputStream output, int value) {
+    output.write(value >>> 24);
+    output.write(value >>> 16);
+    output.write(value >>> 8);
+    output.write(value);
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static void writeFile(File file, byte[] data) throws IOException {
+    writeFile(file, data, data.length);
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static void writeFile(File file, byte[] data, int length) throws IOException {
+    FileOutputStream output = new FileOutputStream(file);
+    try {
+      output.write(data, 0, length);
+    }
+    finally {
+      output.close();
+    }
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.benchmark;
+
+import java.util.Random;
+
+/**
+**********************************************************************************************
+Generates the data that the benchmarks compress and decompress. The data is built from a fixed
+seed, so every run (and every machine) benchmarks exactly the same bytes, without needing to
+ship real game files with the source.
+**********************************************************************************************
+**/
+public class SyntheticCorpus {
+
+  /** Text, like scripts and XML. Very compressible. **/
+  public static final String TEXT = "text";
+
+  /** Fixed-size records of ints, floats and short strings, like file tables and model data **/
+  public static final String RECORDS = "records";
+
+  /** Smooth gradients with noise, like uncompressed texture data **/
+  public static final String IMAGE = "image";
+
+  /** Random bytes, like data that is already compressed or encrypted. Not compressible. **/
+  public static final String RANDOM = "random";
+
+  /** The seed that is used to build every corpus **/
+  public static final long SEED = 0x47616D6545787472L;
+
+  static final String[] WORDS = { "the", "texture", "model", "sound", "archive", "file", "directory", "offset", "length", "<entry", "name=\"", "\"/>", "level", "player", "weapon", "0", "1", "255", "true", "false", "{", "}", "=", ";", "\r\n", "\t" };
+
+  /**
+  **********************************************************************************************
+  Builds <i>length</i> bytes of the corpus of the given <i>type</i>
+  **********************************************************************************************
+  **/
+  public static byte[] generate(String type, int length) {
+    Random random = new Random(SEED ^ type.hashCode());
+    byte[] data = new byte[length];
+
+    if (type.equals(TEXT)) {
+      generateText(random, data);
+    }
+    else if (type.equals(RECORDS)) {
+      generateRecords(random, data);
+    }
+    else if (type.equals(IMAGE)) {
+      generateImage(random, data);
+    }
+    else if (type.equals(RANDOM)) {
+      random.nextBytes(data);
+    }
+    else {
+      throw new IllegalArgumentException("Unknown corpus type: " + type);
+    }
+
+    return data;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static void generateImage(Random random, byte[] data) {
+    int width = 256;
+    int pos = 0;
+    int length = data.length;
+    for (int y = 0; pos < length; y++) {
+      for (int x = 0; x < width && pos < length; x++) {
+        // BGRA pixels
+        int noise = random.nextInt(8);
+        int[] pixel = { x + noise, y + noise, (x + y) / 2 + noise, 255 };
+        for (int c = 0; c < 4 && pos < length; c++) {
+          data[pos++] = (byte) pixel[c];
+        }
+      }
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static void generateRecords(Random random, byte[] data) {
+    int pos = 0;
+    int length = data.length;
+    int offset = 0;
+    int id = 0;
+    while (pos < length) {
+      // offset, length, id, a float, and a short name
+      int fileLength = random.nextInt(65536);
+      int[] fields = { offset, fileLength, id, Float.floatToIntBits(random.nextFloat() * 100) };
+      offset += fileLength;
+      id++;
+
+      for (int f = 0; f < fields.length; f++) {
+        int field = fields[f];
+        for (int b = 0; b < 4 && pos < length; b++) {
+          data[pos++] = (byte) (field >> (b * 8));
+        }
+      }
+
+      String name = WORDS[random.nextInt(WORDS.length)] + id;
+      for (int c = 0; c < 16 && pos < length; c++) {
+        if (c < name.length()) {
+          data[pos++] = (byte) name.charAt(c);
+        }
+        else {
+          data[pos++] = 0;
+        }
+      }
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static void generateText(Random random, byte[] data) {
+    int pos = 0;
+    int length = data.length;
+    while (pos < length) {
+      String word = WORDS[random.nextInt(WORDS.length)];
+      int wordLength = word.length();
+      for (int c = 0; c < wordLength && pos < length; c++) {
+        data[pos++] = (byte) word.charAt(c);
+      }
+      if (pos < length) {
+        data[pos++] = ' ';
+      }
+    }
+  }
+
+}
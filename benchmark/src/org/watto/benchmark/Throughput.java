@@ -0,0 +1,58 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+**********************************************************************************************
+Counts the number of megabytes that are processed by a benchmark. JMH reports this counter as a
+rate, alongside the normal score, so it shows up in the results as MB/s.
+**********************************************************************************************
+**/
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Throughput {
+
+  static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+  /** The number of megabytes (of decompressed data) that have been processed **/
+  public double megabytes;
+
+  /**
+  **********************************************************************************************
+  Adds <i>length</i> bytes to the counter
+  **********************************************************************************************
+  **/
+  public void add(long length) {
+    megabytes += length / BYTES_PER_MEGABYTE;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Setup(Level.Iteration)
+  public void reset() {
+    megabytes = 0;
+  }
+
+}
@@ -286,11 +286,22 @@ public final class QuickLZ {
   }
 
   static public byte[] decompress(byte[] source) {
+    byte[] destination = new byte[(int) sizeDecompressed(source)];
+    decompress(source, destination);
+    return destination;
+  }
+
+  /**
+   * Decompresses the <i>source</i> into the start of the <i>destination</i>, which must be at
+   * least sizeDecompressed(source) bytes long. Returns the decompressed length.
+   */
+  static public int decompress(byte[] source, byte[] destination) {
     int size = (int) sizeDecompressed(source);
     int src = headerLen(source);
     int dst = 0;
     long cword_val = 1;
-    byte[] destination = new byte[size];
+    if (destination.length < size)
+      throw new RuntimeException("Destination is too small for the decompressed data");
     int[] hashtable = new int[4096];
     byte[] hash_counter = new byte[4096];
     int last_matchstart = size - UNCONDITIONAL_MATCHLEN - UNCOMPRESSED_END - 1;
@@ -304,9 +315,8 @@ public final class QuickLZ {
       throw new RuntimeException("Java version only supports level 1 and 3");
 
     if ((source[0] & 1) != 1) {
-      byte[] d2 = new byte[size];
-      System.arraycopy(source, headerLen(source), d2, 0, size);
-      return d2;
+      System.arraycopy(source, headerLen(source), destination, 0, size);
+      return size;
     }
 
     for (;;) {
@@ -429,7 +439,7 @@ public final class QuickLZ {
             src++;
             cword_val = cword_val >>> 1;
           }
-          return destination;
+          return size;
         }
       }
     }
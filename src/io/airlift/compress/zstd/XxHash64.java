@@ -15,6 +15,7 @@ package io.airlift.compress.zstd;
 
 import static io.airlift.compress.zstd.UnsafeUtil.UNSAFE;
 import static java.lang.Long.rotateLeft;
+import static sun.misc.Unsafe.ARRAY_BYTE_BASE_OFFSET;
 
 // forked from https://github.com/airlift/slice
 final class XxHash64
@@ -25,7 +26,102 @@ final class XxHash64
     private static final long PRIME64_4 = 0x85EBCA77C2b2AE63L;
     private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
 
-    private XxHash64() {}
+    private final long seed;
+    private final byte[] buffer = new byte[32];
+    private int bufferSize;
+    private long bodyLength;
+
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+
+    private XxHash64() {
+        this(0);
+    }
+
+    /**
+     * Creates a hasher that can be fed the data a piece at a time, for
+     * streaming decompression where the whole frame isn't in memory at once
+     */
+    XxHash64(long seed)
+    {
+        this.seed = seed;
+        reset();
+    }
+
+    void reset()
+    {
+        v1 = seed + PRIME64_1 + PRIME64_2;
+        v2 = seed + PRIME64_2;
+        v3 = seed;
+        v4 = seed - PRIME64_1;
+        bufferSize = 0;
+        bodyLength = 0;
+    }
+
+    void update(Object base, long address, int length)
+    {
+        if (bufferSize > 0) {
+            int available = Math.min(32 - bufferSize, length);
+            UNSAFE.copyMemory(base, address, buffer, ARRAY_BYTE_BASE_OFFSET + bufferSize, available);
+            bufferSize += available;
+            address += available;
+            length -= available;
+
+            if (bufferSize == 32) {
+                updateStripes(buffer, ARRAY_BYTE_BASE_OFFSET, 32);
+                bufferSize = 0;
+            }
+        }
+
+        if (length >= 32) {
+            int index = length & 0xFFFFFFE0;
+            updateStripes(base, address, index);
+            address += index;
+            length -= index;
+        }
+
+        if (length > 0) {
+            UNSAFE.copyMemory(base, address, buffer, ARRAY_BYTE_BASE_OFFSET + bufferSize, length);
+            bufferSize += length;
+        }
+    }
+
+    long hash()
+    {
+        long hash;
+        if (bodyLength > 0) {
+            hash = rotateLeft(v1, 1) + rotateLeft(v2, 7) + rotateLeft(v3, 12) + rotateLeft(v4, 18);
+
+            hash = update(hash, v1);
+            hash = update(hash, v2);
+            hash = update(hash, v3);
+            hash = update(hash, v4);
+        }
+        else {
+            hash = seed + PRIME64_5;
+        }
+
+        hash += bodyLength + bufferSize;
+
+        return updateTail(hash, buffer, ARRAY_BYTE_BASE_OFFSET, 0, bufferSize);
+    }
+
+    private void updateStripes(Object base, long address, int length)
+    {
+        int remaining = length;
+        while (remaining >= 32) {
+            v1 = mix(v1, UNSAFE.getLong(base, address));
+            v2 = mix(v2, UNSAFE.getLong(base, address + 8));
+            v3 = mix(v3, UNSAFE.getLong(base, address + 16));
+            v4 = mix(v4, UNSAFE.getLong(base, address + 24));
+
+            address += 32;
+            remaining -= 32;
+        }
+        bodyLength += length;
+    }
 
     public static long hash(long seed, Object base, long address, int length)
     {
@@ -97,4 +97,12 @@ public class ZstdDecompressor
     int baseAddress = ARRAY_BYTE_BASE_OFFSET + offset;
     return ZstdFrameDecompressor.getDecompressedSize(input, baseAddress, baseAddress + length);
   }
+
+  /**
+   * @return the ID of the dictionary needed by the first frame, or -1 if it doesn't use a dictionary
+   */
+  public static long getDictionaryId(byte[] input, int offset, int length) {
+    int baseAddress = ARRAY_BYTE_BASE_OFFSET + offset;
+    return ZstdFrameDecompressor.getDictionaryId(input, baseAddress, baseAddress + length);
+  }
 }
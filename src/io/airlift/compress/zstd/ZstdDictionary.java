@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.airlift.compress.zstd;
+
+import static io.airlift.compress.zstd.Constants.SIZE_OF_INT;
+import static io.airlift.compress.zstd.UnsafeUtil.UNSAFE;
+import static io.airlift.compress.zstd.Util.verify;
+import static sun.misc.Unsafe.ARRAY_BYTE_BASE_OFFSET;
+
+/**
+ * A trained (or raw content) Zstandard dictionary, for use with ZstdInputStream.
+ * <p>
+ * Trained dictionaries start with a magic number and the dictionary ID, followed by the
+ * entropy tables, 3 repeat offsets, and then the dictionary content. Anything without the
+ * magic number is treated as raw content, with a dictionary ID of 0.
+ */
+public class ZstdDictionary {
+
+  static final int DICTIONARY_MAGIC_NUMBER = 0xEC30A437;
+
+  private final byte[] data;
+
+  private final long id;
+
+  private final int tablesOffset;
+
+  private final int tablesLength;
+
+  private final int[] repeatOffsets = { 1, 4, 8 };
+
+  private final int contentOffset;
+
+  public ZstdDictionary(byte[] data) {
+    this.data = data;
+
+    if (data.length >= 8 && UNSAFE.getInt(data, ARRAY_BYTE_BASE_OFFSET) == DICTIONARY_MAGIC_NUMBER) {
+      id = UNSAFE.getInt(data, ARRAY_BYTE_BASE_OFFSET + SIZE_OF_INT) & 0xFFFF_FFFFL;
+
+      // parse the tables once, so we know where they end and that they're valid
+      tablesOffset = 8;
+      long tablesAddress = ARRAY_BYTE_BASE_OFFSET + tablesOffset;
+      tablesLength = new ZstdFrameDecompressor().loadDictionaryTables(data, tablesAddress, ARRAY_BYTE_BASE_OFFSET + data.length);
+
+      int offsetsOffset = tablesOffset + tablesLength;
+      verify(offsetsOffset + 3 * SIZE_OF_INT <= data.length, offsetsOffset, "Dictionary is corrupted");
+      for (int i = 0; i < 3; i++) {
+        repeatOffsets[i] = UNSAFE.getInt(data, ARRAY_BYTE_BASE_OFFSET + offsetsOffset + i * SIZE_OF_INT);
+        verify(repeatOffsets[i] > 0, offsetsOffset, "Dictionary is corrupted");
+      }
+
+      contentOffset = offsetsOffset + 3 * SIZE_OF_INT;
+    }
+    else {
+      id = 0;
+      tablesOffset = 0;
+      tablesLength = 0;
+      contentOffset = 0;
+    }
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public int getContentLength() {
+    return data.length - contentOffset;
+  }
+
+  /**
+   * Copies the dictionary content into the start of a decoding window
+   */
+  void copyContent(byte[] destination, int destinationOffset) {
+    System.arraycopy(data, contentOffset, destination, destinationOffset, data.length - contentOffset);
+  }
+
+  /**
+   * Primes the decompressor with the entropy tables and repeat offsets of this dictionary
+   */
+  void prime(ZstdFrameDecompressor decompressor) {
+    if (tablesLength > 0) {
+      long tablesAddress = ARRAY_BYTE_BASE_OFFSET + tablesOffset;
+      decompressor.loadDictionaryTables(data, tablesAddress, tablesAddress + tablesLength);
+    }
+    decompressor.setPreviousOffsets(repeatOffsets[0], repeatOffsets[1], repeatOffsets[2]);
+  }
+}
@@ -27,6 +27,7 @@ import static io.airlift.compress.zstd.Constants.MATCH_LENGTH_TABLE_LOG;
 import static io.airlift.compress.zstd.Constants.MAX_BLOCK_SIZE;
 import static io.airlift.compress.zstd.Constants.MAX_LITERALS_LENGTH_SYMBOL;
 import static io.airlift.compress.zstd.Constants.MAX_MATCH_LENGTH_SYMBOL;
+import static io.airlift.compress.zstd.Constants.MAX_OFFSET_CODE_SYMBOL;
 import static io.airlift.compress.zstd.Constants.MIN_BLOCK_SIZE;
 import static io.airlift.compress.zstd.Constants.MIN_SEQUENCES_SIZE;
 import static io.airlift.compress.zstd.Constants.MIN_WINDOW_LOG;
@@ -150,6 +151,7 @@ class ZstdFrameDecompressor {
       input += verifyMagic(inputBase, inputAddress, inputLimit);
 
       FrameHeader frameHeader = readFrameHeader(inputBase, input, inputLimit);
+      verify(frameHeader.dictionaryId <= 0, input, "Custom dictionaries not supported (use ZstdInputStream instead)");
       input += frameHeader.headerSize;
 
       boolean lastBlock;
@@ -206,7 +208,7 @@ class ZstdFrameDecompressor {
     return (int) (output - outputAddress);
   }
 
-  private void reset() {
+  void reset() {
     previousOffsets[0] = 1;
     previousOffsets[1] = 4;
     previousOffsets[2] = 8;
@@ -216,14 +218,14 @@ class ZstdFrameDecompressor {
     currentMatchLengthTable = null;
   }
 
-  private static int decodeRawBlock(Object inputBase, long inputAddress, int blockSize, Object outputBase, long outputAddress, long outputLimit) {
+  static int decodeRawBlock(Object inputBase, long inputAddress, int blockSize, Object outputBase, long outputAddress, long outputLimit) {
     verify(outputAddress + blockSize <= outputLimit, inputAddress, "Output buffer too small");
 
     UNSAFE.copyMemory(inputBase, inputAddress, outputBase, outputAddress, blockSize);
     return blockSize;
   }
 
-  private static int decodeRleBlock(int size, Object inputBase, long inputAddress, Object outputBase, long outputAddress, long outputLimit) {
+  static int decodeRleBlock(int size, Object inputBase, long inputAddress, Object outputBase, long outputAddress, long outputLimit) {
     verify(outputAddress + size <= outputLimit, inputAddress, "Output buffer too small");
 
     long output = outputAddress;
@@ -256,7 +258,7 @@ class ZstdFrameDecompressor {
     return size;
   }
 
-  private int decodeCompressedBlock(Object inputBase, final long inputAddress, int blockSize, Object outputBase, long outputAddress, long outputLimit, int windowSize, long outputAbsoluteBaseAddress) {
+  int decodeCompressedBlock(Object inputBase, final long inputAddress, int blockSize, Object outputBase, long outputAddress, long outputLimit, int windowSize, long outputAbsoluteBaseAddress) {
     long inputLimit = inputAddress + blockSize;
     long input = inputAddress;
 
@@ -294,6 +296,35 @@ class ZstdFrameDecompressor {
         outputAbsoluteBaseAddress);
   }
 
+  /**
+   * Loads the entropy tables from a dictionary, so they can be used by the first blocks of a frame
+   * (treeless literals, and repeat-mode sequence tables). Call this after reset().
+   *
+   * @return the number of bytes of table data that were read
+   */
+  int loadDictionaryTables(Object inputBase, long inputAddress, long inputLimit) {
+    long input = inputAddress;
+
+    input += huffman.readTable(inputBase, input, (int) (inputLimit - input));
+
+    input += fse.readFseTable(offsetCodesTable, inputBase, input, inputLimit, MAX_OFFSET_CODE_SYMBOL, OFFSET_TABLE_LOG);
+    currentOffsetCodesTable = offsetCodesTable;
+
+    input += fse.readFseTable(matchLengthTable, inputBase, input, inputLimit, MAX_MATCH_LENGTH_SYMBOL, MATCH_LENGTH_TABLE_LOG);
+    currentMatchLengthTable = matchLengthTable;
+
+    input += fse.readFseTable(literalsLengthTable, inputBase, input, inputLimit, MAX_LITERALS_LENGTH_SYMBOL, LITERAL_LENGTH_TABLE_LOG);
+    currentLiteralsLengthTable = literalsLengthTable;
+
+    return (int) (input - inputAddress);
+  }
+
+  void setPreviousOffsets(int offset0, int offset1, int offset2) {
+    previousOffsets[0] = offset0;
+    previousOffsets[1] = offset1;
+    previousOffsets[2] = offset2;
+  }
+
   private int decompressSequences(final Object inputBase, final long inputAddress, final long inputLimit, final Object outputBase, final long outputAddress, final long outputLimit, final Object literalsBase, final long literalsAddress, final long literalsLimit, long outputAbsoluteBaseAddress) {
     final long fastOutputLimit = outputLimit - SIZE_OF_LONG;
     final long fastMatchOutputLimit = fastOutputLimit - SIZE_OF_LONG;
@@ -879,8 +910,6 @@ class ZstdFrameDecompressor {
         input += SIZE_OF_INT;
         break;
     }
-    verify(dictionaryId == -1, input, "Custom dictionaries not supported");
-
     // decode content size
     long contentSize = -1;
     switch (contentSizeDescriptor) {
@@ -921,6 +950,12 @@ class ZstdFrameDecompressor {
     return readFrameHeader(inputBase, input, inputLimit).contentSize;
   }
 
+  public static long getDictionaryId(final Object inputBase, final long inputAddress, final long inputLimit) {
+    long input = inputAddress;
+    input += verifyMagic(inputBase, input, inputLimit);
+    return readFrameHeader(inputBase, input, inputLimit).dictionaryId;
+  }
+
   static int verifyMagic(Object inputBase, long inputAddress, long inputLimit) {
     verify(inputLimit - inputAddress >= 4, inputAddress, "Not enough input bytes");
 
@@ -0,0 +1,369 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.airlift.compress.zstd;
+
+import static io.airlift.compress.zstd.Constants.COMPRESSED_BLOCK;
+import static io.airlift.compress.zstd.Constants.MAGIC_NUMBER;
+import static io.airlift.compress.zstd.Constants.MAX_BLOCK_SIZE;
+import static io.airlift.compress.zstd.Constants.RAW_BLOCK;
+import static io.airlift.compress.zstd.Constants.RLE_BLOCK;
+import static io.airlift.compress.zstd.Constants.SIZE_OF_BLOCK_HEADER;
+import static io.airlift.compress.zstd.Constants.SIZE_OF_INT;
+import static io.airlift.compress.zstd.Constants.SIZE_OF_LONG;
+import static io.airlift.compress.zstd.UnsafeUtil.UNSAFE;
+import static io.airlift.compress.zstd.Util.fail;
+import static io.airlift.compress.zstd.Util.verify;
+import static sun.misc.Unsafe.ARRAY_BYTE_BASE_OFFSET;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Decompresses a Zstandard stream one block at a time, so only the frame window (plus a couple of
+ * blocks) is held in memory, rather than the whole decompressed output.
+ * <p>
+ * The stream can be re-pointed at new input with {@link #reset(InputStream)}, which keeps the
+ * window, block buffer and decoding tables, so decompressing lots of resources doesn't pay the
+ * setup costs every time.
+ */
+public class ZstdInputStream
+    extends InputStream {
+
+  private static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+
+  private static final int SKIPPABLE_MAGIC_NUMBER = 0x184D2A50;
+
+  private static final int MAX_FRAME_HEADER_SIZE = 18;
+
+  private final ZstdFrameDecompressor decompressor = new ZstdFrameDecompressor();
+
+  private final XxHash64 checksum = new XxHash64(0);
+
+  // the compressed block, with padding for the long-at-a-time reads
+  private final byte[] inputBuffer = new byte[MAX_BLOCK_SIZE + SIZE_OF_LONG * 2];
+
+  private final Map<Long, ZstdDictionary> dictionaries;
+
+  private InputStream input;
+
+  // the decompressed data, including the history that later blocks can refer back to
+  private byte[] window = new byte[0];
+
+  private int windowSize;
+
+  private int frameWindowSize;
+
+  private int readPosition;
+
+  private int writePosition;
+
+  private boolean inFrame = false;
+
+  private boolean hasChecksum;
+
+  private boolean finished = false;
+
+  private long inputPosition;
+
+  public ZstdInputStream(InputStream input) {
+    this(input, null);
+  }
+
+  /**
+   * @param dictionaries the dictionaries that frames can use, keyed by dictionary ID. Can be null.
+   */
+  public ZstdInputStream(InputStream input, Map<Long, ZstdDictionary> dictionaries) {
+    this.input = input;
+    this.dictionaries = dictionaries;
+  }
+
+  /**
+   * Starts decompressing a new stream, re-using the buffers from the previous one
+   */
+  public void reset(InputStream input) {
+    this.input = input;
+    readPosition = 0;
+    writePosition = 0;
+    inFrame = false;
+    finished = false;
+    inputPosition = 0;
+  }
+
+  @Override
+  public int available() {
+    return writePosition - readPosition;
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    if (input != null) {
+      input.close();
+      input = null;
+    }
+    finished = true;
+  }
+
+  /**
+   * Releases the window buffer, if it's larger than <i>maxRetainedSize</i>
+   */
+  public void trimWindow(int maxRetainedSize) {
+    if (window.length > maxRetainedSize) {
+      window = new byte[0];
+      readPosition = 0;
+      writePosition = 0;
+    }
+  }
+
+  @Override
+  public int read()
+      throws IOException {
+    while (readPosition == writePosition) {
+      if (!decodeNextBlock()) {
+        return -1;
+      }
+    }
+    return window[readPosition++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] output, int offset, int length)
+      throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+
+    while (readPosition == writePosition) {
+      if (!decodeNextBlock()) {
+        return -1;
+      }
+    }
+
+    int copyLength = Math.min(length, writePosition - readPosition);
+    System.arraycopy(window, readPosition, output, offset, copyLength);
+    readPosition += copyLength;
+    return copyLength;
+  }
+
+  /**
+   * @return false if the end of the stream has been reached
+   */
+  private boolean decodeNextBlock()
+      throws IOException {
+    if (finished) {
+      return false;
+    }
+
+    if (!inFrame) {
+      if (!startFrame()) {
+        finished = true;
+        return false;
+      }
+    }
+
+    readFully(inputBuffer, 0, SIZE_OF_BLOCK_HEADER);
+    int header = (inputBuffer[0] & 0xFF) | ((inputBuffer[1] & 0xFF) << 8) | ((inputBuffer[2] & 0xFF) << 16);
+
+    boolean lastBlock = (header & 1) != 0;
+    int blockType = (header >>> 1) & 0b11;
+    int blockSize = (header >>> 3) & 0x1F_FFFF; // 21 bits
+
+    verify(blockSize <= MAX_BLOCK_SIZE, inputPosition, "Block exceeds maximum size");
+
+    makeRoomForBlock();
+
+    long inputAddress = ARRAY_BYTE_BASE_OFFSET;
+    long outputAddress = ARRAY_BYTE_BASE_OFFSET + writePosition;
+    long outputLimit = outputAddress + MAX_BLOCK_SIZE;
+
+    int decodedSize;
+    switch (blockType) {
+      case RAW_BLOCK:
+        readFully(inputBuffer, 0, blockSize);
+        decodedSize = ZstdFrameDecompressor.decodeRawBlock(inputBuffer, inputAddress, blockSize, window, outputAddress, outputLimit);
+        break;
+      case RLE_BLOCK:
+        readFully(inputBuffer, 0, 1);
+        decodedSize = ZstdFrameDecompressor.decodeRleBlock(blockSize, inputBuffer, inputAddress, window, outputAddress, outputLimit);
+        break;
+      case COMPRESSED_BLOCK:
+        readFully(inputBuffer, 0, blockSize);
+        for (int i = blockSize; i < blockSize + SIZE_OF_LONG; i++) {
+          inputBuffer[i] = 0;
+        }
+        // the whole window (including any dictionary content) can be referenced by matches
+        decodedSize = decompressor.decodeCompressedBlock(inputBuffer, inputAddress, blockSize, window, outputAddress, outputLimit, frameWindowSize, ARRAY_BYTE_BASE_OFFSET);
+        break;
+      default:
+        throw fail(inputPosition, "Invalid block type");
+    }
+
+    if (hasChecksum) {
+      checksum.update(window, outputAddress, decodedSize);
+    }
+    writePosition += decodedSize;
+
+    if (lastBlock) {
+      if (hasChecksum) {
+        readFully(inputBuffer, 0, SIZE_OF_INT);
+        int expected = UNSAFE.getInt(inputBuffer, ARRAY_BYTE_BASE_OFFSET);
+        int actual = (int) checksum.hash();
+        if (expected != actual) {
+          throw new MalformedInputException(inputPosition, String.format("Bad checksum. Expected: %s, actual: %s", Integer.toHexString(expected), Integer.toHexString(actual)));
+        }
+      }
+      inFrame = false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Moves the most recent window of data to the start of the buffer, if there isn't enough space
+   * at the end of the buffer to decode another block
+   */
+  private void makeRoomForBlock() {
+    if (writePosition + MAX_BLOCK_SIZE <= window.length) {
+      return;
+    }
+
+    // all the data has been read out of the window by the time we decode the next block, so we
+    // only need to keep the history that matches can still reach
+    int keepLength = Math.min(windowSize, writePosition);
+    System.arraycopy(window, writePosition - keepLength, window, 0, keepLength);
+    writePosition = keepLength;
+    readPosition = keepLength;
+  }
+
+  /**
+   * Reads the header of the next frame, skipping over any skippable frames
+   *
+   * @return false if there are no more frames
+   */
+  private boolean startFrame()
+      throws IOException {
+    while (true) {
+      if (!readFullyOrEnd(inputBuffer, 0, SIZE_OF_INT)) {
+        return false;
+      }
+
+      int magic = UNSAFE.getInt(inputBuffer, ARRAY_BYTE_BASE_OFFSET);
+      if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC_NUMBER) {
+        readFully(inputBuffer, 0, SIZE_OF_INT);
+        long skipLength = UNSAFE.getInt(inputBuffer, ARRAY_BYTE_BASE_OFFSET) & 0xFFFF_FFFFL;
+        skipFully(skipLength);
+        continue;
+      }
+      verify(magic == MAGIC_NUMBER, inputPosition, "Invalid magic prefix: " + Integer.toHexString(magic));
+      break;
+    }
+
+    // work out how big the frame header is, from the descriptor
+    readFully(inputBuffer, 0, 1);
+    int frameHeaderDescriptor = inputBuffer[0] & 0xFF;
+    boolean singleSegment = (frameHeaderDescriptor & 0b100000) != 0;
+    int dictionaryDescriptor = frameHeaderDescriptor & 0b11;
+    int contentSizeDescriptor = frameHeaderDescriptor >>> 6;
+
+    int headerSize = 1 +
+        (singleSegment ? 0 : 1) +
+        (dictionaryDescriptor == 0 ? 0 : (1 << (dictionaryDescriptor - 1))) +
+        (contentSizeDescriptor == 0 ? (singleSegment ? 1 : 0) : (1 << contentSizeDescriptor));
+    verify(headerSize <= MAX_FRAME_HEADER_SIZE, inputPosition, "Invalid frame header");
+
+    readFully(inputBuffer, 1, headerSize - 1);
+    FrameHeader frameHeader = ZstdFrameDecompressor.readFrameHeader(inputBuffer, ARRAY_BYTE_BASE_OFFSET, ARRAY_BYTE_BASE_OFFSET + headerSize);
+
+    frameWindowSize = frameHeader.windowSize;
+    if (frameHeader.windowSize > 0) {
+      windowSize = frameHeader.windowSize;
+    }
+    else {
+      // single segment frames need the whole content as the window
+      verify(frameHeader.contentSize >= 0 && frameHeader.contentSize <= Integer.MAX_VALUE - 2 * MAX_BLOCK_SIZE, inputPosition, "Invalid frame content size");
+      windowSize = (int) frameHeader.contentSize;
+    }
+
+    ZstdDictionary dictionary = null;
+    if (frameHeader.dictionaryId > 0) {
+      if (dictionaries != null) {
+        dictionary = dictionaries.get(frameHeader.dictionaryId);
+      }
+      verify(dictionary != null, inputPosition, "Missing dictionary " + frameHeader.dictionaryId);
+    }
+
+    int dictionaryLength = (dictionary == null) ? 0 : dictionary.getContentLength();
+    int requiredLength = dictionaryLength + windowSize + 2 * MAX_BLOCK_SIZE;
+    if (window.length < requiredLength) {
+      window = new byte[requiredLength];
+    }
+
+    decompressor.reset();
+    readPosition = 0;
+    writePosition = 0;
+
+    if (dictionary != null) {
+      // the dictionary content sits just before the decoded data, so matches can refer back to it
+      dictionary.copyContent(window, 0);
+      dictionary.prime(decompressor);
+      writePosition = dictionaryLength;
+      readPosition = dictionaryLength;
+    }
+
+    hasChecksum = frameHeader.hasChecksum;
+    if (hasChecksum) {
+      checksum.reset();
+    }
+
+    inFrame = true;
+    return true;
+  }
+
+  private void readFully(byte[] buffer, int offset, int length)
+      throws IOException {
+    if (!readFullyOrEnd(buffer, offset, length)) {
+      throw new EOFException("Unexpected end of Zstd stream");
+    }
+  }
+
+  /**
+   * @return false if the stream ended before any bytes were read
+   */
+  private boolean readFullyOrEnd(byte[] buffer, int offset, int length)
+      throws IOException {
+    int totalRead = 0;
+    while (totalRead < length) {
+      int bytesRead = input.read(buffer, offset + totalRead, length - totalRead);
+      if (bytesRead < 0) {
+        if (totalRead == 0) {
+          return false;
+        }
+        throw new EOFException("Unexpected end of Zstd stream");
+      }
+      totalRead += bytesRead;
+    }
+    inputPosition += length;
+    return true;
+  }
+
+  private void skipFully(long length)
+      throws IOException {
+    while (length > 0) {
+      int chunkLength = (int) Math.min(length, inputBuffer.length);
+      readFully(inputBuffer, 0, chunkLength);
+      length -= chunkLength;
+    }
+  }
+}
@@ -29,11 +29,15 @@ public class ChangeMonitor {
   /** whether a modification has occurred or not **/
   static boolean changed = false;
 
+  /** the number of changes that have been made, so caches can tell if anything has changed **/
+  static long changeCount = 0;
+
   /***********************************************************************************************
    * Sets the value to indicate that a change has been made
    ***********************************************************************************************/
   public static void change() {
     changed = true;
+    changeCount++;
   }
 
   /***********************************************************************************************
@@ -44,6 +48,14 @@ public class ChangeMonitor {
     return changed;
   }
 
+  /***********************************************************************************************
+   * Gets the number of changes that have been made since the program started
+   * @return the number of changes
+   ***********************************************************************************************/
+  public static long getChangeCount() {
+    return changeCount;
+  }
+
   /***********************************************************************************************
    * Displays a "Do you want to save your changes" popup if a change has
    * occurred
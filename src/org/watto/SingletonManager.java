@@ -29,6 +29,9 @@ public class SingletonManager {
   /** the singleton objects **/
   static Hashtable<String, Object> singletons = new Hashtable<String, Object>();
 
+  /** objects that are only seen by the thread that set them, and override the shared singletons **/
+  static ThreadLocal<Hashtable<String, Object>> threadSingletons = new ThreadLocal<Hashtable<String, Object>>();
+
   /***********************************************************************************************
    * Adds a <code>object</code>
    * @param code a unique codeword for this <code>object</code>
@@ -44,6 +47,10 @@ public class SingletonManager {
    * @return the object
    ***********************************************************************************************/
   public static Object get(String code) {
+    Hashtable<String, Object> threadObjects = threadSingletons.get();
+    if (threadObjects != null && threadObjects.containsKey(code)) {
+      return threadObjects.get(code);
+    }
     return singletons.get(code);
   }
 
@@ -56,6 +63,10 @@ public class SingletonManager {
    *         <code>code</code>word
    ***********************************************************************************************/
   public static boolean has(String code) {
+    Hashtable<String, Object> threadObjects = threadSingletons.get();
+    if (threadObjects != null && threadObjects.containsKey(code)) {
+      return true;
+    }
     return singletons.containsKey(code);
   }
 
@@ -67,6 +78,17 @@ public class SingletonManager {
     singletons.remove(code);
   }
 
+  /***********************************************************************************************
+   * Removes an <code>object</code> that was set by <code>setForThread()</code> on this thread
+   * @param code the codeword for the object to remove
+   ***********************************************************************************************/
+  public static void removeForThread(String code) {
+    Hashtable<String, Object> threadObjects = threadSingletons.get();
+    if (threadObjects != null) {
+      threadObjects.remove(code);
+    }
+  }
+
   /***********************************************************************************************
    * Sets a singleton <code>object</code>
    * @param code a unique codeword for this <code>object</code>
@@ -75,4 +97,20 @@ public class SingletonManager {
   public static void set(String code, Object object) {
     singletons.put(code, object);
   }
-}
\ No newline at end of file
+
+  /***********************************************************************************************
+   * Sets an <code>object</code> that is only seen by the current thread, overriding any shared
+   * singleton with the same <code>code</code>word. Used when the same work runs on several
+   * threads at once, such as generating thumbnails.
+   * @param code a unique codeword for this <code>object</code>
+   * @param object the object to set
+   ***********************************************************************************************/
+  public static void setForThread(String code, Object object) {
+    Hashtable<String, Object> threadObjects = threadSingletons.get();
+    if (threadObjects == null) {
+      threadObjects = new Hashtable<String, Object>();
+      threadSingletons.set(threadObjects);
+    }
+    threadObjects.put(code, object);
+  }
+}
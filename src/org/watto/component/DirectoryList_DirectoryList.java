@@ -48,7 +48,9 @@ import org.watto.ge.GameExtractor;
 import org.watto.ge.helper.ShellFolderFile;
 import org.watto.plaf.DirectoryListDirectoryListCellRenderer;
 import org.watto.plaf.DirectoryListDrivesComboBoxCellRenderer;
+import org.watto.task.CancellationToken;
 import org.watto.task.Task;
+import org.watto.task.TaskScheduler;
 import org.watto.task.Task_ReadArchive;
 import org.watto.task.Task_ReloadDirectoryList;
 import org.watto.xml.XMLReader;
@@ -74,6 +76,9 @@ public class DirectoryList_DirectoryList extends DirectoryListPanel implements W
 
   FileFilter filter = null;
 
+  /** So a reload that hasn't finished can be cancelled when a newer one starts **/
+  CancellationToken reloadToken = null;
+
   /**
   **********************************************************************************************
   
@@ -455,7 +460,12 @@ public class DirectoryList_DirectoryList extends DirectoryListPanel implements W
 
     Task_ReloadDirectoryList reloadTask = new Task_ReloadDirectoryList(directory, filter, list, rememberSelections);
     reloadTask.setDirection(Task.DIRECTION_REDO);
-    new Thread(reloadTask).start();
+
+    // only the latest reload matters, so stop any earlier one that hasn't finished yet
+    if (reloadToken != null) {
+      reloadToken.cancel();
+    }
+    reloadToken = TaskScheduler.submit(TaskScheduler.POOL_UI, TaskScheduler.PRIORITY_HIGH, reloadTask);
     //task.run();
 
     /*
@@ -483,7 +493,7 @@ public class DirectoryList_DirectoryList extends DirectoryListPanel implements W
     if (archiveFile != null) {
       Task_ReadArchive readTask = new Task_ReadArchive(archiveFile);
       readTask.setDirection(Task.DIRECTION_REDO);
-      new Thread(readTask).start();
+      TaskScheduler.submit(TaskScheduler.POOL_IO, readTask);
     }
 
   }
@@ -18,6 +18,7 @@ import javax.swing.event.TableModelListener;
 import javax.swing.table.TableModel;
 import org.watto.datatype.Archive;
 import org.watto.datatype.Resource;
+import org.watto.ge.helper.FileListFilter;
 import org.watto.ge.helper.FileListSorter;
 import org.watto.ge.plugin.ArchivePlugin;
 
@@ -157,6 +158,8 @@ public class FileListModel_FolderTable implements FileListModel, TableModel {
   @Override
   public void setValueAt(Object value, int row, int column) {
     readPlugin.setColumnValue(resources[row], columns[column].getCharCode(), value);
+    FileListSorter.clearCache();
+    FileListFilter.clearCache();
   }
 
   /**
@@ -26,6 +26,7 @@ import org.watto.ge.helper.FileListSorter;
 import org.watto.ge.plugin.ArchivePlugin;
 import org.watto.ge.plugin.RenamerPlugin;
 import org.watto.task.Task;
+import org.watto.task.TaskScheduler;
 import org.watto.task.Task_RenameFiles;
 
 public class FileListModel_Table implements FileListModel, TableModel {
@@ -215,13 +216,15 @@ public class FileListModel_Table implements FileListModel, TableModel {
       // now do the actual change, via the task, and add it to the UndoManager
       Task_RenameFiles task = new Task_RenameFiles(new Resource[] { resource }, plugin, newName, newName);
       task.setDirection(Task.DIRECTION_REDO);
-      new Thread(task).start();
+      TaskScheduler.submit(TaskScheduler.POOL_IO, task);
       TypecastSingletonManager.getTaskManager("TaskManager").add(task);
 
     }
     else {
       // something else - plugin-specific
       readPlugin.setColumnValue(resources[row], charCode, value);
+      FileListSorter.clearCache();
+      FileListFilter.clearCache();
     }
   }
 
@@ -14,6 +14,9 @@
 
 package org.watto.component;
 
+import java.awt.Point;
+import java.awt.Rectangle;
+
 import javax.swing.SwingUtilities;
 import javax.swing.event.TableModelListener;
 import javax.swing.table.AbstractTableModel;
@@ -22,8 +25,11 @@ import org.watto.Settings;
 import org.watto.SingletonManager;
 import org.watto.datatype.Archive;
 import org.watto.datatype.BlankImageResource;
+import org.watto.datatype.ImageResource;
 import org.watto.datatype.Resource;
 import org.watto.ge.helper.FileListFilter;
+import org.watto.ge.helper.ThumbnailDiskCache;
+import org.watto.ge.helper.ThumbnailMemoryCache;
 import org.watto.ge.plugin.ArchivePlugin;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.ge.plugin.exporter.BlockQuickBMSExporterWrapper;
@@ -31,6 +37,7 @@ import org.watto.ge.plugin.exporter.Exporter_QuickBMSWrapper;
 import org.watto.ge.plugin.exporter.Exporter_QuickBMS_Decompression;
 import org.watto.task.Task;
 import org.watto.task.TaskProgressManager;
+import org.watto.task.ThumbnailDecodePool;
 import org.watto.task.Task_CreateImageResource;
 import org.watto.task.Task_LoadThumbnailLater;
 import org.watto.task.Task_QuickBMSBulkExport;
@@ -49,6 +56,14 @@ public class FileListModel_Thumbnails extends AbstractTableModel implements File
   /** the table that this model belongs to **/
   WSTable table;
 
+  /** The visible rows the last time they were checked, so the prefetching only happens when they change **/
+  int lastFirstRow = -1;
+
+  int lastLastRow = -1;
+
+  /** Set while the rows around the visible ones are being prefetched **/
+  boolean prefetching = false;
+
   /**
   **********************************************************************************************
   
@@ -163,6 +178,20 @@ public class FileListModel_Thumbnails extends AbstractTableModel implements File
 
     //System.out.println("Requesting thumbnail for " + resource.getName());
 
+    if (resource.getImageResource() == null || ThumbnailDecodePool.getPendingCount() > 0) {
+      // so thumbnails that have been scrolled out of view are cancelled, and the visible ones are generated first
+      updateVisibleRows();
+    }
+
+    if (resource.getImageResource() != null) {
+      // so it's one of the last thumbnails to be removed from memory
+      ThumbnailMemoryCache.touch(resource);
+    }
+    else if (ThumbnailMemoryCache.recover(resource) != null) {
+      // was removed from memory to keep within the budget, but hasn't been garbage collected yet
+      return resource;
+    }
+
     if (resource.getImageResource() == null) {
       /*
       // Extract the file and load the thumbnail for it
@@ -178,9 +207,11 @@ public class FileListModel_Thumbnails extends AbstractTableModel implements File
 
       // First, are we using the QuickBMS plugin? If so, we want to have a single task to extract all the required files first (in bulk),
       // and then trigger the thumbnails (the LoadThumbnailLater Tasks get added behind the Extract task in the queue)
+      boolean waitForBulkExport = false;
       if (resource.getExportedPath() == null) {
         ExporterPlugin exporter = resource.getExporter();
         if (exporter instanceof Exporter_QuickBMSWrapper || exporter instanceof Exporter_QuickBMS_Decompression || exporter instanceof BlockQuickBMSExporterWrapper) {
+          waitForBulkExport = true;
           if (SingletonManager.has("QuickBMSBulkExportTask")) {
             Task_QuickBMSBulkExport task = (Task_QuickBMSBulkExport) SingletonManager.get("QuickBMSBulkExportTask");
             task.addResourceToExtract(resource);
@@ -198,7 +229,14 @@ public class FileListModel_Thumbnails extends AbstractTableModel implements File
       // Otherwise, in all normal cases, just trigger the extract and thumbnail generation as part of GameExtractor
       Task_LoadThumbnailLater task = new Task_LoadThumbnailLater(resource, table, this, row, column);
       task.setDirection(Task.DIRECTION_REDO);
-      SwingUtilities.invokeLater(task);
+      if (waitForBulkExport || !ThumbnailDecodePool.isEnabled()) {
+        // needs to stay in the Swing EventDispatchThread queue, so it runs after the bulk export
+        SwingUtilities.invokeLater(task);
+      }
+      else {
+        // generate it on a worker thread, so the interface doesn't freeze while scrolling
+        ThumbnailDecodePool.submit(task);
+      }
 
     }
 
@@ -247,6 +285,11 @@ public class FileListModel_Thumbnails extends AbstractTableModel implements File
     }
     */
 
+    // any thumbnails that are still queued are for the old rows
+    ThumbnailDecodePool.cancelAll();
+    lastFirstRow = -1;
+    lastLastRow = -1;
+
     this.resources = resources;
     readPlugin = Archive.getReadPlugin();
 
@@ -272,9 +315,17 @@ public class FileListModel_Thumbnails extends AbstractTableModel implements File
         Resource resource = resources[i];
         //System.out.println(resource.getName());
         if (resource.getImageResource() == null) {
+          ImageResource storedThumbnail = ThumbnailDiskCache.get(resource);
+          if (storedThumbnail != null) {
+            resource.setImageResource(storedThumbnail);
+            TaskProgressManager.setValue(i, 1); // update the value of the second progress bar
+            continue;
+          }
+
           // Extract the file and load the thumbnail for it
           Task_CreateImageResource task = new Task_CreateImageResource(resource);
           task.redo();
+          ThumbnailDiskCache.put(resource, resource.getImageResource()); // written in the background
           TaskProgressManager.setValue(i, 1); // update the value of the second progress bar
         }
       }
@@ -302,4 +353,77 @@ public class FileListModel_Thumbnails extends AbstractTableModel implements File
   public void setValueAt(Object value, int row, int column) {
   }
 
-}
\ No newline at end of file
+  /**
+  **********************************************************************************************
+  Tells the ThumbnailDecodePool which rows are visible, so it generates those thumbnails first.
+  When the visible rows change, the thumbnails for a few rows either side (the ThumbnailPrefetchRows
+  setting) are requested too, so they're ready before they're scrolled into view, and the
+  ThumbnailMemoryCache is told how many thumbnails it must keep.
+  **********************************************************************************************
+  **/
+  void updateVisibleRows() {
+    if (table == null || prefetching) {
+      return;
+    }
+
+    Rectangle visibleRect = table.getVisibleRect();
+    int firstRow = table.rowAtPoint(new Point(0, visibleRect.y));
+    int lastRow = table.rowAtPoint(new Point(0, visibleRect.y + visibleRect.height - 1));
+    if (firstRow < 0) {
+      firstRow = 0;
+    }
+    if (lastRow < 0) {
+      lastRow = getRowCount() - 1;
+    }
+
+    ThumbnailDecodePool.setVisibleRows(firstRow, lastRow);
+
+    if (firstRow == lastFirstRow && lastRow == lastLastRow) {
+      return; // nothing has changed
+    }
+    lastFirstRow = firstRow;
+    lastLastRow = lastRow;
+
+    int prefetchRows = Settings.getInt("ThumbnailPrefetchRows");
+    if (prefetchRows < 0) {
+      prefetchRows = 0;
+    }
+
+    // keep the visible thumbnails, and the prefetched ones around them, in memory
+    ThumbnailMemoryCache.setMinimumCount((lastRow - firstRow + 1 + prefetchRows * 2) * columnCount);
+
+    if (prefetchRows == 0) {
+      return;
+    }
+
+    // request the thumbnails below the visible rows first (the usual scrolling direction), then above
+    int numRows = getRowCount();
+    prefetching = true;
+    try {
+      for (int row = lastRow + 1; row <= lastRow + prefetchRows && row < numRows; row++) {
+        prefetchRow(row);
+      }
+      for (int row = firstRow - 1; row >= firstRow - prefetchRows && row >= 0; row--) {
+        prefetchRow(row);
+      }
+    }
+    finally {
+      prefetching = false;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Requests the thumbnails for all the cells in the <i>row</i>, if they aren't loaded already
+  **********************************************************************************************
+  **/
+  void prefetchRow(int row) {
+    for (int column = 0; column < columnCount; column++) {
+      Resource resource = getResource(row, column);
+      if (resource != null && resource.getImageResource() == null) {
+        getValueAt(row, column);
+      }
+    }
+  }
+
+}
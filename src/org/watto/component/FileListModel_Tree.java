@@ -14,7 +14,16 @@
 
 package org.watto.component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.StringTokenizer;
 import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.MutableTreeNode;
+import javax.swing.tree.TreeNode;
 import org.watto.datatype.FakeResource;
 import org.watto.datatype.Resource;
 import org.watto.ge.plugin.ArchivePlugin;
@@ -31,6 +40,55 @@ public class FileListModel_Tree extends DefaultMutableTreeNode implements Compar
   private static final long serialVersionUID = 1L;
   Resource resource = null;
 
+  /** The directories and files under this node, if the child nodes haven't been created yet **/
+  Branch pendingBranch = null;
+
+  /**
+  **********************************************************************************************
+  Builds a tree of directories from the paths of the <i>resources</i>. The directories are found
+  using a HashMap for each level, and only the children of the root are created straight away.
+  The children of every other directory are only created when they're needed (such as when the
+  directory is expanded in the tree), so collapsed directories cost very little.
+  **********************************************************************************************
+  **/
+  public static FileListModel_Tree buildTree(String rootName, Resource[] resources) {
+    Branch rootBranch = new Branch();
+
+    int numResources = resources.length;
+    for (int i = 0; i < numResources; i++) {
+      Resource resource = resources[i];
+      String name = resource.getName();
+
+      int left = name.lastIndexOf("\\");
+      int right = name.lastIndexOf("/");
+
+      StringTokenizer token;
+      if (left > right) {
+        token = new StringTokenizer(name, "\\");
+      }
+      else {
+        token = new StringTokenizer(name, "/");
+      }
+
+      int numTokens = token.countTokens();
+      if (numTokens <= 0) {
+        continue;
+      }
+
+      Branch parent = rootBranch;
+      for (int j = 0; j < numTokens - 1; j++) {
+        parent = parent.getDirectory(token.nextToken());
+      }
+
+      parent.addFile(token.nextToken(), resource);
+    }
+
+    FileListModel_Tree root = new FileListModel_Tree(rootName);
+    root.pendingBranch = rootBranch;
+    root.loadChildren();
+    return root;
+  }
+
   /**
   **********************************************************************************************
 
@@ -51,6 +109,125 @@ public class FileListModel_Tree extends DefaultMutableTreeNode implements Compar
     this.resource = resource;
   }
 
+  /**
+  **********************************************************************************************
+  A directory, whose children are created from the <i>branch</i> when they're first needed
+  **********************************************************************************************
+  **/
+  FileListModel_Tree(String name, Branch branch) {
+    this(name);
+    this.pendingBranch = branch;
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  @Override
+  public Enumeration<TreeNode> children() {
+    loadChildren();
+    return super.children();
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  @Override
+  public TreeNode getChildAt(int index) {
+    loadChildren();
+    return super.getChildAt(index);
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  @Override
+  public int getChildCount() {
+    loadChildren();
+    return super.getChildCount();
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  @Override
+  public int getIndex(TreeNode child) {
+    loadChildren();
+    return super.getIndex(child);
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  @Override
+  public void insert(MutableTreeNode child, int index) {
+    loadChildren();
+    super.insert(child, index);
+  }
+
+  /**
+  **********************************************************************************************
+  Whether this node has no children. For directories that haven't been loaded yet, this is
+  answered without creating the child nodes, so the tree can draw the node without loading it.
+  **********************************************************************************************
+  **/
+  @Override
+  public boolean isLeaf() {
+    Branch branch = pendingBranch;
+    if (branch != null) {
+      return branch.isEmpty();
+    }
+    return super.isLeaf();
+  }
+
+  /**
+  **********************************************************************************************
+  Creates the child nodes from the <code>pendingBranch</code>, if they haven't been created
+  already. The directories are placed first, then the files, each sorted alphabetically.
+  **********************************************************************************************
+  **/
+  void loadChildren() {
+    Branch branch = pendingBranch;
+    if (branch == null) {
+      return;
+    }
+    pendingBranch = null;
+
+    int numDirectories = branch.directories.size();
+    int numFiles = branch.fileNames.size();
+
+    FileListModel_Tree[] nodes = new FileListModel_Tree[numDirectories + numFiles];
+    int numNodes = 0;
+
+    Iterator<Map.Entry<String, Branch>> directories = branch.directories.entrySet().iterator();
+    while (directories.hasNext()) {
+      Map.Entry<String, Branch> directory = directories.next();
+      nodes[numNodes] = new FileListModel_Tree(directory.getKey(), directory.getValue());
+      numNodes++;
+    }
+
+    for (int i = 0; i < numFiles; i++) {
+      nodes[numNodes] = new FileListModel_Tree(branch.fileNames.get(i), branch.fileResources.get(i));
+      numNodes++;
+    }
+
+    // directories first, then files, each sorted alphabetically
+    Arrays.sort(nodes);
+
+    for (int i = 0; i < numNodes; i++) {
+      super.insert(nodes[i], i);
+    }
+  }
+
   /**
   **********************************************************************************************
 
@@ -138,6 +315,9 @@ public class FileListModel_Tree extends DefaultMutableTreeNode implements Compar
   **********************************************************************************************
   **/
   public void sort() {
+    if (pendingBranch != null) {
+      return; // the children will be sorted when they're loaded
+    }
     if (isLeaf()) {
       return;
     }
@@ -168,4 +348,52 @@ public class FileListModel_Tree extends DefaultMutableTreeNode implements Compar
 
   }
 
-}
\ No newline at end of file
+  /**
+  **********************************************************************************************
+  The directories and files in a single directory, used to build the tree before the nodes are
+  created
+  **********************************************************************************************
+  **/
+  static class Branch {
+
+    HashMap<String, Branch> directories = new HashMap<String, Branch>();
+
+    ArrayList<String> fileNames = new ArrayList<String>();
+
+    ArrayList<Resource> fileResources = new ArrayList<Resource>();
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public void addFile(String name, Resource resource) {
+      fileNames.add(name);
+      fileResources.add(resource);
+    }
+
+    /**
+    **********************************************************************************************
+    Gets the sub-directory with the <i>name</i>, creating it if it doesn't exist yet
+    **********************************************************************************************
+    **/
+    public Branch getDirectory(String name) {
+      Branch directory = directories.get(name);
+      if (directory == null) {
+        directory = new Branch();
+        directories.put(name, directory);
+      }
+      return directory;
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public boolean isEmpty() {
+      return directories.isEmpty() && fileNames.isEmpty();
+    }
+  }
+
+}
@@ -28,6 +28,7 @@ import org.watto.ge.GameExtractor;
 import org.watto.ge.helper.FullVersionVerifier;
 import org.watto.ge.plugin.ArchivePlugin;
 import org.watto.task.Task;
+import org.watto.task.TaskScheduler;
 import org.watto.task.Task_AddFiles;
 import org.watto.task.Task_ReadArchive;
 import org.watto.task.Task_ReplaceMatchingFiles;
@@ -74,7 +75,7 @@ public abstract class FileListPanel extends WSPanelPlugin {// implements WSDropa
   public void addFilesFromDrop(File[] dropFiles) {
     Task_AddFiles task = new Task_AddFiles(dropFiles);
     task.setDirection(Task.DIRECTION_REDO);
-    new Thread(task).start();
+    TaskScheduler.submit(TaskScheduler.POOL_IO, task);
     TypecastSingletonManager.getTaskManager("TaskManager").add(task);
   }
 
@@ -318,7 +319,7 @@ public abstract class FileListPanel extends WSPanelPlugin {// implements WSDropa
     }
     Task_ReadArchive task = new Task_ReadArchive(dropFiles[0]);
     task.setDirection(Task.DIRECTION_REDO);
-    new Thread(task).start();
+    TaskScheduler.submit(TaskScheduler.POOL_IO, task);
   }
 
   /**
@@ -343,7 +344,7 @@ public abstract class FileListPanel extends WSPanelPlugin {// implements WSDropa
   public void replaceCurrentFileFromDrop(Resource resourceToReplace, File newFile) {
     Task_ReplaceSelectedFiles task = new Task_ReplaceSelectedFiles(resourceToReplace, newFile);
     task.setDirection(Task.DIRECTION_REDO);
-    new Thread(task).start();
+    TaskScheduler.submit(TaskScheduler.POOL_IO, task);
     TypecastSingletonManager.getTaskManager("TaskManager").add(task);
   }
 
@@ -362,7 +363,7 @@ public abstract class FileListPanel extends WSPanelPlugin {// implements WSDropa
   public void replaceMatchingFilesFromDrop(Resource[] resourcesToReplace, File newFileDirectory) {
     Task_ReplaceMatchingFiles task = new Task_ReplaceMatchingFiles(resourcesToReplace, newFileDirectory);
     task.setDirection(Task.DIRECTION_REDO);
-    new Thread(task).start();
+    TaskScheduler.submit(TaskScheduler.POOL_IO, task);
     TypecastSingletonManager.getTaskManager("TaskManager").add(task);
   }
 
@@ -23,7 +23,6 @@ import java.awt.datatransfer.StringSelection;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.io.File;
-import java.util.StringTokenizer;
 
 import javax.swing.DefaultCellEditor;
 import javax.swing.JComponent;
@@ -1047,11 +1046,10 @@ public class FileListPanel_Tree extends FileListPanel implements WSClickableInte
       rootName = "Archive";
     }
 
-    root = new FileListModel_Tree(rootName);
-    tree.setModel(new DefaultTreeModel(root));
-
     if (Archive.getColumn(0) == null) {
       // on startup
+      root = new FileListModel_Tree(rootName);
+      tree.setModel(new DefaultTreeModel(root));
       return;
     }
 
@@ -1060,56 +1058,10 @@ public class FileListPanel_Tree extends FileListPanel implements WSClickableInte
     // Perform any filtering
     resources = FileListFilter.filterResources(resources);
 
-    for (int i = 0; i < resources.length; i++) {
-      // get the resource
-      String name = resources[i].getName();
-
-      int left = name.lastIndexOf("\\");
-      int right = name.lastIndexOf("/");
-
-      StringTokenizer token;
-      if (left > right) {
-        token = new StringTokenizer(name, "\\");
-      }
-      else {
-        token = new StringTokenizer(name, "/");
-      }
-
-      int numTokens = token.countTokens();
-
-      FileListModel_Tree parent = root;
-      for (int j = 0; j < numTokens - 1; j++) {
-        String directory = token.nextToken();
-        boolean foundParent = false;
-        //System.out.println("In Directory: " + ((String)parent.getUserObject()));
-        for (int k = 0; k < parent.getChildCount(); k++) {
-          if (((String) ((FileListModel_Tree) parent.getChildAt(k)).getUserObject()).equals(directory)) {
-            //System.out.println("Found: " + directory);
-            // found the correct parent directory
-            FileListModel_Tree node = (FileListModel_Tree) parent.getChildAt(k);
-            foundParent = true;
-            k = parent.getChildCount();
-            parent = node;
-          }
-        }
-
-        if (!foundParent) {
-          //System.out.println("Making Directory: " + directory);
-          FileListModel_Tree node = new FileListModel_Tree(directory);
-          parent.add(node);
-          parent = node;
-        }
-      }
-
-      // by now we should have the correct location for the file, so add the resource
-      //System.out.println("Adding file to: " + ((String)parent.getUserObject()));
-      String filename = token.nextToken();
-      parent.add(new FileListModel_Tree(filename, resources[i]));
-      //System.out.println("File: " + filename);
-    }
-
-    // sorts the tree under this node, and places the directories at the top of each branch
-    root.sort();
+    // builds the directories using a HashMap at each level. Only the top level of nodes is
+    // created here - the nodes in each directory are created (and sorted) when it's expanded.
+    root = FileListModel_Tree.buildTree(rootName, resources);
+    tree.setModel(new DefaultTreeModel(root));
 
     tree.repaint();
     expandAll();
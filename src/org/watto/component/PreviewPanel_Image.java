@@ -18,7 +18,9 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Image;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 
+import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JComponent;
 
@@ -48,6 +50,9 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
 
   Image zoomImage = null;
 
+  /** Paints the image in tiles, if it's too big to scale as a whole **/
+  TiledImageIcon tiledIcon = null;
+
   ImageResource imageResource = null;
 
   Task_ImagePreviewAnimation animation = null;
@@ -167,6 +172,21 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
   public void generateZoomImage() {
     //setFitToPanel(Settings.getBoolean("PreviewPanel_Image_FitToPanel"));
 
+    // very large images are painted in tiles from a mip pyramid, rather than being scaled as a whole
+    if (TiledImageIcon.isWorthwhile(image)) {
+      if (tiledIcon == null || tiledIcon.getImage() != image) {
+        if (tiledIcon != null) {
+          tiledIcon.clear();
+        }
+        tiledIcon = new TiledImageIcon((BufferedImage) image);
+      }
+      tiledIcon.setScale(1.0);
+    }
+    else if (tiledIcon != null) {
+      tiledIcon.clear();
+      tiledIcon = null;
+    }
+
     if (!fitToPanel) {
       // no zoom - show full size
       zoomImage = image;
@@ -216,11 +236,23 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
     // shrink according to the largest dimension difference
     if (widthDifference >= heightDifference) {
       // shrink on width
-      zoomImage = image.getScaledInstance(panelWidth, -1, Image.SCALE_SMOOTH);
+      if (tiledIcon != null) {
+        zoomImage = image;
+        tiledIcon.setScale((double) panelWidth / imageWidth);
+      }
+      else {
+        zoomImage = image.getScaledInstance(panelWidth, -1, Image.SCALE_SMOOTH);
+      }
     }
     else {
       // shrink on height
-      zoomImage = image.getScaledInstance(-1, panelHeight, Image.SCALE_SMOOTH);
+      if (tiledIcon != null) {
+        zoomImage = image;
+        tiledIcon.setScale((double) panelHeight / imageHeight);
+      }
+      else {
+        zoomImage = image.getScaledInstance(-1, panelHeight, Image.SCALE_SMOOTH);
+      }
     }
 
   }
@@ -283,8 +315,20 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
   **********************************************************************************************
   **/
   public void reloadImage() {
-    ImageIcon icon = new ImageIcon(zoomImage);
-    imageLabel.setIcon(icon);
+    imageLabel.setIcon(getZoomIcon());
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the icon for showing the <i>zoomImage</i> - either the tiled icon for very large images,
+  or a normal <code>ImageIcon</code>
+  **********************************************************************************************
+  **/
+  public Icon getZoomIcon() {
+    if (tiledIcon != null) {
+      return tiledIcon;
+    }
+    return new ImageIcon(zoomImage);
   }
 
   /**
@@ -393,8 +437,7 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
 
     // now that the interface is built, load the image
     generateZoomImage();
-    ImageIcon icon = new ImageIcon(zoomImage);
-    imageLabel.setIcon(icon);
+    imageLabel.setIcon(getZoomIcon());
 
   }
 
@@ -493,7 +536,7 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
 
           image = imageResource.getImage(); // important, so the Export Preview button exports the right image
           generateZoomImage();
-          imageLabel.setIcon(new ImageIcon(zoomImage));
+          imageLabel.setIcon(getZoomIcon());
 
           Settings.set("PreviewPanel_Image_CurrentFrame", Settings.getInt("PreviewPanel_Image_CurrentFrame") + 1);
 
@@ -520,7 +563,7 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
 
           image = imageResource.getImage(); // important, so the Export Preview button exports the right image
           generateZoomImage();
-          imageLabel.setIcon(new ImageIcon(zoomImage));
+          imageLabel.setIcon(getZoomIcon());
 
           Settings.set("PreviewPanel_Image_CurrentFrame", Settings.getInt("PreviewPanel_Image_CurrentFrame") - 1);
 
@@ -546,8 +589,10 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
         paletteImage.setPalette(palette);
 
         if (paletteImage.getNextFrame() != null) {
+          // bounded by the frame count, as frames from an ImageFrameSource can be re-decoded as new objects
+          int frameCount = paletteImage.getFrameCount();
           PalettedImageResource nextFrame = (PalettedImageResource) paletteImage.getNextFrame();
-          while (nextFrame != paletteImage) {
+          for (int f = 1; f < frameCount && nextFrame != paletteImage; f++) {
             nextFrame.setPalette(palette);
             nextFrame = (PalettedImageResource) nextFrame.getNextFrame();
           }
@@ -557,7 +602,7 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
         generateZoomImage();
 
         WSLabel imageLabel = (WSLabel) ComponentRepository.get("PreviewPanel_Image_ImageLabel");
-        imageLabel.setIcon(new ImageIcon(zoomImage));
+        imageLabel.setIcon(getZoomIcon());
 
         WSLabel paletteCountLabel = (WSLabel) ComponentRepository.get("PreviewPanel_Image_PaletteCountLabel");
         paletteCountLabel.setText((PaletteManager.getCurrentPaletteNumber() + 1) + "  /  " + PaletteManager.getNumPalettes());
@@ -574,8 +619,10 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
         paletteImage.setPalette(palette);
 
         if (paletteImage.getNextFrame() != null) {
+          // bounded by the frame count, as frames from an ImageFrameSource can be re-decoded as new objects
+          int frameCount = paletteImage.getFrameCount();
           PalettedImageResource nextFrame = (PalettedImageResource) paletteImage.getNextFrame();
-          while (nextFrame != paletteImage) {
+          for (int f = 1; f < frameCount && nextFrame != paletteImage; f++) {
             nextFrame.setPalette(palette);
             nextFrame = (PalettedImageResource) nextFrame.getNextFrame();
           }
@@ -585,7 +632,7 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
         generateZoomImage();
 
         WSLabel imageLabel = (WSLabel) ComponentRepository.get("PreviewPanel_Image_ImageLabel");
-        imageLabel.setIcon(new ImageIcon(zoomImage));
+        imageLabel.setIcon(getZoomIcon());
 
         WSLabel paletteCountLabel = (WSLabel) ComponentRepository.get("PreviewPanel_Image_PaletteCountLabel");
         paletteCountLabel.setText((PaletteManager.getCurrentPaletteNumber() + 1) + "  /  " + PaletteManager.getNumPalettes());
@@ -610,6 +657,11 @@ public class PreviewPanel_Image extends PreviewPanel implements WSClickableInter
     zoomImage = image;
     imageResource = null;
 
+    if (tiledIcon != null) {
+      tiledIcon.clear();
+      tiledIcon = null;
+    }
+
     if (animation != null) {
       animation.stop();
     }
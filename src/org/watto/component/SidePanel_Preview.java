@@ -28,24 +28,30 @@ import javax.swing.DefaultComboBoxModel;
 import javax.swing.ImageIcon;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
 
 import org.watto.Language;
 import org.watto.Settings;
 import org.watto.SingletonManager;
 import org.watto.datatype.Archive;
+import org.watto.datatype.ImageFrameSource;
 import org.watto.datatype.ImageResource;
 import org.watto.datatype.Resource;
 import org.watto.event.WSSelectableInterface;
 import org.watto.ge.GameExtractor;
+import org.watto.ge.helper.ViewerPluginCache;
 import org.watto.ge.plugin.AllFilesPlugin;
 import org.watto.ge.plugin.ArchivePlugin;
-import org.watto.ge.plugin.PluginFinder;
 import org.watto.ge.plugin.PluginListBuilder;
 import org.watto.ge.plugin.RatedPlugin;
 import org.watto.ge.plugin.ViewerPlugin;
 import org.watto.io.FilenameChecker;
 import org.watto.io.FilenameSplitter;
+import org.watto.task.CancellationToken;
+import org.watto.task.PreviewPrefetcher;
+import org.watto.task.PreviewPrefetcher.PrefetchedPreview;
 import org.watto.task.Task;
+import org.watto.task.TaskScheduler;
 import org.watto.task.Task_PreviewFile;
 import org.watto.xml.XMLNode;
 import org.watto.xml.XMLReader;
@@ -64,6 +70,9 @@ public class SidePanel_Preview extends WSPanelPlugin implements WSSelectableInte
   /** filename to use when saving the preview **/
   String saveFilename = "Preview";
 
+  /** So a preview that hasn't started yet can be cancelled when a different file is previewed **/
+  CancellationToken previewToken = null;
+
   /**
    **********************************************************************************************
    * Constructor for extended classes only
@@ -442,7 +451,8 @@ public class SidePanel_Preview extends WSPanelPlugin implements WSSelectableInte
       File directory = new File(new File(Settings.get("TempDirectory")).getAbsolutePath());
       Task_PreviewFile task = new Task_PreviewFile(directory, selected);
       task.setDirection(Task.DIRECTION_REDO);
-      new Thread(task).start();
+      startPreviewTask(task);
+      PreviewPrefetcher.prefetchNeighbours();
       return; // because the task calls previewFile(path) after the file is exported
       //path = selected.getExportedPath();
     }
@@ -462,8 +472,22 @@ public class SidePanel_Preview extends WSPanelPlugin implements WSSelectableInte
     */
     Task_PreviewFile task = new Task_PreviewFile(selected);
     task.setDirection(Task.DIRECTION_REDO);
-    new Thread(task).start();
+    startPreviewTask(task);
+    PreviewPrefetcher.prefetchNeighbours();
+
+  }
 
+  /**
+  **********************************************************************************************
+  Runs the preview <i>task</i> in the background. If the previous preview hasn't started yet
+  (such as when quickly moving through the files), it's cancelled, as it'd be replaced anyway.
+  **********************************************************************************************
+  **/
+  void startPreviewTask(Task_PreviewFile task) {
+    if (previewToken != null) {
+      previewToken.cancel();
+    }
+    previewToken = TaskScheduler.submit(TaskScheduler.POOL_DECODE, TaskScheduler.PRIORITY_HIGH, task);
   }
 
   /**
@@ -483,8 +507,34 @@ public class SidePanel_Preview extends WSPanelPlugin implements WSSelectableInte
       return;
     }
 
-    // preview the first selected file
-    RatedPlugin[] plugins = PluginFinder.findPlugins(path, ViewerPlugin.class);
+    // If the file was prepared while a neighbouring file was being previewed, use what was prepared
+    RatedPlugin[] plugins = null;
+    Resource currentResource = (Resource) SingletonManager.get("CurrentResource");
+    PrefetchedPreview prefetched = PreviewPrefetcher.take(currentResource, path);
+    if (prefetched != null) {
+      final ImageResource image = prefetched.getImage();
+      if (image != null) {
+        // only the image was decoded in the background - the panel is built on the Event Dispatch Thread, the same as the
+        // viewer's read() would build it (only ViewerPlugins where isImageViewer() are decoded in advance)
+        final ViewerPlugin viewer = prefetched.getViewer();
+        SwingUtilities.invokeLater(new Runnable() {
+
+          @Override
+          public void run() {
+            onCloseRequest();
+
+            SingletonManager.set("CurrentViewer", viewer);
+            loadPreview(new PreviewPanel_Image(image));
+          }
+        });
+        return;
+      }
+      plugins = prefetched.getPlugins();
+    }
+    else {
+      // preview the first selected file
+      plugins = ViewerPluginCache.findPlugins(currentResource, path);
+    }
 
     boolean previewOpened = false;
 
@@ -690,15 +740,24 @@ public class SidePanel_Preview extends WSPanelPlugin implements WSSelectableInte
         if (currentFrame < 0) {
           currentFrame = 0;
         }
-        for (int i = 0; i < currentFrame; i++) {
-          imageResource = imageResource.getPreviousFrame();
+        int maxFrames = 1000; // max 1000 frames to export
+        ImageFrameSource frameSource = imageResource.getFrameSource();
+        if (frameSource != null && frameSource.getFrameCount() > 1) {
+          // the frames are decoded on demand, so jump straight to the first one, and only decode each frame once
+          imageResource = frameSource.getFrame(0);
+          maxFrames = Math.min(maxFrames, frameSource.getFrameCount());
+        }
+        else {
+          for (int i = 0; i < currentFrame; i++) {
+            imageResource = imageResource.getPreviousFrame();
+          }
         }
 
         ImageResource firstResource = imageResource;
 
         // now if we're on the first frame, check that it's not an animation
         //if (imageResource.isManualFrameTransition()) {
-        for (int i = 0; i < 1000; i++) { // max 1000 frames to export
+        for (int i = 0; i < maxFrames; i++) {
           imagePanel.setImageResource(imageResource); // set the current frame
 
           // prepare the filename
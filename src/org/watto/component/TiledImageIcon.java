@@ -0,0 +1,510 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.component;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.Icon;
+
+import org.watto.ErrorLogger;
+import org.watto.Settings;
+import org.watto.datatype.ImageResource;
+
+/**
+**********************************************************************************************
+An <code>Icon</code> for showing very large images at any zoom level, without scaling the whole
+image. Only the part of the image that's visible in the clip area is painted. At full size, it's
+drawn straight from the source image. When zoomed out, it's drawn from a mip pyramid (each level
+being half the size of the one before it, using a box filter) which is built lazily, one tile at
+a time, on a background thread. Tiles that aren't built yet are drawn from a coarser level if
+one is available. The tiles are kept in an LRU cache, capped at TiledImagePreviewCacheSize bytes.
+**********************************************************************************************
+**/
+public class TiledImageIcon implements Icon {
+
+  /** The width and height of each tile in the mip pyramid **/
+  public static final int TILE_SIZE = 256;
+
+  /** The smallest level in the pyramid (1/1024th of the full size) **/
+  static final int MAX_LEVEL = 10;
+
+  /** Builds the tiles in the background, so painting never waits on them **/
+  static ExecutorService tileBuilder = null;
+
+  BufferedImage image;
+
+  int imageWidth;
+
+  int imageHeight;
+
+  /** The pixels of the <i>image</i>, if they can be read directly, otherwise null **/
+  int[] pixels = null;
+
+  int pixelOffset = 0;
+
+  int scanlineStride = 0;
+
+  double scale = 1.0;
+
+  int iconWidth;
+
+  int iconHeight;
+
+  /** The pyramid level that's painted at the current <i>scale</i> **/
+  int level = 0;
+
+  /** The built tiles, in least-recently-used order **/
+  LinkedHashMap<Long, BufferedImage> tiles = new LinkedHashMap<Long, BufferedImage>(64, 0.75f, true);
+
+  /** The tiles that are queued to be built **/
+  HashSet<Long> pendingTiles = new HashSet<Long>();
+
+  long cachedBytes = 0;
+
+  long maxCachedBytes;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public TiledImageIcon(BufferedImage image) {
+    this.image = image;
+    this.imageWidth = image.getWidth();
+    this.imageHeight = image.getHeight();
+
+    // read the pixels directly if we can, which is a lot quicker than getRGB()
+    WritableRaster raster = image.getRaster();
+    if (image.getType() == BufferedImage.TYPE_INT_ARGB && raster.getDataBuffer() instanceof DataBufferInt && raster.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+      DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+      scanlineStride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+      pixelOffset = buffer.getOffset() - raster.getSampleModelTranslateX() - (raster.getSampleModelTranslateY() * scanlineStride);
+      pixels = buffer.getData();
+    }
+
+    maxCachedBytes = Settings.getLong("TiledImagePreviewCacheSize");
+    if (maxCachedBytes <= 0) {
+      maxCachedBytes = 64 * 1024 * 1024;
+    }
+
+    setScale(1.0);
+  }
+
+  /**
+  **********************************************************************************************
+  Whether the <i>image</i> is big enough to be worth painting as tiles. The cut-off (in pixels)
+  is controlled by the TiledImagePreviewThreshold setting.
+  **********************************************************************************************
+  **/
+  public static boolean isWorthwhile(Image image) {
+    if (!(image instanceof BufferedImage)) {
+      return false;
+    }
+
+    long threshold = Settings.getLong("TiledImagePreviewThreshold");
+    if (threshold <= 0) {
+      return false; // disabled, or the setting doesn't exist
+    }
+
+    BufferedImage bufferedImage = (BufferedImage) image;
+    return (long) bufferedImage.getWidth() * bufferedImage.getHeight() >= threshold;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public BufferedImage getImage() {
+    return image;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public double getScale() {
+    return scale;
+  }
+
+  /**
+  **********************************************************************************************
+  Sets the zoom, where 1.0 is full size. Any tiles that have already been built are kept, so
+  they can be re-used if we zoom back to the same level.
+  **********************************************************************************************
+  **/
+  public void setScale(double scale) {
+    if (scale <= 0) {
+      scale = 1.0;
+    }
+
+    this.scale = scale;
+
+    iconWidth = (int) Math.max(1, Math.round(imageWidth * scale));
+    iconHeight = (int) Math.max(1, Math.round(imageHeight * scale));
+
+    // the smallest level that's still at least as big as the zoomed image
+    int newLevel = 0;
+    while (newLevel < MAX_LEVEL && scale * (2 << newLevel) <= 1.0 && (imageWidth >> (newLevel + 1)) > 0 && (imageHeight >> (newLevel + 1)) > 0) {
+      newLevel++;
+    }
+    level = newLevel;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int getIconWidth() {
+    return iconWidth;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int getIconHeight() {
+    return iconHeight;
+  }
+
+  /**
+  **********************************************************************************************
+  Paints only the tiles that are within the clip area of the <i>graphics</i>
+  **********************************************************************************************
+  **/
+  @Override
+  public void paintIcon(Component component, Graphics graphics, int x, int y) {
+    // work out the visible area, relative to the icon
+    int visibleX1 = 0;
+    int visibleY1 = 0;
+    int visibleX2 = iconWidth;
+    int visibleY2 = iconHeight;
+
+    Rectangle clip = graphics.getClipBounds();
+    if (clip != null) {
+      visibleX1 = Math.max(visibleX1, clip.x - x);
+      visibleY1 = Math.max(visibleY1, clip.y - y);
+      visibleX2 = Math.min(visibleX2, clip.x + clip.width - x);
+      visibleY2 = Math.min(visibleY2, clip.y + clip.height - y);
+    }
+
+    if (visibleX2 <= visibleX1 || visibleY2 <= visibleY1) {
+      return; // nothing visible
+    }
+
+    Graphics2D g2 = (Graphics2D) graphics.create();
+    if (scale != 1.0) {
+      g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    }
+
+    int paintLevel = level;
+    if (paintLevel == 0) {
+      // full size (or zoomed in) - draw the visible part straight from the image
+      int sourceX1 = (int) Math.floor(visibleX1 / scale);
+      int sourceY1 = (int) Math.floor(visibleY1 / scale);
+      int sourceX2 = Math.min(imageWidth, (int) Math.ceil(visibleX2 / scale));
+      int sourceY2 = Math.min(imageHeight, (int) Math.ceil(visibleY2 / scale));
+
+      g2.drawImage(image, x + (int) Math.round(sourceX1 * scale), y + (int) Math.round(sourceY1 * scale), x + (int) Math.round(sourceX2 * scale), y + (int) Math.round(sourceY2 * scale), sourceX1, sourceY1, sourceX2, sourceY2, null);
+    }
+    else {
+      double levelScale = scale * (1 << paintLevel);
+
+      int levelWidth = getLevelSize(imageWidth, paintLevel);
+      int levelHeight = getLevelSize(imageHeight, paintLevel);
+
+      int firstTileX = (int) (visibleX1 / levelScale) / TILE_SIZE;
+      int firstTileY = (int) (visibleY1 / levelScale) / TILE_SIZE;
+      int lastTileX = Math.min((levelWidth - 1) / TILE_SIZE, (int) ((visibleX2 - 1) / levelScale) / TILE_SIZE);
+      int lastTileY = Math.min((levelHeight - 1) / TILE_SIZE, (int) ((visibleY2 - 1) / levelScale) / TILE_SIZE);
+
+      for (int tileY = firstTileY; tileY <= lastTileY; tileY++) {
+        int levelY1 = tileY * TILE_SIZE;
+        int levelY2 = Math.min(levelHeight, levelY1 + TILE_SIZE);
+        int destY1 = y + (int) Math.round(levelY1 * levelScale);
+        int destY2 = y + (int) Math.round(levelY2 * levelScale);
+
+        for (int tileX = firstTileX; tileX <= lastTileX; tileX++) {
+          int levelX1 = tileX * TILE_SIZE;
+          int levelX2 = Math.min(levelWidth, levelX1 + TILE_SIZE);
+          int destX1 = x + (int) Math.round(levelX1 * levelScale);
+          int destX2 = x + (int) Math.round(levelX2 * levelScale);
+
+          BufferedImage tile = getTile(paintLevel, tileX, tileY);
+          if (tile != null) {
+            g2.drawImage(tile, destX1, destY1, destX2, destY2, 0, 0, tile.getWidth(), tile.getHeight(), null);
+          }
+          else {
+            paintFromCoarserLevel(g2, paintLevel, tileX, tileY, destX1, destY1, destX2, destY2);
+            requestTile(component, paintLevel, tileX, tileY);
+          }
+        }
+      }
+    }
+
+    g2.dispose();
+  }
+
+  /**
+  **********************************************************************************************
+  While a tile is being built, fills its area with the matching part of a tile from a coarser
+  level, if we have one
+  **********************************************************************************************
+  **/
+  void paintFromCoarserLevel(Graphics2D g2, int tileLevel, int tileX, int tileY, int destX1, int destY1, int destX2, int destY2) {
+    for (int coarserLevel = tileLevel + 1; coarserLevel <= MAX_LEVEL && coarserLevel <= tileLevel + 4; coarserLevel++) {
+      int shift = coarserLevel - tileLevel;
+      BufferedImage coarserTile = getTile(coarserLevel, tileX >> shift, tileY >> shift);
+      if (coarserTile == null) {
+        continue;
+      }
+
+      // the part of the coarser tile that covers this tile
+      int partSize = TILE_SIZE >> shift;
+      int sourceX1 = (tileX & ((1 << shift) - 1)) * partSize;
+      int sourceY1 = (tileY & ((1 << shift) - 1)) * partSize;
+      int sourceX2 = Math.min(coarserTile.getWidth(), sourceX1 + partSize);
+      int sourceY2 = Math.min(coarserTile.getHeight(), sourceY1 + partSize);
+      if (sourceX2 <= sourceX1 || sourceY2 <= sourceY1) {
+        return;
+      }
+
+      g2.drawImage(coarserTile, destX1, destY1, destX2, destY2, sourceX1, sourceY1, sourceX2, sourceY2, null);
+      return;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  The width (or height) of the image at the given pyramid <i>level</i>
+  **********************************************************************************************
+  **/
+  static int getLevelSize(int size, int level) {
+    return (size + (1 << level) - 1) >> level;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static long getTileKey(int level, int tileX, int tileY) {
+    return ((long) level << 56) | ((long) tileY << 28) | tileX;
+  }
+
+  /**
+  **********************************************************************************************
+  Gets a tile from the cache, or null if it hasn't been built yet
+  **********************************************************************************************
+  **/
+  BufferedImage getTile(int tileLevel, int tileX, int tileY) {
+    synchronized (tiles) {
+      return tiles.get(getTileKey(tileLevel, tileX, tileY));
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Adds a tile to the cache, removing the least-recently-used tiles if it's now too big
+  **********************************************************************************************
+  **/
+  void putTile(long key, BufferedImage tile) {
+    synchronized (tiles) {
+      BufferedImage oldTile = tiles.put(key, tile);
+      if (oldTile != null) {
+        cachedBytes -= oldTile.getWidth() * oldTile.getHeight() * 4;
+      }
+      cachedBytes += tile.getWidth() * tile.getHeight() * 4;
+
+      Iterator<Map.Entry<Long, BufferedImage>> iterator = tiles.entrySet().iterator();
+      while (cachedBytes > maxCachedBytes && tiles.size() > 1 && iterator.hasNext()) {
+        BufferedImage eldest = iterator.next().getValue();
+        if (eldest == tile) {
+          break;
+        }
+        cachedBytes -= eldest.getWidth() * eldest.getHeight() * 4;
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Queues a tile to be built in the background, then repaints the <i>component</i> when it's ready
+  **********************************************************************************************
+  **/
+  void requestTile(final Component component, final int tileLevel, final int tileX, final int tileY) {
+    final long key = getTileKey(tileLevel, tileX, tileY);
+    synchronized (pendingTiles) {
+      if (!pendingTiles.add(key)) {
+        return; // already queued
+      }
+    }
+
+    getTileBuilder().submit(new Runnable() {
+
+      @Override
+      public void run() {
+        try {
+          // skip it if we've zoomed to a different level since it was queued
+          if (tileLevel == level && getTile(tileLevel, tileX, tileY) == null) {
+            putTile(key, buildTile(tileLevel, tileX, tileY));
+            component.repaint();
+          }
+        }
+        catch (Throwable t) {
+          ErrorLogger.log(t);
+        }
+        finally {
+          synchronized (pendingTiles) {
+            pendingTiles.remove(key);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+  **********************************************************************************************
+  Builds a tile of the given pyramid <i>level</i>, by averaging each (2^level x 2^level) block
+  of pixels in the full-size image
+  **********************************************************************************************
+  **/
+  BufferedImage buildTile(int tileLevel, int tileX, int tileY) {
+    int blockSize = 1 << tileLevel;
+
+    int levelX1 = tileX * TILE_SIZE;
+    int levelY1 = tileY * TILE_SIZE;
+    int tileWidth = Math.min(TILE_SIZE, getLevelSize(imageWidth, tileLevel) - levelX1);
+    int tileHeight = Math.min(TILE_SIZE, getLevelSize(imageHeight, tileLevel) - levelY1);
+
+    int sourceX1 = levelX1 << tileLevel;
+    int sourceX2 = Math.min(imageWidth, (levelX1 + tileWidth) << tileLevel);
+    int sourceWidth = sourceX2 - sourceX1;
+
+    int[] tilePixels = new int[tileWidth * tileHeight];
+
+    int[] alpha = new int[tileWidth];
+    int[] red = new int[tileWidth];
+    int[] green = new int[tileWidth];
+    int[] blue = new int[tileWidth];
+
+    int[] row = null;
+    if (pixels == null) {
+      row = new int[sourceWidth];
+    }
+
+    for (int y = 0; y < tileHeight; y++) {
+      int sourceY1 = (levelY1 + y) << tileLevel;
+      int sourceY2 = Math.min(imageHeight, sourceY1 + blockSize);
+
+      for (int x = 0; x < tileWidth; x++) {
+        alpha[x] = 0;
+        red[x] = 0;
+        green[x] = 0;
+        blue[x] = 0;
+      }
+
+      for (int sourceY = sourceY1; sourceY < sourceY2; sourceY++) {
+        int[] rowPixels;
+        int rowOffset;
+        if (pixels != null) {
+          rowPixels = pixels;
+          rowOffset = pixelOffset + sourceY * scanlineStride + sourceX1;
+        }
+        else {
+          image.getRGB(sourceX1, sourceY, sourceWidth, 1, row, 0, sourceWidth);
+          rowPixels = row;
+          rowOffset = 0;
+        }
+
+        for (int i = 0; i < sourceWidth; i++) {
+          int pixel = rowPixels[rowOffset + i];
+          int x = i >> tileLevel;
+          alpha[x] += pixel >>> 24;
+          red[x] += (pixel >> 16) & 255;
+          green[x] += (pixel >> 8) & 255;
+          blue[x] += pixel & 255;
+        }
+      }
+
+      int rows = sourceY2 - sourceY1;
+      int outputOffset = y * tileWidth;
+      for (int x = 0; x < tileWidth; x++) {
+        int columns = Math.min(blockSize, sourceWidth - (x << tileLevel));
+        int count = rows * columns;
+        tilePixels[outputOffset + x] = ((alpha[x] / count) << 24) | ((red[x] / count) << 16) | ((green[x] / count) << 8) | (blue[x] / count);
+      }
+    }
+
+    return ImageResource.createBufferedImage(tilePixels, tileWidth, tileHeight);
+  }
+
+  /**
+  **********************************************************************************************
+  Removes all the built tiles, so the memory can be freed
+  **********************************************************************************************
+  **/
+  public void clear() {
+    synchronized (tiles) {
+      tiles.clear();
+      cachedBytes = 0;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static synchronized ExecutorService getTileBuilder() {
+    if (tileBuilder == null) {
+      tileBuilder = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "TiledImageIcon");
+          thread.setDaemon(true);
+          thread.setPriority(Thread.NORM_PRIORITY - 1);
+          return thread;
+        }
+      });
+    }
+    return tileBuilder;
+  }
+
+}
@@ -32,6 +32,7 @@ import org.watto.component.model.UneditableTableModel;
 import org.watto.event.WSClickableInterface;
 import org.watto.event.WSKeyableInterface;
 import org.watto.event.WSMotionableInterface;
+import org.watto.ge.helper.MemoryBudget;
 import org.watto.io.FileManipulator;
 import org.watto.io.converter.BooleanArrayConverter;
 import org.watto.io.converter.CharConverter;
@@ -68,6 +69,9 @@ public class WSHexEditor extends WSPanel implements WSKeyableInterface,
 
   byte[] bytes = new byte[0];
 
+  /** The memory reserved from the MemoryBudget for the <code>bytes</code> **/
+  long reservedLength = 0;
+
   /**
    **********************************************************************************************
    * Constructor for extended classes only
@@ -344,6 +348,15 @@ public class WSHexEditor extends WSPanel implements WSKeyableInterface,
         length = sizeLimit;
       }
 
+      // free the previous file first, then only load as much of this file as there's memory for
+      bytes = new byte[0];
+      MemoryBudget.release(reservedLength);
+      reservedLength = MemoryBudget.reserveUpTo(length);
+      if (reservedLength < length) {
+        ErrorLogger.log("[WSHexEditor] Only showing the first " + reservedLength + " of " + length + " bytes, as there isn't enough memory for the whole file");
+        length = (int) reservedLength;
+      }
+
       FileManipulator fm = new FileManipulator(file, false);
       bytes = fm.readBytes(length);
       fm.close();
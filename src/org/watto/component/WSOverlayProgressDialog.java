@@ -116,6 +116,33 @@ public class WSOverlayProgressDialog extends JPanel implements WSProgressDialogI
     //progress.setSize(new Dimension(200,20));
   }
 
+  /***********************************************************************************************
+  Sets the text painted on a <code>JProgressBar</code>, such as the throughput of the task
+  @param text the text to show, or <b>null</b> to show the percentage
+  @param barNumber the <code>JProgressBar</code> to set the text of
+  ***********************************************************************************************/
+  @Override
+  public void setBarText(String text, int barNumber) {
+    try {
+      if (barCount > 1) {
+        // if the barNumber is indeterminate, looks for the next determinate bar and changes that instead
+        for (; barNumber < barCount; barNumber++) {
+          if (!bars[barNumber].isIndeterminate()) {
+            bars[barNumber].setString(text);
+            return;
+          }
+        }
+      }
+      else {
+        if (barNumber < bars.length) {
+          bars[barNumber].setString(text);
+        }
+      }
+    }
+    catch (Throwable t) {
+    }
+  }
+
   /***********************************************************************************************
   Sets this <code>WSProgressDialog</code> to show the main <code>JProgressBar</code> as indeterminate
   @param indeterminate <b>true</b> if the main <code>JProgressBar</code> is indeterminate<br />
@@ -26,6 +26,13 @@ A Progress Dialog GUI <code>Component</code>
 
 public interface WSProgressDialogInterface {
 
+  /***********************************************************************************************
+  Sets the text painted on a <code>JProgressBar</code>, such as the throughput of the task
+  @param text the text to show, or <b>null</b> to show the percentage
+  @param barNumber the <code>JProgressBar</code> to set the text of
+  ***********************************************************************************************/
+  public void setBarText(String text, int barNumber);
+
   /***********************************************************************************************
   Sets the cursor being displayed
   ***********************************************************************************************/
@@ -34,6 +34,9 @@ public class WSStatusBar extends WSLabel {
   /** The previous status message **/
   String oldStatus = " ";
 
+  /** Extra information shown at the right of the status bar, such as the memory used **/
+  String indicatorText = null;
+
   /***********************************************************************************************
   Constructor for extended classes only
   ***********************************************************************************************/
@@ -53,6 +56,14 @@ public class WSStatusBar extends WSLabel {
     setText(" ");
   }
 
+  /***********************************************************************************************
+  Gets the text shown at the right of the status bar
+  @return the indicator text, or null if there isn't any
+  ***********************************************************************************************/
+  public String getIndicatorText() {
+    return indicatorText;
+  }
+
   /***********************************************************************************************
   Changes the status message back to the <code>oldStatus</code>
   ***********************************************************************************************/
@@ -80,6 +91,19 @@ public class WSStatusBar extends WSLabel {
     super.setText_Super(text);
   }
 
+  /***********************************************************************************************
+  Sets the text shown at the right of the status bar, which stays there when the status message
+  changes
+  @param text the indicator text, or null to remove it
+  ***********************************************************************************************/
+  public void setIndicatorText(String text) {
+    if (text == null ? indicatorText == null : text.equals(indicatorText)) {
+      return;
+    }
+    indicatorText = text;
+    repaint();
+  }
+
   /***********************************************************************************************
   Sets the GUI renderer for this <code>Component</code>. Overwritten to force the use of
   <code>ButterflyStatusBarUI</code>
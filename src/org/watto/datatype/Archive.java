@@ -24,11 +24,16 @@ import org.watto.component.ComponentRepository;
 import org.watto.component.SidePanel_DirectoryList;
 import org.watto.component.WSTableColumn;
 import org.watto.ge.GameExtractor;
+import org.watto.ge.helper.FileListFilter;
+import org.watto.ge.helper.FileListSorter;
+import org.watto.ge.helper.ThumbnailMemoryCache;
+import org.watto.ge.helper.ViewerPluginCache;
 import org.watto.ge.plugin.AllFilesPlugin;
 import org.watto.ge.plugin.ArchivePlugin;
 import org.watto.io.DirectoryBuilder;
 import org.watto.io.FilenameChecker;
 import org.watto.plaf.LookAndFeelManager;
+import org.watto.task.PreviewPrefetcher;
 
 /**
  **********************************************************************************************
@@ -475,6 +480,11 @@ public class Archive {
 
     resources = new Resource[0];
     readPlugin = new AllFilesPlugin();
+    FileListSorter.clearCache();
+    FileListFilter.clearCache();
+    ThumbnailMemoryCache.clear();
+    PreviewPrefetcher.clear();
+    ViewerPluginCache.clear();
     basePath = null;
 
     columns = getDefaultColumns();
@@ -673,6 +683,11 @@ public class Archive {
    **/
   public static void setResources(Resource[] resourcesNew) {
     resources = resourcesNew;
+    FileListSorter.clearCache();
+    FileListFilter.clearCache();
+    ThumbnailMemoryCache.clear();
+    PreviewPrefetcher.clear();
+    ViewerPluginCache.clear();
   }
 
   /**
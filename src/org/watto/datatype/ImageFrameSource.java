@@ -0,0 +1,211 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.datatype;
+
+import java.util.LinkedHashMap;
+
+import org.watto.ErrorLogger;
+import org.watto.Settings;
+
+/**
+**********************************************************************************************
+A source of frames for a multi-frame image, where each frame is only decoded when it's needed,
+instead of decoding all the frames up front into a chain of ImageResources. A small LRU of the
+decoded frames is kept (the size is set by the ImageFrameCacheSize setting), and the first frame
+is always kept, so that code which walks around the frames (eg for exporting) can tell when
+it's back at the beginning.
+
+The frames are linked to this source, so ImageResource.getNextFrame() and getPreviousFrame()
+pull the frames through here.
+**********************************************************************************************
+**/
+public abstract class ImageFrameSource {
+
+  /** The default number of frames to keep decoded, if the setting doesn't exist **/
+  public static final int DEFAULT_CACHE_SIZE = 16;
+
+  int frameCount = 0;
+
+  /** Access-ordered, so the first entry is always the least recently used **/
+  LinkedHashMap<Integer, ImageResource> frames = new LinkedHashMap<Integer, ImageResource>(32, 0.75f, true);
+
+  ImageResource firstFrame = null;
+
+  int maxCachedFrames = -1;
+
+  boolean manualFrameTransition = false;
+
+  int animationSpeed = -1;
+
+  long decodeCount = 0;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public ImageFrameSource(int frameCount) {
+    this.frameCount = frameCount;
+  }
+
+  /**
+  **********************************************************************************************
+  Decodes the frame <i>frameNumber</i>. Called at most once for each frame while it's in the
+  cache, so this doesn't need to do any caching itself. Returns null if the frame can't be
+  decoded.
+  **********************************************************************************************
+  **/
+  protected abstract ImageResource decodeFrame(int frameNumber);
+
+  /**
+  **********************************************************************************************
+  Removes all the decoded frames (except the first frame)
+  **********************************************************************************************
+  **/
+  public synchronized void clear() {
+    frames.clear();
+  }
+
+  /**
+  **********************************************************************************************
+  The number of frames that have been decoded so far (including frames decoded more than once)
+  **********************************************************************************************
+  **/
+  public synchronized long getDecodeCount() {
+    return decodeCount;
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the frame <i>frameNumber</i>, decoding it if it isn't already in the cache. The frame
+  number wraps around, so -1 is the last frame.
+  **********************************************************************************************
+  **/
+  public synchronized ImageResource getFrame(int frameNumber) {
+    if (frameCount <= 0) {
+      return null;
+    }
+
+    frameNumber %= frameCount;
+    if (frameNumber < 0) {
+      frameNumber += frameCount;
+    }
+
+    if (frameNumber == 0 && firstFrame != null) {
+      return firstFrame;
+    }
+
+    ImageResource frame = frames.get(frameNumber);
+    if (frame != null) {
+      return frame;
+    }
+
+    try {
+      frame = decodeFrame(frameNumber);
+      decodeCount++;
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+      frame = null;
+    }
+
+    if (frame == null) {
+      // couldn't decode the frame, so show an empty one rather than breaking the chain of frames
+      frame = new ImageResource(new int[1], 1, 1);
+    }
+
+    frame.setFrameSource(this, frameNumber);
+    frame.setManualFrameTransition(manualFrameTransition);
+    if (animationSpeed >= 0) {
+      frame.setAnimationSpeed(animationSpeed);
+    }
+
+    if (frameNumber == 0) {
+      firstFrame = frame;
+      return frame;
+    }
+
+    frames.put(frameNumber, frame);
+
+    int maxFrames = getMaxCachedFrames();
+    while (frames.size() > maxFrames) {
+      Integer oldest = frames.keySet().iterator().next();
+      frames.remove(oldest);
+    }
+
+    return frame;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public synchronized int getMaxCachedFrames() {
+    if (maxCachedFrames < 0) {
+      maxCachedFrames = Settings.getInt("ImageFrameCacheSize");
+      if (maxCachedFrames < 0) {
+        maxCachedFrames = DEFAULT_CACHE_SIZE; // the setting doesn't exist
+      }
+      if (maxCachedFrames < 2) {
+        maxCachedFrames = 2; // need at least the current and next frames, for animations
+      }
+    }
+    return maxCachedFrames;
+  }
+
+  /**
+  **********************************************************************************************
+  Sets the delay between frames (in milliseconds) for all frames that are decoded
+  **********************************************************************************************
+  **/
+  public void setAnimationSpeed(int animationSpeed) {
+    this.animationSpeed = animationSpeed;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether the frames are a collection of images that the user moves through (true), or an
+  animation (false)
+  **********************************************************************************************
+  **/
+  public void setManualFrameTransition(boolean manualFrameTransition) {
+    this.manualFrameTransition = manualFrameTransition;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public synchronized void setMaxCachedFrames(int maxCachedFrames) {
+    this.maxCachedFrames = maxCachedFrames;
+    while (frames.size() > maxCachedFrames && frames.size() > 0) {
+      Integer oldest = frames.keySet().iterator().next();
+      frames.remove(oldest);
+    }
+  }
+
+}
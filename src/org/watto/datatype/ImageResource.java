@@ -15,15 +15,20 @@
 package org.watto.datatype;
 
 import java.awt.Image;
+import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
 import java.awt.image.DirectColorModel;
 import java.awt.image.MemoryImageSource;
 import java.awt.image.PixelGrabber;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
 
 import javax.swing.JLabel;
 
 import org.watto.ErrorLogger;
 import org.watto.Settings;
+import org.watto.ge.helper.MemoryBudget;
 import org.watto.ge.plugin.resource.Resource_Property;
 import org.watto.io.converter.ByteConverter;
 
@@ -35,7 +40,10 @@ public class ImageResource {
 
   int height = 0;
 
-  int thumbnailSize = 100; // default size
+  /** The default size of a thumbnail **/
+  public static final int DEFAULT_THUMBNAIL_SIZE = 100;
+
+  int thumbnailSize = DEFAULT_THUMBNAIL_SIZE; // default size
 
   int animationSpeed = 100; // default 100ms between frames
 
@@ -50,7 +58,27 @@ public class ImageResource {
 
   ImageResource nextFrame = null;
 
+  /** Decodes the other frames on demand, when the frames aren't linked directly by nextFrame/previousFrame **/
+  ImageFrameSource frameSource = null;
+
+  /** The number of this frame in the frameSource **/
+  int frameNumber = 0;
+
+  /** The Image for the pixels, shared with the pixel array, so it only needs to be built once **/
+  BufferedImage cachedImage = null;
+
+  /** The pixels, width and height that the cachedImage was built from **/
+  int[] cachedImagePixels = null;
+
+  int cachedImageWidth = 0;
+
+  int cachedImageHeight = 0;
+
   public int getFrameCount() {
+    if (nextFrame == null && frameSource != null) {
+      return frameSource.getFrameCount();
+    }
+
     // we need to go through and count up all the frames until we're back at this one.
     int frameCount = 1;
 
@@ -64,6 +92,9 @@ public class ImageResource {
   }
 
   public ImageResource getPreviousFrame() {
+    if (previousFrame == null && frameSource != null && frameSource.getFrameCount() > 1) {
+      return frameSource.getFrame(frameNumber - 1);
+    }
     return previousFrame;
   }
 
@@ -92,6 +123,8 @@ public class ImageResource {
     this.pixels = pixels;
     this.width = width;
     this.height = height;
+
+    makeRoom(width, height);
   }
 
   /**
@@ -104,6 +137,8 @@ public class ImageResource {
     this.width = width;
     this.height = height;
 
+    makeRoom(width, height);
+
     try {
       PixelGrabber pixelGrabber = new PixelGrabber(image, 0, 0, width, height, true);
       pixelGrabber.grabPixels();
@@ -150,6 +185,24 @@ public class ImageResource {
     this.pixels = pixels;
     this.width = width;
     this.height = height;
+
+    makeRoom(width, height);
+  }
+
+  /** Images smaller than this (in bytes) are too small to be worth checking the MemoryBudget for **/
+  static final long LARGE_IMAGE_SIZE = 1048576;
+
+  /**
+  **********************************************************************************************
+  Large images are copied into other images to be displayed (or have their pixels grabbed), so
+  this empties the caches in the MemoryBudget if there isn't enough room for another copy
+  **********************************************************************************************
+  **/
+  static void makeRoom(int width, int height) {
+    long size = (long) width * height * 4;
+    if (size >= LARGE_IMAGE_SIZE) {
+      MemoryBudget.makeRoom(size);
+    }
   }
 
   public int getAnimationSpeed() {
@@ -212,6 +265,7 @@ public class ImageResource {
     this.imageShrunk = imageResource.isImageShrunk();
     this.properties = imageResource.getProperties();
 
+    clearCachedImage();
   }
 
   /**
@@ -229,8 +283,55 @@ public class ImageResource {
   **********************************************************************************************
   **/
   public Image getImage() {
-    ColorModel model = new DirectColorModel(32, 0x00ff0000, 0x0000ff00, 0x000000ff, 0xff000000);
-    return new JLabel().createImage(new MemoryImageSource(width, height, model, getImagePixels(), 0, width));
+    if (cachedImage != null && cachedImagePixels == pixels && cachedImageWidth == width && cachedImageHeight == height) {
+      return cachedImage;
+    }
+
+    int[] imagePixels = getImagePixels();
+
+    BufferedImage image = createBufferedImage(imagePixels, width, height);
+    if (image == null) {
+      // not enough pixels for the width/height, so let the MemoryImageSource deal with it
+      ColorModel model = new DirectColorModel(32, 0x00ff0000, 0x0000ff00, 0x000000ff, 0xff000000);
+      return new JLabel().createImage(new MemoryImageSource(width, height, model, imagePixels, 0, width));
+    }
+
+    if (imagePixels == pixels) {
+      // only cache the image if it uses the pixels directly (ie not a merged copy of paletted pixels)
+      cachedImage = image;
+      cachedImagePixels = pixels;
+      cachedImageWidth = width;
+      cachedImageHeight = height;
+    }
+
+    return image;
+  }
+
+  /**
+  **********************************************************************************************
+  Builds a TYPE_INT_ARGB BufferedImage that uses the <i>imagePixels</i> array directly (no copy),
+  so any changes to the pixels are shown in the image. Returns null if there aren't enough pixels
+  for the <i>width</i> and <i>height</i>.
+  **********************************************************************************************
+  **/
+  public static BufferedImage createBufferedImage(int[] imagePixels, int width, int height) {
+    if (imagePixels == null || width <= 0 || height <= 0 || imagePixels.length < width * height) {
+      return null;
+    }
+
+    DataBufferInt buffer = new DataBufferInt(imagePixels, width * height);
+    WritableRaster raster = Raster.createPackedRaster(buffer, width, height, width, new int[] { 0x00ff0000, 0x0000ff00, 0x000000ff, 0xff000000 }, null);
+    return new BufferedImage(ColorModel.getRGBdefault(), raster, false, null);
+  }
+
+  /**
+  **********************************************************************************************
+  Discards the cached Image, so it is re-built from the pixels the next time it's needed
+  **********************************************************************************************
+  **/
+  public void clearCachedImage() {
+    cachedImage = null;
+    cachedImagePixels = null;
   }
 
   /**
@@ -248,9 +349,31 @@ public class ImageResource {
   **********************************************************************************************
   **/
   public ImageResource getNextFrame() {
+    if (nextFrame == null && frameSource != null && frameSource.getFrameCount() > 1) {
+      return frameSource.getFrame(frameNumber + 1);
+    }
     return nextFrame;
   }
 
+  /**
+  **********************************************************************************************
+  The source that decodes the frames of this image on demand, or null if the frames are all
+  linked together already (or there's only 1 frame)
+  **********************************************************************************************
+  **/
+  public ImageFrameSource getFrameSource() {
+    return frameSource;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public int getFrameNumber() {
+    return frameNumber;
+  }
+
   /**
   **********************************************************************************************
   
@@ -401,7 +524,8 @@ public class ImageResource {
   **********************************************************************************************
   **/
   public boolean isAnimation() {
-    return (nextFrame != null && manualFrameTransition == false);
+    boolean hasFrames = (nextFrame != null || (frameSource != null && frameSource.getFrameCount() > 1));
+    return (hasFrames && manualFrameTransition == false);
   }
 
   /**
@@ -429,15 +553,31 @@ public class ImageResource {
   **/
   public void setImageShrunk(boolean imageShrunk) {
     this.imageShrunk = imageShrunk;
+    clearCachedImage(); // the pixels may need to be merged differently (eg for paletted images)
   }
 
   /**
   **********************************************************************************************
-  
+  Sets the next frame. Setting it to <i>null</i> also detaches this frame from its frameSource,
+  so that no more frames are reachable from this one (eg when making thumbnails)
   **********************************************************************************************
   **/
   public void setNextFrame(ImageResource nextFrame) {
     this.nextFrame = nextFrame;
+    if (nextFrame == null) {
+      setFrameSource(null, 0);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Links this frame to the <i>frameSource</i>, which decodes the next and previous frames when
+  they're needed
+  **********************************************************************************************
+  **/
+  public void setFrameSource(ImageFrameSource frameSource, int frameNumber) {
+    this.frameSource = frameSource;
+    this.frameNumber = frameNumber;
   }
 
   /**
@@ -447,6 +587,7 @@ public class ImageResource {
   **/
   public void setPixels(int[] pixels) {
     this.pixels = pixels;
+    clearCachedImage();
   }
 
   public void setProperties(Resource_Property[] properties) {
@@ -508,97 +649,170 @@ public class ImageResource {
   **********************************************************************************************
   **/
   public void shrinkToThumbnail() {
-    if (pixels.length <= 0) {
+    if (pixels.length <= 0 || width <= 0 || height <= 0) {
       return;
     }
 
-    Image image = getImage();
-    int thumbWidth = image.getWidth(null);
-    int thumbHeight = image.getHeight(null);
-    Image thumbnail = null;
+    int[] imagePixels = getImagePixels();
+    if (imagePixels.length < width * height) {
+      return; // not enough pixels for the image size
+    }
 
-    boolean highQualityThumbnails = Settings.getBoolean("HighQualityThumbnails");
+    // work out the thumbnail size, keeping the aspect ratio
+    int thumbWidth = thumbnailSize;
+    int thumbHeight = thumbnailSize;
+    if (width > height) {
+      thumbHeight = Math.max(1, (int) ((long) height * thumbnailSize / width));
+    }
+    else {
+      thumbWidth = Math.max(1, (int) ((long) width * thumbnailSize / height));
+    }
 
-    if (thumbWidth <= 0 || thumbHeight <= 0) {
-      // the getWidth()/getHeight() doesn't work yet, so guess a resize and check
+    int[] thumbPixels = null;
 
-      if (!highQualityThumbnails) {
-        thumbnail = image.getScaledInstance(-1, thumbnailSize, Image.SCALE_FAST);
+    if (width <= thumbnailSize && height <= thumbnailSize) {
+      // the image is smaller than the thumbnail size - see if we want to return the real image
+      // instead of upscaling it to be larger
+      if (!Settings.getBoolean("UpscaleSmallThumbnails")) {
+        // keep the real image (not upscaled)
+        thumbWidth = width;
+        thumbHeight = height;
+        thumbPixels = imagePixels;
       }
       else {
-        thumbnail = image.getScaledInstance(-1, thumbnailSize, Image.SCALE_SMOOTH);
-      }
-
-      thumbWidth = thumbnail.getWidth(null);
-      thumbHeight = thumbnailSize;
-      if (thumbWidth > thumbHeight) {
-        // guessed height was larger, but the width is larger, so regenerate
-        if (!highQualityThumbnails) {
-          thumbnail = image.getScaledInstance(thumbnailSize, -1, Image.SCALE_FAST);
-        }
-        else {
-          thumbnail = image.getScaledInstance(thumbnailSize, -1, Image.SCALE_SMOOTH);
-        }
+        thumbPixels = scaleNearest(imagePixels, width, height, thumbWidth, thumbHeight);
       }
     }
+    else if (Settings.getBoolean("HighQualityThumbnails")) {
+      thumbPixels = scaleAreaAverage(imagePixels, width, height, thumbWidth, thumbHeight);
+    }
     else {
+      thumbPixels = scaleNearest(imagePixels, width, height, thumbWidth, thumbHeight);
+    }
 
-      boolean retainSize = false;
-      if (thumbWidth <= thumbnailSize && thumbHeight <= thumbnailSize) {
-        // the image is smaller than the thumbnail size - see if we want to return the real image
-        // instead of upscaling it to be larger
-        if (!Settings.getBoolean("UpscaleSmallThumbnails")) {
-          // return the real image (not upscaled)
-          thumbnail = image;
-          retainSize = true;
-        }
+    // now that we have generated a thumbnail, replace the pixel data to free up memory
+    this.pixels = thumbPixels;
+    this.width = thumbWidth;
+    this.height = thumbHeight;
 
-      }
+    imageShrunk = true;
+    clearCachedImage();
+  }
 
-      if (!retainSize) {
-        if (thumbWidth > thumbHeight) {
-          if (!highQualityThumbnails) {
-            thumbnail = image.getScaledInstance(thumbnailSize, -1, Image.SCALE_FAST);
-          }
-          else {
-            thumbnail = image.getScaledInstance(thumbnailSize, -1, Image.SCALE_SMOOTH);
-          }
-        }
-        else {
-          if (!highQualityThumbnails) {
-            thumbnail = image.getScaledInstance(-1, thumbnailSize, Image.SCALE_FAST);
-          }
-          else {
-            thumbnail = image.getScaledInstance(-1, thumbnailSize, Image.SCALE_SMOOTH);
-          }
-        }
+  /**
+  **********************************************************************************************
+  Scales the <i>source</i> ARGB pixels to the new size by picking the nearest pixel
+  **********************************************************************************************
+  **/
+  public static int[] scaleNearest(int[] source, int sourceWidth, int sourceHeight, int newWidth, int newHeight) {
+    int[] scaled = new int[newWidth * newHeight];
+
+    int[] sourceX = new int[newWidth];
+    for (int x = 0; x < newWidth; x++) {
+      sourceX[x] = (int) ((((long) x * 2 + 1) * sourceWidth) / (newWidth * 2));
+    }
+
+    int outPos = 0;
+    for (int y = 0; y < newHeight; y++) {
+      int sourceY = (int) ((((long) y * 2 + 1) * sourceHeight) / (newHeight * 2));
+      int rowStart = sourceY * sourceWidth;
+      for (int x = 0; x < newWidth; x++) {
+        scaled[outPos++] = source[rowStart + sourceX[x]];
       }
     }
 
-    if (thumbnail == null) {
-      return;
+    return scaled;
+  }
+
+  /**
+  **********************************************************************************************
+  Shrinks the <i>source</i> ARGB pixels to the new size, where each new pixel is the average of
+  all the source pixels that it covers. Source pixels on the edge of a new pixel are weighted by
+  how much of them it covers, so the result is a true area average at any ratio. Distances are
+  measured in 1/newWidth (and 1/newHeight) of a source pixel, so all the weights are integers.
+  **********************************************************************************************
+  **/
+  public static int[] scaleAreaAverage(int[] source, int sourceWidth, int sourceHeight, int newWidth, int newHeight) {
+    int[] scaled = new int[newWidth * newHeight];
+
+    // the source columns that each new column covers, and the weight of the first and last ones
+    int[] columnStart = new int[newWidth];
+    int[] columnEnd = new int[newWidth];
+    for (int x = 0; x < newWidth; x++) {
+      columnStart[x] = (int) (((long) x * sourceWidth) / newWidth);
+      columnEnd[x] = (int) (((long) (x + 1) * sourceWidth + newWidth - 1) / newWidth);
     }
 
-    thumbWidth = thumbnail.getWidth(null);
-    thumbHeight = thumbnail.getHeight(null);
+    // every new pixel covers the same area, sourceWidth*sourceHeight in these units
+    long count = (long) sourceWidth * sourceHeight;
+    long half = count / 2;
+
+    // running totals for each channel of each new column, across all the source rows of the new row
+    long[] totalA = new long[newWidth];
+    long[] totalR = new long[newWidth];
+    long[] totalG = new long[newWidth];
+    long[] totalB = new long[newWidth];
+
+    int outPos = 0;
+    for (int y = 0; y < newHeight; y++) {
+      long top = (long) y * sourceHeight;
+      long bottom = top + sourceHeight;
+      int rowStart = (int) (top / newHeight);
+      int rowEnd = (int) ((bottom + newHeight - 1) / newHeight);
+
+      for (int sourceY = rowStart; sourceY < rowEnd; sourceY++) {
+        long rowWeight = Math.min(bottom, (long) (sourceY + 1) * newHeight) - Math.max(top, (long) sourceY * newHeight);
+        int readPos = sourceY * sourceWidth;
+
+        for (int x = 0; x < newWidth; x++) {
+          long left = (long) x * sourceWidth;
+          long right = left + sourceWidth;
+
+          long a = 0;
+          long r = 0;
+          long g = 0;
+          long b = 0;
+          for (int sourceX = columnStart[x]; sourceX < columnEnd[x]; sourceX++) {
+            long weight = Math.min(right, (long) (sourceX + 1) * newWidth) - Math.max(left, (long) sourceX * newWidth);
+            int pixel = source[readPos + sourceX];
+
+            // weight the colors by the alpha, so fully transparent pixels don't change the color
+            long alpha = (pixel >>> 24) * weight;
+            a += alpha;
+            r += ((pixel >> 16) & 255) * alpha;
+            g += ((pixel >> 8) & 255) * alpha;
+            b += (pixel & 255) * alpha;
+          }
 
-    // now that we have generated a thumbnail, remove the pixel data to free up memory
-    try {
-      PixelGrabber pixelGrabber = new PixelGrabber(thumbnail, 0, 0, thumbWidth, thumbHeight, false);
-      pixelGrabber.grabPixels();
+          totalA[x] += a * rowWeight;
+          totalR[x] += r * rowWeight;
+          totalG[x] += g * rowWeight;
+          totalB[x] += b * rowWeight;
+        }
+      }
 
-      // get the pixels, and convert them to positive values in an int[] array
-      this.pixels = (int[]) pixelGrabber.getPixels();
-      this.width = thumbWidth;
-      this.height = thumbHeight;
+      for (int x = 0; x < newWidth; x++) {
+        long alphaTotal = totalA[x];
+        if (alphaTotal == 0) {
+          scaled[outPos++] = 0; // fully transparent
+        }
+        else {
+          long alphaHalf = alphaTotal / 2;
+          int a = (int) ((alphaTotal + half) / count);
+          int r = (int) ((totalR[x] + alphaHalf) / alphaTotal);
+          int g = (int) ((totalG[x] + alphaHalf) / alphaTotal);
+          int b = (int) ((totalB[x] + alphaHalf) / alphaTotal);
+          scaled[outPos++] = (a << 24) | (r << 16) | (g << 8) | b;
+        }
 
-      imageShrunk = true;
-    }
-    catch (Throwable t) {
-      // Couldn't get the pixels for some reason
-      ErrorLogger.log(t);
+        totalA[x] = 0;
+        totalR[x] = 0;
+        totalG[x] = 0;
+        totalB[x] = 0;
+      }
     }
 
+    return scaled;
   }
 
   /**
@@ -623,6 +837,7 @@ public class ImageResource {
       this.width = width;
       this.height = height;
 
+      clearCachedImage();
     }
     catch (Throwable t) {
       // Couldn't get the pixels for some reason
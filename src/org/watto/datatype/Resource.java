@@ -29,6 +29,7 @@ import org.watto.ge.plugin.resource.Resource_Property;
 import org.watto.io.FileManipulator;
 import org.watto.io.FilenameChecker;
 import org.watto.io.FilenameSplitter;
+import org.watto.task.PreviewPrefetcher;
 
 public class Resource implements Comparable<Resource> {
 
@@ -124,6 +125,12 @@ public class Resource implements Comparable<Resource> {
   /** Used for generating thumbnails of the image file, if applicable **/
   ImageResource imageResource = null;
 
+  /** The name in lower case, for case-insensitive searching and filtering **/
+  String nameLowerCase = null;
+
+  /** The name that <code>nameLowerCase</code> was made from, so we know when it's out of date **/
+  String nameLowerCaseOf = null;
+
   /** Any additional properties for the Resource - helpful mostly for writing this resource **/
   Resource_Property[] properties = null;
 
@@ -382,20 +389,25 @@ public class Resource implements Comparable<Resource> {
 
   /**
   **********************************************************************************************
-  
+  Extracts this file to the <i>fm</i>. The ExporterPlugins keep their state in shared fields, so
+  only one file is extracted at a time (previews and thumbnails are generated on other threads).
   **********************************************************************************************
   **/
   public void extract(FileManipulator fm) {
-    exporter.extract(this, fm);
+    synchronized (PreviewPrefetcher.EXPORT_LOCK) {
+      exporter.extract(this, fm);
+    }
   }
 
   /**
   **********************************************************************************************
-  
+  Extracts this file to the <i>outStream</i>, one file at a time
   **********************************************************************************************
   **/
   public void extract(OutputStream outStream) {
-    exporter.extract(this, outStream);
+    synchronized (PreviewPrefetcher.EXPORT_LOCK) {
+      exporter.extract(this, outStream);
+    }
   }
 
   /////
@@ -594,6 +606,21 @@ public class Resource implements Comparable<Resource> {
     return name.length();
   }
 
+  /**
+  **********************************************************************************************
+  The name in lower case. This is kept until the name changes, so searching and filtering large
+  file lists doesn't need to convert every name each time.
+  **********************************************************************************************
+  **/
+  public String getNameLowerCase() {
+    String currentName = name;
+    if (currentName != nameLowerCaseOf) {
+      nameLowerCase = currentName.toLowerCase();
+      nameLowerCaseOf = currentName;
+    }
+    return nameLowerCase;
+  }
+
   /**
   **********************************************************************************************
   
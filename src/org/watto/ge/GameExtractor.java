@@ -344,6 +344,7 @@ import org.watto.event.WSWindowFocusableInterface;
 import org.watto.event.listener.WSWindowFocusableListener;
 import org.watto.ge.helper.CommandLineProcessor;
 import org.watto.ge.helper.FileTypeDetector;
+import org.watto.ge.helper.MemoryBudget;
 import org.watto.ge.plugin.ArchivePlugin;
 import org.watto.ge.plugin.ViewerPlugin;
 import org.watto.ge.script.ScriptManager;
@@ -546,6 +547,7 @@ public class GameExtractor extends WSProgram implements WSClickableInterface,
     FileTypeDetector.loadGenericDescriptions();
 
     ((WSStatusBar) ComponentRepository.get("StatusBar")).setText(Language.get("Welcome"));
+    MemoryBudget.startIndicator();
 
     // Register the WSRecentFileMenu with the RecentFilesManager to capture the events
     WSRecentFileMenu recentFileMenu = ((WSRecentFileMenu) ComponentRepository.get("RecentFileMenu"));
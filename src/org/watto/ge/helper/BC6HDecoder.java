@@ -0,0 +1,336 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.helper;
+
+/**
+**********************************************************************************************
+Pure-Java BC6H Decoder, used when the native bc6decomp library can't be loaded (such as on
+non-Windows platforms). Each mode's bit layout is held in a table of runs, the block is read as
+a pair of <i>long</i>s, and the scratch arrays are owned by the decoder, so nothing is allocated
+per block. A decoder isn't thread-safe, so each thread needs its own one.
+
+The decoded pixels are in the same form as NativeBC6Decomp, which is 3 floats (R,G,B) per pixel.
+Ref: https://github.com/iOrange/bcdec/blob/main/bcdec.h
+**********************************************************************************************
+**/
+public class BC6HDecoder {
+
+  /** The mode (0-13) for each value of the first 5 bits of the block, or -1 for the reserved modes **/
+  static final int[] MODES = new int[32];
+
+  /** The value of the first 5 bits (or 2 bits, for modes 0 and 1) of the block, for each mode **/
+  static final int[] MODE_VALUES = { 0x00, 0x01, 0x02, 0x06, 0x0A, 0x0E, 0x12, 0x16, 0x1A, 0x1E, 0x03, 0x07, 0x0B, 0x0F };
+
+  /** The number of bits in the base endpoint, for each mode **/
+  static final int[] ENDPOINT_BITS = { 10, 7, 11, 11, 11, 9, 8, 8, 8, 6, 10, 11, 12, 16 };
+
+  /** The number of bits in each delta endpoint (for R, G, and B), for each mode **/
+  static final int[][] DELTA_BITS = {
+      { 5, 6, 5, 4, 4, 5, 6, 5, 5, 6, 10, 9, 8, 4 },
+      { 5, 6, 4, 5, 4, 5, 5, 6, 5, 6, 10, 9, 8, 4 },
+      { 5, 6, 4, 4, 5, 5, 5, 5, 6, 6, 10, 9, 8, 4 }
+  };
+
+  /**
+  The bit layout of the endpoints and partition of each mode, after the mode bits. Each entry is a
+  run of bits, stored as (field << 16 | shift << 8 | numBits). The fields are the endpoints, as
+  (endpoint*3 + channel), and 12 is the partition.
+  **/
+  static final int[][] LAYOUTS = {
+      { 0x70401, 0x80401, 0xB0401, 0x0000A, 0x1000A, 0x2000A, 0x30005, 0xA0401, 0x70004, 0x40005, 0xB0001, 0xA0004, 0x50005, 0xB0101, 0x80004, 0x60005, 0xB0201, 0x90005, 0xB0301, 0xC0005 },
+      { 0x70501, 0xA0401, 0xA0501, 0x00007, 0xB0001, 0xB0101, 0x80401, 0x10007, 0x80501, 0xB0201, 0x70401, 0x20007, 0xB0301, 0xB0501, 0xB0401, 0x30006, 0x70004, 0x40006, 0xA0004, 0x50006, 0x80004, 0x60006, 0x90006, 0xC0005 },
+      { 0x0000A, 0x1000A, 0x2000A, 0x30005, 0x00A01, 0x70004, 0x40004, 0x10A01, 0xB0001, 0xA0004, 0x50004, 0x20A01, 0xB0101, 0x80004, 0x60005, 0xB0201, 0x90005, 0xB0301, 0xC0005 },
+      { 0x0000A, 0x1000A, 0x2000A, 0x30004, 0x00A01, 0xA0401, 0x70004, 0x40005, 0x10A01, 0xA0004, 0x50004, 0x20A01, 0xB0101, 0x80004, 0x60004, 0xB0001, 0xB0201, 0x90004, 0x70401, 0xB0301, 0xC0005 },
+      { 0x0000A, 0x1000A, 0x2000A, 0x30004, 0x00A01, 0x80401, 0x70004, 0x40004, 0x10A01, 0xB0001, 0xA0004, 0x50005, 0x20A01, 0x80004, 0x60004, 0xB0101, 0xB0201, 0x90004, 0xB0401, 0xB0301, 0xC0005 },
+      { 0x00009, 0x80401, 0x10009, 0x70401, 0x20009, 0xB0401, 0x30005, 0xA0401, 0x70004, 0x40005, 0xB0001, 0xA0004, 0x50005, 0xB0101, 0x80004, 0x60005, 0xB0201, 0x90005, 0xB0301, 0xC0005 },
+      { 0x00008, 0xA0401, 0x80401, 0x10008, 0xB0201, 0x70401, 0x20008, 0xB0301, 0xB0401, 0x30006, 0x70004, 0x40005, 0xB0001, 0xA0004, 0x50005, 0xB0101, 0x80004, 0x60006, 0x90006, 0xC0005 },
+      { 0x00008, 0xB0001, 0x80401, 0x10008, 0x70501, 0x70401, 0x20008, 0xA0501, 0xB0401, 0x30005, 0xA0401, 0x70004, 0x40006, 0xA0004, 0x50005, 0xB0101, 0x80004, 0x60005, 0xB0201, 0x90005, 0xB0301, 0xC0005 },
+      { 0x00008, 0xB0101, 0x80401, 0x10008, 0x80501, 0x70401, 0x20008, 0xB0501, 0xB0401, 0x30005, 0xA0401, 0x70004, 0x40005, 0xB0001, 0xA0004, 0x50006, 0x80004, 0x60005, 0xB0201, 0x90005, 0xB0301, 0xC0005 },
+      { 0x00006, 0xA0401, 0xB0001, 0xB0101, 0x80401, 0x10006, 0x70501, 0x80501, 0xB0201, 0x70401, 0x20006, 0xA0501, 0xB0301, 0xB0501, 0xB0401, 0x30006, 0x70004, 0x40006, 0xA0004, 0x50006, 0x80004, 0x60006, 0x90006, 0xC0005 },
+      { 0x0000A, 0x1000A, 0x2000A, 0x3000A, 0x4000A, 0x5000A },
+      { 0x0000A, 0x1000A, 0x2000A, 0x30009, 0x00A01, 0x40009, 0x10A01, 0x50009, 0x20A01 },
+      { 0x0000A, 0x1000A, 0x2000A, 0x30008, 0x00B01, 0x00A01, 0x40008, 0x10B01, 0x10A01, 0x50008, 0x20B01, 0x20A01 },
+      { 0x0000A, 0x1000A, 0x2000A, 0x30004, 0x00F01, 0x00E01, 0x00D01, 0x00C01, 0x00B01, 0x00A01, 0x40004, 0x10F01, 0x10E01, 0x10D01, 0x10C01, 0x10B01, 0x10A01, 0x50004, 0x20F01, 0x20E01, 0x20D01, 0x20C01, 0x20B01, 0x20A01 }
+  };
+
+  static final int FIELD_PARTITION = 12;
+
+  static final int[] WEIGHTS_3 = { 0, 9, 18, 27, 37, 46, 55, 64 };
+
+  static final int[] WEIGHTS_4 = { 0, 4, 9, 13, 17, 21, 26, 30, 34, 38, 43, 47, 51, 55, 60, 64 };
+
+  static {
+    for (int i = 0; i < 32; i++) {
+      MODES[i] = -1;
+    }
+    for (int m = 0; m < MODE_VALUES.length; m++) {
+      if (m < 2) {
+        // 2-bit modes, so the other 3 bits can be anything
+        for (int i = 0; i < 8; i++) {
+          MODES[MODE_VALUES[m] | (i << 2)] = m;
+        }
+      }
+      else {
+        MODES[MODE_VALUES[m]] = m;
+      }
+    }
+  }
+
+  long lo;
+
+  long hi;
+
+  int bitPos;
+
+  /** The endpoints (as [endpoint*3 + channel]) and the partition **/
+  int[] fields = new int[13];
+
+  /** The interpolated half-float colors of each subset, as [(subset*16 + index)*3 + channel] **/
+  float[] palette = new float[2 * 16 * 3];
+
+  /**
+  **********************************************************************************************
+  Reads the next <i>numBits</i> (at most 32) from the block
+  **********************************************************************************************
+  **/
+  int readBits(int numBits) {
+    int pos = bitPos;
+    bitPos += numBits;
+
+    long value;
+    if (pos >= 64) {
+      value = hi >>> (pos - 64);
+    }
+    else if (pos + numBits <= 64) {
+      value = lo >>> pos;
+    }
+    else {
+      value = (lo >>> pos) | (hi << (64 - pos));
+    }
+    return (int) (value & ((1L << numBits) - 1));
+  }
+
+  /**
+  **********************************************************************************************
+  Decodes a block into <i>pPixels</i> (16 pixels x 3 floats), the same as
+  NativeBC6Decomp.unpackBC6Block()
+  **********************************************************************************************
+  **/
+  public void unpackBC6Block(byte[] pBlock, float[] pPixels) {
+    decodeBlock(pBlock, 0, pPixels, false);
+  }
+
+  /**
+  **********************************************************************************************
+  Decodes a block into <i>pPixels</i> (16 pixels x 3 floats), the same as
+  NativeBC6Decomp.unpackBC6BlockSigned()
+  **********************************************************************************************
+  **/
+  public void unpackBC6BlockSigned(byte[] pBlock, float[] pPixels) {
+    decodeBlock(pBlock, 0, pPixels, true);
+  }
+
+  /**
+  **********************************************************************************************
+  Decodes the 16-byte block at <i>srcOffset</i> into <i>pixels</i>, as 3 floats (R,G,B) for
+  each of the 16 pixels
+  **********************************************************************************************
+  **/
+  public void decodeBlock(byte[] src, int srcOffset, float[] pixels, boolean signed) {
+    lo = BC7Decoder.readLong(src, srcOffset);
+    hi = BC7Decoder.readLong(src, srcOffset + 8);
+
+    int mode = MODES[(int) (lo & 31)];
+    if (mode < 0) {
+      // reserved modes decode to black
+      for (int i = 0; i < 48; i++) {
+        pixels[i] = 0;
+      }
+      return;
+    }
+    bitPos = (mode < 2) ? 2 : 5;
+
+    int[] fields = this.fields;
+    for (int i = 0; i < 13; i++) {
+      fields[i] = 0;
+    }
+    int[] layout = LAYOUTS[mode];
+    for (int i = 0; i < layout.length; i++) {
+      int run = layout[i];
+      fields[run >>> 16] |= readBits(run & 0xFF) << ((run >> 8) & 0xFF);
+    }
+
+    boolean oneRegion = (mode >= 10);
+    int numEndpoints = oneRegion ? 2 : 4;
+    int endpointBits = ENDPOINT_BITS[mode];
+    boolean transformed = (mode != 9 && mode != 10);
+
+    if (signed) {
+      for (int c = 0; c < 3; c++) {
+        fields[c] = extendSign(fields[c], endpointBits);
+      }
+    }
+
+    // the other endpoints are deltas from the first endpoint, except for modes 9 and 10
+    if (transformed || signed) {
+      for (int e = 1; e < numEndpoints; e++) {
+        for (int c = 0; c < 3; c++) {
+          fields[e * 3 + c] = extendSign(fields[e * 3 + c], DELTA_BITS[c][mode]);
+        }
+      }
+    }
+    if (transformed) {
+      int mask = (1 << endpointBits) - 1;
+      for (int e = 1; e < numEndpoints; e++) {
+        for (int c = 0; c < 3; c++) {
+          int value = (fields[e * 3 + c] + fields[c]) & mask;
+          fields[e * 3 + c] = signed ? extendSign(value, endpointBits) : value;
+        }
+      }
+    }
+
+    for (int e = 0; e < numEndpoints; e++) {
+      for (int c = 0; c < 3; c++) {
+        fields[e * 3 + c] = unquantize(fields[e * 3 + c], endpointBits, signed);
+      }
+    }
+
+    // build the palette of colors for each region
+    int[] weights = oneRegion ? WEIGHTS_4 : WEIGHTS_3;
+    int numWeights = weights.length;
+    float[] palette = this.palette;
+    for (int s = 0, e0 = 0; s < numEndpoints / 2; s++, e0 += 6) {
+      for (int i = 0; i < numWeights; i++) {
+        int weight = weights[i];
+        int inverse = 64 - weight;
+        int pos = (s * 16 + i) * 3;
+        for (int c = 0; c < 3; c++) {
+          int value = (fields[e0 + c] * inverse + fields[e0 + 3 + c] * weight + 32) >> 6;
+          palette[pos + c] = halfToFloat(finishUnquantize(value, signed));
+        }
+      }
+    }
+
+    // read the indexes (the anchor pixels have 1 less bit, as their top bit is always 0)
+    int indexBits = oneRegion ? 4 : 3;
+    int subsetMask = 0;
+    int anchorMask = 1;
+    if (!oneRegion) {
+      int partition = fields[FIELD_PARTITION];
+      subsetMask = BC7Decoder.PARTITIONS_2[partition];
+      anchorMask = BC7Decoder.ANCHOR_MASKS[2][partition];
+    }
+
+    for (int i = 0, outPos = 0; i < 16; i++, outPos += 3) {
+      int index = readBits(((anchorMask >> i) & 1) != 0 ? indexBits - 1 : indexBits);
+      int pos = (((subsetMask >> i) & 1) * 16 + index) * 3;
+      pixels[outPos] = palette[pos];
+      pixels[outPos + 1] = palette[pos + 1];
+      pixels[outPos + 2] = palette[pos + 2];
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Sign-extends the low <i>numBits</i> of the <i>value</i>
+  **********************************************************************************************
+  **/
+  static int extendSign(int value, int numBits) {
+    return (value << (32 - numBits)) >> (32 - numBits);
+  }
+
+  /**
+  **********************************************************************************************
+  Expands an endpoint of <i>numBits</i> to the full 16-bit range
+  **********************************************************************************************
+  **/
+  static int unquantize(int value, int numBits, boolean signed) {
+    if (!signed) {
+      if (numBits >= 15) {
+        return value;
+      }
+      else if (value == 0) {
+        return 0;
+      }
+      else if (value == ((1 << numBits) - 1)) {
+        return 0xFFFF;
+      }
+      return ((value << 16) + 0x8000) >> numBits;
+    }
+
+    if (numBits >= 16) {
+      return value;
+    }
+
+    boolean negative = false;
+    if (value < 0) {
+      negative = true;
+      value = -value;
+    }
+
+    int result;
+    if (value == 0) {
+      result = 0;
+    }
+    else if (value >= ((1 << (numBits - 1)) - 1)) {
+      result = 0x7FFF;
+    }
+    else {
+      result = ((value << 15) + 0x4000) >> (numBits - 1);
+    }
+    return negative ? -result : result;
+  }
+
+  /**
+  **********************************************************************************************
+  Scales an interpolated value to the range of a half-float, and returns the half-float bits
+  **********************************************************************************************
+  **/
+  static int finishUnquantize(int value, boolean signed) {
+    if (!signed) {
+      return (value * 31) >> 6;
+    }
+
+    value = (value < 0) ? -(((-value) * 31) >> 5) : (value * 31) >> 5;
+    if (value < 0) {
+      return 0x8000 | -value;
+    }
+    return value;
+  }
+
+  /**
+  **********************************************************************************************
+  Converts the bits of a half-float into a float
+  **********************************************************************************************
+  **/
+  static float halfToFloat(int half) {
+    int sign = (half & 0x8000) << 16;
+    int exponent = (half >> 10) & 0x1F;
+    int mantissa = half & 0x3FF;
+
+    if (exponent == 0x1F) {
+      // Inf or NaN
+      return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+    }
+    if (exponent == 0) {
+      // zero or denormal
+      float value = mantissa * (1.0f / (1 << 24));
+      return (sign != 0) ? -value : value;
+    }
+    return Float.intBitsToFloat(sign | ((exponent + 112) << 23) | (mantissa << 13));
+  }
+
+}
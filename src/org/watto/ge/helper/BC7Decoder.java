@@ -0,0 +1,356 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.helper;
+
+/**
+**********************************************************************************************
+Pure-Java BC7 Decoder, used when the native bc7decomp library can't be loaded (such as on
+non-Windows platforms). The partition, anchor and weight tables are all pre-computed, the block
+is read as a pair of <i>long</i>s, and the scratch arrays are owned by the decoder, so nothing is
+allocated per block. A decoder isn't thread-safe, so each thread needs its own one.
+
+The decoded pixels are in the same form as NativeBC7Decomp, which is byte order R,G,B,A (ie
+the <i>int</i> is ABGR), so the two decoders can be swapped without changing the viewers.
+Ref: https://learn.microsoft.com/en-us/windows/win32/direct3d11/bc7-format
+**********************************************************************************************
+**/
+public class BC7Decoder {
+
+  /** The number of subsets for each mode **/
+  static final int[] SUBSETS = { 3, 2, 3, 2, 1, 1, 1, 2 };
+
+  static final int[] PARTITION_BITS = { 4, 6, 6, 6, 0, 0, 0, 6 };
+
+  static final int[] ROTATION_BITS = { 0, 0, 0, 0, 2, 2, 0, 0 };
+
+  static final int[] INDEX_SELECTION_BITS = { 0, 0, 0, 0, 1, 0, 0, 0 };
+
+  static final int[] COLOR_BITS = { 4, 6, 5, 7, 5, 7, 7, 5 };
+
+  static final int[] ALPHA_BITS = { 0, 0, 0, 0, 6, 8, 7, 5 };
+
+  /** 0 = no P-bits, 1 = a P-bit for each endpoint, 2 = a P-bit shared by both endpoints of a subset **/
+  static final int[] PBIT_TYPE = { 1, 2, 0, 1, 0, 0, 1, 1 };
+
+  static final int[] INDEX_BITS = { 3, 3, 2, 2, 2, 2, 4, 2 };
+
+  static final int[] SECONDARY_INDEX_BITS = { 0, 0, 0, 0, 3, 2, 0, 0 };
+
+  static final int[][] WEIGHTS = {
+      null,
+      null,
+      { 0, 21, 43, 64 },
+      { 0, 9, 18, 27, 37, 46, 55, 64 },
+      { 0, 4, 9, 13, 17, 21, 26, 30, 34, 38, 43, 47, 51, 55, 60, 64 }
+  };
+
+  /** The subset of each pixel for the 2-subset partitions, as a bit mask (bit 0 = pixel 0) **/
+  static final int[] PARTITIONS_2 = {
+      0xCCCC, 0x8888, 0xEEEE, 0xECC8, 0xC880, 0xFEEC, 0xFEC8, 0xEC80, 0xC800, 0xFFEC, 0xFE80, 0xE800, 0xFFE8, 0xFF00, 0xFFF0, 0xF000,
+      0xF710, 0x008E, 0x7100, 0x08CE, 0x008C, 0x7310, 0x3100, 0x8CCE, 0x088C, 0x3110, 0x6666, 0x366C, 0x17E8, 0x0FF0, 0x718E, 0x399C,
+      0xAAAA, 0xF0F0, 0x5A5A, 0x33CC, 0x3C3C, 0x55AA, 0x9696, 0xA55A, 0x73CE, 0x13C8, 0x324C, 0x3BDC, 0x6996, 0xC33C, 0x9966, 0x0660,
+      0x0272, 0x04E4, 0x4E40, 0x2720, 0xC936, 0x936C, 0x39C6, 0x639C, 0x9336, 0x9CC6, 0x817E, 0xE718, 0xCCF0, 0x0FCC, 0x7744, 0xEE22
+  };
+
+  /** The subset of each pixel for the 3-subset partitions, 2 bits per pixel (bits 0-1 = pixel 0) **/
+  static final int[] PARTITIONS_3 = {
+      0xAA685050, 0x6A5A5040, 0x5A5A4200, 0x5450A0A8, 0xA5A50000, 0xA0A05050, 0x5555A0A0, 0x5A5A5050,
+      0xAA550000, 0xAA555500, 0xAAAA5500, 0x90909090, 0x94949494, 0xA4A4A4A4, 0xA9A59450, 0x2A0A4250,
+      0xA5945040, 0x0A425054, 0xA5A5A500, 0x55A0A0A0, 0xA8A85454, 0x6A6A4040, 0xA4A45000, 0x1A1A0500,
+      0x0050A4A4, 0xAAA59090, 0x14696914, 0x69691400, 0xA08585A0, 0xAA821414, 0x50A4A450, 0x6A5A0200,
+      0xA9A58000, 0x5090A0A8, 0xA8A09050, 0x24242424, 0x00AA5500, 0x24924924, 0x24499224, 0x50A50A50,
+      0x500AA550, 0xAAAA4444, 0x66660000, 0xA5A0A5A0, 0x50A050A0, 0x69286928, 0x44AAAA44, 0x66666600,
+      0xAA444444, 0x54A854A8, 0x95809580, 0x96969600, 0xA85454A8, 0x80959580, 0xAA141414, 0x96960000,
+      0xAAAA1414, 0xA05050A0, 0xA0A5A5A0, 0x96000000, 0x40804080, 0xA9A8A9A8, 0xAAAAAA44, 0x2A4A5254
+  };
+
+  /** The anchor pixel of the second subset, for the 2-subset partitions **/
+  static final int[] ANCHORS_2 = {
+      15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15,
+      15, 2, 8, 2, 2, 8, 8, 15, 2, 8, 2, 2, 8, 8, 2, 2,
+      15, 15, 6, 8, 2, 8, 15, 15, 2, 8, 2, 2, 2, 15, 15, 6,
+      6, 2, 6, 8, 15, 15, 2, 2, 15, 15, 15, 15, 15, 2, 2, 15
+  };
+
+  /** The anchor pixel of the second subset, for the 3-subset partitions **/
+  static final int[] ANCHORS_3_SECOND = {
+      3, 3, 15, 15, 8, 3, 15, 15, 8, 8, 6, 6, 6, 5, 3, 3,
+      3, 3, 8, 15, 3, 3, 6, 10, 5, 8, 8, 6, 8, 5, 15, 15,
+      8, 15, 3, 5, 6, 10, 8, 15, 15, 3, 15, 5, 15, 15, 15, 15,
+      3, 15, 5, 5, 5, 8, 5, 10, 5, 10, 8, 13, 15, 12, 3, 3
+  };
+
+  /** The anchor pixel of the third subset, for the 3-subset partitions **/
+  static final int[] ANCHORS_3_THIRD = {
+      15, 8, 8, 3, 15, 15, 3, 8, 15, 15, 15, 15, 15, 15, 15, 8,
+      15, 8, 15, 3, 15, 8, 15, 8, 3, 15, 6, 10, 15, 15, 10, 8,
+      15, 3, 15, 10, 10, 8, 9, 10, 6, 15, 8, 15, 3, 6, 6, 8,
+      15, 3, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 3, 15, 15, 8
+  };
+
+  /** For each partition of each subset count, a 16-bit mask of the anchor pixels (which have 1 less index bit) **/
+  static final int[][] ANCHOR_MASKS = new int[4][64];
+
+  /** For each partition of each subset count, the subset of each pixel, 2 bits per pixel **/
+  static final int[][] SUBSET_MAPS = new int[4][64];
+
+  static {
+    for (int p = 0; p < 64; p++) {
+      ANCHOR_MASKS[1][p] = 1;
+      SUBSET_MAPS[1][p] = 0;
+
+      ANCHOR_MASKS[2][p] = 1 | (1 << ANCHORS_2[p]);
+      int map = 0;
+      for (int i = 0; i < 16; i++) {
+        map |= ((PARTITIONS_2[p] >> i) & 1) << (i * 2);
+      }
+      SUBSET_MAPS[2][p] = map;
+
+      ANCHOR_MASKS[3][p] = 1 | (1 << ANCHORS_3_SECOND[p]) | (1 << ANCHORS_3_THIRD[p]);
+      SUBSET_MAPS[3][p] = PARTITIONS_3[p];
+    }
+  }
+
+  long lo;
+
+  long hi;
+
+  int bitPos;
+
+  /** The endpoints of each subset, as [endpoint*4 + channel] where the channels are R,G,B,A **/
+  int[] endpoints = new int[24];
+
+  /** The interpolated colors of each subset, as [subset*16 + index] **/
+  int[] palette = new int[48];
+
+  /** The interpolated alpha values, for the modes with a separate alpha index **/
+  int[] alphaPalette = new int[16];
+
+  int[] indexes = new int[16];
+
+  int[] secondaryIndexes = new int[16];
+
+  /**
+  **********************************************************************************************
+  Reads the next <i>numBits</i> (at most 32) from the block
+  **********************************************************************************************
+  **/
+  int readBits(int numBits) {
+    if (numBits == 0) {
+      return 0;
+    }
+
+    int pos = bitPos;
+    bitPos += numBits;
+
+    long value;
+    if (pos >= 64) {
+      value = hi >>> (pos - 64);
+    }
+    else if (pos + numBits <= 64) {
+      value = lo >>> pos;
+    }
+    else {
+      value = (lo >>> pos) | (hi << (64 - pos));
+    }
+    return (int) (value & ((1L << numBits) - 1));
+  }
+
+  /**
+  **********************************************************************************************
+  Reads a little-endian <i>long</i> from the <i>bytes</i>
+  **********************************************************************************************
+  **/
+  static long readLong(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFFL) | (bytes[offset + 1] & 0xFFL) << 8 | (bytes[offset + 2] & 0xFFL) << 16 | (bytes[offset + 3] & 0xFFL) << 24 | (bytes[offset + 4] & 0xFFL) << 32 | (bytes[offset + 5] & 0xFFL) << 40 | (bytes[offset + 6] & 0xFFL) << 48 | (bytes[offset + 7] & 0xFFL) << 56;
+  }
+
+  /**
+  **********************************************************************************************
+  Decodes a block into <i>pPixels</i> (16 pixels), the same as NativeBC7Decomp.unpackBC7Block()
+  **********************************************************************************************
+  **/
+  public void unpackBC7Block(byte[] pBlock, int[] pPixels) {
+    decodeBlock(pBlock, 0, pPixels, 0, 4);
+  }
+
+  /**
+  **********************************************************************************************
+  Decodes the 16-byte block at <i>srcOffset</i>, writing the 4x4 pixels straight into the
+  <i>pixels</i> array, starting at <i>dstOffset</i>, with <i>dstStride</i> pixels per row.
+  **********************************************************************************************
+  **/
+  public void decodeBlock(byte[] src, int srcOffset, int[] pixels, int dstOffset, int dstStride) {
+    lo = readLong(src, srcOffset);
+    hi = readLong(src, srcOffset + 8);
+
+    int mode = Long.numberOfTrailingZeros(lo);
+    if (mode >= 8) {
+      // invalid block
+      for (int y = 0, rowStart = dstOffset; y < 4; y++, rowStart += dstStride) {
+        pixels[rowStart] = 0;
+        pixels[rowStart + 1] = 0;
+        pixels[rowStart + 2] = 0;
+        pixels[rowStart + 3] = 0;
+      }
+      return;
+    }
+    bitPos = mode + 1;
+
+    int numSubsets = SUBSETS[mode];
+    int numEndpoints = numSubsets * 2;
+    int partition = readBits(PARTITION_BITS[mode]);
+    int rotation = readBits(ROTATION_BITS[mode]);
+    int indexSelection = readBits(INDEX_SELECTION_BITS[mode]);
+
+    // the endpoints are stored as all the red values, then all the green values, etc.
+    int colorBits = COLOR_BITS[mode];
+    int alphaBits = ALPHA_BITS[mode];
+    int[] endpoints = this.endpoints;
+    for (int c = 0; c < 3; c++) {
+      for (int e = 0; e < numEndpoints; e++) {
+        endpoints[e * 4 + c] = readBits(colorBits);
+      }
+    }
+    for (int e = 0; e < numEndpoints; e++) {
+      endpoints[e * 4 + 3] = readBits(alphaBits);
+    }
+
+    // P-bits are an extra low bit for every channel of an endpoint
+    int pbitType = PBIT_TYPE[mode];
+    if (pbitType != 0) {
+      int pbit = 0;
+      for (int e = 0; e < numEndpoints; e++) {
+        if (pbitType == 1 || (e & 1) == 0) {
+          pbit = readBits(1);
+        }
+        for (int c = 0; c < 4; c++) {
+          endpoints[e * 4 + c] = (endpoints[e * 4 + c] << 1) | pbit;
+        }
+      }
+      colorBits++;
+      if (alphaBits != 0) {
+        alphaBits++;
+      }
+    }
+
+    // expand the endpoints to 8 bits, by replicating the high bits into the low bits
+    for (int e = 0; e < numEndpoints; e++) {
+      int base = e * 4;
+      for (int c = 0; c < 3; c++) {
+        int value = endpoints[base + c] << (8 - colorBits);
+        endpoints[base + c] = value | (value >> colorBits);
+      }
+      if (alphaBits == 0) {
+        endpoints[base + 3] = 255;
+      }
+      else {
+        int value = endpoints[base + 3] << (8 - alphaBits);
+        endpoints[base + 3] = value | (value >> alphaBits);
+      }
+    }
+
+    // read the indexes (the anchor pixels have 1 less bit, as their top bit is always 0)
+    int indexBits = INDEX_BITS[mode];
+    int anchorMask = ANCHOR_MASKS[numSubsets][partition];
+    int[] indexes = this.indexes;
+    for (int i = 0; i < 16; i++) {
+      indexes[i] = readBits(((anchorMask >> i) & 1) != 0 ? indexBits - 1 : indexBits);
+    }
+
+    int secondaryIndexBits = SECONDARY_INDEX_BITS[mode];
+    int[] palette = this.palette;
+
+    if (secondaryIndexBits == 0) {
+      // a single set of indexes for all 4 channels
+      int[] weights = WEIGHTS[indexBits];
+      int numWeights = weights.length;
+      for (int s = 0; s < numSubsets; s++) {
+        int e0 = s * 8;
+        int e1 = e0 + 4;
+        for (int i = 0; i < numWeights; i++) {
+          palette[s * 16 + i] = interpolate(endpoints, e0, e1, weights[i]);
+        }
+      }
+
+      int subsetMap = SUBSET_MAPS[numSubsets][partition];
+      for (int y = 0, i = 0, rowStart = dstOffset; y < 4; y++, rowStart += dstStride) {
+        for (int x = 0; x < 4; x++, i++) {
+          pixels[rowStart + x] = palette[((subsetMap >>> (i * 2)) & 3) * 16 + indexes[i]];
+        }
+      }
+      return;
+    }
+
+    // modes 4 and 5 have separate indexes for the color and alpha
+    int[] secondaryIndexes = this.secondaryIndexes;
+    secondaryIndexes[0] = readBits(secondaryIndexBits - 1);
+    for (int i = 1; i < 16; i++) {
+      secondaryIndexes[i] = readBits(secondaryIndexBits);
+    }
+
+    int[] colorIndexes = indexes;
+    int[] alphaIndexes = secondaryIndexes;
+    int colorIndexBits = indexBits;
+    int alphaIndexBits = secondaryIndexBits;
+    if (indexSelection == 1) {
+      colorIndexes = secondaryIndexes;
+      alphaIndexes = indexes;
+      colorIndexBits = secondaryIndexBits;
+      alphaIndexBits = indexBits;
+    }
+
+    int[] weights = WEIGHTS[colorIndexBits];
+    for (int i = 0; i < weights.length; i++) {
+      palette[i] = interpolate(endpoints, 0, 4, weights[i]) & 0x00FFFFFF;
+    }
+    weights = WEIGHTS[alphaIndexBits];
+    int[] alphaPalette = this.alphaPalette;
+    for (int i = 0; i < weights.length; i++) {
+      int weight = weights[i];
+      alphaPalette[i] = ((endpoints[3] * (64 - weight) + endpoints[7] * weight + 32) >> 6) << 24;
+    }
+
+    for (int y = 0, i = 0, rowStart = dstOffset; y < 4; y++, rowStart += dstStride) {
+      for (int x = 0; x < 4; x++, i++) {
+        int pixel = palette[colorIndexes[i]] | alphaPalette[alphaIndexes[i]];
+        if (rotation != 0) {
+          // swap the alpha with one of the color channels
+          int shift = (rotation - 1) * 8;
+          int alpha = pixel >>> 24;
+          int other = (pixel >> shift) & 0xFF;
+          pixel = (pixel & ~(0xFF << shift) & 0x00FFFFFF) | (alpha << shift) | (other << 24);
+        }
+        pixels[rowStart + x] = pixel;
+      }
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Interpolates between 2 endpoints, and returns the result as R,G,B,A bytes
+  **********************************************************************************************
+  **/
+  static int interpolate(int[] endpoints, int e0, int e1, int weight) {
+    int inverse = 64 - weight;
+    int r = (endpoints[e0] * inverse + endpoints[e1] * weight + 32) >> 6;
+    int g = (endpoints[e0 + 1] * inverse + endpoints[e1 + 1] * weight + 32) >> 6;
+    int b = (endpoints[e0 + 2] * inverse + endpoints[e1 + 2] * weight + 32) >> 6;
+    int a = (endpoints[e0 + 3] * inverse + endpoints[e1 + 3] * weight + 32) >> 6;
+    return r | g << 8 | b << 16 | a << 24;
+  }
+
+}
@@ -24,6 +24,7 @@ import org.watto.datatype.Resource;
 import org.watto.ge.plugin.FileListExporterPlugin;
 import org.watto.ge.plugin.ViewerPlugin;
 import org.watto.task.Task;
+import org.watto.task.TaskProgressManager;
 import org.watto.task.Task_ExportFileList;
 import org.watto.task.Task_ExportFiles;
 import org.watto.task.Task_ReadArchive;
@@ -398,6 +399,9 @@ public class CommandLineProcessor {
     System.out.println("Game Extractor " + Settings.getDouble("Version"));
     System.out.println("===========================================================");
 
+    // show the progress of long-running tasks on the console
+    TaskProgressManager.setCommandLine(true);
+
     int numArgs = args.length;
     for (int i = 0; i < numArgs; i++) {
       String arg = args[i];
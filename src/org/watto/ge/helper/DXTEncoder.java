@@ -0,0 +1,667 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.helper;
+
+import org.watto.Settings;
+
+/**
+**********************************************************************************************
+A fast DXT1/DXT3/DXT5 (BC1/BC2/BC3) encoder. The colors of each 4x4 block are fitted to a line
+through the block (a range fit), rather than searching every pair of pixels, and the blocks are
+encoded in parallel for large images. The quality is set by the DXTEncoderQuality setting:
+<ul>
+<li><b>Fast</b> - the line runs along the bounding box of the colors</li>
+<li><b>Normal</b> - the line runs along the principal axis of the colors</li>
+<li><b>High</b> - as Normal, then the end points are refined with a least-squares fit and a
+search of the neighbouring RGB565 values</li>
+</ul>
+**********************************************************************************************
+**/
+public class DXTEncoder {
+
+  public static final int QUALITY_FAST = 0;
+
+  public static final int QUALITY_NORMAL = 1;
+
+  public static final int QUALITY_HIGH = 2;
+
+  /** The nearest 5-bit value for each 8-bit value **/
+  static final int[] QUANTIZE_5 = new int[256];
+
+  /** The nearest 6-bit value for each 8-bit value **/
+  static final int[] QUANTIZE_6 = new int[256];
+
+  /** The 8-bit value for each 5-bit value, expanded the same way as ImageFormatReader does **/
+  static final int[] EXPAND_5 = new int[32];
+
+  /** The 8-bit value for each 6-bit value, expanded the same way as ImageFormatReader does **/
+  static final int[] EXPAND_6 = new int[64];
+
+  /** The 5-bit end points whose 2/3 color is closest to each 8-bit value **/
+  static final int[][] SINGLE_5 = new int[256][2];
+
+  /** The 6-bit end points whose 2/3 color is closest to each 8-bit value **/
+  static final int[][] SINGLE_6 = new int[256][2];
+
+  static {
+    for (int i = 0; i < 32; i++) {
+      EXPAND_5[i] = i << 3;
+    }
+    for (int i = 0; i < 64; i++) {
+      EXPAND_6[i] = i << 2;
+    }
+
+    for (int v = 0; v < 256; v++) {
+      QUANTIZE_5[v] = findNearest(EXPAND_5, v);
+      QUANTIZE_6[v] = findNearest(EXPAND_6, v);
+
+      findSingleColor(EXPAND_5, v, SINGLE_5[v]);
+      findSingleColor(EXPAND_6, v, SINGLE_6[v]);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Finds the index of the <i>table</i> value that is closest to <i>value</i>
+  **********************************************************************************************
+  **/
+  static int findNearest(int[] table, int value) {
+    int nearest = 0;
+    int nearestDistance = Integer.MAX_VALUE;
+    for (int i = 0; i < table.length; i++) {
+      int distance = Math.abs(table[i] - value);
+      if (distance < nearestDistance) {
+        nearestDistance = distance;
+        nearest = i;
+      }
+    }
+    return nearest;
+  }
+
+  /**
+  **********************************************************************************************
+  Finds the 2 end points (from the <i>table</i>) whose 2/3 color is closest to <i>value</i>, so a
+  block of a single color can be matched more closely than by the nearest end point alone. The
+  end points are stored in <i>endPoints</i>.
+  **********************************************************************************************
+  **/
+  static void findSingleColor(int[] table, int value, int[] endPoints) {
+    int nearestDistance = Integer.MAX_VALUE;
+    for (int i = 0; i < table.length; i++) {
+      for (int j = 0; j < table.length; j++) {
+        int distance = Math.abs((2 * table[i] + table[j]) / 3 - value);
+        if (distance < nearestDistance || (distance == nearestDistance && Math.abs(i - j) < Math.abs(endPoints[0] - endPoints[1]))) {
+          nearestDistance = distance;
+          endPoints[0] = i;
+          endPoints[1] = j;
+        }
+      }
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Encodes the <i>pixels</i> (ARGB) as DXT1, DXT3 or DXT5 (<i>format</i> = 1, 3 or 5), using the
+  quality from the DXTEncoderQuality setting. Only whole 4x4 blocks are encoded, so the
+  <i>width</i> and <i>height</i> should be multiples of 4.
+  @return the encoded blocks
+  **********************************************************************************************
+  **/
+  public static byte[] encode(int[] pixels, int width, int height, int format) {
+    return encode(pixels, width, height, format, getQuality());
+  }
+
+  /**
+  **********************************************************************************************
+  Encodes the <i>pixels</i> (ARGB) as DXT1, DXT3 or DXT5 (<i>format</i> = 1, 3 or 5) with the
+  given <i>quality</i> (QUALITY_FAST, QUALITY_NORMAL or QUALITY_HIGH).
+  @return the encoded blocks
+  **********************************************************************************************
+  **/
+  public static byte[] encode(int[] pixels, int width, int height, int format, int quality) {
+    int numBlocksWide = width / 4;
+    int numBlocksHigh = height / 4;
+
+    int blockSize = (format == 1) ? 8 : 16;
+    int rowLength = numBlocksWide * blockSize;
+
+    byte[] bytes = new byte[numBlocksHigh * rowLength];
+
+    ParallelImageDecoder.decode(numBlocksHigh, width * 4, (startRow, endRow) -> {
+      // scratch arrays, re-used for every block
+      int[] block = new int[16];
+      int[] indexes = new int[16];
+
+      for (int i = startRow; i < endRow; i++) {
+        int writePos = i * rowLength;
+        for (int j = 0; j < numBlocksWide; j++) {
+
+          // build the array of data
+          int position = (i * 4 * width) + (j * 4);
+          System.arraycopy(pixels, position, block, 0, 4);
+          position += width;
+          System.arraycopy(pixels, position, block, 4, 4);
+          position += width;
+          System.arraycopy(pixels, position, block, 8, 4);
+          position += width;
+          System.arraycopy(pixels, position, block, 12, 4);
+
+          if (format == 3) {
+            encodeExplicitAlpha(block, bytes, writePos);
+            writePos += 8;
+          }
+          else if (format == 5) {
+            encodeInterpolatedAlpha(block, bytes, writePos, indexes);
+            writePos += 8;
+          }
+
+          encodeColorBlock(block, bytes, writePos, quality, indexes);
+          writePos += 8;
+        }
+      }
+    });
+
+    return bytes;
+  }
+
+  /**
+  **********************************************************************************************
+  Encodes the colors of a block of 16 pixels as 2 RGB565 end points and 16 2-bit indexes, writing
+  the 8 bytes into <i>out</i> at <i>offset</i>. Always uses the 4-color mode, so the block is
+  opaque.
+  **********************************************************************************************
+  **/
+  static void encodeColorBlock(int[] block, byte[] out, int offset, int quality, int[] indexes) {
+
+    // work out the mean color
+    int totalR = 0;
+    int totalG = 0;
+    int totalB = 0;
+    int minR = 255;
+    int minG = 255;
+    int minB = 255;
+    int maxR = 0;
+    int maxG = 0;
+    int maxB = 0;
+    for (int i = 0; i < 16; i++) {
+      int pixel = block[i];
+      int r = (pixel >> 16) & 255;
+      int g = (pixel >> 8) & 255;
+      int b = pixel & 255;
+
+      totalR += r;
+      totalG += g;
+      totalB += b;
+
+      if (r < minR) {
+        minR = r;
+      }
+      if (r > maxR) {
+        maxR = r;
+      }
+      if (g < minG) {
+        minG = g;
+      }
+      if (g > maxG) {
+        maxG = g;
+      }
+      if (b < minB) {
+        minB = b;
+      }
+      if (b > maxB) {
+        maxB = b;
+      }
+    }
+
+    if (minR == maxR && minG == maxG && minB == maxB) {
+      // a single color - use the 2/3 color of the end points that get closest to it
+      int color0 = pack565(SINGLE_5[minR][0], SINGLE_6[minG][0], SINGLE_5[minB][0]);
+      int color1 = pack565(SINGLE_5[minR][1], SINGLE_6[minG][1], SINGLE_5[minB][1]);
+      if (color0 == color1) {
+        writeColorBlock(out, offset, color0, color1, 0);
+      }
+      else if (color0 > color1) {
+        writeColorBlock(out, offset, color0, color1, 0xAAAAAAAA); // every index is 2
+      }
+      else {
+        writeColorBlock(out, offset, color1, color0, 0xFFFFFFFF); // swapped, so every index is 3
+      }
+      return;
+    }
+
+    float meanR = totalR / 16f;
+    float meanG = totalG / 16f;
+    float meanB = totalB / 16f;
+
+    // the covariance of the colors
+    float covRR = 0;
+    float covRG = 0;
+    float covRB = 0;
+    float covGG = 0;
+    float covGB = 0;
+    float covBB = 0;
+    for (int i = 0; i < 16; i++) {
+      int pixel = block[i];
+      float r = ((pixel >> 16) & 255) - meanR;
+      float g = ((pixel >> 8) & 255) - meanG;
+      float b = (pixel & 255) - meanB;
+
+      covRR += r * r;
+      covRG += r * g;
+      covRB += r * b;
+      covGG += g * g;
+      covGB += g * b;
+      covBB += b * b;
+    }
+
+    // find the direction of the line through the colors
+    float axisR = maxR - minR;
+    float axisG = maxG - minG;
+    float axisB = maxB - minB;
+
+    if (quality == QUALITY_FAST) {
+      // use the diagonal of the bounding box, flipped to match the direction the colors change in
+      if (covRG < 0) {
+        axisG = -axisG;
+      }
+      if (covRB < 0) {
+        axisB = -axisB;
+      }
+    }
+    else {
+      // principal axis of the colors (power iteration, starting from the bounding box)
+      if (covRG < 0) {
+        axisG = -axisG;
+      }
+      if (covRB < 0) {
+        axisB = -axisB;
+      }
+      for (int i = 0; i < 8; i++) {
+        float r = axisR * covRR + axisG * covRG + axisB * covRB;
+        float g = axisR * covRG + axisG * covGG + axisB * covGB;
+        float b = axisR * covRB + axisG * covGB + axisB * covBB;
+
+        float length = Math.max(Math.abs(r), Math.max(Math.abs(g), Math.abs(b)));
+        if (length <= 0) {
+          break;
+        }
+        axisR = r / length;
+        axisG = g / length;
+        axisB = b / length;
+      }
+    }
+
+    // find the colors at each end of the line
+    float minDot = Float.MAX_VALUE;
+    float maxDot = -Float.MAX_VALUE;
+    for (int i = 0; i < 16; i++) {
+      int pixel = block[i];
+      float dot = (((pixel >> 16) & 255) - meanR) * axisR + (((pixel >> 8) & 255) - meanG) * axisG + ((pixel & 255) - meanB) * axisB;
+      if (dot < minDot) {
+        minDot = dot;
+      }
+      if (dot > maxDot) {
+        maxDot = dot;
+      }
+    }
+
+    float axisLength = axisR * axisR + axisG * axisG + axisB * axisB;
+    if (axisLength <= 0) {
+      axisLength = 1;
+    }
+    float startScale = maxDot / axisLength;
+    float endScale = minDot / axisLength;
+
+    int color0 = quantize565(meanR + axisR * startScale, meanG + axisG * startScale, meanB + axisB * startScale);
+    int color1 = quantize565(meanR + axisR * endScale, meanG + axisG * endScale, meanB + axisB * endScale);
+
+    int error = findIndexes(block, color0, color1, indexes);
+
+    if (quality == QUALITY_HIGH) {
+      // refine the end points with a least-squares fit to the chosen indexes
+      int[] bestIndexes = new int[16];
+      for (int iteration = 0; iteration < 2; iteration++) {
+        int[] refined = fitEndPoints(block, indexes);
+        if (refined == null) {
+          break;
+        }
+
+        int newError = findIndexes(block, refined[0], refined[1], bestIndexes);
+        if (newError >= error) {
+          break;
+        }
+
+        error = newError;
+        color0 = refined[0];
+        color1 = refined[1];
+        System.arraycopy(bestIndexes, 0, indexes, 0, 16);
+      }
+
+      // then try moving each channel of each end point by 1 step, keeping any that help
+      int[] endPoints = { color0, color1 };
+      int[] shifts = { 11, 5, 0 };
+      int[] masks = { 31, 63, 31 };
+      boolean improved = true;
+      for (int pass = 0; pass < 4 && improved; pass++) {
+        improved = false;
+        for (int e = 0; e < 2; e++) {
+          for (int c = 0; c < 3; c++) {
+            for (int step = -1; step <= 1; step += 2) {
+              int value = ((endPoints[e] >> shifts[c]) & masks[c]) + step;
+              if (value < 0 || value > masks[c]) {
+                continue;
+              }
+
+              int oldPoint = endPoints[e];
+              endPoints[e] = (oldPoint & ~(masks[c] << shifts[c])) | (value << shifts[c]);
+
+              int newError = findIndexes(block, endPoints[0], endPoints[1], bestIndexes);
+              if (newError < error) {
+                error = newError;
+                System.arraycopy(bestIndexes, 0, indexes, 0, 16);
+                improved = true;
+              }
+              else {
+                endPoints[e] = oldPoint;
+              }
+            }
+          }
+        }
+      }
+      color0 = endPoints[0];
+      color1 = endPoints[1];
+    }
+
+    // the 4-color mode needs color0 > color1
+    int bits = 0;
+    if (color0 == color1) {
+      bits = 0;
+    }
+    else if (color0 > color1) {
+      for (int i = 0; i < 16; i++) {
+        bits |= indexes[i] << (i * 2);
+      }
+    }
+    else {
+      // swap the end points, and swap the indexes to match (0<->1, 2<->3)
+      int temp = color0;
+      color0 = color1;
+      color1 = temp;
+      for (int i = 0; i < 16; i++) {
+        bits |= (indexes[i] ^ 1) << (i * 2);
+      }
+    }
+
+    writeColorBlock(out, offset, color0, color1, bits);
+  }
+
+  /**
+  **********************************************************************************************
+  Encodes the alpha of a block of 16 pixels as 4-bit values (DXT3), writing the 8 bytes into
+  <i>out</i> at <i>offset</i>
+  **********************************************************************************************
+  **/
+  static void encodeExplicitAlpha(int[] block, byte[] out, int offset) {
+    for (int i = 0; i < 16; i += 2) {
+      int alpha1 = block[i] >>> 28;
+      int alpha2 = block[i + 1] >>> 28;
+      out[offset++] = (byte) (alpha1 | (alpha2 << 4));
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Encodes the alpha of a block of 16 pixels as 2 end points and 16 3-bit indexes (DXT5), writing
+  the 8 bytes into <i>out</i> at <i>offset</i>
+  **********************************************************************************************
+  **/
+  static void encodeInterpolatedAlpha(int[] block, byte[] out, int offset, int[] indexes) {
+    // first, find the min and max alpha
+    int minAlpha = 255;
+    int maxAlpha = 0;
+    for (int i = 0; i < 16; i++) {
+      int alpha = block[i] >>> 24;
+      if (alpha < minAlpha) {
+        minAlpha = alpha;
+      }
+      if (alpha > maxAlpha) {
+        maxAlpha = alpha;
+      }
+    }
+
+    // check for some shortcuts
+    if (minAlpha == 0 && maxAlpha == 0) {
+      for (int i = 0; i < 8; i++) {
+        out[offset + i] = 0;
+      }
+      return;
+    }
+    else if (minAlpha == 255 && maxAlpha == 255) {
+      // both end points are 255, so every index (including 7 = 255) gives 255
+      for (int i = 0; i < 8; i++) {
+        out[offset + i] = (byte) 255;
+      }
+      return;
+    }
+
+    // the 8-value mode needs the max > min
+    if (maxAlpha == minAlpha) {
+      if (maxAlpha == 255) {
+        minAlpha--;
+      }
+      else {
+        maxAlpha++;
+      }
+    }
+
+    out[offset] = (byte) maxAlpha;
+    out[offset + 1] = (byte) minAlpha;
+
+    // use the same table as the decoder, as its interpolated values are rounded down, so aren't evenly spaced
+    int[] table = new int[8];
+    ImageFormatReader.buildInterpolatedTable(maxAlpha, minAlpha, table);
+
+    for (int i = 0; i < 16; i++) {
+      int alpha = block[i] >>> 24;
+
+      int bestIndex = 0;
+      int bestError = 256;
+      for (int j = 0; j < 8; j++) {
+        int error = Math.abs(table[j] - alpha);
+        if (error < bestError) {
+          bestError = error;
+          bestIndex = j;
+        }
+      }
+      indexes[i] = bestIndex;
+    }
+
+    int alphaMap = 0;
+    for (int i = 0; i < 8; i++) {
+      alphaMap |= indexes[i] << (3 * i);
+    }
+    out[offset + 2] = (byte) alphaMap;
+    out[offset + 3] = (byte) (alphaMap >> 8);
+    out[offset + 4] = (byte) (alphaMap >> 16);
+
+    alphaMap = 0;
+    for (int i = 0; i < 8; i++) {
+      alphaMap |= indexes[i + 8] << (3 * i);
+    }
+    out[offset + 5] = (byte) alphaMap;
+    out[offset + 6] = (byte) (alphaMap >> 8);
+    out[offset + 7] = (byte) (alphaMap >> 16);
+  }
+
+  /**
+  **********************************************************************************************
+  Finds the closest of the 4 palette colors for each pixel, storing the indexes (0 = color0,
+  1 = color1, 2 = 2/3 color0, 3 = 2/3 color1). Returns the total squared error.
+  **********************************************************************************************
+  **/
+  static int findIndexes(int[] block, int color0, int color1, int[] indexes) {
+    int r0 = EXPAND_5[(color0 >> 11) & 31];
+    int g0 = EXPAND_6[(color0 >> 5) & 63];
+    int b0 = EXPAND_5[color0 & 31];
+
+    int r1 = EXPAND_5[(color1 >> 11) & 31];
+    int g1 = EXPAND_6[(color1 >> 5) & 63];
+    int b1 = EXPAND_5[color1 & 31];
+
+    int[] paletteR = { r0, r1, (2 * r0 + r1) / 3, (r0 + 2 * r1) / 3 };
+    int[] paletteG = { g0, g1, (2 * g0 + g1) / 3, (g0 + 2 * g1) / 3 };
+    int[] paletteB = { b0, b1, (2 * b0 + b1) / 3, (b0 + 2 * b1) / 3 };
+
+    int totalError = 0;
+    for (int i = 0; i < 16; i++) {
+      int pixel = block[i];
+      int r = (pixel >> 16) & 255;
+      int g = (pixel >> 8) & 255;
+      int b = pixel & 255;
+
+      int closest = 0;
+      int closestError = Integer.MAX_VALUE;
+      for (int p = 0; p < 4; p++) {
+        int dr = r - paletteR[p];
+        int dg = g - paletteG[p];
+        int db = b - paletteB[p];
+        int error = dr * dr + dg * dg + db * db;
+        if (error < closestError) {
+          closestError = error;
+          closest = p;
+        }
+      }
+
+      indexes[i] = closest;
+      totalError += closestError;
+    }
+
+    return totalError;
+  }
+
+  /**
+  **********************************************************************************************
+  Finds the 2 end points that best fit the pixels for the given indexes (least squares). Returns
+  null if the indexes don't give a unique answer (eg they're all the same).
+  **********************************************************************************************
+  **/
+  static int[] fitEndPoints(int[] block, int[] indexes) {
+    // the weight of color0 for each index
+    float[] weights = { 1f, 0f, 2 / 3f, 1 / 3f };
+
+    float aa = 0;
+    float bb = 0;
+    float ab = 0;
+    float axR = 0;
+    float axG = 0;
+    float axB = 0;
+    float bxR = 0;
+    float bxG = 0;
+    float bxB = 0;
+
+    for (int i = 0; i < 16; i++) {
+      int pixel = block[i];
+      float r = (pixel >> 16) & 255;
+      float g = (pixel >> 8) & 255;
+      float b = pixel & 255;
+
+      float alpha = weights[indexes[i]];
+      float beta = 1f - alpha;
+
+      aa += alpha * alpha;
+      bb += beta * beta;
+      ab += alpha * beta;
+
+      axR += alpha * r;
+      axG += alpha * g;
+      axB += alpha * b;
+
+      bxR += beta * r;
+      bxG += beta * g;
+      bxB += beta * b;
+    }
+
+    float determinant = aa * bb - ab * ab;
+    if (Math.abs(determinant) < 1e-6f) {
+      return null;
+    }
+    float factor = 1f / determinant;
+
+    float r0 = (axR * bb - bxR * ab) * factor;
+    float g0 = (axG * bb - bxG * ab) * factor;
+    float b0 = (axB * bb - bxB * ab) * factor;
+
+    float r1 = (bxR * aa - axR * ab) * factor;
+    float g1 = (bxG * aa - axG * ab) * factor;
+    float b1 = (bxB * aa - axB * ab) * factor;
+
+    return new int[] { quantize565(r0, g0, b0), quantize565(r1, g1, b1) };
+  }
+
+  /**
+  **********************************************************************************************
+  The encoder quality, from the DXTEncoderQuality setting (Fast, Normal or High)
+  **********************************************************************************************
+  **/
+  public static int getQuality() {
+    String quality = Settings.getString("DXTEncoderQuality");
+    if (quality.equalsIgnoreCase("Fast")) {
+      return QUALITY_FAST;
+    }
+    else if (quality.equalsIgnoreCase("High")) {
+      return QUALITY_HIGH;
+    }
+    return QUALITY_NORMAL;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static int pack565(int r, int g, int b) {
+    return (r << 11) | (g << 5) | b;
+  }
+
+  /**
+  **********************************************************************************************
+  Converts an RGB color (which may be outside 0-255) to the nearest RGB565 color
+  **********************************************************************************************
+  **/
+  static int quantize565(float r, float g, float b) {
+    int red = Math.max(0, Math.min(255, Math.round(r)));
+    int green = Math.max(0, Math.min(255, Math.round(g)));
+    int blue = Math.max(0, Math.min(255, Math.round(b)));
+    return pack565(QUANTIZE_5[red], QUANTIZE_6[green], QUANTIZE_5[blue]);
+  }
+
+  /**
+  **********************************************************************************************
+  Writes the 2 end points (little endian shorts) and the index bits (little endian int)
+  **********************************************************************************************
+  **/
+  static void writeColorBlock(byte[] out, int offset, int color0, int color1, int bits) {
+    out[offset] = (byte) color0;
+    out[offset + 1] = (byte) (color0 >> 8);
+    out[offset + 2] = (byte) color1;
+    out[offset + 3] = (byte) (color1 >> 8);
+    out[offset + 4] = (byte) bits;
+    out[offset + 5] = (byte) (bits >> 8);
+    out[offset + 6] = (byte) (bits >> 16);
+    out[offset + 7] = (byte) (bits >> 24);
+  }
+
+}
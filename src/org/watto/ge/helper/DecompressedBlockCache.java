@@ -0,0 +1,245 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.helper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.watto.Settings;
+import org.watto.datatype.Resource;
+import org.watto.ge.plugin.ExporterPlugin;
+import org.watto.ge.plugin.exporter.Exporter_Default;
+
+/**
+**********************************************************************************************
+A size-bounded LRU cache of decompressed blocks, shared by all the block exporter wrappers. A
+block is identified by its source file, offset, lengths, and the exporter that decompresses it,
+so when a file is previewed, thumbnailed and then exported, its blocks are only decompressed
+once. The size of the cache is set by the DecompressedBlockCacheSize setting (in bytes), and
+blocks larger than 1/8 of the cache are never cached.
+**********************************************************************************************
+**/
+public class DecompressedBlockCache {
+
+  /** Access-ordered, so the first entry is always the least recently used **/
+  static LinkedHashMap<String, byte[]> blocks = new LinkedHashMap<String, byte[]>(64, 0.75f, true);
+
+  static long cacheSize = 0;
+
+  static long maxCacheSize = -1;
+
+  static long hits = 0;
+
+  static long misses = 0;
+
+  static long evictions = 0;
+
+  /**
+  **********************************************************************************************
+  Removes all the blocks from the cache
+  **********************************************************************************************
+  **/
+  public static synchronized void clear() {
+    blocks.clear();
+    cacheSize = 0;
+  }
+
+  /**
+  **********************************************************************************************
+  Removes the least recently used blocks to free up (roughly) <i>bytes</i> of memory, such as
+  when the MemoryBudget is running out
+  @return the memory that was freed
+  **********************************************************************************************
+  **/
+  public static synchronized long evict(long bytes) {
+    long before = cacheSize;
+    trimToSize(cacheSize - bytes);
+    return before - cacheSize;
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the decompressed block for the <i>key</i>, or null if it isn't in the cache
+  **********************************************************************************************
+  **/
+  public static synchronized byte[] get(String key) {
+    byte[] block = blocks.get(key);
+    if (block == null) {
+      misses++;
+    }
+    else {
+      hits++;
+    }
+    return block;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getCacheSize() {
+    return cacheSize;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getEvictionCount() {
+    return evictions;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getHitCount() {
+    return hits;
+  }
+
+  /**
+  **********************************************************************************************
+  The fraction of lookups that were found in the cache, between 0 and 1
+  **********************************************************************************************
+  **/
+  public static synchronized double getHitRatio() {
+    long lookups = hits + misses;
+    if (lookups == 0) {
+      return 0;
+    }
+    return (double) hits / lookups;
+  }
+
+  /**
+  **********************************************************************************************
+  Builds the key for a block that is decompressed by the <i>exporter</i>, or returns null if the
+  block shouldn't be cached (because caching is turned off, or the block is too big). The key
+  includes the modified time of the file, so the cache doesn't return stale blocks if the file
+  is changed (such as when an archive is saved).
+  **********************************************************************************************
+  **/
+  public static String getKey(ExporterPlugin exporter, Resource block) {
+    if (exporter instanceof Exporter_Default) {
+      return null; // not compressed, so there's nothing to gain
+    }
+
+    long decompLength = block.getDecompressedLength();
+    if (decompLength <= 0 || decompLength > getMaxBlockSize()) {
+      return null;
+    }
+
+    File file = block.getSource();
+    if (file == null) {
+      return null;
+    }
+
+    // exporters can hold keys or other state, so different instances of the same exporter are kept apart
+    return file.getAbsolutePath() + '|' + file.lastModified() + '|' + block.getOffset() + '|' + block.getLength() + '|' + decompLength + '|' + exporter.getClass().getName() + '@' + exporter.getInstanceID();
+  }
+
+  /**
+  **********************************************************************************************
+  The largest block that will be cached
+  **********************************************************************************************
+  **/
+  public static long getMaxBlockSize() {
+    return getMaxCacheSize() / 8;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getMaxCacheSize() {
+    if (maxCacheSize < 0) {
+      maxCacheSize = Settings.getLong("DecompressedBlockCacheSize");
+      if (maxCacheSize < 0) {
+        maxCacheSize = 0; // the setting doesn't exist, so turn off the cache
+      }
+    }
+    return maxCacheSize;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getMissCount() {
+    return misses;
+  }
+
+  /**
+  **********************************************************************************************
+  A summary of the cache metrics, for the logs
+  **********************************************************************************************
+  **/
+  public static synchronized String getStatistics() {
+    return "DecompressedBlockCache: " + blocks.size() + " blocks, " + cacheSize + "/" + getMaxCacheSize() + " bytes, " + hits + " hits, " + misses + " misses, " + evictions + " evictions (" + (int) (getHitRatio() * 100) + "% hit ratio)";
+  }
+
+  /**
+  **********************************************************************************************
+  Adds a decompressed block to the cache, removing the least recently used blocks to make room
+  **********************************************************************************************
+  **/
+  public static synchronized void put(String key, byte[] block) {
+    long maxSize = getMaxCacheSize();
+    if (block.length > maxSize) {
+      return;
+    }
+
+    byte[] oldBlock = blocks.put(key, block);
+    if (oldBlock != null) {
+      cacheSize -= oldBlock.length;
+    }
+    cacheSize += block.length;
+
+    trimToSize(maxSize);
+  }
+
+  /**
+  **********************************************************************************************
+  Changes the maximum size of the cache (in bytes), removing blocks if it's now too big
+  **********************************************************************************************
+  **/
+  public static synchronized void setMaxCacheSize(long size) {
+    maxCacheSize = size;
+    trimToSize(size);
+  }
+
+  /**
+  **********************************************************************************************
+  Removes the least recently used blocks until the cache is no bigger than <i>maxSize</i>
+  **********************************************************************************************
+  **/
+  static void trimToSize(long maxSize) {
+    Iterator<Map.Entry<String, byte[]>> iterator = blocks.entrySet().iterator();
+    while (cacheSize > maxSize && iterator.hasNext()) {
+      Map.Entry<String, byte[]> eldest = iterator.next();
+      cacheSize -= eldest.getValue().length;
+      iterator.remove();
+      evictions++;
+    }
+  }
+
+}
@@ -14,29 +14,51 @@
 
 package org.watto.ge.helper;
 
+import org.watto.ChangeMonitor;
 import org.watto.ErrorLogger;
-import org.watto.Settings;
 import org.watto.SingletonManager;
 import org.watto.component.WSTableColumn;
-import org.watto.datatype.Archive;
 import org.watto.datatype.Resource;
-import org.watto.ge.plugin.ArchivePlugin;
 
 /**
 **********************************************************************************************
-
+Filters the file list. The last filter that was applied is remembered, so if the same list is
+filtered again with more text typed onto the end of the filter value, only the Resources that
+matched last time need to be checked.
 **********************************************************************************************
 **/
 
 public class FileListFilter {
 
+  /** The Resources that were filtered last time, in the order they were given **/
+  static Resource[] lastResources = null;
+
+  /** Whether each of the <code>lastResources</code> matched the <code>lastMatcher</code> **/
+  static boolean[] lastMatched = null;
+
+  static ResourceMatcher lastMatcher = null;
+
+  /** The ChangeMonitor change count when the last filter was applied **/
+  static long lastChangeCount = -1;
+
+  /**
+   **********************************************************************************************
+   Forgets the last filter results. Called whenever the resources in the archive change.
+   **********************************************************************************************
+   **/
+  public static void clearCache() {
+    lastResources = null;
+    lastMatched = null;
+    lastMatcher = null;
+    lastChangeCount = -1;
+  }
+
   /**
    **********************************************************************************************
    Filters a list of Resources
    @return the filtered list of resources
    **********************************************************************************************
    **/
-  @SuppressWarnings("rawtypes")
   public static Resource[] filterResources(Resource[] resources) {
 
     if (SingletonManager.has("FileListFilterValue")) {
@@ -44,83 +66,27 @@ public class FileListFilter {
         String filterValue = (String) SingletonManager.get("FileListFilterValue");
         WSTableColumn[] filterColumns = (WSTableColumn[]) SingletonManager.get("FileListFilterColumns");
 
-        int numColumns = filterColumns.length;
+        ResourceMatcher matcher = new ResourceMatcher(filterValue, filterColumns);
 
-        boolean isNumber = false;
-        long searchValNumber = -1;
-        try {
-          searchValNumber = Long.parseLong(filterValue);
-          isNumber = true;
-        }
-        catch (Throwable t) {
+        // if these are the same resources as last time, and the filter has only been narrowed,
+        // we only need to check the ones that matched last time
+        boolean[] candidates = null;
+        if (isSameResources(resources) && matcher.isNarrowerThan(lastMatcher)) {
+          candidates = lastMatched;
         }
 
-        boolean isBoolean = false;
-        boolean searchValBoolean = true;
-        if (filterValue.equals("true")) {
-          isBoolean = true;
-          searchValBoolean = true;
-        }
-        else if (filterValue.equals("false")) {
-          isBoolean = true;
-          searchValBoolean = false;
-        }
+        boolean[] matched = matcher.matchAll(resources, candidates);
 
-        boolean regexSearch = false;
-
-        String searchValString = filterValue;
-        if (Settings.getBoolean("SearchWildcardConversion")) {
-          searchValString = filterValue.replace("*", "(.*)");
-          regexSearch = true;
-        }
-
-        if (Settings.getBoolean("SearchRegExConversion")) {
-          regexSearch = true;
-        }
+        lastResources = resources.clone();
+        lastMatched = matched;
+        lastMatcher = matcher;
+        lastChangeCount = ChangeMonitor.getChangeCount();
 
-        // determine the starting position
         int numFiles = resources.length;
-        ArchivePlugin readPlugin = Archive.getReadPlugin();
-
-        // search for the files 
         int numFound = 0;
-        Resource[] filteredResources = new Resource[numFiles];
-
         for (int i = 0; i < numFiles; i++) {
-          Resource resource = resources[i];
-          if (resource != null) {
-            for (int c = 0; c < numColumns; c++) {
-              WSTableColumn column = filterColumns[c];
-              Class type = column.getType();
-              char columnChar = column.getCharCode();
-
-              boolean found = false;
-              if (type == String.class) {
-                if (regexSearch) { // regex
-                  try {
-                    found = ((String) readPlugin.getColumnValue(resource, columnChar)).matches(searchValString);
-                  }
-                  catch (Throwable t) {
-                  }
-                }
-                else { // literal
-                  found = (((String) readPlugin.getColumnValue(resource, columnChar)).indexOf(searchValString) >= 0);
-                }
-              }
-              else if (isNumber && type == Long.class) {
-                found = (((Long) readPlugin.getColumnValue(resource, columnChar)).longValue() == searchValNumber);
-              }
-              else if (isBoolean && type == Boolean.class) {
-                found = (((Boolean) readPlugin.getColumnValue(resource, columnChar)).booleanValue() == searchValBoolean);
-              }
-
-              if (found) {
-                filteredResources[numFound] = resource;
-                numFound++;
-                break; // stop searching the remaining columns - begin searching for the next file
-              }
-
-            }
+          if (matched[i]) {
+            numFound++;
           }
         }
 
@@ -128,9 +94,14 @@ public class FileListFilter {
           return resources;
         }
         else {
-          resources = new Resource[numFound];
-          System.arraycopy(filteredResources, 0, resources, 0, numFound);
-          return resources;
+          Resource[] filteredResources = new Resource[numFound];
+          for (int i = 0, j = 0; i < numFiles; i++) {
+            if (matched[i]) {
+              filteredResources[j] = resources[i];
+              j++;
+            }
+          }
+          return filteredResources;
         }
 
       }
@@ -141,4 +112,24 @@ public class FileListFilter {
 
     return resources;
   }
+
+  /**
+   **********************************************************************************************
+   Whether the <i>resources</i> are the same as the last ones that were filtered, in the same
+   order, with no changes made to the archive since then
+   **********************************************************************************************
+   **/
+  static boolean isSameResources(Resource[] resources) {
+    if (lastResources == null || lastMatched == null || lastResources.length != resources.length || lastChangeCount != ChangeMonitor.getChangeCount()) {
+      return false;
+    }
+
+    int numResources = resources.length;
+    for (int i = 0; i < numResources; i++) {
+      if (lastResources[i] != resources[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
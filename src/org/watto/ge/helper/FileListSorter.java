@@ -14,6 +14,11 @@
 
 package org.watto.ge.helper;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.watto.ChangeMonitor;
 import org.watto.component.WSTableColumn;
 import org.watto.datatype.Archive;
 import org.watto.datatype.Resource;
@@ -23,6 +28,12 @@ import org.watto.ge.plugin.ArchivePlugin;
 **********************************************************************************************
 THIS IS ENHANCED SUCH THAT, IF THERE ARE 2 EQUAL VALUES IN A COLUMN, IT WILL SORT BY THE FILEPATH
 **********************************************************************************************
+Rather than comparing column values while sorting, the values of the column are read once and
+turned into a rank for each row (equal values have equal ranks, in the same order as the values).
+The ranks are then packed into a long[] with the row position, and sorted as primitives. The
+ranks are kept for each column, so sorting again (such as clicking the same column to reverse
+the order) doesn't need to read the values again, until the resources change.
+**********************************************************************************************
 **/
 
 public class FileListSorter {
@@ -33,81 +44,107 @@ public class FileListSorter {
 
   static char filePathCode = 'P';
 
+  /** The resources, in the order that the ranks in the <code>rankCache</code> are stored **/
+  static Resource[] rankedResources = null;
+
+  /** The ChangeMonitor change count when the <code>rankCache</code> was built **/
+  static long rankedChangeCount = -1;
+
+  /** The rank of each resource, for each column that has been sorted **/
+  static HashMap<Character, int[]> rankCache = new HashMap<Character, int[]>();
+
   /**
   **********************************************************************************************
-
+  Makes sure the <code>rankCache</code> is for the same <i>resources</i> in the same order, and
+  that nothing has changed since it was built, otherwise clears it.
   **********************************************************************************************
   **/
-  public static int compareBooleans(Resource row1, Resource row2) {
-    boolean b1 = ((Boolean) readPlugin.getColumnValue(row1, sortColumnCode)).booleanValue();
-    boolean b2 = ((Boolean) readPlugin.getColumnValue(row2, sortColumnCode)).booleanValue();
-
-    if ((b2 != b1) && b2) {
-      if (ascending) {
-        return -1;
+  static void checkRankCache(Resource[] resources) {
+    if (rankedResources != null && rankedResources.length == resources.length && rankedChangeCount == ChangeMonitor.getChangeCount()) {
+      int numResources = resources.length;
+      boolean same = true;
+      for (int i = 0; i < numResources; i++) {
+        if (rankedResources[i] != resources[i]) {
+          same = false;
+          break;
+        }
       }
-      return 1;
-    }
-    else if (b1 == b2) {
-      return compareFilePaths(row1, row2);
-    }
-    else {
-      if (ascending) {
-        return 1;
+      if (same) {
+        return;
       }
-      return -1;
     }
+
+    clearCache();
+    rankedResources = resources.clone();
+    rankedChangeCount = ChangeMonitor.getChangeCount();
   }
 
   /**
   **********************************************************************************************
-
+  Forgets the sort keys of all columns. Called whenever the resources in the archive change.
   **********************************************************************************************
   **/
-  public static int compareFilePaths(Resource row1, Resource row2) {
-    String s1 = ((String) readPlugin.getColumnValue(row1, filePathCode)).toLowerCase();
-    String s2 = ((String) readPlugin.getColumnValue(row2, filePathCode)).toLowerCase();
-
-    int result = s1.compareTo(s2);
-
-    if (result < 0) {
-      if (ascending) {
-        return -1;
-      }
-      return 1;
-    }
-    else {
-      if (ascending) {
-        return 1;
-      }
-      return -1;
-    }
+  public static void clearCache() {
+    rankCache.clear();
+    rankedResources = null;
+    rankedChangeCount = -1;
   }
 
   /**
   **********************************************************************************************
-
+  Gets the rank of each of the <i>resources</i> in the column with the <i>code</i>, building them
+  if they're not in the <code>rankCache</code>. Returns null if the column can't be sorted.
   **********************************************************************************************
   **/
-  public static int compareIntegers(Resource row1, Resource row2) {
-    int i1 = ((Integer) readPlugin.getColumnValue(row1, sortColumnCode)).intValue();
-    int i2 = ((Integer) readPlugin.getColumnValue(row2, sortColumnCode)).intValue();
+  @SuppressWarnings("rawtypes")
+  static int[] getRanks(Resource[] resources, char code, Class sortType) {
+    Character cacheKey = Character.valueOf(code);
+    int[] ranks = rankCache.get(cacheKey);
+    if (ranks != null) {
+      return ranks;
+    }
 
-    if (i1 < i2) {
-      if (ascending) {
-        return -1;
+    int numResources = resources.length;
+
+    if (sortType == String.class) {
+      String[] values = new String[numResources];
+      for (int i = 0; i < numResources; i++) {
+        Object value = readPlugin.getColumnValue(resources[i], code);
+        if (value == null) {
+          values[i] = "";
+        }
+        else {
+          values[i] = ((String) value).toLowerCase();
+        }
       }
-      return 1;
+      ranks = rankStrings(values);
+    }
+    else if (sortType == Integer.class || sortType == Long.class) {
+      long[] values = new long[numResources];
+      for (int i = 0; i < numResources; i++) {
+        Object value = readPlugin.getColumnValue(resources[i], code);
+        if (value != null) {
+          values[i] = ((Number) value).longValue();
+        }
+      }
+      ranks = rankLongs(values);
     }
-    else if (i1 == i2) {
-      return compareFilePaths(row1, row2);
+    else if (sortType == Boolean.class) {
+      // false sorts before true, so the value is already the rank
+      ranks = new int[numResources];
+      for (int i = 0; i < numResources; i++) {
+        Object value = readPlugin.getColumnValue(resources[i], code);
+        if (value != null && ((Boolean) value).booleanValue()) {
+          ranks[i] = 1;
+        }
+      }
     }
     else {
-      if (ascending) {
-        return 1;
-      }
-      return -1;
+      return null;
     }
+
+    rankCache.put(cacheKey, ranks);
+    return ranks;
   }
 
   /**
@@ -115,62 +152,80 @@ public class FileListSorter {
 
   **********************************************************************************************
   **/
-  public static int compareLongs(Resource row1, Resource row2) {
-    long i1 = ((Long) readPlugin.getColumnValue(row1, sortColumnCode)).longValue();
-    long i2 = ((Long) readPlugin.getColumnValue(row2, sortColumnCode)).longValue();
+  public static char getSortColumnCode() {
+    return sortColumnCode;
+  }
 
-    if (i1 < i2) {
-      if (ascending) {
-        return -1;
-      }
-      return 1;
-    }
-    else if (i1 == i2) {
-      return compareFilePaths(row1, row2);
-    }
-    else {
-      if (ascending) {
-        return 1;
+  /**
+  **********************************************************************************************
+  Finds the highest rank in the <i>ranks</i>, so the ranks can be reversed for descending sorts
+  **********************************************************************************************
+  **/
+  static int getMaxRank(int[] ranks) {
+    int maxRank = 0;
+    int numRanks = ranks.length;
+    for (int i = 0; i < numRanks; i++) {
+      if (ranks[i] > maxRank) {
+        maxRank = ranks[i];
       }
-      return -1;
     }
+    return maxRank;
   }
 
   /**
   **********************************************************************************************
-
+  Ranks the <i>values</i> so that equal values get the same rank, and smaller values get a
+  smaller rank
   **********************************************************************************************
   **/
-  public static int compareStrings(Resource row1, Resource row2) {
-    String s1 = ((String) readPlugin.getColumnValue(row1, sortColumnCode)).toLowerCase();
-    String s2 = ((String) readPlugin.getColumnValue(row2, sortColumnCode)).toLowerCase();
-
-    int result = s1.compareTo(s2);
-
-    if (result < 0) {
-      if (ascending) {
-        return -1;
+  static int[] rankLongs(long[] values) {
+    int numValues = values.length;
+
+    long[] sorted = values.clone();
+    sortKeys(sorted);
+
+    // remove the duplicates, so each distinct value has a single rank
+    int numDistinct = 0;
+    for (int i = 0; i < numValues; i++) {
+      if (numDistinct == 0 || sorted[i] != sorted[numDistinct - 1]) {
+        sorted[numDistinct] = sorted[i];
+        numDistinct++;
       }
-      return 1;
-    }
-    else if (result == 0) {
-      return compareFilePaths(row1, row2);
     }
-    else {
-      if (ascending) {
-        return 1;
-      }
-      return -1;
+
+    int[] ranks = new int[numValues];
+    for (int i = 0; i < numValues; i++) {
+      ranks[i] = Arrays.binarySearch(sorted, 0, numDistinct, values[i]);
     }
+    return ranks;
   }
 
   /**
   **********************************************************************************************
-
+  Ranks the <i>values</i> so that equal values get the same rank, and values that come first
+  (using String.compareTo()) get a smaller rank
   **********************************************************************************************
   **/
-  public static char getSortColumnCode() {
-    return sortColumnCode;
+  static int[] rankStrings(String[] values) {
+    int numValues = values.length;
+
+    String[] sorted = values.clone();
+    Arrays.parallelSort(sorted);
+
+    // remove the duplicates, so each distinct value has a single rank
+    int numDistinct = 0;
+    for (int i = 0; i < numValues; i++) {
+      if (numDistinct == 0 || !sorted[i].equals(sorted[numDistinct - 1])) {
+        sorted[numDistinct] = sorted[i];
+        numDistinct++;
+      }
+    }
+
+    int[] ranks = new int[numValues];
+    for (int i = 0; i < numValues; i++) {
+      ranks[i] = Arrays.binarySearch(sorted, 0, numDistinct, values[i]);
+    }
+    return ranks;
   }
 
   /**
@@ -201,20 +256,77 @@ public class FileListSorter {
       ascending = true;
     }
 
-    Class sortType = column.getType();
+    int numResources = resources.length;
+    if (numResources < 2) {
+      return resources;
+    }
 
-    if (sortType == String.class) {
-      sortStrings(resources.clone(), resources, 0, resources.length);
+    checkRankCache(resources);
+
+    Class sortType = column.getType();
+    int[] valueRanks = getRanks(resources, sortColumnCode, sortType);
+    if (valueRanks == null) {
+      return resources; // not a sortable type
     }
-    else if (sortType == Integer.class) {
-      sortIntegers(resources.clone(), resources, 0, resources.length);
+
+    // First, order the rows by their filepath (which is the tie-breaker for equal values)
+    int[] pathRanks = getRanks(resources, filePathCode, String.class);
+    int maxPathRank = getMaxRank(pathRanks);
+
+    long[] keys = new long[numResources];
+    for (int i = 0; i < numResources; i++) {
+      int rank = pathRanks[i];
+      if (!ascending) {
+        rank = maxPathRank - rank;
+      }
+      keys[i] = (((long) rank) << 32) | i;
+    }
+    sortKeys(keys);
+
+    // pathOrder[position] = the row at that position, when sorted by filepath
+    int[] pathOrder = new int[numResources];
+    for (int i = 0; i < numResources; i++) {
+      pathOrder[i] = (int) keys[i];
+    }
+
+    int[] order = pathOrder;
+    if (valueRanks != pathRanks) {
+      // Now order the rows by their value, using the position from the filepath sort for equal values
+      int maxValueRank = getMaxRank(valueRanks);
+      for (int i = 0; i < numResources; i++) {
+        int row = pathOrder[i];
+        int rank = valueRanks[row];
+        if (!ascending) {
+          rank = maxValueRank - rank;
+        }
+        keys[i] = (((long) rank) << 32) | i;
+      }
+      sortKeys(keys);
+
+      order = new int[numResources];
+      for (int i = 0; i < numResources; i++) {
+        order[i] = pathOrder[(int) keys[i]];
+      }
     }
-    else if (sortType == Long.class) {
-      sortLongs(resources.clone(), resources, 0, resources.length);
+
+    // put the resources in the sorted order
+    Resource[] unsorted = resources.clone();
+    for (int i = 0; i < numResources; i++) {
+      resources[i] = unsorted[order[i]];
     }
-    else if (sortType == Boolean.class) {
-      sortBooleans(resources.clone(), resources, 0, resources.length);
+
+    // re-order the cached ranks the same way, so they still line up with the resources
+    Iterator<Map.Entry<Character, int[]>> entries = rankCache.entrySet().iterator();
+    while (entries.hasNext()) {
+      Map.Entry<Character, int[]> entry = entries.next();
+      int[] ranks = entry.getValue();
+      int[] sortedRanks = new int[numResources];
+      for (int i = 0; i < numResources; i++) {
+        sortedRanks[i] = ranks[order[i]];
+      }
+      entry.setValue(sortedRanks);
     }
+    rankedResources = resources.clone();
 
     return resources;
 
@@ -245,138 +357,12 @@ public class FileListSorter {
 
   /**
   **********************************************************************************************
-
+  Sorts the packed (rank, position) <i>keys</i>. Arrays.parallelSort() only splits the work
+  across threads when the array is large enough to benefit, and sorts small arrays in place.
   **********************************************************************************************
   **/
-  public static void sortBooleans(Resource[] from, Resource[] to, int low, int high) {
-    if (high - low < 2) {
-      return;
-    }
-    int middle = (low + high) / 2;
-
-    sortBooleans(to, from, low, middle);
-    sortBooleans(to, from, middle, high);
-
-    int p = low;
-    int q = middle;
-
-    if (high - low >= 4 && compareBooleans(from[middle - 1], from[middle]) <= 0) {
-      for (int i = low; i < high; i++) {
-        to[i] = from[i];
-      }
-      return;
-    }
-
-    for (int i = low; i < high; i++) {
-      if (q >= high || (p < middle && compareBooleans(from[p], from[q]) <= 0)) {
-        to[i] = from[p++];
-      }
-      else {
-        to[i] = from[q++];
-      }
-    }
-  }
-
-  /**
-  **********************************************************************************************
-
-  **********************************************************************************************
-  **/
-  public static void sortIntegers(Resource[] from, Resource[] to, int low, int high) {
-    if (high - low < 2) {
-      return;
-    }
-    int middle = (low + high) / 2;
-
-    sortIntegers(to, from, low, middle);
-    sortIntegers(to, from, middle, high);
-
-    int p = low;
-    int q = middle;
-
-    if (high - low >= 4 && compareIntegers(from[middle - 1], from[middle]) <= 0) {
-      for (int i = low; i < high; i++) {
-        to[i] = from[i];
-      }
-      return;
-    }
-
-    for (int i = low; i < high; i++) {
-      if (q >= high || (p < middle && compareIntegers(from[p], from[q]) <= 0)) {
-        to[i] = from[p++];
-      }
-      else {
-        to[i] = from[q++];
-      }
-    }
-  }
-
-  /**
-  **********************************************************************************************
-
-  **********************************************************************************************
-  **/
-  public static void sortLongs(Resource[] from, Resource[] to, int low, int high) {
-    if (high - low < 2) {
-      return;
-    }
-    int middle = (low + high) / 2;
-
-    sortLongs(to, from, low, middle);
-    sortLongs(to, from, middle, high);
-
-    int p = low;
-    int q = middle;
-
-    if (high - low >= 4 && compareLongs(from[middle - 1], from[middle]) <= 0) {
-      for (int i = low; i < high; i++) {
-        to[i] = from[i];
-      }
-      return;
-    }
-
-    for (int i = low; i < high; i++) {
-      if (q >= high || (p < middle && compareLongs(from[p], from[q]) <= 0)) {
-        to[i] = from[p++];
-      }
-      else {
-        to[i] = from[q++];
-      }
-    }
-  }
-
-  /**
-  **********************************************************************************************
-
-  **********************************************************************************************
-  **/
-  public static void sortStrings(Resource[] from, Resource[] to, int low, int high) {
-    if (high - low < 2) {
-      return;
-    }
-    int middle = (low + high) / 2;
-
-    sortStrings(to, from, low, middle);
-    sortStrings(to, from, middle, high);
-
-    int p = low;
-    int q = middle;
-
-    if (high - low >= 4 && compareStrings(from[middle - 1], from[middle]) <= 0) {
-      for (int i = low; i < high; i++) {
-        to[i] = from[i];
-      }
-      return;
-    }
-
-    for (int i = low; i < high; i++) {
-      if (q >= high || (p < middle && compareStrings(from[p], from[q]) <= 0)) {
-        to[i] = from[p++];
-      }
-      else {
-        to[i] = from[q++];
-      }
-    }
+  static void sortKeys(long[] keys) {
+    Arrays.parallelSort(keys);
   }
 
   /**
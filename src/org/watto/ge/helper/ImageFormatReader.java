@@ -15,6 +15,7 @@
 package org.watto.ge.helper;
 
 import java.io.File;
+import java.util.Arrays;
 
 import org.watto.ErrorLogger;
 import org.watto.Settings;
@@ -811,25 +812,9 @@ public class ImageFormatReader {
    **********************************************************************************************
    **/
   public static ImageResource readABGR(FileManipulator fm, int width, int height) {
-
-    int numPixels = width * height;
-
-    // X Bytes - Pixel Data
-    int[] pixels = new int[numPixels];
-
-    for (int i = 0; i < numPixels; i++) {
-      // INPUT = ABGR
-      int aPixel = ByteConverter.unsign(fm.readByte());
-      int bPixel = ByteConverter.unsign(fm.readByte());
-      int gPixel = ByteConverter.unsign(fm.readByte());
-      int rPixel = ByteConverter.unsign(fm.readByte());
-
-      // OUTPUT = ARGB
-      pixels[i] = ((rPixel << 16) | (gPixel << 8) | bPixel | (aPixel << 24));
-    }
-
-    return new ImageResource(pixels, width, height);
-
+    // INPUT = ABGR
+    // OUTPUT = ARGB
+    return readByteChannels(fm, width, height, 4, 3, 2, 1, 0);
   }
 
   /**
@@ -867,25 +852,9 @@ public class ImageFormatReader {
    **********************************************************************************************
    **/
   public static ImageResource readARGB(FileManipulator fm, int width, int height) {
-
-    int numPixels = width * height;
-
-    // X Bytes - Pixel Data
-    int[] pixels = new int[numPixels];
-
-    for (int i = 0; i < numPixels; i++) {
-      // INPUT = ARGB
-      int aPixel = ByteConverter.unsign(fm.readByte());
-      int rPixel = ByteConverter.unsign(fm.readByte());
-      int gPixel = ByteConverter.unsign(fm.readByte());
-      int bPixel = ByteConverter.unsign(fm.readByte());
-
-      // OUTPUT = ARGB
-      pixels[i] = ((rPixel << 16) | (gPixel << 8) | bPixel | (aPixel << 24));
-    }
-
-    return new ImageResource(pixels, width, height);
-
+    // INPUT = ARGB
+    // OUTPUT = ARGB
+    return readByteChannels(fm, width, height, 4, 1, 2, 3, 0);
   }
 
   /**
@@ -1148,71 +1117,58 @@ public class ImageFormatReader {
       width += (4 - widthMod);
     }
 
+    // read all the blocks in one go (8 bytes per 4x4 block)
+    byte[] bytes = fm.readBytes((width / 4) * (height / 4) * 8);
+
+    if (canDecodeQuarterScale(width, height)) {
+      // only generating a thumbnail, so just decode the average color of each block
+      return decodeBCAverages(bytes, width / 4, height / 4, 1);
+    }
+
     // X Bytes - Pixel Data
     int[] data = new int[width * height];
 
-    for (int y = 0; y < height; y += 4) {
-      // BC4 encodes 4x4 blocks of pixels
-      for (int x = 0; x < width; x += 4) {
+    final int imageWidth = width;
+    ParallelImageDecoder.decode(height / 4, width * 4, (startRow, endRow) -> decodeBC4(bytes, data, imageWidth, startRow, endRow));
 
-        // RED
+    return new ImageResource(data, width, height);
 
-        // two 8-bit reference colors (min and max)
-        int red0 = ByteConverter.unsign(fm.readByte());
-        int red1 = ByteConverter.unsign(fm.readByte());
-
-        // red color lookup table
-        int[] redLookup = new int[8];
-        redLookup[0] = red0;
-        redLookup[1] = red1;
-
-        // work out the other red colors
-        if (red0 > red1) {
-          // 6 interpolated color values
-          redLookup[2] = (6 * red0 + 1 * red1) / 7;
-          redLookup[3] = (5 * red0 + 2 * red1) / 7;
-          redLookup[4] = (4 * red0 + 3 * red1) / 7;
-          redLookup[5] = (3 * red0 + 4 * red1) / 7;
-          redLookup[6] = (2 * red0 + 5 * red1) / 7;
-          redLookup[7] = (1 * red0 + 6 * red1) / 7;
-        }
-        else {
-          // 4 interpolated color values
-          redLookup[2] = (4 * red0 + 1 * red1) / 5;
-          redLookup[3] = (3 * red0 + 2 * red1) / 5;
-          redLookup[4] = (2 * red0 + 3 * red1) / 5;
-          redLookup[5] = (1 * red0 + 4 * red1) / 5;
-          redLookup[6] = 0;
-          redLookup[7] = 255;
-        }
+  }
 
-        // now read 16 3-bit reds and convert them in to the lookup values
-        int red3bytes1 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16);
-        int red3bytes2 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16);
+  /**
+   **********************************************************************************************
+   Decodes the BC4 blocks for the rows of blocks from <i>startRow</i> to <i>endRow</i>
+   **********************************************************************************************
+   **/
+  static void decodeBC4(byte[] bytes, int[] data, int width, int startRow, int endRow) {
 
-        int[] redColors = new int[16];
-        for (int i = 0, j = 0; i < 8; ++i, j++) {
-          int index = (red3bytes1 >> 3 * i) & 0x7;
-          redColors[j] = redLookup[index];
-        }
-        for (int i = 0, j = 8; i < 8; ++i, j++) {
-          int index = (red3bytes2 >> 3 * i) & 0x7;
-          redColors[j] = redLookup[index];
-        }
+    int readPos = startRow * (width / 4) * 8;
+
+    // scratch arrays, re-used for every block
+    int[] redLookup = new int[8];
+    int[] redColors = new int[16];
+
+    for (int y = startRow * 4; y < endRow * 4; y += 4) {
+      // BC4 encodes 4x4 blocks of pixels
+      for (int x = 0; x < width; x += 4) {
+
+        // RED
+        buildInterpolatedTable(bytes[readPos] & 255, bytes[readPos + 1] & 255, redLookup);
+        decodeInterpolatedIndexes(bytes, readPos + 2, redLookup, redColors);
+        readPos += 8;
 
         // Now we have the Reds - need to use it as Green and Blue, as we write them out to the data array
+        int position = 0;
         for (int by = 0; by < 4; ++by) {
+          int writePos = (y + by) * width + x;
           for (int bx = 0; bx < 4; ++bx) {
-            int position = 4 * by + bx;
-            int red = redColors[position];
-            data[(y + by) * width + x + bx] = ((255 << 24) | (red << 16) | (red << 8) | red);// ARGB
+            int red = redColors[position++];
+            data[writePos + bx] = ((255 << 24) | (red << 16) | (red << 8) | red);// ARGB
           }
         }
       }
     }
 
-    return new ImageResource(data, width, height);
-
   }
 
   /**
@@ -1243,124 +1199,83 @@ public class ImageFormatReader {
       width += (4 - widthMod);
     }
 
+    // read all the blocks in one go (16 bytes per 4x4 block)
+    byte[] bytes = fm.readBytes((width / 4) * (height / 4) * 16);
+
+    if (canDecodeQuarterScale(width, height)) {
+      // only generating a thumbnail, so just decode the average color of each block
+      return decodeBCAverages(bytes, width / 4, height / 4, 2);
+    }
+
     // X Bytes - Pixel Data
-    int[] data = new int[numPixels];
+    int[] data = new int[width * height];
 
-    for (int y = 0; y < height; y += 4) {
-      // BC5 encodes 4x4 blocks of pixels
-      for (int x = 0; x < width; x += 4) {
+    final int imageWidth = width;
+    ParallelImageDecoder.decode(height / 4, width * 4, (startRow, endRow) -> decodeBC5(bytes, data, imageWidth, startRow, endRow));
 
-        // RED
+    return new ImageResource(data, width, height);
 
-        // two 8-bit reference colors (min and max)
-        int red0 = ByteConverter.unsign(fm.readByte());
-        int red1 = ByteConverter.unsign(fm.readByte());
-
-        // red color lookup table
-        int[] redLookup = new int[8];
-        redLookup[0] = red0;
-        redLookup[1] = red1;
-
-        // work out the other red colors
-        if (red0 > red1) {
-          // 6 interpolated color values
-          redLookup[2] = (6 * red0 + 1 * red1) / 7;
-          redLookup[3] = (5 * red0 + 2 * red1) / 7;
-          redLookup[4] = (4 * red0 + 3 * red1) / 7;
-          redLookup[5] = (3 * red0 + 4 * red1) / 7;
-          redLookup[6] = (2 * red0 + 5 * red1) / 7;
-          redLookup[7] = (1 * red0 + 6 * red1) / 7;
-        }
-        else {
-          // 4 interpolated color values
-          redLookup[2] = (4 * red0 + 1 * red1) / 5;
-          redLookup[3] = (3 * red0 + 2 * red1) / 5;
-          redLookup[4] = (2 * red0 + 3 * red1) / 5;
-          redLookup[5] = (1 * red0 + 4 * red1) / 5;
-          redLookup[6] = 0;
-          redLookup[7] = 255;
-        }
+  }
 
-        // now read 16 3-bit reds and convert them in to the lookup values
-        int red3bytes1 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16);
-        int red3bytes2 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16);
+  /**
+   **********************************************************************************************
+   Decodes the BC5 blocks for the rows of blocks from <i>startRow</i> to <i>endRow</i>
+   **********************************************************************************************
+   **/
+  static void decodeBC5(byte[] bytes, int[] data, int width, int startRow, int endRow) {
 
-        int[] redColors = new int[16];
-        for (int i = 0, j = 0; i < 8; ++i, j++) {
-          int index = (red3bytes1 >> 3 * i) & 0x7;
-          redColors[j] = redLookup[index];
-        }
-        for (int i = 0, j = 8; i < 8; ++i, j++) {
-          int index = (red3bytes2 >> 3 * i) & 0x7;
-          redColors[j] = redLookup[index];
-        }
+    int readPos = startRow * (width / 4) * 16;
 
-        // GREEN
+    // scratch arrays, re-used for every block
+    int[] lookup = new int[8];
+    int[] redColors = new int[16];
+    int[] greenColors = new int[16];
 
-        // two 8-bit reference colors (min and max)
-        int green0 = ByteConverter.unsign(fm.readByte());
-        int green1 = ByteConverter.unsign(fm.readByte());
-
-        // green color lookup table
-        int[] greenLookup = new int[8];
-        greenLookup[0] = green0;
-        greenLookup[1] = green1;
-
-        // work out the other green colors
-        if (green0 > green1) {
-          // 6 interpolated color values
-          greenLookup[2] = (6 * green0 + 1 * green1) / 7;
-          greenLookup[3] = (5 * green0 + 2 * green1) / 7;
-          greenLookup[4] = (4 * green0 + 3 * green1) / 7;
-          greenLookup[5] = (3 * green0 + 4 * green1) / 7;
-          greenLookup[6] = (2 * green0 + 5 * green1) / 7;
-          greenLookup[7] = (1 * green0 + 6 * green1) / 7;
-        }
-        else {
-          // 4 interpolated color values
-          greenLookup[2] = (4 * green0 + 1 * green1) / 5;
-          greenLookup[3] = (3 * green0 + 2 * green1) / 5;
-          greenLookup[4] = (2 * green0 + 3 * green1) / 5;
-          greenLookup[5] = (1 * green0 + 4 * green1) / 5;
-          greenLookup[6] = 0;
-          greenLookup[7] = 255;
-        }
+    for (int y = startRow * 4; y < endRow * 4; y += 4) {
+      // BC5 encodes 4x4 blocks of pixels
+      for (int x = 0; x < width; x += 4) {
 
-        // now read 16 3-bit greens and convert them in to the lookup values
-        int green3bytes1 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16);
-        int green3bytes2 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16);
+        // RED
+        buildInterpolatedTable(bytes[readPos] & 255, bytes[readPos + 1] & 255, lookup);
+        decodeInterpolatedIndexes(bytes, readPos + 2, lookup, redColors);
 
-        int[] greenColors = new int[16];
-        for (int i = 0, j = 0; i < 8; ++i, j++) {
-          int index = (green3bytes1 >> 3 * i) & 0x7;
-          greenColors[j] = greenLookup[index];
-        }
-        for (int i = 0, j = 8; i < 8; ++i, j++) {
-          int index = (green3bytes2 >> 3 * i) & 0x7;
-          greenColors[j] = greenLookup[index];
-        }
+        // GREEN
+        buildInterpolatedTable(bytes[readPos + 8] & 255, bytes[readPos + 9] & 255, lookup);
+        decodeInterpolatedIndexes(bytes, readPos + 10, lookup, greenColors);
+
+        readPos += 16;
 
         // Now we have the Reds and Greens - need to combine them to real color values, as we write them out to the data array
+        int position = 0;
         for (int by = 0; by < 4; ++by) {
+          int writePos = (y + by) * width + x;
           for (int bx = 0; bx < 4; ++bx) {
-            int position = 4 * by + bx;
-            data[(y + by) * width + x + bx] = ((255 << 24) | (redColors[position] << 16) | (greenColors[position] << 8) | 255);// ARGB
+            data[writePos + bx] = ((255 << 24) | (redColors[position] << 16) | (greenColors[position] << 8) | 255);// ARGB
+            position++;
           }
         }
       }
     }
 
-    return new ImageResource(data, width, height);
-
   }
 
   /**
    **********************************************************************************************
    * Reads a BC6H Image
-   * Uses Native DLL, as the Java code doesn't work yet
+   * Uses the Native DLL if it's available, otherwise the pure-Java BC6HDecoder
    **********************************************************************************************
    **/
   public static ImageResource readBC6H(FileManipulator fm, int width, int height) {
+    return readBC6H(fm, width, height, false);
+  }
+
+  /**
+   **********************************************************************************************
+   * Reads a BC6H Image, with either signed or unsigned half-floats
+   * Uses the Native DLL if it's available, otherwise the pure-Java BC6HDecoder
+   **********************************************************************************************
+   **/
+  static ImageResource readBC6H(FileManipulator fm, int width, int height, boolean signed) {
 
     // ensure width and height are multiples of 4...
     int heightMod = height % 4;
@@ -1382,38 +1297,11 @@ public class ImageFormatReader {
 
     int[] data = new int[numPixels];
 
-    //BC6Reader bc6decomp = new BC6Reader();
-    NativeBC6Decomp bc6decomp = new NativeBC6Decomp();
-
-    for (int y = 0; y < height; y += 4) {
-      // DXT encodes 4x4 blocks of pixels
-      for (int x = 0; x < width; x += 4) {
-
-        byte[] blockData = fm.readBytes(16);
-        //int[] decodedPixels = bc6decomp.bcdec_bc6h_half(blockData, false);
-        float[] decodedFloats = bc6decomp.unpackBC6Block(blockData);
+    // read all the blocks in one go (16 bytes per 4x4 block)
+    byte[] bytes = fm.readBytes((width / 4) * (height / 4) * 16);
 
-        // The NativeBC6 DLL returns an array of floats, which is in the form r1,g1,b1,r2,g2,b2, ...
-        // Need to convert them into pixels
-        int[] decodedPixels = new int[16];
-        for (int i = 0, j = 0; i < 16; i++, j += 3) {
-          int r = (int) (decodedFloats[j] * 255);
-          int g = (int) (decodedFloats[j + 1] * 255);
-          int b = (int) (decodedFloats[j + 2] * 255);
-          int a = 255;
-          decodedPixels[i] = a << 24 | r << 16 | g << 8 | b;
-        }
-
-        int decodedPos = 0;
-
-        for (int by = 0; by < 4; ++by) {
-          for (int bx = 0; bx < 4; ++bx) {
-            data[(y + by) * width + x + bx] = decodedPixels[decodedPos];
-            decodedPos++;
-          }
-        }
-      }
-    }
+    final int imageWidth = width;
+    ParallelImageDecoder.decode(height / 4, width * 4, (startRow, endRow) -> decodeBC6H(bytes, data, imageWidth, startRow, endRow, signed));
 
     return new ImageResource(data, width, height);
 
@@ -1421,67 +1309,74 @@ public class ImageFormatReader {
 
   /**
    **********************************************************************************************
-   * Reads a BC6H Image
-   * Uses Native DLL, as the Java code doesn't work yet
+   * Decodes the BC6H blocks for the rows of blocks from <i>startRow</i> to <i>endRow</i>
    **********************************************************************************************
    **/
-  public static ImageResource readBC6H_Signed(FileManipulator fm, int width, int height) {
-
-    // ensure width and height are multiples of 4...
-    int heightMod = height % 4;
-    if (heightMod != 0) {
-      height += (4 - heightMod);
-    }
-    int widthMod = width % 4;
-    if (widthMod != 0) {
-      width += (4 - widthMod);
-    }
+  static void decodeBC6H(byte[] bytes, int[] data, int width, int startRow, int endRow, boolean signed) {
 
-    // X Bytes - Pixel Data
-    int numPixels = width * height;
+    int readPos = startRow * (width / 4) * 16;
 
-    long remainingLength = fm.getRemainingLength();
-    if (remainingLength < (numPixels / 2)) { // quick simple check to kill off some bad reads
-      return null;
+    NativeBC6Decomp bc6decomp = null;
+    BC6HDecoder javaDecoder = null;
+    if (useNativeBCDecoder(NativeBC6Decomp.isAvailable())) {
+      bc6decomp = new NativeBC6Decomp();
+    }
+    else {
+      javaDecoder = new BC6HDecoder();
     }
 
-    int[] data = new int[numPixels];
-
-    //BC6Reader bc6decomp = new BC6Reader();
-    NativeBC6Decomp bc6decomp = new NativeBC6Decomp();
+    // scratch arrays, re-used for every block
+    byte[] blockData = new byte[16];
+    float[] decodedFloats = new float[16 * 3];
 
-    for (int y = 0; y < height; y += 4) {
+    for (int y = startRow * 4; y < endRow * 4; y += 4) {
       // DXT encodes 4x4 blocks of pixels
       for (int x = 0; x < width; x += 4) {
 
-        byte[] blockData = fm.readBytes(16);
-        //int[] decodedPixels = bc6decomp.bcdec_bc6h_half(blockData, false);
-        float[] decodedFloats = bc6decomp.unpackBC6BlockSigned(blockData);
+        if (javaDecoder != null) {
+          javaDecoder.decodeBlock(bytes, readPos, decodedFloats, signed);
+        }
+        else {
+          System.arraycopy(bytes, readPos, blockData, 0, 16);
 
-        // The NativeBC6 DLL returns an array of floats, which is in the form r1,g1,b1,r2,g2,b2, ...
-        // Need to convert them into pixels
-        int[] decodedPixels = new int[16];
-        for (int i = 0, j = 0; i < 16; i++, j += 3) {
-          int r = (int) (decodedFloats[j] * 255);
-          int g = (int) (decodedFloats[j + 1] * 255);
-          int b = (int) (decodedFloats[j + 2] * 255);
-          int a = 255;
-          decodedPixels[i] = a << 24 | r << 16 | g << 8 | b;
+          Arrays.fill(decodedFloats, 0); // clear out the previous block, in case this one is invalid
+          if (signed) {
+            bc6decomp.unpackBC6BlockSigned(blockData, decodedFloats);
+          }
+          else {
+            bc6decomp.unpackBC6Block(blockData, decodedFloats);
+          }
         }
+        readPos += 16;
 
+        // Both decoders return an array of floats, which is in the form r1,g1,b1,r2,g2,b2, ...
+        // Need to convert them into pixels
         int decodedPos = 0;
 
         for (int by = 0; by < 4; ++by) {
+          int writePos = (y + by) * width + x;
           for (int bx = 0; bx < 4; ++bx) {
-            data[(y + by) * width + x + bx] = decodedPixels[decodedPos];
-            decodedPos++;
+            int r = (int) (decodedFloats[decodedPos] * 255);
+            int g = (int) (decodedFloats[decodedPos + 1] * 255);
+            int b = (int) (decodedFloats[decodedPos + 2] * 255);
+            int a = 255;
+            data[writePos + bx] = a << 24 | r << 16 | g << 8 | b;
+            decodedPos += 3;
           }
         }
       }
     }
 
-    return new ImageResource(data, width, height);
+  }
 
+  /**
+   **********************************************************************************************
+   * Reads a BC6H Image
+   * Uses the Native DLL if it's available, otherwise the pure-Java BC6HDecoder
+   **********************************************************************************************
+   **/
+  public static ImageResource readBC6H_Signed(FileManipulator fm, int width, int height) {
+    return readBC6H(fm, width, height, true);
   }
 
   /**
@@ -1511,28 +1406,72 @@ public class ImageFormatReader {
 
     int[] data = new int[numPixels];
 
+    // read all the blocks in one go (16 bytes per 4x4 block)
+    byte[] bytes = fm.readBytes((width / 4) * (height / 4) * 16);
+
+    final int imageWidth = width;
+    ParallelImageDecoder.decode(height / 4, width * 4, (startRow, endRow) -> decodeBC7(bytes, data, imageWidth, startRow, endRow));
+
+    return new ImageResource(data, width, height);
+
+  }
+
+  /**
+   **********************************************************************************************
+   * Decodes the BC7 blocks for the rows of blocks from <i>startRow</i> to <i>endRow</i>
+   **********************************************************************************************
+   **/
+  static void decodeBC7(byte[] bytes, int[] data, int width, int startRow, int endRow) {
+
+    int readPos = startRow * (width / 4) * 16;
+
+    if (!useNativeBCDecoder(NativeBC7Decomp.isAvailable())) {
+      // the Java decoder writes each block straight into the image
+      BC7Decoder javaDecoder = new BC7Decoder();
+      for (int y = startRow * 4; y < endRow * 4; y += 4) {
+        for (int x = 0; x < width; x += 4) {
+          javaDecoder.decodeBlock(bytes, readPos, data, y * width + x, width);
+          readPos += 16;
+        }
+      }
+      return;
+    }
+
     NativeBC7Decomp bc7decomp = new NativeBC7Decomp();
 
-    for (int y = 0; y < height; y += 4) {
+    // scratch arrays, re-used for every block
+    byte[] blockData = new byte[16];
+    int[] decodedPixels = new int[16];
+
+    for (int y = startRow * 4; y < endRow * 4; y += 4) {
       // DXT encodes 4x4 blocks of pixels
       for (int x = 0; x < width; x += 4) {
 
-        byte[] blockData = fm.readBytes(16);
-        int[] decodedPixels = bc7decomp.unpackBC7Block(blockData);
+        System.arraycopy(bytes, readPos, blockData, 0, 16);
+        readPos += 16;
+
+        Arrays.fill(decodedPixels, 0); // clear out the previous block, in case this one is invalid
+        bc7decomp.unpackBC7Block(blockData, decodedPixels);
 
         int decodedPos = 0;
 
         for (int by = 0; by < 4; ++by) {
-          for (int bx = 0; bx < 4; ++bx) {
-            data[(y + by) * width + x + bx] = decodedPixels[decodedPos];
-            decodedPos++;
-          }
+          System.arraycopy(decodedPixels, decodedPos, data, (y + by) * width + x, 4);
+          decodedPos += 4;
         }
       }
     }
 
-    return new ImageResource(data, width, height);
+  }
 
+  /**
+   **********************************************************************************************
+   * Whether to decode BC6H/BC7 with the native library, rather than the pure-Java decoder. The
+   * native library is used if it was loaded, unless the NativeBCDecoders setting is turned off.
+   **********************************************************************************************
+   **/
+  static boolean useNativeBCDecoder(boolean nativeAvailable) {
+    return nativeAvailable && Settings.getBoolean("NativeBCDecoders");
   }
 
   /**
@@ -1541,23 +1480,9 @@ public class ImageFormatReader {
    **********************************************************************************************
    **/
   public static ImageResource readBGR(FileManipulator fm, int width, int height) {
-
-    int numPixels = width * height;
-
-    // X Bytes - Pixel Data
-    int[] pixels = new int[numPixels];
-
-    for (int i = 0; i < numPixels; i++) {
-      int bPixel = ByteConverter.unsign(fm.readByte());
-      int gPixel = ByteConverter.unsign(fm.readByte());
-      int rPixel = ByteConverter.unsign(fm.readByte());
-      int aPixel = 255;
-
-      //pixels[i] = ((fm.readByte() << 16) | (fm.readByte() << 8) | fm.readByte() | (((byte) 255) << 24));
-      pixels[i] = ((rPixel << 16) | (gPixel << 8) | bPixel | (aPixel << 24));
-    }
-
-    return new ImageResource(pixels, width, height);
+    // INPUT = BGR
+    // OUTPUT = ARGB
+    return readByteChannels(fm, width, height, 3, 2, 1, 0, -1);
   }
 
   /**
@@ -1621,24 +1546,9 @@ public class ImageFormatReader {
    **********************************************************************************************
    **/
   public static ImageResource readBGRA(FileManipulator fm, int width, int height) {
-
-    int numPixels = width * height;
-
-    // X Bytes - Pixel Data
-    int[] pixels = new int[numPixels];
-
-    for (int i = 0; i < numPixels; i++) {
-      // INPUT = BGRA
-      int bPixel = ByteConverter.unsign(fm.readByte());
-      int gPixel = ByteConverter.unsign(fm.readByte());
-      int rPixel = ByteConverter.unsign(fm.readByte());
-      int aPixel = ByteConverter.unsign(fm.readByte());
-
-      // OUTPUT = ARGB
-      pixels[i] = ((rPixel << 16) | (gPixel << 8) | bPixel | (aPixel << 24));
-    }
-
-    return new ImageResource(pixels, width, height);
+    // INPUT = BGRA
+    // OUTPUT = ARGB
+    return readByteChannels(fm, width, height, 4, 2, 1, 0, 3);
   }
 
   /**
@@ -1697,36 +1607,184 @@ public class ImageFormatReader {
       // OUTPUT = ARGB
       pixels[i] = ((r << 16) | (g << 8) | b | (a << 24));
     }
-
-    return new ImageResource(pixels, width, height);
+
+    return new ImageResource(pixels, width, height);
+  }
+
+  /**
+   **********************************************************************************************
+   * Reads BGRA5551 Pixel Data
+   **********************************************************************************************
+   **/
+  public static ImageResource readBGRA5551BigEndian(FileManipulator fm, int width, int height) {
+
+    int numPixels = width * height;
+
+    // X Bytes - Pixel Data
+    int[] pixels = new int[numPixels];
+
+    for (int i = 0; i < numPixels; i++) {
+      int byte2 = ByteConverter.unsign(fm.readByte()); // swapped
+      int byte1 = ByteConverter.unsign(fm.readByte()); // swapped
+
+      int b = ((byte2 & 248) >> 3) * 8;
+      int g = (((byte2 & 7) << 3) | ((byte1 & 192) >> 6)) * 8;
+      int r = (byte1 & 63) * 8;
+      int a = (byte2 >> 7) * 255;
+
+      // OUTPUT = ARGB
+      pixels[i] = ((r << 16) | (g << 8) | b | (a << 24));
+    }
+
+    return new ImageResource(pixels, width, height);
+  }
+
+  /**
+   **********************************************************************************************
+   * Reads pixel data with an 8-bit value for each color, where <i>rPos</i>, <i>gPos</i>,
+   * <i>bPos</i> and <i>aPos</i> are the positions of each color within the <i>bytesPerPixel</i>
+   * bytes of a pixel. If <i>aPos</i> is -1, the pixels are fully opaque.
+   **********************************************************************************************
+   **/
+  static ImageResource readByteChannels(FileManipulator fm, int width, int height, int bytesPerPixel, int rPos, int gPos, int bPos, int aPos) {
+
+    int numPixels = width * height;
+
+    // X Bytes - Pixel Data
+    byte[] bytes = fm.readBytes(numPixels * bytesPerPixel);
+    int[] pixels = new int[numPixels];
+
+    decodeByteChannels(bytes, pixels, width, height, bytesPerPixel, rPos, gPos, bPos, aPos);
+
+    return new ImageResource(pixels, width, height);
+  }
+
+  /**
+   **********************************************************************************************
+   * Converts pixel data with an 8-bit value for each color into ARGB <i>pixels</i>
+   * @see readByteChannels(FileManipulator, int, int, int, int, int, int, int)
+   **********************************************************************************************
+   **/
+  static void decodeByteChannels(byte[] bytes, int[] pixels, int width, int height, int bytesPerPixel, int rPos, int gPos, int bPos, int aPos) {
+    ParallelImageDecoder.decode(height, width, (startRow, endRow) -> {
+      int readPos = startRow * width * bytesPerPixel;
+      int endPixel = endRow * width;
+      for (int i = startRow * width; i < endPixel; i++) {
+        int rPixel = bytes[readPos + rPos] & 255;
+        int gPixel = bytes[readPos + gPos] & 255;
+        int bPixel = bytes[readPos + bPos] & 255;
+        int aPixel = 255;
+        if (aPos >= 0) {
+          aPixel = bytes[readPos + aPos] & 255;
+        }
+        readPos += bytesPerPixel;
+
+        pixels[i] = ((rPixel << 16) | (gPixel << 8) | bPixel | (aPixel << 24));
+      }
+    });
+  }
+
+  /** While generating a thumbnail, the size of the thumbnail that is wanted (per thread) **/
+  static ThreadLocal<Integer> thumbnailDecodeSize = new ThreadLocal<Integer>();
+
+  /**
+   **********************************************************************************************
+   * Sets the size of the thumbnail that the current thread is generating, so that the readers can
+   * decode a smaller mipmap, or a 1/4 scale image, rather than the full image. Set to 0 when the
+   * thumbnail has been generated.
+   **********************************************************************************************
+   **/
+  public static void setThumbnailDecodeSize(int thumbnailSize) {
+    if (thumbnailSize <= 0) {
+      thumbnailDecodeSize.remove();
+    }
+    else {
+      thumbnailDecodeSize.set(thumbnailSize);
+    }
+  }
+
+  /**
+   **********************************************************************************************
+   * Gets the size of the thumbnail that the current thread is generating, or 0 if the full image
+   * is wanted
+   **********************************************************************************************
+   **/
+  public static int getThumbnailDecodeSize() {
+    Integer thumbnailSize = thumbnailDecodeSize.get();
+    if (thumbnailSize == null) {
+      return 0;
+    }
+    return thumbnailSize;
+  }
+
+  /**
+   **********************************************************************************************
+   * Whether we only need a thumbnail, and the image is big enough that a 1/4 scale image would
+   * still be larger than the thumbnail
+   **********************************************************************************************
+   **/
+  public static boolean canDecodeQuarterScale(int width, int height) {
+    int thumbnailSize = getThumbnailDecodeSize();
+    if (thumbnailSize <= 0) {
+      return false;
+    }
+    return Math.max(width, height) >= thumbnailSize * 4;
+  }
+
+  /**
+   **********************************************************************************************
+   * Gets the number of bytes in a single mipmap. For block-compressed images, the width and height
+   * are rounded up to whole 4x4 blocks.
+   **********************************************************************************************
+   **/
+  public static long getMipmapLength(int width, int height, int bitsPerPixel, boolean blockCompressed) {
+    if (blockCompressed) {
+      long blocksWide = Math.max(1, (width + 3) / 4);
+      long blocksHigh = Math.max(1, (height + 3) / 4);
+      return blocksWide * blocksHigh * bitsPerPixel * 2; // 16 pixels per block
+    }
+    return ((long) width * height * bitsPerPixel) / 8;
   }
 
   /**
    **********************************************************************************************
-   * Reads BGRA5551 Pixel Data
+   * When generating a thumbnail, skips over the larger mipmaps to the smallest mipmap that is
+   * still at least as big as the thumbnail. The mipmaps must be stored largest-first, one after
+   * the other, and <i>fm</i> must be at the start of the largest mipmap. Returns the mipmap level
+   * that was skipped to, so the image to read is (width >> level) x (height >> level). Returns 0
+   * (and doesn't skip anything) if the full image is wanted, or the mipmaps don't fit in the file.
    **********************************************************************************************
    **/
-  public static ImageResource readBGRA5551BigEndian(FileManipulator fm, int width, int height) {
-
-    int numPixels = width * height;
+  public static int skipToThumbnailMipmap(FileManipulator fm, int width, int height, int mipmapCount, int bitsPerPixel, boolean blockCompressed) {
+    int thumbnailSize = getThumbnailDecodeSize();
+    if (thumbnailSize <= 0 || mipmapCount <= 1 || bitsPerPixel <= 0) {
+      return 0;
+    }
 
-    // X Bytes - Pixel Data
-    int[] pixels = new int[numPixels];
+    int level = 0;
+    long skipLength = 0;
+    while (level + 1 < mipmapCount) {
+      int nextWidth = Math.max(1, width >> (level + 1));
+      int nextHeight = Math.max(1, height >> (level + 1));
+      if (Math.max(nextWidth, nextHeight) < thumbnailSize) {
+        break; // the next mipmap is smaller than the thumbnail
+      }
 
-    for (int i = 0; i < numPixels; i++) {
-      int byte2 = ByteConverter.unsign(fm.readByte()); // swapped
-      int byte1 = ByteConverter.unsign(fm.readByte()); // swapped
+      skipLength += getMipmapLength(Math.max(1, width >> level), Math.max(1, height >> level), bitsPerPixel, blockCompressed);
+      level++;
+    }
 
-      int b = ((byte2 & 248) >> 3) * 8;
-      int g = (((byte2 & 7) << 3) | ((byte1 & 192) >> 6)) * 8;
-      int r = (byte1 & 63) * 8;
-      int a = (byte2 >> 7) * 255;
+    if (level == 0) {
+      return 0;
+    }
 
-      // OUTPUT = ARGB
-      pixels[i] = ((r << 16) | (g << 8) | b | (a << 24));
+    long mipmapLength = getMipmapLength(Math.max(1, width >> level), Math.max(1, height >> level), bitsPerPixel, blockCompressed);
+    if (skipLength + mipmapLength > fm.getRemainingLength()) {
+      return 0; // the mipmaps aren't all there, so just read the largest one
     }
 
-    return new ImageResource(pixels, width, height);
+    fm.skip(skipLength);
+    return level;
   }
 
   /**
@@ -1754,136 +1812,323 @@ public class ImageFormatReader {
       return null;
     }
 
+    // read all the blocks in one go
+    byte[] bytes = fm.readBytes((width / 4) * (height / 4) * getDXTBlockSize(format));
+
+    if (canDecodeQuarterScale(width, height)) {
+      // only generating a thumbnail, so just decode the average color of each block
+      int blocksWide = width / 4;
+      int blocksHigh = height / 4;
+      int[] averages = new int[blocksWide * blocksHigh];
+      ParallelImageDecoder.decode(blocksHigh, blocksWide, (startRow, endRow) -> decodeDXTAverages(bytes, averages, blocksWide, startRow, endRow, format));
+      return new ImageResource(averages, blocksWide, blocksHigh);
+    }
+
     int[] data = new int[numPixels];
+    decodeDXT(bytes, 0, data, width, height, format);
 
-    for (int y = 0; y < height; y += 4) {
+    return new ImageResource(data, width, height);
+
+  }
+
+  /**
+   **********************************************************************************************
+   * Gets the number of bytes in each 4x4 block of a DXT image. DXT3 and DXT5 have 16 bytes per
+   * block, everything else is treated as DXT1 with 8 bytes per block.
+   **********************************************************************************************
+   **/
+  public static int getDXTBlockSize(int format) {
+    if (format == 3 || format == 5) {
+      return 16;
+    }
+    return 8;
+  }
+
+  /**
+   **********************************************************************************************
+   * Decodes the DXT blocks in <i>bytes</i> (starting at <i>offset</i>) into the <i>data</i> pixel
+   * array. The <i>width</i> and <i>height</i> must already be multiples of 4.
+   **********************************************************************************************
+   **/
+  public static void decodeDXT(byte[] bytes, int offset, int[] data, int width, int height, int format) {
+    ParallelImageDecoder.decode(height / 4, width * 4, (startRow, endRow) -> decodeDXTRows(bytes, offset, data, width, startRow, endRow, format));
+  }
+
+  /**
+   **********************************************************************************************
+   * Decodes the DXT blocks for the rows of blocks from <i>startRow</i> to <i>endRow</i>
+   **********************************************************************************************
+   **/
+  static void decodeDXTRows(byte[] bytes, int offset, int[] data, int width, int startRow, int endRow, int format) {
+
+    int readPos = offset + startRow * (width / 4) * getDXTBlockSize(format);
+
+    // scratch arrays, re-used for every block
+    int[] alphaMap = new int[16];
+    int[] alpha = new int[8];
+    int[] colors = new int[4];
+
+    for (int y = startRow * 4; y < endRow * 4; y += 4) {
       // DXT encodes 4x4 blocks of pixels
       for (int x = 0; x < width; x += 4) {
 
-        int[] alphaMap = null;
-
         if (format == 3) {
-          alphaMap = new int[16];
-
           // 4bit alpha values for each pixel
           for (int i = 0; i < 16; i += 2) {
-            int alpha = ByteConverter.unsign(fm.readByte());
+            int alphaByte = bytes[readPos++] & 255;
 
-            alphaMap[i + 1] = ((alpha >> 4) & 15) * 16;
-            alphaMap[i] = (alpha & 15) * 16;
+            alphaMap[i + 1] = ((alphaByte >> 4) & 15) * 16;
+            alphaMap[i] = (alphaByte & 15) * 16;
           }
-
         }
         else if (format == 5) {
-          int[] alpha = new int[8];
-
-          // creating alpha table
-          alpha[0] = ByteConverter.unsign(fm.readByte());
-          alpha[1] = ByteConverter.unsign(fm.readByte());
-          if (alpha[0] > alpha[1]) {
-            alpha[2] = (6 * alpha[0] + alpha[1]) / 7;
-            alpha[3] = (5 * alpha[0] + 2 * alpha[1]) / 7;
-            alpha[4] = (4 * alpha[0] + 3 * alpha[1]) / 7;
-            alpha[5] = (3 * alpha[0] + 4 * alpha[1]) / 7;
-            alpha[6] = (2 * alpha[0] + 5 * alpha[1]) / 7;
-            alpha[7] = (alpha[0] + 6 * alpha[1]) / 7;
-          }
-          else {
-            alpha[2] = (4 * alpha[0] + alpha[1]) / 5;
-            alpha[3] = (3 * alpha[0] + 2 * alpha[1]) / 5;
-            alpha[4] = (2 * alpha[0] + 3 * alpha[1]) / 5;
-            alpha[5] = (alpha[0] + 4 * alpha[1]) / 5;
-            alpha[6] = 0;
-            alpha[7] = 255;
-          }
-
-          alphaMap = new int[16];
-
-          // first 3 bytes of alpha
-          int bits = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16);
-          for (int bi = 0; bi < 8; bi++) {
-            alphaMap[bi] = alpha[(bits & 7)];
-            bits >>= 3;
-          }
-
-          // second 3 bytes of alpha
-          bits = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16);
-          for (int bi = 8; bi < 16; bi++) {
-            alphaMap[bi] = alpha[(bits & 7)];
-            bits >>= 3;
-          }
-
+          // creating alpha table, then reading the 16 3-bit alpha codes
+          buildInterpolatedTable(bytes[readPos] & 255, bytes[readPos + 1] & 255, alpha);
+          decodeInterpolatedIndexes(bytes, readPos + 2, alpha, alphaMap);
+          readPos += 8;
         }
 
         // decode the DXT1/DXT3 RGB data
 
         // two 16 bit encoded colors (red 5 bits, green 6 bits, blue 5 bits)
-        int c1packed16 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8);
-        int c2packed16 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8);
-
-        // separate the R,G,B values
-        int color1r = (c1packed16 >> 8) & 0xF8;
-        int color1g = (c1packed16 >> 3) & 0xFC;
-        int color1b = (c1packed16 << 3) & 0xF8;
-
-        int color2r = (c2packed16 >> 8) & 0xF8;
-        int color2g = (c2packed16 >> 3) & 0xFC;
-        int color2b = (c2packed16 << 3) & 0xF8;
-
-        int colors[] = new int[8]; // color table for all possible codes
-        // colors 0 and 1 point to the two 16 bit colors we read in
-        colors[0] = (color1r << 16) | (color1g << 8) | color1b | 0xFF000000;
-        colors[1] = (color2r << 16) | (color2g << 8) | color2b | 0xFF000000;
-
-        // 2/3 Color1, 1/3 color2
-        int colorr = (((color1r << 1) + color2r) / 3);// & 0xFF;
-        int colorg = (((color1g << 1) + color2g) / 3);// & 0xFF;
-        int colorb = (((color1b << 1) + color2b) / 3);// & 0xFF;
-        colors[2] = (colorr << 16) | (colorg << 8) | colorb | 0xFF000000;
-
-        // 2/3 Color2, 1/3 color1
-        colorr = (((color2r << 1) + color1r) / 3);// & 0xFF;
-        colorg = (((color2g << 1) + color1g) / 3);// & 0xFF;
-        colorb = (((color2b << 1) + color1b) / 3);// & 0xFF;
-        colors[3] = (colorr << 16) | (colorg << 8) | colorb | 0xFF000000;
+        int c1packed16 = (bytes[readPos] & 255) | ((bytes[readPos + 1] & 255) << 8);
+        int c2packed16 = (bytes[readPos + 2] & 255) | ((bytes[readPos + 3] & 255) << 8);
+        buildDXTColorTable(c1packed16, c2packed16, colors);
 
         // read in the color code bits, 16 values, each 2 bits long
         // then look up the color in the color table we built
-        //int bits = ByteConverter.unsign(fm.readByte()) + (ByteConverter.unsign(fm.readByte()) << 8) + (ByteConverter.unsign(fm.readByte()) << 16) + (ByteConverter.unsign(fm.readByte()) << 24);
-        int bits = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16) | (ByteConverter.unsign(fm.readByte()) << 24);
+        int bits = (bytes[readPos + 4] & 255) | ((bytes[readPos + 5] & 255) << 8) | ((bytes[readPos + 6] & 255) << 16) | ((bytes[readPos + 7] & 255) << 24);
+        readPos += 8;
 
-        if (format == 5) {
+        if (format == 3 || format == 5) {
           int alphaPos = 0;
           for (int by = 0; by < 4; ++by) {
+            int writePos = (y + by) * width + x;
             for (int bx = 0; bx < 4; ++bx) {
-              int code = (bits >> (((by << 2) + bx) << 1)) & 0x3;
-              data[(y + by) * width + x + bx] = ((colors[code] & 0xFFFFFF) | (alphaMap[alphaPos++] << 24));
+              data[writePos + bx] = ((colors[bits & 0x3] & 0xFFFFFF) | (alphaMap[alphaPos++] << 24));
+              bits >>>= 2;
             }
           }
         }
-        else if (format == 3) {
-          int alphaPixel = 0;
+        else {
           for (int by = 0; by < 4; ++by) {
+            int writePos = (y + by) * width + x;
             for (int bx = 0; bx < 4; ++bx) {
-              int code = (bits >> (((by << 2) + bx) << 1)) & 0x3;
-              data[(y + by) * width + x + bx] = (colors[code] & 0xFFFFFF) | alphaMap[alphaPixel] << 24;
-              alphaPixel++;
+              data[writePos + bx] = colors[bits & 0x3];
+              bits >>>= 2;
             }
           }
         }
+      }
+    }
+
+  }
+
+  /**
+   **********************************************************************************************
+   * Decodes the average color of each DXT block for the rows of blocks from <i>startRow</i> to
+   * <i>endRow</i>, giving a 1/4 scale image with 1 pixel per block
+   **********************************************************************************************
+   **/
+  static void decodeDXTAverages(byte[] bytes, int[] data, int blocksWide, int startRow, int endRow, int format) {
+
+    int readPos = startRow * blocksWide * getDXTBlockSize(format);
+
+    // scratch arrays, re-used for every block
+    int[] alpha = new int[8];
+    int[] colors = new int[4];
+
+    int endBlock = endRow * blocksWide;
+    for (int i = startRow * blocksWide; i < endBlock; i++) {
+
+      int alphaTotal = 255 * 16;
+      if (format == 3) {
+        // 4bit alpha values for each pixel
+        alphaTotal = 0;
+        for (int a = 0; a < 8; a++) {
+          int alphaByte = bytes[readPos++] & 255;
+          alphaTotal += (((alphaByte >> 4) & 15) + (alphaByte & 15)) * 16;
+        }
+      }
+      else if (format == 5) {
+        buildInterpolatedTable(bytes[readPos] & 255, bytes[readPos + 1] & 255, alpha);
+        alphaTotal = sumInterpolatedIndexes(bytes, readPos + 2, alpha);
+        readPos += 8;
+      }
+
+      int c1packed16 = (bytes[readPos] & 255) | ((bytes[readPos + 1] & 255) << 8);
+      int c2packed16 = (bytes[readPos + 2] & 255) | ((bytes[readPos + 3] & 255) << 8);
+      buildDXTColorTable(c1packed16, c2packed16, colors);
+
+      int bits = (bytes[readPos + 4] & 255) | ((bytes[readPos + 5] & 255) << 8) | ((bytes[readPos + 6] & 255) << 16) | ((bytes[readPos + 7] & 255) << 24);
+      readPos += 8;
+
+      // add up the colors of all 16 pixels
+      int rTotal = 0;
+      int gTotal = 0;
+      int bTotal = 0;
+      for (int p = 0; p < 16; p++) {
+        int color = colors[bits & 0x3];
+        bits >>>= 2;
+
+        rTotal += (color >> 16) & 255;
+        gTotal += (color >> 8) & 255;
+        bTotal += color & 255;
+      }
+
+      data[i] = (((alphaTotal + 8) >> 4) << 24) | (((rTotal + 8) >> 4) << 16) | (((gTotal + 8) >> 4) << 8) | ((bTotal + 8) >> 4);
+    }
+
+  }
+
+  /**
+   **********************************************************************************************
+   * Decodes the average color of each BC4 (<i>numChannels</i>=1) or BC5 (<i>numChannels</i>=2)
+   * block, giving a 1/4 scale image with 1 pixel per block
+   **********************************************************************************************
+   **/
+  static ImageResource decodeBCAverages(byte[] bytes, int blocksWide, int blocksHigh, int numChannels) {
+
+    int[] data = new int[blocksWide * blocksHigh];
+
+    ParallelImageDecoder.decode(blocksHigh, blocksWide, (startRow, endRow) -> {
+      int readPos = startRow * blocksWide * 8 * numChannels;
+
+      // scratch array, re-used for every block
+      int[] lookup = new int[8];
+
+      int endBlock = endRow * blocksWide;
+      for (int i = startRow * blocksWide; i < endBlock; i++) {
+        buildInterpolatedTable(bytes[readPos] & 255, bytes[readPos + 1] & 255, lookup);
+        int red = (sumInterpolatedIndexes(bytes, readPos + 2, lookup) + 8) >> 4;
+        readPos += 8;
+
+        if (numChannels == 1) {
+          // BC4 - use the Red as Green and Blue as well
+          data[i] = ((255 << 24) | (red << 16) | (red << 8) | red);
+        }
         else {
-          for (int by = 0; by < 4; ++by) {
-            for (int bx = 0; bx < 4; ++bx) {
-              int code = (bits >> (((by << 2) + bx) << 1)) & 0x3;
-              data[(y + by) * width + x + bx] = colors[code];
-            }
-          }
+          buildInterpolatedTable(bytes[readPos] & 255, bytes[readPos + 1] & 255, lookup);
+          int green = (sumInterpolatedIndexes(bytes, readPos + 2, lookup) + 8) >> 4;
+          readPos += 8;
+
+          data[i] = ((255 << 24) | (red << 16) | (green << 8) | 255);
         }
       }
+    });
+
+    return new ImageResource(data, blocksWide, blocksHigh);
+  }
+
+  /**
+   **********************************************************************************************
+   * Adds up the values of the 16 3-bit codes (6 bytes, starting at <i>offset</i>) of a BC4
+   * channel or DXT5 alpha block, as looked up in the <i>table</i>
+   **********************************************************************************************
+   **/
+  static int sumInterpolatedIndexes(byte[] bytes, int offset, int[] table) {
+    int total = 0;
+
+    int bits = (bytes[offset] & 255) | ((bytes[offset + 1] & 255) << 8) | ((bytes[offset + 2] & 255) << 16);
+    for (int i = 0; i < 8; i++) {
+      total += table[bits & 7];
+      bits >>= 3;
     }
 
-    return new ImageResource(data, width, height);
+    bits = (bytes[offset + 3] & 255) | ((bytes[offset + 4] & 255) << 8) | ((bytes[offset + 5] & 255) << 16);
+    for (int i = 0; i < 8; i++) {
+      total += table[bits & 7];
+      bits >>= 3;
+    }
+
+    return total;
+  }
+
+  /**
+   **********************************************************************************************
+   * Builds the 4-color lookup table for a DXT block from its 2 packed RGB565 colors. All 4 colors
+   * are always interpolated (the DXT1 1-bit alpha mode isn't used).
+   **********************************************************************************************
+   **/
+  static void buildDXTColorTable(int c1packed16, int c2packed16, int[] colors) {
+
+    // separate the R,G,B values
+    int color1r = (c1packed16 >> 8) & 0xF8;
+    int color1g = (c1packed16 >> 3) & 0xFC;
+    int color1b = (c1packed16 << 3) & 0xF8;
+
+    int color2r = (c2packed16 >> 8) & 0xF8;
+    int color2g = (c2packed16 >> 3) & 0xFC;
+    int color2b = (c2packed16 << 3) & 0xF8;
+
+    // colors 0 and 1 point to the two 16 bit colors we read in
+    colors[0] = (color1r << 16) | (color1g << 8) | color1b | 0xFF000000;
+    colors[1] = (color2r << 16) | (color2g << 8) | color2b | 0xFF000000;
+
+    // 2/3 Color1, 1/3 color2
+    int colorr = (((color1r << 1) + color2r) / 3);
+    int colorg = (((color1g << 1) + color2g) / 3);
+    int colorb = (((color1b << 1) + color2b) / 3);
+    colors[2] = (colorr << 16) | (colorg << 8) | colorb | 0xFF000000;
+
+    // 2/3 Color2, 1/3 color1
+    colorr = (((color2r << 1) + color1r) / 3);
+    colorg = (((color2g << 1) + color1g) / 3);
+    colorb = (((color2b << 1) + color1b) / 3);
+    colors[3] = (colorr << 16) | (colorg << 8) | colorb | 0xFF000000;
+  }
+
+  /**
+   **********************************************************************************************
+   * Builds the 8-value lookup table for a BC4 channel or DXT5 alpha block, from its 2 reference
+   * values
+   **********************************************************************************************
+   **/
+  static void buildInterpolatedTable(int value0, int value1, int[] table) {
+    table[0] = value0;
+    table[1] = value1;
+
+    if (value0 > value1) {
+      // 6 interpolated values
+      table[2] = (6 * value0 + 1 * value1) / 7;
+      table[3] = (5 * value0 + 2 * value1) / 7;
+      table[4] = (4 * value0 + 3 * value1) / 7;
+      table[5] = (3 * value0 + 4 * value1) / 7;
+      table[6] = (2 * value0 + 5 * value1) / 7;
+      table[7] = (1 * value0 + 6 * value1) / 7;
+    }
+    else {
+      // 4 interpolated values, plus 0 and 255
+      table[2] = (4 * value0 + 1 * value1) / 5;
+      table[3] = (3 * value0 + 2 * value1) / 5;
+      table[4] = (2 * value0 + 3 * value1) / 5;
+      table[5] = (1 * value0 + 4 * value1) / 5;
+      table[6] = 0;
+      table[7] = 255;
+    }
+  }
+
+  /**
+   **********************************************************************************************
+   * Reads the 16 3-bit codes (6 bytes, starting at <i>offset</i>) of a BC4 channel or DXT5 alpha
+   * block, and looks up each of them in the <i>table</i>
+   **********************************************************************************************
+   **/
+  static void decodeInterpolatedIndexes(byte[] bytes, int offset, int[] table, int[] values) {
+
+    // first 3 bytes
+    int bits = (bytes[offset] & 255) | ((bytes[offset + 1] & 255) << 8) | ((bytes[offset + 2] & 255) << 16);
+    for (int i = 0; i < 8; i++) {
+      values[i] = table[bits & 7];
+      bits >>= 3;
+    }
 
+    // second 3 bytes
+    bits = (bytes[offset + 3] & 255) | ((bytes[offset + 4] & 255) << 8) | ((bytes[offset + 5] & 255) << 16);
+    for (int i = 8; i < 16; i++) {
+      values[i] = table[bits & 7];
+      bits >>= 3;
+    }
   }
 
   /**
@@ -1916,6 +2161,13 @@ public class ImageFormatReader {
 
     int[] data = new int[numPixels];
 
+    // read all the blocks in one go (8 bytes per 4x4 block)
+    byte[] bytes = fm.readBytes((width / 4) * (height / 4) * 8);
+    int readPos = 0;
+
+    // scratch array, re-used for every block
+    int[] colors = new int[4];
+
     for (int y1 = 0; y1 < height; y1 += 8) {
       // CMPR encodes 8x8 blocks of pixels, which are 4x 4x4 blocks
       for (int x1 = 0; x1 < width; x1 += 8) {
@@ -1926,24 +2178,9 @@ public class ImageFormatReader {
 
             // decode the DXT1 RGB data
 
-            // two 16 bit encoded colors (red 5 bits, green 6 bits, blue 5 bits)
-            /*
-            int c1packed16 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8);
-            int c2packed16 = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8);
-            
-            // separate the R,G,B values (RRRRRGGGGGGBBBBB)
-            int color1r = (c1packed16 >> 8) & 0xF8;
-            int color1g = (c1packed16 >> 3) & 0xFC;
-            int color1b = (c1packed16 << 3) & 0xF8;
-            
-            int color2r = (c2packed16 >> 8) & 0xF8;
-            int color2g = (c2packed16 >> 3) & 0xFC;
-            int color2b = (c2packed16 << 3) & 0xF8;
-            */
-
-            // two 16 bit encoded colors (RRRRRGGGGGGBBBBB)
-            int c1packed16 = (ByteConverter.unsign(fm.readByte()) << 8) | ByteConverter.unsign(fm.readByte());
-            int c2packed16 = (ByteConverter.unsign(fm.readByte()) << 8) | ByteConverter.unsign(fm.readByte());
+            // two 16 bit encoded colors (RRRRRGGGGGGBBBBB), big endian
+            int c1packed16 = ((bytes[readPos] & 255) << 8) | (bytes[readPos + 1] & 255);
+            int c2packed16 = ((bytes[readPos + 2] & 255) << 8) | (bytes[readPos + 3] & 255);
 
             // separate the R,G,B values
             int color1r = ((c1packed16 >> 11) & 31) * 8;
@@ -1954,7 +2191,6 @@ public class ImageFormatReader {
             int color2g = ((c2packed16 >> 5) & 63) * 4;
             int color2b = (c2packed16 & 31) * 8;
 
-            int colors[] = new int[8]; // color table for all possible codes
             // colors 0 and 1 point to the two 16 bit colors we read in
             colors[0] = (color1r << 16) | (color1g << 8) | color1b | 0xFF000000;
             colors[1] = (color2r << 16) | (color2g << 8) | color2b | 0xFF000000;
@@ -1989,16 +2225,14 @@ public class ImageFormatReader {
 
             // read in the color code bits, 16 values, each 2 bits long
             // then look up the color in the color table we built
-            //int bits = ByteConverter.unsign(fm.readByte()) + (ByteConverter.unsign(fm.readByte()) << 8) + (ByteConverter.unsign(fm.readByte()) << 16) + (ByteConverter.unsign(fm.readByte()) << 24);
-            int bits = ByteConverter.unsign(fm.readByte()) | (ByteConverter.unsign(fm.readByte()) << 8) | (ByteConverter.unsign(fm.readByte()) << 16) | (ByteConverter.unsign(fm.readByte()) << 24);
+            int bits = (bytes[readPos + 4] & 255) | ((bytes[readPos + 5] & 255) << 8) | ((bytes[readPos + 6] & 255) << 16) | ((bytes[readPos + 7] & 255) << 24);
+            readPos += 8;
 
             for (int by = 0; by < 4; ++by) {
+              int writePos = ((y1 + y + by) * width) + (x1 + x);
               for (int bx = 0; bx < 4; ++bx) {
-                int code = (bits >> (((by << 2) + bx) << 1)) & 0x3;
-                //data[(y + by) * width + x + bx] = colors[code];
-                //int writePos = ((y1+y+by)*width) + (x1+x+bx);
-                int writePos = ((y1 + y + by) * width) + (x1 + x + (3 - bx));
-                data[writePos] = colors[code];
+                data[writePos + (3 - bx)] = colors[bits & 0x3];
+                bits >>>= 2;
               }
             }
           }
@@ -2568,35 +2802,61 @@ public class ImageFormatReader {
       width += (4 - widthMod);
     }
 
-    ETC2Reader reader = new ETC2Reader();
-
     // X Bytes - Pixel Data
     int[] data = new int[width * height];
 
-    for (int y = 0; y < height; y += 4) {
+    // read all the blocks in one go (8 bytes per 4x4 block)
+    byte[] bytes = fm.readBytes((width / 4) * (height / 4) * 8);
+
+    final int imageWidth = width;
+    ParallelImageDecoder.decode(height / 4, width * 4, (startRow, endRow) -> decodeETC(bytes, data, imageWidth, startRow, endRow, 8));
+
+    return new ImageResource(data, width, height);
+
+  }
+
+  /**
+   **********************************************************************************************
+   * Decodes the ETC1 (8-byte) or ETC2 (16-byte) blocks for the rows of blocks from
+   * <i>startRow</i> to <i>endRow</i>
+   **********************************************************************************************
+   **/
+  static void decodeETC(byte[] bytes, int[] data, int width, int startRow, int endRow, int blockSize) {
+
+    int readPos = startRow * (width / 4) * blockSize;
+
+    ETC2Reader reader = new ETC2Reader();
+
+    // scratch arrays, re-used for every block
+    int[] blockIn = new int[blockSize];
+    int[] blockOut = new int[64];
+
+    for (int y = startRow * 4; y < endRow * 4; y += 4) {
       // DXT encodes 4x4 blocks of pixels
       for (int x = 0; x < width; x += 4) {
 
-        int[] blockIn = new int[8];
-        int[] blockOut = new int[64];
-
-        for (int i = 0; i < 16; i++) {
-          blockIn[i] = ByteConverter.unsign(fm.readByte());
+        for (int i = 0; i < blockSize; i++) {
+          blockIn[i] = bytes[readPos++] & 255;
         }
 
-        reader.detexDecompressBlockETC1(blockIn, reader.DETEX_MODE_MASK_ALL, 0, blockOut);
+        // the decoders leave the pixels alone if the block is invalid, so clear out the previous block
+        Arrays.fill(blockOut, 0);
 
-        int readPos = 0;
+        if (blockSize == 8) {
+          reader.detexDecompressBlockETC1(blockIn, reader.DETEX_MODE_MASK_ALL, 0, blockOut);
+        }
+        else {
+          reader.detexDecompressBlockETC2(blockIn, reader.DETEX_MODE_MASK_ALL, 0, blockOut);
+        }
+
+        int outPos = 0;
         for (int by = 0; by < 4; ++by) {
-          for (int bx = 0; bx < 4; ++bx) {
-            data[(y + by) * width + x + bx] = blockOut[readPos++];
-          }
+          System.arraycopy(blockOut, outPos, data, (y + by) * width + x, 4);
+          outPos += 4;
         }
       }
     }
 
-    return new ImageResource(data, width, height);
-
   }
 
   /**
@@ -2616,32 +2876,14 @@ public class ImageFormatReader {
       width += (4 - widthMod);
     }
 
-    ETC2Reader reader = new ETC2Reader();
-
     // X Bytes - Pixel Data
     int[] data = new int[width * height];
 
-    for (int y = 0; y < height; y += 4) {
-      // DXT encodes 4x4 blocks of pixels
-      for (int x = 0; x < width; x += 4) {
-
-        int[] blockIn = new int[16];
-        int[] blockOut = new int[64];
-
-        for (int i = 0; i < 16; i++) {
-          blockIn[i] = ByteConverter.unsign(fm.readByte());
-        }
-
-        reader.detexDecompressBlockETC2(blockIn, reader.DETEX_MODE_MASK_ALL, 0, blockOut);
+    // read all the blocks in one go (16 bytes per 4x4 block)
+    byte[] bytes = fm.readBytes((width / 4) * (height / 4) * 16);
 
-        int readPos = 0;
-        for (int by = 0; by < 4; ++by) {
-          for (int bx = 0; bx < 4; ++bx) {
-            data[(y + by) * width + x + bx] = blockOut[readPos++];
-          }
-        }
-      }
-    }
+    final int imageWidth = width;
+    ParallelImageDecoder.decode(height / 4, width * 4, (startRow, endRow) -> decodeETC(bytes, data, imageWidth, startRow, endRow, 16));
 
     return new ImageResource(data, width, height);
 
@@ -2962,19 +3204,9 @@ public class ImageFormatReader {
 
       FileManipulator tempConvertedFM = new FileManipulator(tempOutFile, false);
 
-      // X Bytes - Pixel Data
+      // X Bytes - Pixel Data (INPUT = RGBA, OUTPUT = ARGB)
       int[] pixels = new int[numPixels];
-
-      for (int i = 0; i < numPixels; i++) {
-        // INPUT = RGBA
-        int rPixel = ByteConverter.unsign(tempConvertedFM.readByte());
-        int gPixel = ByteConverter.unsign(tempConvertedFM.readByte());
-        int bPixel = ByteConverter.unsign(tempConvertedFM.readByte());
-        int aPixel = ByteConverter.unsign(tempConvertedFM.readByte());
-
-        // OUTPUT = ARGB
-        pixels[i] = ((rPixel << 16) | (gPixel << 8) | bPixel | (aPixel << 24));
-      }
+      decodeByteChannels(tempConvertedFM.readBytes(numPixels * 4), pixels, width, height, 4, 0, 1, 2, 3);
 
       tempConvertedFM.close();
 
@@ -3067,23 +3299,9 @@ public class ImageFormatReader {
    **********************************************************************************************
    **/
   public static ImageResource readRGB(FileManipulator fm, int width, int height) {
-
-    int numPixels = width * height;
-
-    // X Bytes - Pixel Data
-    int[] pixels = new int[numPixels];
-
-    for (int i = 0; i < numPixels; i++) {
-      int rPixel = ByteConverter.unsign(fm.readByte());
-      int gPixel = ByteConverter.unsign(fm.readByte());
-      int bPixel = ByteConverter.unsign(fm.readByte());
-      int aPixel = 255;
-
-      //pixels[i] = ((fm.readByte() << 16) | (fm.readByte() << 8) | fm.readByte() | (((byte) 255) << 24));
-      pixels[i] = ((rPixel << 16) | (gPixel << 8) | bPixel | (aPixel << 24));
-    }
-
-    return new ImageResource(pixels, width, height);
+    // INPUT = RGB
+    // OUTPUT = ARGB
+    return readByteChannels(fm, width, height, 3, 0, 1, 2, -1);
   }
 
   /**
@@ -3229,24 +3447,9 @@ public class ImageFormatReader {
    **********************************************************************************************
    **/
   public static ImageResource readRGBA(FileManipulator fm, int width, int height) {
-
-    int numPixels = width * height;
-
-    // X Bytes - Pixel Data
-    int[] pixels = new int[numPixels];
-
-    for (int i = 0; i < numPixels; i++) {
-      // INPUT = RGBA
-      int rPixel = ByteConverter.unsign(fm.readByte());
-      int gPixel = ByteConverter.unsign(fm.readByte());
-      int bPixel = ByteConverter.unsign(fm.readByte());
-      int aPixel = ByteConverter.unsign(fm.readByte());
-
-      // OUTPUT = ARGB
-      pixels[i] = ((rPixel << 16) | (gPixel << 8) | bPixel | (aPixel << 24));
-    }
-
-    return new ImageResource(pixels, width, height);
+    // INPUT = RGBA
+    // OUTPUT = ARGB
+    return readByteChannels(fm, width, height, 4, 0, 1, 2, 3);
   }
 
   /**
@@ -24,52 +24,6 @@ Writes image data to a FileManipulator using a number of different image formats
 **/
 public class ImageFormatWriter {
 
-  /**
-  **********************************************************************************************
-  
-  **********************************************************************************************
-  **/
-  public static long computeDXTBitMask(ColorSplit[] colors, int extreme1, int extreme2) {
-
-    ColorSplit color1 = colors[extreme1];
-    ColorSplit color2 = colors[extreme2];
-
-    if (color1.equals(color2)) {
-      return 0;
-    }
-
-    ColorSplit color3 = new ColorSplit();
-    color3.setRed((2 * color1.getRed() + color2.getRed() + 1) / 3);
-    color3.setGreen((2 * color1.getGreen() + color2.getGreen() + 1) / 3);
-    color3.setBlue((2 * color1.getBlue() + color2.getBlue() + 1) / 3);
-
-    ColorSplit color4 = new ColorSplit();
-    color4.setRed((color1.getRed() + 2 * color2.getRed() + 1) / 3);
-    color4.setGreen((color1.getGreen() + 2 * color2.getGreen() + 1) / 3);
-    color4.setBlue((color1.getBlue() + 2 * color2.getBlue() + 1) / 3);
-
-    ColorSplit[] colorPoints = new ColorSplit[] { color1, color2, color3, color4 };
-
-    long bitmask = 0;
-    for (int i = 0; i < 16; i++) {
-      int closest = 1000;
-      int mask = 0;
-
-      ColorSplit color = colors[i];
-
-      for (int j = 0; j < 4; j++) {
-        int d = color.getCloseness(colorPoints[j]);
-        if (d < closest) {
-          closest = d;
-          mask = j;
-        }
-      }
-      bitmask |= mask << i * 2;
-    }
-
-    return bitmask;
-  }
-
   /**
   **********************************************************************************************
   Reads a 16-bit floating value (IEEE 754 half-precision s10e5) and converts it to a Java float.
@@ -105,31 +59,6 @@ public class ImageFormatWriter {
             | (exp | mant) << 13); // value << ( 23 - 10 )
   }
 
-  /**
-  **********************************************************************************************
-  
-  **********************************************************************************************
-  **/
-  protected static int convertPixelTo565(ColorSplit color) {
-    int r = color.getRed() >> 3;
-    int g = color.getGreen() >> 2;
-    int b = color.getBlue() >> 3;
-    return r << 11 | g << 5 | b;
-  }
-
-  /**
-  **********************************************************************************************
-  
-  **********************************************************************************************
-  **/
-  protected static ColorSplit convertPixelTo565(int pixel) {
-    ColorSplit color = new ColorSplit();
-    color.setRed((int) (((long) pixel) & 0xf800) >> 11);
-    color.setGreen((int) (((long) pixel) & 0x07e0) >> 5);
-    color.setBlue((int) (((long) pixel) & 0x001f));
-    return color;
-  }
-
   /**
    **********************************************************************************************
   Flips an image that is upside-down
@@ -153,34 +82,6 @@ public class ImageFormatWriter {
     return image;
   }
 
-  /**
-  **********************************************************************************************
-  
-  **********************************************************************************************
-  **/
-  protected static int[] getExtremes(ColorSplit[] colors) {
-    int farthest = 0;
-
-    int extreme1 = 0;
-    int extreme2 = 0;
-
-    for (int i = 0; i < 16 - 1; i++) {
-      ColorSplit color = colors[i];
-
-      for (int j = i + 1; j < 16; j++) {
-        int d = color.getCloseness(colors[j]);
-        if (d > farthest) {
-          farthest = d;
-
-          extreme1 = i;
-          extreme2 = j;
-        }
-      }
-    }
-
-    return new int[] { extreme1, extreme2 };
-  }
-
   /**
    **********************************************************************************************
    * Writes an ARGB image
@@ -387,307 +288,47 @@ public class ImageFormatWriter {
     }
   }
 
+  /**
+   **********************************************************************************************
+   * Encodes an image as DXT1, DXT3 or DXT5 (<i>format</i> = 1, 3 or 5), returning all the blocks
+   * in a single byte[] so they can be written in one go
+   * @see DXTEncoder
+   **********************************************************************************************
+   **/
+  public static byte[] encodeDXT(ImageResource imageResource, int format) {
+    return DXTEncoder.encode(imageResource.getImagePixels(), imageResource.getWidth(), imageResource.getHeight(), format);
+  }
+
   /**
    **********************************************************************************************
    * Writes a DXT1 image
    **********************************************************************************************
    **/
   public static void writeDXT1(FileManipulator fm, ImageResource imageResource) {
-    int width = imageResource.getWidth();
-    int height = imageResource.getHeight();
-    int[] pixels = imageResource.getImagePixels();
-
-    int[] pixelBlock = new int[16];
-
-    int numBlocksWide = width / 4;
-    int numBlocksHigh = height / 4;
-
-    for (int i = 0; i < numBlocksHigh; i++) {
-      for (int j = 0; j < numBlocksWide; j++) {
-
-        // build the array of data
-        int position = (i * 4 * width) + (j * 4);
-        System.arraycopy(pixels, position, pixelBlock, 0, 4);
-        position += width;
-        System.arraycopy(pixels, position, pixelBlock, 4, 4);
-        position += width;
-        System.arraycopy(pixels, position, pixelBlock, 8, 4);
-        position += width;
-        System.arraycopy(pixels, position, pixelBlock, 12, 4);
-
-        // split the colors into RGB values
-        ColorSplit[] colors = new ColorSplit[16];
-        for (int p = 0; p < 16; p++) {
-          colors[p] = new ColorSplit(pixelBlock[p]);
-        }
-
-        for (int k = 0; k < pixelBlock.length; k++) {
-          pixelBlock[k] = convertPixelTo565(colors[k]);
-          colors[k] = convertPixelTo565(pixelBlock[k]);
-        }
-
-        int[] extremes = getExtremes(colors);
-
-        int extreme1 = extremes[0];
-        int extreme2 = extremes[1];
-
-        if (pixelBlock[extreme1] < pixelBlock[extreme2]) {
-          int temp = extreme1;
-          extreme1 = extreme2;
-          extreme2 = temp;
-        }
-
-        fm.writeShort((short) pixelBlock[extreme1]);
-        fm.writeShort((short) pixelBlock[extreme2]);
-
-        long bitmask = computeDXTBitMask(colors, extreme1, extreme2);
-        fm.writeInt((int) bitmask);
-      }
-    }
+    fm.writeBytes(encodeDXT(imageResource, 1));
   }
 
+
   /**
    **********************************************************************************************
    Writes a DXT3 image
    **********************************************************************************************
    **/
   public static void writeDXT3(FileManipulator fm, ImageResource imageResource) {
-    int width = imageResource.getWidth();
-    int height = imageResource.getHeight();
-    int[] pixels = imageResource.getImagePixels();
-
-    int[] pixelBlock = new int[16];
-
-    int numBlocksWide = width / 4;
-    int numBlocksHigh = height / 4;
-
-    for (int i = 0; i < numBlocksHigh; i++) {
-      for (int j = 0; j < numBlocksWide; j++) {
-
-        // build the array of data
-        int position = (i * 4 * width) + (j * 4);
-        System.arraycopy(pixels, position, pixelBlock, 0, 4);
-        position += width;
-        System.arraycopy(pixels, position, pixelBlock, 4, 4);
-        position += width;
-        System.arraycopy(pixels, position, pixelBlock, 8, 4);
-        position += width;
-        System.arraycopy(pixels, position, pixelBlock, 12, 4);
-
-        // split the colors into RGB values
-        ColorSplit[] colors = new ColorSplit[16];
-        for (int p = 0; p < 16; p++) {
-          colors[p] = new ColorSplit(pixelBlock[p]);
-        }
-
-        // Store the alpha table
-        for (int k = 0; k < 16; k += 2) {
-          fm.writeByte((byte) ((pixelBlock[k] >>> 24) | (pixelBlock[k + 1] >>> 28)));
-        }
-
-        for (int k = 0; k < pixelBlock.length; k++) {
-          pixelBlock[k] = convertPixelTo565(colors[k]);
-          colors[k] = convertPixelTo565(pixelBlock[k]);
-        }
-
-        int[] extremes = getExtremes(colors);
-
-        int extreme1 = extremes[0];
-        int extreme2 = extremes[1];
-
-        if (pixelBlock[extreme1] < pixelBlock[extreme2]) {
-          int temp = extreme1;
-          extreme1 = extreme2;
-          extreme2 = temp;
-        }
-
-        fm.writeShort((short) pixelBlock[extreme1]);
-        fm.writeShort((short) pixelBlock[extreme2]);
-
-        long bitmask = computeDXTBitMask(colors, extreme1, extreme2);
-        fm.writeInt((int) bitmask);
-      }
-    }
+    fm.writeBytes(encodeDXT(imageResource, 3));
   }
 
+
   /**
    **********************************************************************************************
    Writes a DXT5 image
    **********************************************************************************************
    **/
   public static void writeDXT5(FileManipulator fm, ImageResource imageResource) {
-    int width = imageResource.getWidth();
-    int height = imageResource.getHeight();
-    int[] pixels = imageResource.getImagePixels();
-
-    int[] pixelBlock = new int[16];
-
-    int numBlocksWide = width / 4;
-    int numBlocksHigh = height / 4;
-
-    for (int i = 0; i < numBlocksHigh; i++) {
-      for (int j = 0; j < numBlocksWide; j++) {
-
-        // build the array of data
-        int position = (i * 4 * width) + (j * 4);
-        System.arraycopy(pixels, position, pixelBlock, 0, 4);
-        position += width;
-        System.arraycopy(pixels, position, pixelBlock, 4, 4);
-        position += width;
-        System.arraycopy(pixels, position, pixelBlock, 8, 4);
-        position += width;
-        System.arraycopy(pixels, position, pixelBlock, 12, 4);
-
-        // split the colors into RGB values
-        ColorSplit[] colors = new ColorSplit[16];
-        for (int p = 0; p < 16; p++) {
-          colors[p] = new ColorSplit(pixelBlock[p]);
-        }
-
-        // Generate the alpha table
-        // 3.15 - actually implemented the alpha table generation - such a novel idea
-
-        // first, find the min and max alpha
-        int[] sourceAlphas = new int[16];
-
-        int minAlpha = 255;
-        int maxAlpha = 0;
-        for (int k = 0; k < 16; k++) {
-          int alpha = new ColorSplitAlpha(pixelBlock[k]).getAlpha();
-
-          if (alpha < minAlpha) {
-            minAlpha = alpha;
-          }
-
-          if (alpha > maxAlpha) {
-            maxAlpha = alpha;
-          }
-
-          sourceAlphas[k] = alpha;
-        }
-
-        // check for some shortcuts
-        if (minAlpha == 0 && maxAlpha == 0) {
-          // if min and max alpha are all 0, just shortcut it and store it all as zeros
-          fm.writeByte(0);
-          fm.writeByte(0);
-          fm.writeByte(0);
-          fm.writeByte(0);
-
-          fm.writeByte(0);
-          fm.writeByte(0);
-          fm.writeByte(0);
-          fm.writeByte(0);
-        }
-        else if (minAlpha == 255 && maxAlpha == 255) {
-          // if min and max alpha are all 255, just shortcut it and store it all as 255's
-          fm.writeByte(255);
-          fm.writeByte(255);
-          fm.writeByte(255);
-          fm.writeByte(255);
-
-          fm.writeByte(255);
-          fm.writeByte(255);
-          fm.writeByte(255);
-          fm.writeByte(255);
-        }
-        else {
-
-          // store the max and min alpha values (note the order, it's important!)
-          if (maxAlpha == minAlpha) {
-            // as such, need the min and max to be slightly different, due to the order requirements
-            if (maxAlpha == 255) {
-              minAlpha--;
-            }
-            else {
-              maxAlpha++;
-            }
-          }
-          fm.writeByte(maxAlpha);
-          fm.writeByte(minAlpha);
-
-          // now build the interpolation values
-          int[] alphas = new int[8];
-          alphas[0] = maxAlpha;
-          alphas[1] = minAlpha;
-          alphas[2] = (6 * maxAlpha + minAlpha) / 7;
-          alphas[3] = (5 * maxAlpha + 2 * minAlpha) / 7;
-          alphas[4] = (4 * maxAlpha + 3 * minAlpha) / 7;
-          alphas[5] = (3 * maxAlpha + 4 * minAlpha) / 7;
-          alphas[6] = (2 * maxAlpha + 5 * minAlpha) / 7;
-          alphas[7] = (maxAlpha + 6 * minAlpha) / 7;
-
-          // now for the 16 pixels, work out the alpha indexes for the closest matches
-          for (int k = 0; k < 16; k++) {
-            int alpha = sourceAlphas[k];
-
-            int closestIndex = 0;
-            int closeness = 255;
-
-            for (int c = 0; c < 8; c++) {
-              int howClose = alpha - alphas[c];
-              if (howClose < 0) {
-                howClose = 0 - howClose;
-              }
-
-              if (howClose < closeness) {
-                closeness = howClose;
-                closestIndex = c;
-              }
-            }
-
-            // now we have the closest index, remember it
-            sourceAlphas[k] = closestIndex;
-          }
-
-          // now we have all the indexes, so build the 6-bytes that store the indexes for the pixels
-
-          // first 3 bytes
-          int alphaMap = 0;
-          for (int k = 0, m = 0; k < 8; k++, m++) {
-            alphaMap |= (sourceAlphas[k] << (3 * m));
-          }
-          fm.writeByte((byte) (alphaMap & 255));
-          fm.writeByte((byte) ((alphaMap >> 8) & 255));
-          fm.writeByte((byte) ((alphaMap >> 16) & 255));
-
-          // second 3 bytes
-          alphaMap = 0;
-          for (int k = 8, m = 0; k < 16; k++, m++) {
-            alphaMap |= (sourceAlphas[k] << (3 * m));
-          }
-          fm.writeByte((byte) (alphaMap & 255));
-          fm.writeByte((byte) ((alphaMap >> 8) & 255));
-          fm.writeByte((byte) ((alphaMap >> 16) & 255));
-
-        }
-
-        // write the pixels
-        for (int k = 0; k < pixelBlock.length; k++) {
-          pixelBlock[k] = convertPixelTo565(colors[k]);
-          colors[k] = convertPixelTo565(pixelBlock[k]);
-        }
-
-        int[] extremes = getExtremes(colors);
-
-        int extreme1 = extremes[0];
-        int extreme2 = extremes[1];
-
-        if (pixelBlock[extreme1] < pixelBlock[extreme2]) {
-          int temp = extreme1;
-          extreme1 = extreme2;
-          extreme2 = temp;
-        }
-
-        fm.writeShort((short) pixelBlock[extreme1]);
-        fm.writeShort((short) pixelBlock[extreme2]);
-
-        long bitmask = computeDXTBitMask(colors, extreme1, extreme2);
-        fm.writeInt((int) bitmask);
-      }
-    }
+    fm.writeBytes(encodeDXT(imageResource, 5));
   }
 
+
   /**
    **********************************************************************************************
    * Writes an GBAR4444 image
@@ -43,6 +43,181 @@ public class ImageSwizzler {
     return result;
   }
 
+  /**
+  **********************************************************************************************
+  Gets the Morton Index of every (x,y) co-ordinate, in the order x=0 (y=0..height), x=1 (...)
+  **********************************************************************************************
+  **/
+  static int[] getMortonMap(int width, int height) {
+    return SwizzleMapCache.getMap("Morton", width, height, 1, () -> {
+      int[] map = new int[width * height];
+      int i = 0;
+      for (int x = 0; x < width; x++) {
+        for (int y = 0; y < height; y++) {
+          map[i++] = (int) calculateMorton2D(x, y);
+        }
+      }
+      return map;
+    });
+  }
+
+  /**
+  **********************************************************************************************
+  Whether all the Morton Indexes for the image are less than <i>maxPos</i>. The Morton Index gets
+  larger as either x or y get larger, so the last co-ordinate always has the largest index.
+  **********************************************************************************************
+  **/
+  static boolean isMortonMapInRange(int width, int height, int maxPos) {
+    if (width <= 0 || height <= 0) {
+      return false;
+    }
+    return calculateMorton2D(width - 1, height - 1) < maxPos;
+  }
+
+  /**
+  **********************************************************************************************
+  Copies the values from <i>source</i> to <i>destination</i>, where destination[i] =
+  source[map[i]]. Images with lots of pixels are done in parallel.
+  **********************************************************************************************
+  **/
+  static void gather(byte[] source, byte[] destination, int[] map, int width, int height) {
+    ParallelImageDecoder.decode(height, width, (startRow, endRow) -> {
+      int end = endRow * width;
+      for (int i = startRow * width; i < end; i++) {
+        destination[i] = source[map[i]];
+      }
+    });
+  }
+
+  /**
+  **********************************************************************************************
+  Copies the values from <i>source</i> to <i>destination</i>, where destination[i] =
+  source[map[i]]. Images with lots of pixels are done in parallel.
+  **********************************************************************************************
+  **/
+  static void gather(int[] source, int[] destination, int[] map, int width, int height) {
+    ParallelImageDecoder.decode(height, width, (startRow, endRow) -> {
+      int end = endRow * width;
+      for (int i = startRow * width; i < end; i++) {
+        destination[i] = source[map[i]];
+      }
+    });
+  }
+
+  /**
+  **********************************************************************************************
+  Copies the values from <i>source</i> to <i>destination</i>, where destination[map[i]] =
+  source[i]. This is done in order (not in parallel) in case some map values are the same.
+  **********************************************************************************************
+  **/
+  static void scatter(byte[] source, byte[] destination, int[] map, int width, int height) {
+    int numPixels = width * height;
+    for (int i = 0; i < numPixels; i++) {
+      destination[map[i]] = source[i];
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Copies the values from <i>source</i> to <i>destination</i>, where destination[map[i]] =
+  source[i]. This is done in order (not in parallel) in case some map values are the same.
+  **********************************************************************************************
+  **/
+  static void scatter(int[] source, int[] destination, int[] map, int width, int height) {
+    int numPixels = width * height;
+    for (int i = 0; i < numPixels; i++) {
+      destination[map[i]] = source[i];
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the swizzle map for a PS2 8-bit image (also used for the 8-bit Suba swizzle)
+  Ref: https://github.com/bartlomiejduda/ReverseBox/blob/main/reversebox/image/swizzling/swizzle_ps2.py
+  **********************************************************************************************
+  **/
+  static int[] getPS2Map(int width, int height) {
+    return SwizzleMapCache.getMap("PS2", width, height, 1, () -> {
+      int[] map = new int[width * height];
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+          int block_location = (y & (~0xF)) * width + (x & (~0xF)) * 2;
+          int swap_selector = (((y + 2) >> 2) & 0x1) * 4;
+          int pos_y = (((y & (~3)) >> 1) + (y & 1)) & 0x7;
+          int column_location = pos_y * width * 2 + ((x + swap_selector) & 0x7) * 4;
+          int byte_num = ((y >> 1) & 1) + ((x >> 2) & 2);
+          map[y * width + x] = block_location + column_location + byte_num;
+        }
+      }
+      return map;
+    });
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the swizzle map for a PS2 16-bit image, using Suba swizzle
+  Ref: https://github.com/bartlomiejduda/ReverseBox/blob/main/reversebox/image/swizzling/swizzle_ps2_suba.py
+  **********************************************************************************************
+  **/
+  static int[] getPS216BitSubaMap(int width, int height) {
+    return SwizzleMapCache.getMap("PS216BitSuba", width, height, 1, () -> {
+      int[] map = new int[width * height];
+
+      int pages_horz = (width + 63) / 64;
+      int pages_vert = (height + 63) / 64;
+
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+          int page_x = x & (~0x3f);
+          int page_y = y & (~0x3f);
+
+          int page_number = (page_y / 64) * pages_horz + (page_x / 64);
+
+          int page32_y = (page_number / pages_vert) * 32;
+          int page32_x = (page_number % pages_vert) * 64;
+
+          int page_location = (page32_y * height + page32_x) * 2;
+
+          int loc_x = x & 0x3f;
+          int loc_y = y & 0x3f;
+
+          int block_location = (loc_x & (~0xf)) * height + (loc_y & (~0x7)) * 2;
+          int column_location = ((y & 0x7) * height + (x & 0x7)) * 2;
+
+          int short_num = (x >> 3) & 1;//  # 0 or 1
+
+          map[y * width + x] = page_location + block_location + column_location + short_num;
+        }
+      }
+      return map;
+    });
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the swizzle map for a PSP image, where <i>stride</i> is the number of bytes in each row
+  Ref: https://github.com/bartlomiejduda/ReverseBox/blob/main/reversebox/image/swizzling/swizzle_psp.py
+  **********************************************************************************************
+  **/
+  static int[] getPSPMap(int stride, int height) {
+    return SwizzleMapCache.getMap("PSP", stride, height, 1, () -> {
+      int[] map = new int[stride * height];
+      int row_blocks = stride / 16;
+
+      int i = 0;
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < stride; x++) {
+          int block_x = x / 16;
+          int block_y = y / 8;
+          int block_index = block_x + (block_y * row_blocks);
+          int block_address = block_index * 16 * 8;
+          map[i++] = block_address + (x - block_x * 16) + ((y - block_y * 8) * 16);
+        }
+      }
+      return map;
+    });
+  }
+
   /**
    **********************************************************************************************
   Stripes a color palette for the PS2
@@ -94,19 +269,31 @@ public class ImageSwizzler {
 
     int maxPos = numBytes / blockSize;
 
-    int outPos = 0;
+    int[] map = getMortonMap(width, height);
 
-    for (int x = 0; x < width; x++) {
-      for (int y = 0; y < height; y++) {
-        int index = (int) calculateMorton2D(x, y);
-        if (index >= maxPos) {
-          continue;
+    if (isMortonMapInRange(width, height, maxPos)) {
+      // every index is within the data, so each block has a fixed position, and the columns can be done in parallel
+      ParallelImageDecoder.decode(width, height, (startColumn, endColumn) -> {
+        int end = endColumn * height;
+        for (int i = startColumn * height; i < end; i++) {
+          System.arraycopy(bytes, i * blockSize, outBytes, map[i] * blockSize, blockSize);
         }
+      });
+      return outBytes;
+    }
+
+    int outPos = 0;
 
-        //System.arraycopy(bytes, index * blockSize, outBytes, outPos, blockSize);
-        System.arraycopy(bytes, outPos, outBytes, index * blockSize, blockSize);
-        outPos += blockSize;
+    int numIndexes = map.length;
+    for (int i = 0; i < numIndexes; i++) {
+      int index = map[i];
+      if (index >= maxPos) {
+        continue;
       }
+
+      //System.arraycopy(bytes, index * blockSize, outBytes, outPos, blockSize);
+      System.arraycopy(bytes, outPos, outBytes, index * blockSize, blockSize);
+      outPos += blockSize;
     }
 
     return outBytes;
@@ -125,20 +312,38 @@ public class ImageSwizzler {
 
     int maxPos = numBytes / blockSize;
 
-    int outPos = 0;
+    int[] map = getMortonMap(width, height);
 
-    for (int x = 0; x < width; x++) {
-      for (int y = 0; y < height; y++) {
-        int index = (int) calculateMorton2D(x, y);
-        //System.out.println("Index: " + index);
-        if (index >= maxPos) {
-          continue;
+    if (isMortonMapInRange(width, height, maxPos)) {
+      // every index is within the data, so each block has a fixed position, and the columns can be done in parallel
+      ParallelImageDecoder.decode(width, height, (startColumn, endColumn) -> {
+        int end = endColumn * height;
+        if (blockSize == 1) {
+          for (int i = startColumn * height; i < end; i++) {
+            outBytes[i] = bytes[map[i]];
+          }
         }
+        else {
+          for (int i = startColumn * height; i < end; i++) {
+            System.arraycopy(bytes, map[i] * blockSize, outBytes, i * blockSize, blockSize);
+          }
+        }
+      });
+      return outBytes;
+    }
+
+    int outPos = 0;
 
-        //outBytes[outPos] = bytes[index*4:index*4+4];
-        System.arraycopy(bytes, index * blockSize, outBytes, outPos, blockSize);
-        outPos += blockSize;
+    int numIndexes = map.length;
+    for (int i = 0; i < numIndexes; i++) {
+      int index = map[i];
+      if (index >= maxPos) {
+        continue;
       }
+
+      //outBytes[outPos] = bytes[index*4:index*4+4];
+      System.arraycopy(bytes, index * blockSize, outBytes, outPos, blockSize);
+      outPos += blockSize;
     }
 
     return outBytes;
@@ -157,20 +362,38 @@ public class ImageSwizzler {
 
     int maxPos = numBytes / blockSize;
 
-    int outPos = 0;
+    int[] map = getMortonMap(width, height);
 
-    for (int x = 0; x < width; x++) {
-      for (int y = 0; y < height; y++) {
-        int index = (int) calculateMorton2D(x, y);
-        //System.out.println("Index: " + index);
-        if (index >= maxPos) {
-          continue;
+    if (isMortonMapInRange(width, height, maxPos)) {
+      // every index is within the data, so each block has a fixed position, and the columns can be done in parallel
+      ParallelImageDecoder.decode(width, height, (startColumn, endColumn) -> {
+        int end = endColumn * height;
+        if (blockSize == 1) {
+          for (int i = startColumn * height; i < end; i++) {
+            outBytes[i] = bytes[map[i]];
+          }
+        }
+        else {
+          for (int i = startColumn * height; i < end; i++) {
+            System.arraycopy(bytes, map[i] * blockSize, outBytes, i * blockSize, blockSize);
+          }
         }
+      });
+      return outBytes;
+    }
+
+    int outPos = 0;
 
-        //outBytes[outPos] = bytes[index*4:index*4+4];
-        System.arraycopy(bytes, index * blockSize, outBytes, outPos, blockSize);
-        outPos += blockSize;
+    int numIndexes = map.length;
+    for (int i = 0; i < numIndexes; i++) {
+      int index = map[i];
+      if (index >= maxPos) {
+        continue;
       }
+
+      //outBytes[outPos] = bytes[index*4:index*4+4];
+      System.arraycopy(bytes, index * blockSize, outBytes, outPos, blockSize);
+      outPos += blockSize;
     }
 
     return outBytes;
@@ -206,24 +429,15 @@ public class ImageSwizzler {
 
     byte[] converted_data = new byte[width * height];
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-        int block_location = (y & (~0xF)) * width + (x & (~0xF)) * 2;
-        int swap_selector = (((y + 2) >> 2) & 0x1) * 4;
-        int pos_y = (((y & (~3)) >> 1) + (y & 1)) & 0x7;
-        int column_location = pos_y * width * 2 + ((x + swap_selector) & 0x7) * 4;
-        int byte_num = ((y >> 1) & 1) + ((x >> 2) & 2);
-        int swizzle_id = block_location + column_location + byte_num;
-
-        if (!swizzle) {
-          // unswizzle
-          converted_data[y * width + x] = input_data[swizzle_id];
-        }
-        else {
-          // swizzle
-          converted_data[swizzle_id] = input_data[y * width + x];
-        }
-      }
+    int[] map = getPS2Map(width, height);
+
+    if (!swizzle) {
+      // unswizzle
+      gather(input_data, converted_data, map, width, height);
+    }
+    else {
+      // swizzle
+      scatter(input_data, converted_data, map, width, height);
     }
 
     return converted_data;
@@ -259,24 +473,15 @@ public class ImageSwizzler {
 
     int[] converted_data = new int[width * height];
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-        int block_location = (y & (~0xF)) * width + (x & (~0xF)) * 2;
-        int swap_selector = (((y + 2) >> 2) & 0x1) * 4;
-        int pos_y = (((y & (~3)) >> 1) + (y & 1)) & 0x7;
-        int column_location = pos_y * width * 2 + ((x + swap_selector) & 0x7) * 4;
-        int byte_num = ((y >> 1) & 1) + ((x >> 2) & 2);
-        int swizzle_id = block_location + column_location + byte_num;
-
-        if (!swizzle) {
-          // unswizzle
-          converted_data[y * width + x] = input_data[swizzle_id];
-        }
-        else {
-          // swizzle
-          converted_data[swizzle_id] = input_data[y * width + x];
-        }
-      }
+    int[] map = getPS2Map(width, height);
+
+    if (!swizzle) {
+      // unswizzle
+      gather(input_data, converted_data, map, width, height);
+    }
+    else {
+      // swizzle
+      scatter(input_data, converted_data, map, width, height);
     }
 
     return converted_data;
@@ -516,24 +721,14 @@ public class ImageSwizzler {
 
     byte[] converted_data = new byte[input_data.length];
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-
-        int block_location = (y & (~0xf)) * width + (x & (~0xf)) * 2;
-        int swap_selector = (((y + 2) >> 2) & 0x1) * 4;
-        int posY = (((y & (~3)) >> 1) + (y & 1)) & 0x7;
-        int column_location = posY * width * 2 + ((x + swap_selector) & 0x7) * 4;
-
-        int byte_num = ((y >> 1) & 1) + ((x >> 2) & 2);//  # 0,1,2,3
+    // same layout as the normal PS2 8-bit swizzle
+    int[] map = getPS2Map(width, height);
 
-        int index = block_location + column_location + byte_num;
-        if (swizzle) {
-          converted_data[index] = input_data[y * width + x];
-        }
-        else {
-          converted_data[y * width + x] = input_data[index];
-        }
-      }
+    if (swizzle) {
+      scatter(input_data, converted_data, map, width, height);
+    }
+    else {
+      gather(input_data, converted_data, map, width, height);
     }
 
     return converted_data;
@@ -567,24 +762,14 @@ public class ImageSwizzler {
 
     int[] converted_data = new int[input_data.length];
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
+    // same layout as the normal PS2 8-bit swizzle
+    int[] map = getPS2Map(width, height);
 
-        int block_location = (y & (~0xf)) * width + (x & (~0xf)) * 2;
-        int swap_selector = (((y + 2) >> 2) & 0x1) * 4;
-        int posY = (((y & (~3)) >> 1) + (y & 1)) & 0x7;
-        int column_location = posY * width * 2 + ((x + swap_selector) & 0x7) * 4;
-
-        int byte_num = ((y >> 1) & 1) + ((x >> 2) & 2);//  # 0,1,2,3
-
-        int index = block_location + column_location + byte_num;
-        if (swizzle) {
-          converted_data[index] = input_data[y * width + x];
-        }
-        else {
-          converted_data[y * width + x] = input_data[index];
-        }
-      }
+    if (swizzle) {
+      scatter(input_data, converted_data, map, width, height);
+    }
+    else {
+      gather(input_data, converted_data, map, width, height);
     }
 
     return converted_data;
@@ -618,44 +803,19 @@ public class ImageSwizzler {
 
     byte[] converted_data = new byte[input_data.length];
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-
-        int page_x = x & (~0x3f);
-        int page_y = y & (~0x3f);
-
-        int pages_horz = (width + 63) / 64;
-        int pages_vert = (height + 63) / 64;
-
-        int page_number = (page_y / 64) * pages_horz + (page_x / 64);
-
-        int page32_y = (page_number / pages_vert) * 32;
-        int page32_x = (page_number % pages_vert) * 64;
-
-        int page_location = (page32_y * height + page32_x) * 2;
-
-        int loc_x = x & 0x3f;
-        int loc_y = y & 0x3f;
-
-        int block_location = (loc_x & (~0xf)) * height + (loc_y & (~0x7)) * 2;
-        int column_location = ((y & 0x7) * height + (x & 0x7)) * 2;
+    int[] map = getPS216BitSubaMap(width, height);
 
-        int short_num = (x >> 3) & 1;//  # 0 or 1
-
-        int dest_index = page_location + block_location + column_location + short_num;
-
-        if (swizzle) {
-          converted_data[dest_index] = input_data[y * width + x];
-        }
-        else {
-          converted_data[y * width + x] = input_data[dest_index];
-        }
-      }
+    if (swizzle) {
+      scatter(input_data, converted_data, map, width, height);
+    }
+    else {
+      gather(input_data, converted_data, map, width, height);
     }
 
     return converted_data;
   }
 
+
   /**
    **********************************************************************************************
   Swizzles an image for the PS2 (16-bit image data), using SUBA swizzle
@@ -684,44 +844,19 @@ public class ImageSwizzler {
 
     int[] converted_data = new int[input_data.length];
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < width; x++) {
-
-        int page_x = x & (~0x3f);
-        int page_y = y & (~0x3f);
-
-        int pages_horz = (width + 63) / 64;
-        int pages_vert = (height + 63) / 64;
-
-        int page_number = (page_y / 64) * pages_horz + (page_x / 64);
-
-        int page32_y = (page_number / pages_vert) * 32;
-        int page32_x = (page_number % pages_vert) * 64;
-
-        int page_location = (page32_y * height + page32_x) * 2;
-
-        int loc_x = x & 0x3f;
-        int loc_y = y & 0x3f;
-
-        int block_location = (loc_x & (~0xf)) * height + (loc_y & (~0x7)) * 2;
-        int column_location = ((y & 0x7) * height + (x & 0x7)) * 2;
-
-        int short_num = (x >> 3) & 1;//  # 0 or 1
+    int[] map = getPS216BitSubaMap(width, height);
 
-        int dest_index = page_location + block_location + column_location + short_num;
-
-        if (swizzle) {
-          converted_data[dest_index] = input_data[y * width + x];
-        }
-        else {
-          converted_data[y * width + x] = input_data[dest_index];
-        }
-      }
+    if (swizzle) {
+      scatter(input_data, converted_data, map, width, height);
+    }
+    else {
+      gather(input_data, converted_data, map, width, height);
     }
 
     return converted_data;
   }
 
+
   /**
    **********************************************************************************************
   Swizzles an image for the PSP (4bpp)
@@ -803,32 +938,23 @@ public class ImageSwizzler {
   private static byte[] swizzleHandlerPSP(byte[] input, int width, int height, int bpp, boolean swizzle) {
     byte[] output = new byte[input.length];
 
-    int output_offset = 0;
     int stride = width * bpp / 8;
-    int row_blocks = stride / 16;
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < stride; x++) {
-        int block_x = x / 16;
-        int block_y = y / 8;
-        int block_index = block_x + (block_y * row_blocks);
-        int block_address = block_index * 16 * 8;
-
-        if (!swizzle) {
-          // unswizzle
-          output[output_offset] = input[block_address + (x - block_x * 16) + ((y - block_y * 8) * 16)];
-        }
-        else {
-          // swizzle
-          output[block_address + (x - block_x * 16) + ((y - block_y * 8) * 16)] = input[output_offset];
-        }
-        output_offset += 1;
-      }
+    int[] map = getPSPMap(stride, height);
+
+    if (!swizzle) {
+      // unswizzle
+      gather(input, output, map, stride, height);
+    }
+    else {
+      // swizzle
+      scatter(input, output, map, stride, height);
     }
 
     return output;
   }
 
+
   /**
    **********************************************************************************************
   Swizzles an image for the PSP
@@ -856,34 +982,25 @@ public class ImageSwizzler {
   private static int[] swizzleHandlerPSP(int[] input, int width, int height, boolean swizzle) {
     int[] output = new int[input.length];
 
-    int output_offset = 0;
     //int stride = get_stride_value(width, bpp);
     int bpp = 8; // each pixel is stored in a single int, which is 8bpp
     int stride = width * bpp / 8;
-    int row_blocks = stride / 16;
 
-    for (int y = 0; y < height; y++) {
-      for (int x = 0; x < stride; x++) {
-        int block_x = x / 16;
-        int block_y = y / 8;
-        int block_index = block_x + (block_y * row_blocks);
-        int block_address = block_index * 16 * 8;
-
-        if (!swizzle) {
-          // unswizzle
-          output[output_offset] = input[block_address + (x - block_x * 16) + ((y - block_y * 8) * 16)];
-        }
-        else {
-          // swizzle
-          output[block_address + (x - block_x * 16) + ((y - block_y * 8) * 16)] = input[output_offset];
-        }
-        output_offset += 1;
-      }
+    int[] map = getPSPMap(stride, height);
+
+    if (!swizzle) {
+      // unswizzle
+      gather(input, output, map, stride, height);
+    }
+    else {
+      // swizzle
+      scatter(input, output, map, stride, height);
     }
 
     return output;
   }
 
+
   /**
    **********************************************************************************************
   Swizzles an image for the Switch
@@ -24,7 +24,17 @@ Helper class for JNI Handling
 **/
 public class JNIHelper {
 
-  public static void loadLibrary(String libName) {
+  /**
+  **********************************************************************************************
+  Loads the native library <i>libName</i> from the jni directory, and returns whether it was
+  loaded. The libraries are Windows DLLs, so they aren't even attempted on other platforms.
+  **********************************************************************************************
+  **/
+  public static boolean loadLibrary(String libName) {
+    if (!isWindows()) {
+      return false;
+    }
+
     try {
       String basePath = new File("").getAbsolutePath() + File.separatorChar + "jni" + File.separatorChar;
       if (System.getProperty("os.arch").equals("x86")) {
@@ -35,10 +45,22 @@ public class JNIHelper {
         //System.loadLibrary(libName + "_64"); //64bit
         System.load(basePath + libName + "_64.dll");
       }
+      return true;
     }
     catch (Throwable t) {
       ErrorLogger.log(t);
+      return false;
     }
   }
 
+  /**
+  **********************************************************************************************
+  Whether we're running on Windows
+  **********************************************************************************************
+  **/
+  public static boolean isWindows() {
+    String osName = System.getProperty("os.name");
+    return osName != null && osName.toLowerCase().startsWith("windows");
+  }
+
 }
\ No newline at end of file
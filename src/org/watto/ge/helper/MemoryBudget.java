@@ -0,0 +1,300 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+package org.watto.ge.helper;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.File;
+
+import javax.swing.Timer;
+
+import org.watto.ErrorLogger;
+import org.watto.Language;
+import org.watto.Settings;
+import org.watto.component.ComponentRepository;
+import org.watto.component.WSComponent;
+import org.watto.component.WSStatusBar;
+import org.watto.task.PreviewPrefetcher;
+
+/**
+**********************************************************************************************
+A shared memory budget for the large buffers used when decoding files. Before allocating a big
+buffer (such as a whole decompressed file), the buffer is reserved against the budget, and it's
+released when the buffer is finished with. The caches (prefetched previews, decompressed blocks
+and thumbnails) count against the budget too.
+<br /><br />
+When a reservation doesn't fit, the caches are emptied (least-recently-used first) to make room.
+If it still doesn't fit, the reservation is refused, and the caller should use less memory - for
+example, by writing the decompressed data to a temporary file instead (see
+<code>createSpillFile()</code>).
+<br /><br />
+The size of the budget is set by the MemoryBudget setting, in bytes. If it's 0, the budget is
+60% of the maximum Java heap. The memory used is shown at the right of the status bar.
+**********************************************************************************************
+**/
+public class MemoryBudget {
+
+  /** The percentage of the Java heap that's used when the MemoryBudget setting is 0 **/
+  public static final int DEFAULT_PERCENTAGE = 60;
+
+  /** The memory reserved by buffers that are currently in use **/
+  static long reserved = 0;
+
+  static long refused = 0;
+
+  static long spilled = 0;
+
+  static long evicted = 0;
+
+  static Timer indicatorTimer = null;
+
+  /**
+  **********************************************************************************************
+  Creates a temporary file for writing a buffer to, when it's too big to keep in memory. The file
+  is deleted when Game Extractor exits, if the caller hasn't already deleted it.
+  **********************************************************************************************
+  **/
+  public static File createSpillFile() {
+    try {
+      File directory = new File(new File(Settings.get("TempDirectory")).getAbsolutePath());
+      if (!directory.exists()) {
+        directory.mkdirs();
+      }
+
+      File spillFile = File.createTempFile("spill", ".tmp", directory);
+      spillFile.deleteOnExit();
+
+      synchronized (MemoryBudget.class) {
+        spilled++;
+      }
+      return spillFile;
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+      return null;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Empties the caches, least important first, until <i>bytes</i> of memory have been freed
+  @return the memory that was freed
+  **********************************************************************************************
+  **/
+  public static long evictCaches(long bytes) {
+    long freed = PreviewPrefetcher.evict(bytes);
+    if (freed < bytes) {
+      freed += DecompressedBlockCache.evict(bytes - freed);
+    }
+    if (freed < bytes) {
+      freed += ThumbnailMemoryCache.evict(bytes - freed);
+    }
+
+    synchronized (MemoryBudget.class) {
+      evicted += freed;
+    }
+    return freed;
+  }
+
+  /**
+  **********************************************************************************************
+  The size of the budget, in bytes
+  **********************************************************************************************
+  **/
+  public static long getBudget() {
+    long budget = Settings.getLong("MemoryBudget");
+    if (budget <= 0) {
+      budget = Runtime.getRuntime().maxMemory() / 100 * DEFAULT_PERCENTAGE;
+    }
+    return budget;
+  }
+
+  /**
+  **********************************************************************************************
+  The memory used by the caches that count against the budget
+  **********************************************************************************************
+  **/
+  public static long getCacheMemory() {
+    return PreviewPrefetcher.getMemoryUsed() + DecompressedBlockCache.getCacheSize() + ThumbnailMemoryCache.getMemoryUsed();
+  }
+
+  /**
+  **********************************************************************************************
+  The memory that the Java heap can still allocate, even after growing to its maximum size
+  **********************************************************************************************
+  **/
+  static long getHeapAvailable() {
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+  }
+
+  /**
+  **********************************************************************************************
+  A summary of the budget, for the logs
+  **********************************************************************************************
+  **/
+  public static synchronized String getStatistics() {
+    return "MemoryBudget: " + reserved + " bytes reserved, " + getCacheMemory() + " bytes cached, " + getBudget() + " byte budget, " + refused + " refused, " + spilled + " spilled to disk, " + evicted + " bytes evicted from caches";
+  }
+
+  /**
+  **********************************************************************************************
+  The memory that is reserved or cached, in bytes
+  **********************************************************************************************
+  **/
+  public static synchronized long getUsed() {
+    return reserved + getCacheMemory();
+  }
+
+  /**
+  **********************************************************************************************
+  Whether <i>bytes</i> more would still be within the budget, and can actually be allocated on the
+  Java heap (keeping 5% of the heap spare)
+  **********************************************************************************************
+  **/
+  static boolean fits(long bytes) {
+    if (getUsed() + bytes > getBudget()) {
+      return false;
+    }
+    return getHeapAvailable() - bytes > Runtime.getRuntime().maxMemory() / 20;
+  }
+
+  /**
+  **********************************************************************************************
+  Makes room for an allocation of <i>bytes</i> that can't be refused or tracked (such as the
+  pixels of an image), by emptying the caches if it wouldn't otherwise fit
+  **********************************************************************************************
+  **/
+  public static void makeRoom(long bytes) {
+    if (bytes > 0 && !fits(bytes)) {
+      evictCaches(getUsed() + bytes - getBudget());
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Gives back memory that was reserved by <code>reserve()</code> or <code>reserveUpTo()</code>
+  **********************************************************************************************
+  **/
+  public static synchronized void release(long bytes) {
+    if (bytes <= 0) {
+      return;
+    }
+    reserved -= bytes;
+    if (reserved < 0) {
+      reserved = 0;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Reserves <i>bytes</i> of memory for a buffer, emptying the caches to make room if needed. If it
+  still doesn't fit, nothing is reserved, and the caller should use less memory (or spill to disk).
+  @return true if the memory was reserved, false if it was refused
+  **********************************************************************************************
+  **/
+  public static boolean reserve(long bytes) {
+    if (bytes <= 0) {
+      return true;
+    }
+
+    makeRoom(bytes);
+
+    synchronized (MemoryBudget.class) {
+      if (!fits(bytes)) {
+        refused++;
+        return false;
+      }
+      reserved += bytes;
+      return true;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Reserves as much of <i>bytes</i> as will fit in the budget, emptying the caches to make room if
+  needed. Used for buffers that can be made smaller, such as the data shown in the hex editor.
+  @return the number of bytes that were reserved (between 0 and <i>bytes</i>)
+  **********************************************************************************************
+  **/
+  public static long reserveUpTo(long bytes) {
+    if (bytes <= 0) {
+      return 0;
+    }
+
+    makeRoom(bytes);
+
+    synchronized (MemoryBudget.class) {
+      long available = getBudget() - getUsed();
+      long heapAvailable = getHeapAvailable() - Runtime.getRuntime().maxMemory() / 20;
+      if (heapAvailable < available) {
+        available = heapAvailable;
+      }
+
+      if (available < bytes) {
+        refused++;
+        bytes = available;
+        if (bytes < 0) {
+          bytes = 0;
+        }
+      }
+
+      reserved += bytes;
+      return bytes;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Starts showing the memory used in the status bar. The interval (in milliseconds) is set by the
+  MemoryBudgetIndicatorInterval setting (0 to not show it).
+  **********************************************************************************************
+  **/
+  public static synchronized void startIndicator() {
+    int interval = Settings.getInt("MemoryBudgetIndicatorInterval");
+    if (interval <= 0 || indicatorTimer != null) {
+      return;
+    }
+
+    indicatorTimer = new Timer(interval, new ActionListener() {
+
+      @Override
+      public void actionPerformed(ActionEvent event) {
+        updateIndicator();
+      }
+    });
+    indicatorTimer.setRepeats(true);
+    indicatorTimer.start();
+
+    updateIndicator();
+  }
+
+  /**
+  **********************************************************************************************
+  Shows the memory used in the status bar. Must be called on the Event Dispatch Thread.
+  **********************************************************************************************
+  **/
+  static void updateIndicator() {
+    WSComponent statusBar = ComponentRepository.get("StatusBar");
+    if (statusBar == null || !(statusBar instanceof WSStatusBar)) {
+      return;
+    }
+
+    long megabyte = 1024 * 1024;
+    String text = Language.get("MemoryBudget_Indicator").replace("&used&", "" + (getUsed() / megabyte)).replace("&budget&", "" + (getBudget() / megabyte));
+    ((WSStatusBar) statusBar).setIndicatorText(text);
+  }
+
+}
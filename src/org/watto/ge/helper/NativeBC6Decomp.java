@@ -21,8 +21,11 @@ BC6 Decoder (JNI Wrapper)
 **/
 public class NativeBC6Decomp {
 
-  static {
-    JNIHelper.loadLibrary("bc6decomp");
+  static boolean available = JNIHelper.loadLibrary("bc6decomp");
+
+  /** Whether the native library was loaded, and can be used **/
+  public static boolean isAvailable() {
+    return available;
   }
 
   private native boolean unpack_bc6(byte[] pBlock, float[] pPixels, int signed);
@@ -33,12 +36,22 @@ public class NativeBC6Decomp {
     return pPixels;
   }
 
+  /** Decodes the block into the <i>pPixels</i> array supplied by the caller, so it can be re-used **/
+  public void unpackBC6Block(byte[] pBlock, float[] pPixels) {
+    unpack_bc6(pBlock, pPixels, 0);
+  }
+
   public float[] unpackBC6BlockSigned(byte[] pBlock) {
     float[] pPixels = new float[pBlock.length * 3];
     unpack_bc6(pBlock, pPixels, 1);
     return pPixels;
   }
 
+  /** Decodes the block into the <i>pPixels</i> array supplied by the caller, so it can be re-used **/
+  public void unpackBC6BlockSigned(byte[] pBlock, float[] pPixels) {
+    unpack_bc6(pBlock, pPixels, 1);
+  }
+
   // TESTING ONLY
   public static void main(String[] args) {
     NativeBC6Decomp app = new NativeBC6Decomp();
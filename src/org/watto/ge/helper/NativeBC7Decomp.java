@@ -22,8 +22,11 @@ https://github.com/richgel999/bc7enc/blob/master/bc7decomp.cpp
 **/
 public class NativeBC7Decomp {
 
-  static {
-    JNIHelper.loadLibrary("bc7decomp");
+  static boolean available = JNIHelper.loadLibrary("bc7decomp");
+
+  /** Whether the native library was loaded, and can be used **/
+  public static boolean isAvailable() {
+    return available;
   }
 
   private native boolean unpack_bc7(byte[] pBlock, int[] pPixels);
@@ -34,6 +37,11 @@ public class NativeBC7Decomp {
     return pPixels;
   }
 
+  /** Decodes the block into the <i>pPixels</i> array supplied by the caller, so it can be re-used **/
+  public void unpackBC7Block(byte[] pBlock, int[] pPixels) {
+    unpack_bc7(pBlock, pPixels);
+  }
+
   // TESTING ONLY
   public static void main(String[] args) {
     NativeBC7Decomp app = new NativeBC7Decomp();
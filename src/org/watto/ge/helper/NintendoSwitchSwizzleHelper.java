@@ -133,26 +133,38 @@ public class NintendoSwitchSwizzleHelper {
 
       byte[] result = new byte[surfSize];
 
-      for (int y = 0; y < height; y++) {
-        for (int x = 0; x < width; x++) {
-          int pos;
-          int pos_;
-
-          if (tileMode == 1)
-            pos = y * pitch + x * bpp;
-          else
-            pos = getAddrBlockLinear(x, y, width, bpp, 0, block_height);
+      // the address of each pixel in the swizzled data
+      int rowPitch = pitch;
+      int[] map = SwizzleMapCache.getMap("Switch" + tileMode + "_" + block_height, width, height, bpp, () -> {
+        int[] addresses = new int[width * height];
+        int i = 0;
+        for (int y = 0; y < height; y++) {
+          for (int x = 0; x < width; x++) {
+            if (tileMode == 1)
+              addresses[i++] = y * rowPitch + x * bpp;
+            else
+              addresses[i++] = getAddrBlockLinear(x, y, width, bpp, 0, block_height);
+          }
+        }
+        return addresses;
+      });
 
-          pos_ = (y * width + x) * bpp;
+      int maxPos = surfSize;
+      ParallelImageDecoder.decode(height, width, (startRow, endRow) -> {
+        int end = endRow * width;
+        for (int i = startRow * width; i < end; i++) {
+          int pos = map[i];
+          int pos_ = i * bpp;
 
-          if (pos + bpp <= surfSize) {
+          if (pos + bpp <= maxPos) {
             if (toSwizzle == 0)
               System.arraycopy(data, pos, result, pos_, bpp);
             else
               System.arraycopy(data, pos_, result, pos, bpp);
           }
         }
-      }
+      });
+
       return result;
     }
     catch (Throwable t) {
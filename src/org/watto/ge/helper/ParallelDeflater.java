@@ -0,0 +1,256 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+package org.watto.ge.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+
+import org.watto.Settings;
+import org.watto.datatype.Resource;
+import org.watto.ge.plugin.ExporterPlugin;
+
+/**
+**********************************************************************************************
+Block-parallel Deflate compression (in the style of pigz). The input is split into independent
+blocks, and each block is compressed on its own thread, using the last 32KB of the previous
+block as the dictionary. Every block except the last is ended with a SYNC_FLUSH so that it
+finishes on a byte boundary, which lets the compressed blocks be joined together into a single
+valid Deflate (or ZLib) stream.
+**********************************************************************************************
+**/
+public class ParallelDeflater {
+
+  /** The size of each block of input data that is compressed on its own thread **/
+  public static final int BLOCK_SIZE = 128 * 1024;
+
+  /** The maximum size of a Deflate dictionary **/
+  public static final int DICTIONARY_SIZE = 32 * 1024;
+
+  static ExecutorService threadPool = null;
+
+  static int threadCount = 0;
+
+  /**
+  **********************************************************************************************
+  Compresses all the remaining data in the <i>exporter</i> (which must already be open) and
+  writes it to the <i>destination</i>. If <i>zlibWrapper</i> is true, a ZLib header and Adler32
+  trailer are written around the raw Deflate data.
+  **********************************************************************************************
+  **/
+  public static void deflate(ExporterPlugin exporter, OutputStream destination, boolean zlibWrapper) throws IOException {
+    ExecutorService pool = getThreadPool();
+    int maxPending = threadCount * 2;
+
+    Adler32 checksum = null;
+    if (zlibWrapper) {
+      checksum = new Adler32();
+
+      // default compression, no preset dictionary
+      destination.write(0x78);
+      destination.write(0x9C);
+    }
+
+    LinkedList<Future<byte[]>> pending = new LinkedList<Future<byte[]>>();
+
+    byte[] previousBlock = null;
+    int previousLength = 0;
+
+    boolean lastBlock = false;
+    while (!lastBlock) {
+      byte[] block = new byte[BLOCK_SIZE];
+      int blockLength = 0;
+      while (blockLength < BLOCK_SIZE && exporter.available()) {
+        block[blockLength] = (byte) exporter.read();
+        blockLength++;
+      }
+      lastBlock = !exporter.available();
+
+      if (checksum != null) {
+        checksum.update(block, 0, blockLength);
+      }
+
+      pending.add(pool.submit(new BlockCompressor(block, blockLength, previousBlock, previousLength, lastBlock)));
+
+      previousBlock = block;
+      previousLength = blockLength;
+
+      // write out the finished blocks, so we don't hold too much of the file in memory at once
+      while (pending.size() >= maxPending) {
+        destination.write(getBlock(pending.removeFirst()));
+      }
+    }
+
+    while (pending.size() > 0) {
+      destination.write(getBlock(pending.removeFirst()));
+    }
+
+    if (checksum != null) {
+      int adler = (int) checksum.getValue();
+      destination.write(adler >>> 24);
+      destination.write(adler >>> 16);
+      destination.write(adler >>> 8);
+      destination.write(adler);
+    }
+
+    destination.flush();
+  }
+
+  /**
+  **********************************************************************************************
+  Waits for a compressed block to be finished, and returns it
+  **********************************************************************************************
+  **/
+  static byte[] getBlock(Future<byte[]> future) throws IOException {
+    try {
+      return future.get();
+    }
+    catch (Throwable t) {
+      throw new IOException("Failed to compress a block of data", t);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  static synchronized ExecutorService getThreadPool() {
+    if (threadPool == null) {
+      threadCount = Runtime.getRuntime().availableProcessors();
+      if (threadCount < 1) {
+        threadCount = 1;
+      }
+
+      threadPool = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+
+        int threadNumber = 0;
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+          threadNumber++;
+          Thread thread = new Thread(runnable, "ParallelDeflater " + threadNumber);
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return threadPool;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether the <i>source</i> is big enough to be worth compressing over multiple threads. The
+  cut-off size is controlled by the ParallelDeflateThreshold setting.
+  **********************************************************************************************
+  **/
+  public static boolean isWorthwhile(Resource source) {
+    if (Runtime.getRuntime().availableProcessors() < 2) {
+      return false;
+    }
+
+    long threshold = Settings.getLong("ParallelDeflateThreshold");
+    if (threshold <= 0) {
+      return false; // disabled, or the setting doesn't exist
+    }
+
+    return source.getDecompressedLength() >= threshold;
+  }
+
+  /**
+  **********************************************************************************************
+  Compresses a single block of data, primed with the dictionary from the previous block
+  **********************************************************************************************
+  **/
+  static class BlockCompressor implements Callable<byte[]> {
+
+    byte[] block;
+
+    int blockLength;
+
+    byte[] dictionary;
+
+    int dictionaryLength;
+
+    boolean lastBlock;
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public BlockCompressor(byte[] block, int blockLength, byte[] dictionary, int dictionaryLength, boolean lastBlock) {
+      this.block = block;
+      this.blockLength = blockLength;
+      this.dictionary = dictionary;
+      this.dictionaryLength = dictionaryLength;
+      this.lastBlock = lastBlock;
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    @Override
+    public byte[] call() throws Exception {
+      Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+      try {
+        if (dictionary != null && dictionaryLength > 0) {
+          int dictionarySize = dictionaryLength;
+          if (dictionarySize > DICTIONARY_SIZE) {
+            dictionarySize = DICTIONARY_SIZE;
+          }
+          deflater.setDictionary(dictionary, dictionaryLength - dictionarySize, dictionarySize);
+        }
+
+        deflater.setInput(block, 0, blockLength);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(blockLength / 2 + 64);
+        byte[] buffer = new byte[16384];
+
+        if (lastBlock) {
+          deflater.finish();
+          while (!deflater.finished()) {
+            int compLength = deflater.deflate(buffer);
+            output.write(buffer, 0, compLength);
+          }
+        }
+        else {
+          // SYNC_FLUSH ends the block on a byte boundary, without marking it as the final block
+          int compLength = buffer.length;
+          while (compLength == buffer.length || !deflater.needsInput()) {
+            compLength = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            output.write(buffer, 0, compLength);
+          }
+        }
+
+        return output.toByteArray();
+      }
+      finally {
+        deflater.end();
+      }
+    }
+  }
+
+}
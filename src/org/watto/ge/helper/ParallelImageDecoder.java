@@ -0,0 +1,152 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.helper;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.watto.Settings;
+
+/**
+**********************************************************************************************
+Splits the decoding of a large image into bands of rows, and decodes the bands in parallel on
+a fork-join pool. Small images (below the ParallelImageDecodeThreshold setting) are decoded on
+the calling thread, as the overhead isn't worth it.
+**********************************************************************************************
+**/
+public class ParallelImageDecoder {
+
+  /**
+  **********************************************************************************************
+  Decodes a band of rows of an image. Each call gets its own band, so any scratch arrays should
+  be allocated inside decodeRows() rather than shared between calls.
+  **********************************************************************************************
+  **/
+  public interface RowDecoder {
+
+    /** Decodes the rows from <i>startRow</i> (inclusive) to <i>endRow</i> (exclusive) **/
+    public void decodeRows(int startRow, int endRow);
+  }
+
+  /** The smallest number of pixels that are worth giving to a thread on their own **/
+  public static final int MIN_BAND_PIXELS = 64 * 1024;
+
+  static ForkJoinPool threadPool = null;
+
+  /**
+  **********************************************************************************************
+  Decodes all the <i>numRows</i> rows of an image, where each row contains <i>pixelsPerRow</i>
+  pixels. For block-compressed formats, a "row" is a row of 4x4 blocks, so <i>pixelsPerRow</i>
+  would be width*4.
+  **********************************************************************************************
+  **/
+  public static void decode(int numRows, int pixelsPerRow, RowDecoder decoder) {
+    if (numRows <= 0) {
+      return;
+    }
+
+    if (!isWorthwhile((long) numRows * pixelsPerRow)) {
+      decoder.decodeRows(0, numRows);
+      return;
+    }
+
+    int minRows = MIN_BAND_PIXELS / Math.max(1, pixelsPerRow);
+    if (minRows < 1) {
+      minRows = 1;
+    }
+
+    getThreadPool().invoke(new BandDecoder(decoder, 0, numRows, minRows));
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  static synchronized ForkJoinPool getThreadPool() {
+    if (threadPool == null) {
+      threadPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+    return threadPool;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether an image with <i>numPixels</i> is big enough to be worth decoding over multiple
+  threads. The cut-off size is controlled by the ParallelImageDecodeThreshold setting.
+  **********************************************************************************************
+  **/
+  public static boolean isWorthwhile(long numPixels) {
+    if (Runtime.getRuntime().availableProcessors() < 2) {
+      return false;
+    }
+
+    long threshold = Settings.getLong("ParallelImageDecodeThreshold");
+    if (threshold <= 0) {
+      return false; // disabled, or the setting doesn't exist
+    }
+
+    return numPixels >= threshold;
+  }
+
+  /**
+  **********************************************************************************************
+  Keeps splitting the rows in half until the bands are small enough, then decodes each band
+  **********************************************************************************************
+  **/
+  static class BandDecoder extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    RowDecoder decoder;
+
+    int startRow;
+
+    int endRow;
+
+    int minRows;
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public BandDecoder(RowDecoder decoder, int startRow, int endRow, int minRows) {
+      this.decoder = decoder;
+      this.startRow = startRow;
+      this.endRow = endRow;
+      this.minRows = minRows;
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    @Override
+    protected void compute() {
+      int numRows = endRow - startRow;
+      if (numRows <= minRows * 2) {
+        decoder.decodeRows(startRow, endRow);
+        return;
+      }
+
+      int middleRow = startRow + numRows / 2;
+      invokeAll(new BandDecoder(decoder, startRow, middleRow, minRows), new BandDecoder(decoder, middleRow, endRow, minRows));
+    }
+  }
+
+}
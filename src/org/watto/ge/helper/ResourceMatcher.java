@@ -0,0 +1,327 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.helper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.watto.ErrorLogger;
+import org.watto.Settings;
+import org.watto.component.WSTableColumn;
+import org.watto.datatype.Archive;
+import org.watto.datatype.Resource;
+import org.watto.ge.plugin.ArchivePlugin;
+import org.watto.ge.plugin.resource.Resource_Property;
+import org.watto.task.TaskScheduler;
+
+/**
+**********************************************************************************************
+Matches Resources against a search value, in any of the given columns. This is used for both
+searching and filtering the file list. Everything that can be worked out from the search value
+(such as the regular expression, or the lower-case value for a plain search) is prepared once
+when this is created, rather than for each Resource.
+**********************************************************************************************
+**/
+public class ResourceMatcher {
+
+  /** The number of Resources that are matched by each thread, for large file lists **/
+  static final int CHUNK_SIZE = 4096;
+
+  WSTableColumn[] columns;
+
+  ArchivePlugin readPlugin;
+
+  String searchValue;
+
+  /** For plain searches, which ignore the case **/
+  String searchValueLowerCase;
+
+  /** For regex and wildcard searches. Null for plain searches. **/
+  Pattern pattern = null;
+
+  /** If the regex is invalid, String columns can't match anything **/
+  boolean invalidPattern = false;
+
+  boolean isNumber = false;
+
+  long searchValueNumber = -1;
+
+  boolean isBoolean = false;
+
+  boolean searchValueBoolean = true;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public ResourceMatcher(String searchValue, WSTableColumn[] columns) {
+    this.searchValue = searchValue;
+    this.columns = columns;
+    this.readPlugin = Archive.getReadPlugin();
+
+    searchValueLowerCase = searchValue.toLowerCase();
+
+    try {
+      searchValueNumber = Long.parseLong(searchValue);
+      isNumber = true;
+    }
+    catch (Throwable t) {
+    }
+
+    if (searchValue.equals("true")) {
+      isBoolean = true;
+      searchValueBoolean = true;
+    }
+    else if (searchValue.equals("false")) {
+      isBoolean = true;
+      searchValueBoolean = false;
+    }
+
+    boolean regexSearch = false;
+
+    String regex = searchValue;
+    if (Settings.getBoolean("SearchWildcardConversion")) {
+      regex = searchValue.replace("*", "(.*)");
+      regexSearch = true;
+    }
+
+    if (Settings.getBoolean("SearchRegExConversion")) {
+      regexSearch = true;
+    }
+
+    if (regexSearch) {
+      try {
+        pattern = Pattern.compile(regex);
+      }
+      catch (Throwable t) {
+        invalidPattern = true;
+      }
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public WSTableColumn[] getColumns() {
+    return columns;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public String getSearchValue() {
+    return searchValue;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether this matches the same columns as the <i>previous</i> matcher, and only ever matches
+  Resources that the <i>previous</i> matcher also matches. This is true when more text is
+  typed onto the end of a plain search, so the previous matches can be filtered further instead
+  of searching through every Resource again.
+  **********************************************************************************************
+  **/
+  public boolean isNarrowerThan(ResourceMatcher previous) {
+    if (previous == null) {
+      return false;
+    }
+
+    // only plain searches can be narrowed. If this is a number or boolean, it can match other
+    // columns that the previous value didn't.
+    if (pattern != null || invalidPattern || isNumber || isBoolean) {
+      return false;
+    }
+    if (previous.pattern != null || previous.invalidPattern) {
+      return false;
+    }
+    if (readPlugin != previous.readPlugin) {
+      return false;
+    }
+
+    if (columns.length != previous.columns.length) {
+      return false;
+    }
+    for (int c = 0; c < columns.length; c++) {
+      if (columns[c].getCharCode() != previous.columns[c].getCharCode()) {
+        return false;
+      }
+    }
+
+    return searchValueLowerCase.indexOf(previous.searchValueLowerCase) >= 0;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether the <i>resource</i> matches in any of the columns. The <i>matcher</i> comes from
+  <code>newMatcher()</code>, and can be re-used for every Resource on the same thread.
+  **********************************************************************************************
+  **/
+  @SuppressWarnings("rawtypes")
+  public boolean matches(Resource resource, Matcher matcher) {
+    int numColumns = columns.length;
+    for (int c = 0; c < numColumns; c++) {
+      WSTableColumn column = columns[c];
+      Class type = column.getType();
+      char columnChar = column.getCharCode();
+
+      try {
+        if (type == String.class) {
+          if (invalidPattern) {
+            continue;
+          }
+
+          if (pattern != null) { // regex
+            String value = (String) readPlugin.getColumnValue(resource, columnChar);
+            if (value != null && matcher.reset(value).matches()) {
+              return true;
+            }
+          }
+          else { // literal
+            String value;
+            if (columnChar == 'P' && !(resource instanceof Resource_Property)) {
+              value = resource.getNameLowerCase();
+            }
+            else {
+              value = (String) readPlugin.getColumnValue(resource, columnChar);
+              if (value != null) {
+                value = value.toLowerCase();
+              }
+            }
+            if (value != null && value.indexOf(searchValueLowerCase) >= 0) {
+              return true;
+            }
+          }
+        }
+        else if (isNumber && type == Long.class) {
+          if (((Long) readPlugin.getColumnValue(resource, columnChar)).longValue() == searchValueNumber) {
+            return true;
+          }
+        }
+        else if (isBoolean && type == Boolean.class) {
+          if (((Boolean) readPlugin.getColumnValue(resource, columnChar)).booleanValue() == searchValueBoolean) {
+            return true;
+          }
+        }
+      }
+      catch (Throwable t) {
+        // couldn't get the value for this column - treat it as not matching
+      }
+    }
+    return false;
+  }
+
+  /**
+  **********************************************************************************************
+  Finds which of the <i>resources</i> match. If <i>candidates</i> isn't null, only the Resources
+  that are <b>true</b> in <i>candidates</i> are checked. Large lists are split across multiple
+  threads, controlled by the FileListFilterParallelThreshold setting.
+  @return whether each Resource matched
+  **********************************************************************************************
+  **/
+  public boolean[] matchAll(final Resource[] resources, final boolean[] candidates) {
+    final int numResources = resources.length;
+    final boolean[] matched = new boolean[numResources];
+
+    long threshold = Settings.getLong("FileListFilterParallelThreshold");
+    int numThreads = Runtime.getRuntime().availableProcessors();
+
+    if (threshold <= 0 || numResources < threshold || numThreads < 2) {
+      matchRange(resources, candidates, matched, 0, numResources);
+      return matched;
+    }
+
+    // Split the resources into chunks. The helper threads and this thread all take chunks until
+    // there are none left, so this still finishes (on this thread) even if the pool is busy.
+    final int numChunks = (numResources + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final AtomicInteger nextChunk = new AtomicInteger(0);
+    final CountDownLatch chunksDone = new CountDownLatch(numChunks);
+
+    Runnable chunkMatcher = new Runnable() {
+
+      @Override
+      public void run() {
+        int chunk = nextChunk.getAndIncrement();
+        while (chunk < numChunks) {
+          try {
+            int start = chunk * CHUNK_SIZE;
+            matchRange(resources, candidates, matched, start, Math.min(start + CHUNK_SIZE, numResources));
+          }
+          catch (Throwable t) {
+            ErrorLogger.log(t);
+          }
+          finally {
+            chunksDone.countDown();
+          }
+          chunk = nextChunk.getAndIncrement();
+        }
+      }
+    };
+
+    int numHelpers = Math.min(numThreads, numChunks) - 1;
+    for (int i = 0; i < numHelpers; i++) {
+      TaskScheduler.submit(TaskScheduler.POOL_DECODE, TaskScheduler.PRIORITY_HIGH, chunkMatcher);
+    }
+    chunkMatcher.run();
+
+    try {
+      chunksDone.await();
+    }
+    catch (InterruptedException e) {
+      ErrorLogger.log(e);
+    }
+
+    return matched;
+  }
+
+  /**
+  **********************************************************************************************
+  Matches the <i>resources</i> from <i>start</i> up to (but not including) <i>end</i>
+  **********************************************************************************************
+  **/
+  void matchRange(Resource[] resources, boolean[] candidates, boolean[] matched, int start, int end) {
+    Matcher matcher = newMatcher();
+    for (int i = start; i < end; i++) {
+      if (candidates != null && !candidates[i]) {
+        continue;
+      }
+      Resource resource = resources[i];
+      if (resource != null && matches(resource, matcher)) {
+        matched[i] = true;
+      }
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Creates a <code>Matcher</code> for a single thread to use with <code>matches()</code>. Returns
+  null for plain searches, which don't need one.
+  **********************************************************************************************
+  **/
+  public Matcher newMatcher() {
+    if (pattern == null) {
+      return null;
+    }
+    return pattern.matcher("");
+  }
+
+}
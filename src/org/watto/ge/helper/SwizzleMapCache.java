@@ -0,0 +1,147 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.helper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.watto.Settings;
+
+/**
+**********************************************************************************************
+A size-bounded LRU cache of swizzle maps. A swizzle map is a table of where each pixel (or block)
+of an image comes from in the swizzled data, so once it has been built, un-swizzling an image is
+just a single gather loop. Archives for consoles tend to have thousands of images with only a
+few different sizes, so the same maps are used over and over. The size of the cache is set by
+the SwizzleMapCacheSize setting (in bytes).
+**********************************************************************************************
+**/
+public class SwizzleMapCache {
+
+  /**
+  **********************************************************************************************
+  Builds a swizzle map, if it isn't already in the cache
+  **********************************************************************************************
+  **/
+  public interface MapBuilder {
+
+    public int[] buildMap();
+  }
+
+  /** Access-ordered, so the first entry is always the least recently used **/
+  static LinkedHashMap<String, int[]> maps = new LinkedHashMap<String, int[]>(32, 0.75f, true);
+
+  static long cacheSize = 0;
+
+  static long maxCacheSize = -1;
+
+  /**
+  **********************************************************************************************
+  Removes all the maps from the cache
+  **********************************************************************************************
+  **/
+  public static synchronized void clear() {
+    maps.clear();
+    cacheSize = 0;
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the swizzle map for the <i>format</i>, <i>width</i>, <i>height</i> and <i>blockSize</i>,
+  building it with the <i>builder</i> if it isn't in the cache. The maps are shared, so they must
+  not be changed by the caller.
+  **********************************************************************************************
+  **/
+  public static int[] getMap(String format, int width, int height, int blockSize, MapBuilder builder) {
+    String key = format + '|' + width + '|' + height + '|' + blockSize;
+
+    synchronized (SwizzleMapCache.class) {
+      int[] map = maps.get(key);
+      if (map != null) {
+        return map;
+      }
+    }
+
+    // build the map outside the lock, so other threads can still use the cache in the meantime
+    int[] map = builder.buildMap();
+
+    synchronized (SwizzleMapCache.class) {
+      long mapSize = (long) map.length * 4;
+      long maxSize = getMaxCacheSize();
+      if (mapSize <= maxSize) {
+        int[] oldMap = maps.put(key, map);
+        if (oldMap != null) {
+          cacheSize -= (long) oldMap.length * 4;
+        }
+        cacheSize += mapSize;
+
+        trimToSize(maxSize);
+      }
+    }
+
+    return map;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getCacheSize() {
+    return cacheSize;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getMaxCacheSize() {
+    if (maxCacheSize < 0) {
+      maxCacheSize = Settings.getLong("SwizzleMapCacheSize");
+      if (maxCacheSize < 0) {
+        maxCacheSize = 0; // the setting doesn't exist, so turn off the cache
+      }
+    }
+    return maxCacheSize;
+  }
+
+  /**
+  **********************************************************************************************
+  Changes the maximum size of the cache (in bytes), removing maps if it's now too big
+  **********************************************************************************************
+  **/
+  public static synchronized void setMaxCacheSize(long size) {
+    maxCacheSize = size;
+    trimToSize(size);
+  }
+
+  /**
+  **********************************************************************************************
+  Removes the least recently used maps until the cache is no bigger than <i>maxSize</i>
+  **********************************************************************************************
+  **/
+  static void trimToSize(long maxSize) {
+    Iterator<Map.Entry<String, int[]>> iterator = maps.entrySet().iterator();
+    while (cacheSize > maxSize && iterator.hasNext()) {
+      Map.Entry<String, int[]> eldest = iterator.next();
+      cacheSize -= (long) eldest.getValue().length * 4;
+      iterator.remove();
+    }
+  }
+
+}
@@ -0,0 +1,549 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.watto.ErrorLogger;
+import org.watto.Settings;
+import org.watto.datatype.Archive;
+import org.watto.datatype.BlankImageResource;
+import org.watto.datatype.ImageResource;
+import org.watto.datatype.Resource;
+import org.watto.ge.plugin.ExporterPlugin;
+
+/**
+**********************************************************************************************
+A persistent store of the thumbnails generated for each archive, so they don't need to be
+extracted and decoded again the next time the archive is opened. Each archive has a packed data
+file (*.dat) of Deflate-compressed thumbnail pixels, and an index file (*.idx) that is appended
+to as each thumbnail is written. The index starts with the path, modified time and length of the
+archive, so the whole store is thrown away if the archive changes. Each thumbnail is keyed by
+the source file, offset, lengths and exporter of the Resource, and the thumbnail size.
+<br><br>
+Only real thumbnails are stored. Files that no ViewerPlugin could read aren't, so they're tried
+again once a newer plugin (or different settings) might read them. Thumbnails are written on a
+background thread, and should only be read from a background thread too, as get() reads from
+disk. The store is turned on by the ThumbnailDiskCache setting, and lives in the
+ThumbnailCacheDirectory, which keeps the stores for up to ThumbnailDiskCacheMaxArchives archives.
+**********************************************************************************************
+**/
+public class ThumbnailDiskCache {
+
+  /** Written at the start of the index file, so we can detect old or invalid stores **/
+  static final String INDEX_HEADER = "GameExtractor Thumbnail Index 2";
+
+  /** The archive that the open store belongs to **/
+  static File archiveFile = null;
+
+  /** The key of each thumbnail, and its {offset,length} in the data file **/
+  static HashMap<String, long[]> index = new HashMap<String, long[]>();
+
+  static RandomAccessFile indexFile = null;
+
+  static RandomAccessFile dataFile = null;
+
+  /** The modified time of each source file, so we don't need to ask the file system every time **/
+  static HashMap<File, Long> sourceModifiedTimes = new HashMap<File, Long>();
+
+  static ExecutorService writer = null;
+
+  static long hits = 0;
+
+  static long misses = 0;
+
+  /**
+  **********************************************************************************************
+  Closes the open store (if any), so that it can be re-opened for a different archive
+  **********************************************************************************************
+  **/
+  public static synchronized void close() {
+    try {
+      if (indexFile != null) {
+        indexFile.close();
+      }
+      if (dataFile != null) {
+        dataFile.close();
+      }
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+    }
+
+    indexFile = null;
+    dataFile = null;
+    archiveFile = null;
+    index.clear();
+    sourceModifiedTimes.clear();
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the thumbnail for the <i>resource</i> from the store, or null if it isn't in the store.
+  This reads from disk, so don't call it from the Swing Event Dispatch Thread.
+  **********************************************************************************************
+  **/
+  public static synchronized ImageResource get(Resource resource) {
+    if (!openStore()) {
+      return null;
+    }
+
+    String key = getKey(resource);
+    if (key == null) {
+      return null;
+    }
+
+    long[] entry = index.get(key);
+    if (entry == null) {
+      misses++;
+      return null;
+    }
+
+    try {
+      byte[] compData = new byte[(int) entry[1]];
+      dataFile.seek(entry[0]);
+      dataFile.readFully(compData);
+
+      ImageResource imageResource = unpackThumbnail(resource, compData);
+      if (imageResource != null) {
+        hits++;
+        return imageResource;
+      }
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+    }
+
+    // the entry is broken, so forget about it, and generate the thumbnail again
+    index.remove(key);
+    misses++;
+    return null;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getHitCount() {
+    return hits;
+  }
+
+  /**
+  **********************************************************************************************
+  Builds the key for the thumbnail of a <i>resource</i>, or null if it can't be stored
+  **********************************************************************************************
+  **/
+  static String getKey(Resource resource) {
+    File source = resource.getSource();
+    if (source == null) {
+      return null;
+    }
+
+    Long modifiedTime = sourceModifiedTimes.get(source);
+    if (modifiedTime == null) {
+      modifiedTime = source.lastModified();
+      sourceModifiedTimes.put(source, modifiedTime);
+    }
+
+    String exporterName = "";
+    ExporterPlugin exporter = resource.getExporter();
+    if (exporter != null) {
+      exporterName = exporter.getClass().getName();
+    }
+
+    String thumbnailType = ImageResource.DEFAULT_THUMBNAIL_SIZE + (Settings.getBoolean("HighQualityThumbnails") ? "h" : "") + (Settings.getBoolean("UpscaleSmallThumbnails") ? "u" : "");
+
+    return source.getAbsolutePath() + '|' + modifiedTime + '|' + resource.getOffset() + '|' + resource.getLength() + '|' + resource.getDecompressedLength() + '|' + exporterName + '|' + resource.getName() + '|' + thumbnailType;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getMissCount() {
+    return misses;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static synchronized ExecutorService getWriter() {
+    if (writer == null) {
+      writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "ThumbnailDiskCache");
+          thread.setDaemon(true);
+          thread.setPriority(Thread.MIN_PRIORITY);
+          return thread;
+        }
+      });
+    }
+    return writer;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether the store is turned on, by the ThumbnailDiskCache setting
+  **********************************************************************************************
+  **/
+  public static boolean isEnabled() {
+    return Settings.getBoolean("ThumbnailDiskCache");
+  }
+
+  /**
+  **********************************************************************************************
+  Makes sure the store for the current archive is open, opening (or creating) it if the archive
+  has changed. Returns false if there's no store to use.
+  **********************************************************************************************
+  **/
+  static boolean openStore() {
+    if (!isEnabled()) {
+      return false;
+    }
+
+    File currentArchive = Archive.getBasePath();
+    if (currentArchive == null || !currentArchive.isFile()) {
+      close();
+      return false;
+    }
+
+    if (dataFile != null && currentArchive.equals(archiveFile)) {
+      return true; // already open
+    }
+
+    close();
+
+    try {
+      File directory = new File(new File(Settings.getString("ThumbnailCacheDirectory")).getAbsolutePath());
+      if (!directory.exists()) {
+        directory.mkdirs();
+      }
+
+      String storeName = Integer.toHexString(currentArchive.getAbsolutePath().hashCode()) + "_" + currentArchive.getName().replaceAll("[^A-Za-z0-9._-]", "_");
+      File indexPath = new File(directory, storeName + ".idx");
+      File dataPath = new File(directory, storeName + ".dat");
+
+      String archiveHeader = currentArchive.getAbsolutePath() + '|' + currentArchive.lastModified() + '|' + currentArchive.length();
+
+      // read the existing index, if it's for this version of the archive
+      long validIndexLength = 0;
+      if (indexPath.exists() && dataPath.exists()) {
+        validIndexLength = readIndex(indexPath, archiveHeader, dataPath.length());
+      }
+
+      if (validIndexLength <= 0) {
+        // new (or changed) archive - start a new store
+        index.clear();
+        indexPath.delete();
+        dataPath.delete();
+        removeOldStores(directory);
+      }
+
+      indexFile = new RandomAccessFile(indexPath, "rw");
+      dataFile = new RandomAccessFile(dataPath, "rw");
+
+      if (validIndexLength <= 0) {
+        indexFile.setLength(0);
+        dataFile.setLength(0);
+        indexFile.writeUTF(INDEX_HEADER);
+        indexFile.writeUTF(archiveHeader);
+      }
+      else {
+        // cut off anything at the end of the index that wasn't completely written
+        indexFile.setLength(validIndexLength);
+      }
+      indexFile.seek(indexFile.length());
+
+      // touch the store, so the most recently used stores are kept
+      indexPath.setLastModified(System.currentTimeMillis());
+
+      archiveFile = currentArchive;
+      return true;
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+      close();
+      return false;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Compresses the pixels of a thumbnail. The format is [width][height][compressed ARGB pixels]
+  **********************************************************************************************
+  **/
+  static byte[] packThumbnail(ImageResource imageResource) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+
+    int width = imageResource.getWidth();
+    int height = imageResource.getHeight();
+    int[] pixels = imageResource.getImagePixels();
+    if (pixels == null || width <= 0 || height <= 0 || pixels.length < width * height) {
+      return null;
+    }
+
+    output.writeInt(width);
+    output.writeInt(height);
+
+    int numPixels = width * height;
+    byte[] pixelBytes = new byte[numPixels * 4];
+    for (int i = 0, j = 0; i < numPixels; i++, j += 4) {
+      int pixel = pixels[i];
+      pixelBytes[j] = (byte) (pixel >> 24);
+      pixelBytes[j + 1] = (byte) (pixel >> 16);
+      pixelBytes[j + 2] = (byte) (pixel >> 8);
+      pixelBytes[j + 3] = (byte) pixel;
+    }
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(pixelBytes);
+      deflater.finish();
+
+      byte[] buffer = new byte[16384];
+      while (!deflater.finished()) {
+        int compLength = deflater.deflate(buffer);
+        output.write(buffer, 0, compLength);
+      }
+    }
+    finally {
+      deflater.end();
+    }
+
+    output.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+  **********************************************************************************************
+  Stores the thumbnail for the <i>resource</i>. The thumbnail is compressed and written on a
+  background thread. If <i>imageResource</i> is null or a <code>BlankImageResource</code>,
+  nothing is stored.
+  **********************************************************************************************
+  **/
+  public static void put(final Resource resource, final ImageResource imageResource) {
+    if (imageResource == null || imageResource instanceof BlankImageResource) {
+      return;
+    }
+
+    final String key;
+    final File storeArchive;
+    synchronized (ThumbnailDiskCache.class) {
+      if (!openStore()) {
+        return;
+      }
+      key = getKey(resource);
+      if (key == null || index.containsKey(key)) {
+        return;
+      }
+      storeArchive = archiveFile;
+    }
+
+    getWriter().submit(new Runnable() {
+
+      @Override
+      public void run() {
+        try {
+          byte[] compData = packThumbnail(imageResource);
+          if (compData == null) {
+            return;
+          }
+
+          synchronized (ThumbnailDiskCache.class) {
+            if (dataFile == null || !storeArchive.equals(archiveFile) || index.containsKey(key)) {
+              return; // a different archive has been opened since
+            }
+
+            long offset = dataFile.length();
+            dataFile.seek(offset);
+            dataFile.write(compData);
+
+            // the data is written before the index entry, so the index never points past the end of the data
+            indexFile.writeUTF(key);
+            indexFile.writeLong(offset);
+            indexFile.writeInt(compData.length);
+
+            index.put(key, new long[] { offset, compData.length });
+          }
+        }
+        catch (Throwable t) {
+          ErrorLogger.log(t);
+        }
+      }
+    });
+  }
+
+  /**
+  **********************************************************************************************
+  Reads the index file into the <i>index</i>, if it belongs to the archive described by the
+  <i>archiveHeader</i>. Returns the length of the index that was read successfully, or 0 if the
+  index can't be used.
+  **********************************************************************************************
+  **/
+  static long readIndex(File indexPath, String archiveHeader, long dataLength) {
+    index.clear();
+
+    try {
+      byte[] indexBytes = Files.readAllBytes(indexPath.toPath());
+      ByteArrayInputStream bytes = new ByteArrayInputStream(indexBytes);
+      DataInputStream input = new DataInputStream(bytes);
+
+      if (!INDEX_HEADER.equals(input.readUTF()) || !archiveHeader.equals(input.readUTF())) {
+        return 0;
+      }
+
+      long validLength = indexBytes.length - bytes.available();
+
+      try {
+        while (true) {
+          String key = input.readUTF();
+          long offset = input.readLong();
+          int length = input.readInt();
+
+          if (offset < 0 || length < 0 || offset + length > dataLength) {
+            break; // the data for this entry wasn't completely written
+          }
+
+          index.put(key, new long[] { offset, length });
+          validLength = indexBytes.length - bytes.available();
+        }
+      }
+      catch (EOFException e) {
+        // end of the index, or an entry that wasn't completely written
+      }
+
+      return validLength;
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+      index.clear();
+      return 0;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Removes the least recently used stores, so there is room for a new one
+  **********************************************************************************************
+  **/
+  static void removeOldStores(File directory) {
+    int maxArchives = Settings.getInt("ThumbnailDiskCacheMaxArchives");
+    if (maxArchives <= 0) {
+      return;
+    }
+
+    File[] indexFiles = directory.listFiles(new FilenameFilter() {
+
+      @Override
+      public boolean accept(File dir, String name) {
+        return name.endsWith(".idx");
+      }
+    });
+    if (indexFiles == null || indexFiles.length < maxArchives) {
+      return;
+    }
+
+    // oldest first
+    Arrays.sort(indexFiles, new Comparator<File>() {
+
+      @Override
+      public int compare(File file1, File file2) {
+        return Long.compare(file1.lastModified(), file2.lastModified());
+      }
+    });
+
+    for (int i = 0; i <= indexFiles.length - maxArchives; i++) {
+      String path = indexFiles[i].getAbsolutePath();
+      indexFiles[i].delete();
+      new File(path.substring(0, path.length() - 4) + ".dat").delete();
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Builds the thumbnail from its stored data
+  **********************************************************************************************
+  **/
+  static ImageResource unpackThumbnail(Resource resource, byte[] compData) throws DataFormatException {
+    if (compData.length < 8) {
+      return null;
+    }
+
+    int width = ((compData[0] & 255) << 24) | ((compData[1] & 255) << 16) | ((compData[2] & 255) << 8) | (compData[3] & 255);
+    int height = ((compData[4] & 255) << 24) | ((compData[5] & 255) << 16) | ((compData[6] & 255) << 8) | (compData[7] & 255);
+
+    if (width <= 0 || height <= 0 || width > 4096 || height > 4096) {
+      return null;
+    }
+
+    int numPixels = width * height;
+    byte[] pixelBytes = new byte[numPixels * 4];
+
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compData, 8, compData.length - 8);
+      int decompLength = 0;
+      while (decompLength < pixelBytes.length && !inflater.finished()) {
+        int read = inflater.inflate(pixelBytes, decompLength, pixelBytes.length - decompLength);
+        if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        decompLength += read;
+      }
+      if (decompLength < pixelBytes.length) {
+        return null;
+      }
+    }
+    finally {
+      inflater.end();
+    }
+
+    int[] pixels = new int[numPixels];
+    for (int i = 0, j = 0; i < numPixels; i++, j += 4) {
+      pixels[i] = ((pixelBytes[j] & 255) << 24) | ((pixelBytes[j + 1] & 255) << 16) | ((pixelBytes[j + 2] & 255) << 8) | (pixelBytes[j + 3] & 255);
+    }
+
+    ImageResource imageResource = new ImageResource(resource, pixels, width, height);
+    imageResource.shrinkToThumbnail(); // already thumbnail-sized, so this just marks it as a thumbnail
+    return imageResource;
+  }
+
+}
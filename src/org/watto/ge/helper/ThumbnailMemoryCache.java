@@ -0,0 +1,224 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.helper;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.watto.Settings;
+import org.watto.datatype.BlankImageResource;
+import org.watto.datatype.ImageResource;
+import org.watto.datatype.Resource;
+
+/**
+**********************************************************************************************
+Limits the memory used by the thumbnails in the thumbnail view. The thumbnails are stored on
+each Resource, so without this, every thumbnail that was ever shown would stay in memory until
+the archive is closed. The thumbnails are kept in least-recently-shown order, and when they use
+more than the ThumbnailMemoryBudget, the oldest ones are removed from their Resources. The
+thumbnails currently on screen (plus a margin either side) are never removed.
+<br /><br />
+Removed thumbnails are kept in a soft cache (limited by ThumbnailSoftCacheSize), so if they're
+shown again before Java needs the memory back, they don't need to be loaded again. Otherwise
+they come back from the ThumbnailDiskCache, or are generated again.
+<br /><br />
+Only thumbnails added via <code>add()</code> are managed - thumbnails that plugins set on the
+Resources themselves are left alone.
+**********************************************************************************************
+**/
+public class ThumbnailMemoryCache {
+
+  /** The thumbnails that are currently set on their Resources, in least-recently-shown order **/
+  static LinkedHashMap<Resource, ImageResource> thumbnails = new LinkedHashMap<Resource, ImageResource>(256, 0.75f, true);
+
+  /** The approximate memory used by the <code>thumbnails</code> **/
+  static long memoryUsed = 0;
+
+  /** The thumbnails that have been removed from their Resources, until Java needs the memory back **/
+  static LinkedHashMap<Resource, SoftReference<ImageResource>> softCache = new LinkedHashMap<Resource, SoftReference<ImageResource>>(256, 0.75f, true) {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Resource, SoftReference<ImageResource>> eldest) {
+      return size() > Settings.getInt("ThumbnailSoftCacheSize");
+    }
+  };
+
+  /** The most recently shown thumbnails that must be kept, such as the ones on screen **/
+  static int minimumCount = 0;
+
+  /**
+  **********************************************************************************************
+  Records that the <i>thumbnail</i> has been set on the <i>resource</i>, and removes the oldest
+  thumbnails if the memory budget has been exceeded
+  **********************************************************************************************
+  **/
+  public static synchronized void add(Resource resource, ImageResource thumbnail) {
+    if (thumbnail == null || thumbnail instanceof BlankImageResource || !isEnabled()) {
+      return;
+    }
+
+    ImageResource previous = thumbnails.put(resource, thumbnail);
+    if (previous != null) {
+      memoryUsed -= getMemorySize(previous);
+    }
+    memoryUsed += getMemorySize(thumbnail);
+    softCache.remove(resource);
+
+    trim();
+  }
+
+  /**
+  **********************************************************************************************
+  Forgets all the thumbnails, such as when a different archive is opened
+  **********************************************************************************************
+  **/
+  public static synchronized void clear() {
+    thumbnails.clear();
+    softCache.clear();
+    memoryUsed = 0;
+  }
+
+  /**
+  **********************************************************************************************
+  The approximate memory used by a thumbnail, in bytes
+  **********************************************************************************************
+  **/
+  static long getMemorySize(ImageResource thumbnail) {
+    long size = (long) thumbnail.getWidth() * thumbnail.getHeight() * 4;
+    if (size <= 0) {
+      size = 1024;
+    }
+    return size;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getMemoryUsed() {
+    return memoryUsed;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether the thumbnail memory is being limited. Controlled by the ThumbnailMemoryBudget setting.
+  **********************************************************************************************
+  **/
+  public static boolean isEnabled() {
+    return Settings.getLong("ThumbnailMemoryBudget") > 0;
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the thumbnail for the <i>resource</i> back from the soft cache, if Java hasn't needed the
+  memory for something else. If found, it's set back on the <i>resource</i>.
+  @return the thumbnail, or null if it's not in the soft cache
+  **********************************************************************************************
+  **/
+  public static synchronized ImageResource recover(Resource resource) {
+    SoftReference<ImageResource> reference = softCache.remove(resource);
+    if (reference == null) {
+      return null;
+    }
+
+    ImageResource thumbnail = reference.get();
+    if (thumbnail == null) {
+      return null;
+    }
+
+    resource.setImageResource(thumbnail);
+    add(resource, thumbnail);
+    return thumbnail;
+  }
+
+  /**
+  **********************************************************************************************
+  Sets the number of most recently shown thumbnails that must never be removed. This should be
+  the number of cells on screen, plus the prefetch margin.
+  **********************************************************************************************
+  **/
+  public static synchronized void setMinimumCount(int count) {
+    minimumCount = count;
+  }
+
+  /**
+  **********************************************************************************************
+  Records that the thumbnail for the <i>resource</i> has just been shown, so it's the last one
+  to be removed
+  **********************************************************************************************
+  **/
+  public static synchronized void touch(Resource resource) {
+    thumbnails.get(resource); // the map is in access order, so this moves it to the end
+  }
+
+  /**
+  **********************************************************************************************
+  Removes the least-recently-shown thumbnails from their Resources, until the memory used is
+  within the ThumbnailMemoryBudget
+  **********************************************************************************************
+  **/
+  static void trim() {
+    long budget = Settings.getLong("ThumbnailMemoryBudget");
+    if (budget <= 0) {
+      return;
+    }
+
+    trimToSize(budget);
+  }
+
+  /**
+  **********************************************************************************************
+  Removes the least-recently-shown thumbnails to free up (roughly) <i>bytes</i> of memory, such as
+  when the MemoryBudget is running out. The thumbnails on screen are still kept.
+  @return the memory that was freed
+  **********************************************************************************************
+  **/
+  public static synchronized long evict(long bytes) {
+    long before = memoryUsed;
+    trimToSize(memoryUsed - bytes);
+    return before - memoryUsed;
+  }
+
+  /**
+  **********************************************************************************************
+  Removes the least-recently-shown thumbnails from their Resources, until the memory used is no
+  more than <i>size</i>
+  **********************************************************************************************
+  **/
+  static void trimToSize(long size) {
+    Iterator<Map.Entry<Resource, ImageResource>> iterator = thumbnails.entrySet().iterator();
+    while (memoryUsed > size && thumbnails.size() > minimumCount && iterator.hasNext()) {
+      Map.Entry<Resource, ImageResource> entry = iterator.next();
+      Resource resource = entry.getKey();
+      ImageResource thumbnail = entry.getValue();
+      iterator.remove();
+      memoryUsed -= getMemorySize(thumbnail);
+
+      if (resource.getImageResource() == thumbnail) {
+        // only remove it if it hasn't been replaced by something else in the meantime
+        resource.setImageResource(null);
+        softCache.put(resource, new SoftReference<ImageResource>(thumbnail));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,355 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+package org.watto.ge.helper;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.watto.ErrorLogger;
+import org.watto.Settings;
+import org.watto.datatype.Archive;
+import org.watto.datatype.Resource;
+import org.watto.ge.plugin.ArchivePlugin;
+import org.watto.ge.plugin.PluginFinder;
+import org.watto.ge.plugin.RatedPlugin;
+import org.watto.ge.plugin.ViewerPlugin;
+import org.watto.io.FileManipulator;
+import org.watto.io.FilenameSplitter;
+
+/**
+**********************************************************************************************
+Remembers which ViewerPlugins can open each file, so that <code>getMatchRating()</code> doesn't
+need to be run on every ViewerPlugin each time the same file is previewed, thumbnailed, analysed
+or converted. The results are already sorted, best match first.
+<br /><br />
+Files in the archive are remembered by their Resource, for as long as the Resource still has the
+same name, source and length. Other files (such as those found when analysing a directory) are
+remembered by their extension, length, and a checksum of the start of the file. The number of
+files remembered is set by the ViewerPluginCacheSize setting (0 to disable).
+**********************************************************************************************
+**/
+public class ViewerPluginCache {
+
+  /** How much of the start of a file is checked when remembering a file that isn't a Resource **/
+  public static final int SIGNATURE_LENGTH = 65536;
+
+  /** The plugins for each Resource, in least-recently-used order **/
+  static LinkedHashMap<Resource, CachedPlugins> resourcePlugins = new LinkedHashMap<Resource, CachedPlugins>(256, 0.75f, true) {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Resource, CachedPlugins> eldest) {
+      return size() > Settings.getInt("ViewerPluginCacheSize");
+    }
+  };
+
+  /** The plugins for each file signature, in least-recently-used order **/
+  static LinkedHashMap<String, RatedPlugin[]> signaturePlugins = new LinkedHashMap<String, RatedPlugin[]>(256, 0.75f, true) {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, RatedPlugin[]> eldest) {
+      return size() > Settings.getInt("ViewerPluginCacheSize");
+    }
+  };
+
+  static long hits = 0;
+
+  static long misses = 0;
+
+  /**
+  **********************************************************************************************
+  Forgets all the files, such as when a different archive is opened (some ViewerPlugins rate a
+  file differently depending on the archive it came from)
+  **********************************************************************************************
+  **/
+  public static synchronized void clear() {
+    resourcePlugins.clear();
+    signaturePlugins.clear();
+  }
+
+  /**
+  **********************************************************************************************
+  Finds the ViewerPlugins for the <i>resource</i>, which has been extracted to <i>path</i>. If
+  <i>resource</i> is null, the file is remembered by its signature instead. The plugins are
+  sorted, best match first.
+  **********************************************************************************************
+  **/
+  public static RatedPlugin[] findPlugins(Resource resource, File path) {
+    if (!isEnabled() || path == null) {
+      return sort(PluginFinder.findPlugins(path, ViewerPlugin.class));
+    }
+
+    if (resource != null && !path.equals(resource.getExportedPath())) {
+      resource = null; // not the extracted Resource (eg a file on disk being previewed), so use the signature instead
+    }
+
+    if (resource != null) {
+      RatedPlugin[] plugins = get(resource);
+      if (plugins != null) {
+        return plugins;
+      }
+
+      plugins = sort(PluginFinder.findPlugins(path, ViewerPlugin.class));
+      put(resource, plugins);
+      return copy(plugins);
+    }
+
+    String signature = getSignature(path);
+    if (signature == null) {
+      return sort(PluginFinder.findPlugins(path, ViewerPlugin.class));
+    }
+
+    RatedPlugin[] plugins = get(signature);
+    if (plugins != null) {
+      return plugins;
+    }
+
+    plugins = sort(PluginFinder.findPlugins(path, ViewerPlugin.class));
+    put(signature, plugins);
+    return copy(plugins);
+  }
+
+  /**
+  **********************************************************************************************
+  Finds the ViewerPlugins for the <i>resource</i>, which is being read from <i>fm</i>. The plugins
+  are sorted, best match first. NOTE: Like <code>PluginFinder.findPlugins()</code>, this closes
+  the <i>fm</i>, even if the plugins were already known.
+  **********************************************************************************************
+  **/
+  public static RatedPlugin[] findPlugins(Resource resource, FileManipulator fm) {
+    if (resource == null || !isEnabled()) {
+      return sort(PluginFinder.findPlugins(fm, ViewerPlugin.class));
+    }
+
+    RatedPlugin[] plugins = get(resource);
+    if (plugins != null) {
+      fm.close();
+      return plugins;
+    }
+
+    plugins = sort(PluginFinder.findPlugins(fm, ViewerPlugin.class));
+    put(resource, plugins);
+    return copy(plugins);
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  static RatedPlugin[] copy(RatedPlugin[] plugins) {
+    if (plugins == null) {
+      return null;
+    }
+    return plugins.clone();
+  }
+
+  /**
+  **********************************************************************************************
+  Gets a copy of the plugins for the <i>resource</i>, or null if they aren't known, or the
+  resource has changed since they were found
+  **********************************************************************************************
+  **/
+  static synchronized RatedPlugin[] get(Resource resource) {
+    CachedPlugins cached = resourcePlugins.get(resource);
+    if (cached == null || !cached.matches(resource)) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return copy(cached.plugins);
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  static synchronized RatedPlugin[] get(String signature) {
+    RatedPlugin[] plugins = signaturePlugins.get(signature);
+    if (plugins == null) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return copy(plugins);
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  public static synchronized long getHitCount() {
+    return hits;
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  public static synchronized long getMissCount() {
+    return misses;
+  }
+
+  /**
+  **********************************************************************************************
+  Builds a key for a file that isn't a Resource, from its extension, its length, and a checksum
+  of the start of the file. The current archive plugin is included too, as some ViewerPlugins
+  check it. Returns null if the file can't be read.
+  **********************************************************************************************
+  **/
+  static String getSignature(File path) {
+    try {
+      if (!path.exists() || path.isDirectory()) {
+        return null;
+      }
+
+      long length = path.length();
+      int checkLength = SIGNATURE_LENGTH;
+      if (length < checkLength) {
+        checkLength = (int) length;
+      }
+
+      FileManipulator fm = new FileManipulator(path, false);
+      byte[] bytes = fm.readBytes(checkLength);
+      fm.close();
+
+      CRC32 checksum = new CRC32();
+      checksum.update(bytes, 0, checkLength);
+
+      String readPluginCode = "";
+      ArchivePlugin readPlugin = Archive.getReadPlugin();
+      if (readPlugin != null) {
+        readPluginCode = readPlugin.getCode();
+      }
+
+      return FilenameSplitter.getExtension(path).toLowerCase() + ":" + length + ":" + Long.toHexString(checksum.getValue()) + ":" + readPluginCode;
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+      return null;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  public static boolean isEnabled() {
+    return Settings.getInt("ViewerPluginCacheSize") > 0;
+  }
+
+  /**
+  **********************************************************************************************
+  Remembers the <i>plugins</i> for the <i>resource</i>. If the plugins couldn't be found (null),
+  nothing is remembered, so they're looked for again next time.
+  **********************************************************************************************
+  **/
+  static synchronized void put(Resource resource, RatedPlugin[] plugins) {
+    if (plugins == null) {
+      return;
+    }
+    resourcePlugins.put(resource, new CachedPlugins(resource, plugins));
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  static synchronized void put(String signature, RatedPlugin[] plugins) {
+    if (plugins == null) {
+      return;
+    }
+    signaturePlugins.put(signature, plugins);
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  static RatedPlugin[] sort(RatedPlugin[] plugins) {
+    if (plugins != null) {
+      Arrays.sort(plugins);
+    }
+    return plugins;
+  }
+
+  /**
+  **********************************************************************************************
+  The plugins for a Resource, along with the details of the Resource when they were found, so
+  that the plugins are found again if the Resource is renamed or replaced
+  **********************************************************************************************
+  **/
+  static class CachedPlugins {
+
+    RatedPlugin[] plugins;
+
+    String name;
+
+    File source;
+
+    long offset;
+
+    long length;
+
+    long decompressedLength;
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public CachedPlugins(Resource resource, RatedPlugin[] plugins) {
+      this.plugins = plugins;
+      this.name = resource.getName();
+      this.source = resource.getSource();
+      this.offset = resource.getOffset();
+      this.length = resource.getLength();
+      this.decompressedLength = resource.getDecompressedLength();
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public boolean matches(Resource resource) {
+      if (offset != resource.getOffset() || length != resource.getLength() || decompressedLength != resource.getDecompressedLength()) {
+        return false;
+      }
+      if (name == null ? resource.getName() != null : !name.equals(resource.getName())) {
+        return false;
+      }
+      if (source == null ? resource.getSource() != null : !source.equals(resource.getSource())) {
+        return false;
+      }
+      return true;
+    }
+  }
+
+}
@@ -39,6 +39,7 @@ import org.watto.io.DirectoryBuilder;
 import org.watto.io.FileManipulator;
 import org.watto.io.FilenameChecker;
 import org.watto.io.FilenameSplitter;
+import org.watto.task.ProgressSink;
 import org.watto.task.TaskProgressManager;
 
 /**
@@ -1567,6 +1568,7 @@ public abstract class ArchivePlugin extends WSObjectPlugin {
 
         long arcSize = src.getLength();
         TaskProgressManager.setMaximum(arcSize);
+        TaskProgressManager.setUnits(ProgressSink.UNITS_BYTES);
 
         for (int i = 0; i < numFields; i++) {
           ReplaceDetails field = fields[i];
@@ -16,6 +16,7 @@ package org.watto.ge.plugin;
 
 import java.io.File;
 import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
 import org.watto.Language;
 import org.watto.component.WSObjectPlugin;
 import org.watto.datatype.Resource;
@@ -23,8 +24,14 @@ import org.watto.io.FileManipulator;
 
 public abstract class ExporterPlugin extends WSObjectPlugin {
 
+  /** The instanceID to give to the next exporter that is created **/
+  static final AtomicLong nextInstanceID = new AtomicLong();
+
   protected FileManipulator exportDestination;
 
+  /** Unique to each instance of an exporter (unlike the identity hash code, which can be shared) **/
+  final long instanceID = nextInstanceID.incrementAndGet();
+
   /**
    **********************************************************************************************
    * false if the file has been read fully, true if there is more to read.
@@ -121,6 +128,15 @@ public abstract class ExporterPlugin extends WSObjectPlugin {
 
   }
 
+  /**
+  **********************************************************************************************
+  A number that is unique to this instance of the exporter, for telling instances apart
+  **********************************************************************************************
+  **/
+  public long getInstanceID() {
+    return instanceID;
+  }
+
   /**
    **********************************************************************************************
    * Opens the file for extracting
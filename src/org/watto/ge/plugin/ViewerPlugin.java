@@ -18,11 +18,13 @@ import java.io.File;
 
 import org.watto.ErrorLogger;
 import org.watto.Language;
+import org.watto.Settings;
 import org.watto.component.PreviewPanel;
 import org.watto.component.PreviewPanel_Image;
 import org.watto.component.WSObjectPlugin;
 import org.watto.datatype.ImageResource;
 import org.watto.ge.helper.FieldValidator;
+import org.watto.ge.helper.ImageFormatReader;
 import org.watto.io.FileManipulator;
 
 public abstract class ViewerPlugin extends WSObjectPlugin {
@@ -56,6 +58,9 @@ public abstract class ViewerPlugin extends WSObjectPlugin {
   /** true if the format read by this plugin is a standard or commonly-used format, false if proprietary **/
   boolean standardFileFormat = false;
 
+  /** true if read() just shows the ImageResource from readThumbnail() in a PreviewPanel_Image, so the image can be decoded in advance **/
+  boolean imageViewer = false;
+
   /**
    **********************************************************************************************
    * Constructor
@@ -120,6 +125,18 @@ public abstract class ViewerPlugin extends WSObjectPlugin {
     return false;
   }
 
+  /**
+  **********************************************************************************************
+  Can this plugin generate a thumbnail from a smaller version of the image (a smaller mipmap, or a
+  1/4 scale decode of the texture blocks)? Only plugins that return the decoded image as-is can do
+  this - if the plugin unswizzles or otherwise changes the pixels after decoding, it can't.
+  @see ImageFormatReader.setThumbnailDecodeSize(int)
+  **********************************************************************************************
+  **/
+  public boolean canReadReducedThumbnail() {
+    return false;
+  }
+
   /**
   **********************************************************************************************
   
@@ -331,6 +348,17 @@ public abstract class ViewerPlugin extends WSObjectPlugin {
     return standardFileFormat;
   }
 
+  /**
+  **********************************************************************************************
+  Whether read() just shows the ImageResource from readThumbnail() in a PreviewPanel_Image. If so,
+  the image can be decoded on a background thread, and the PreviewPanel_Image built from it later.
+  Other plugins (such as 3D models) build their own PreviewPanel in read(), so they can't.
+  **********************************************************************************************
+  **/
+  public boolean isImageViewer() {
+    return imageViewer;
+  }
+
   /**
   **********************************************************************************************
   
@@ -368,6 +396,27 @@ public abstract class ViewerPlugin extends WSObjectPlugin {
     return null;
   }
 
+  /**
+  **********************************************************************************************
+  Reads a thumbnail using readThumbnail(), but if the plugin can read a reduced thumbnail, tells
+  the ImageFormatReader that only a thumbnail is wanted, so it can decode a smaller mipmap or a
+  1/4 scale image instead of the full image.
+  **********************************************************************************************
+  **/
+  public ImageResource readReducedThumbnail(FileManipulator source) {
+    if (!canReadReducedThumbnail() || !Settings.getBoolean("ReducedThumbnailDecoding")) {
+      return readThumbnail(source);
+    }
+
+    ImageFormatReader.setThumbnailDecodeSize(ImageResource.DEFAULT_THUMBNAIL_SIZE);
+    try {
+      return readThumbnail(source);
+    }
+    finally {
+      ImageFormatReader.setThumbnailDecodeSize(0);
+    }
+  }
+
   /**
   **********************************************************************************************
   
@@ -407,6 +456,15 @@ public abstract class ViewerPlugin extends WSObjectPlugin {
   /**
   **********************************************************************************************
   
+  **********************************************************************************************
+  **/
+  public void setImageViewer(boolean imageViewer) {
+    this.imageViewer = imageViewer;
+  }
+
+  /**
+  **********************************************************************************************
+  
   **********************************************************************************************
   **/
   public void write(PreviewPanel panel, File destination) {
@@ -0,0 +1,149 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.plugin.exporter;
+
+import java.io.IOException;
+
+import org.watto.ge.helper.MemoryBudget;
+import org.watto.io.FileManipulator;
+import org.watto.io.codec.BlockCodec;
+import org.watto.io.codec.BlockCodecRegistry;
+
+/**
+**********************************************************************************************
+Holds a whole file that has been decompressed through a BlockCodec, for the exporters that also
+have a stream decoder. Files are only decompressed all at once if they're no bigger than the
+BlockCodecStreamingThreshold, and the MemoryBudget has room for them. Otherwise (or if the codec
+can't decompress the file) the exporter falls back to its stream decoder, which copes better
+with large files and with compressed lengths that aren't quite right.
+**********************************************************************************************
+**/
+public class BlockCodecBuffer {
+
+  /** the format of the BlockCodec, in the BlockCodecRegistry **/
+  String format;
+
+  /** the decompressed file, or null if the file is being streamed instead **/
+  byte[] buffer = null;
+
+  int bufferPos = 0;
+
+  int bufferLength = 0;
+
+  /** The memory reserved from the MemoryBudget for the buffer **/
+  long reservedLength = 0;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public BlockCodecBuffer(String format) {
+    this.format = format;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether there's more data to read from the buffer
+  **********************************************************************************************
+  **/
+  public boolean available() {
+    return buffer != null && bufferPos < bufferLength;
+  }
+
+  /**
+  **********************************************************************************************
+  Frees the buffer, and gives its memory back to the MemoryBudget
+  **********************************************************************************************
+  **/
+  public void close() {
+    buffer = null;
+    bufferPos = 0;
+    bufferLength = 0;
+
+    MemoryBudget.release(reservedLength);
+    reservedLength = 0;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether the file was decompressed into the buffer (if not, the exporter should stream it)
+  **********************************************************************************************
+  **/
+  public boolean isOpen() {
+    return buffer != null;
+  }
+
+  /**
+  **********************************************************************************************
+  Reads <i>compLength</i> bytes from the current position in the <i>fm</i>, and decompresses
+  them into the buffer.
+  @return true if the file was decompressed, or false if it should be streamed instead, in which
+          case the <i>fm</i> is left where it was
+  **********************************************************************************************
+  **/
+  public boolean open(FileManipulator fm, long compLength, long decompLength) {
+    close();
+
+    if (compLength <= 0 || decompLength <= 0 || decompLength > BlockCodecRegistry.getStreamingThreshold()) {
+      return false;
+    }
+
+    BlockCodec codec = BlockCodecRegistry.getCodec(format);
+    if (codec == null) {
+      return false;
+    }
+
+    // none of the formats expand the data by more than a quarter, so don't read much further than that
+    // if the compressed length is wrong (eg if it's the length of the rest of the archive)
+    long startOffset = fm.getOffset();
+    compLength = Math.min(compLength, fm.getLength() - startOffset);
+    compLength = Math.min(compLength, decompLength + (decompLength / 4) + 1024);
+    if (compLength <= 0) {
+      return false;
+    }
+
+    if (!MemoryBudget.reserve(decompLength)) {
+      return false;
+    }
+    reservedLength = decompLength;
+
+    byte[] compBytes = fm.readBytes((int) compLength);
+    buffer = new byte[(int) decompLength];
+
+    try {
+      bufferLength = codec.decompress(compBytes, 0, compBytes.length, buffer, 0, buffer.length);
+      bufferPos = 0;
+      return true;
+    }
+    catch (IOException e) {
+      // let the stream decoder have a go instead
+      close();
+      fm.seek(startOffset);
+      return false;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Reads the next byte from the buffer, as 0-255 (the same as InputStream.read())
+  **********************************************************************************************
+  **/
+  public int read() {
+    return buffer[bufferPos++] & 255;
+  }
+
+}
@@ -37,6 +37,9 @@ public class BlockExporterWrapper extends ExporterPlugin {
 
   int currentBlock = -1;
 
+  /** reads each block, through the DecompressedBlockCache **/
+  CachedBlockReader blockReader = new CachedBlockReader();
+
   /**
   **********************************************************************************************
   
@@ -69,7 +72,7 @@ public class BlockExporterWrapper extends ExporterPlugin {
   **/
   @Override
   public boolean available() {
-    if (exporter.available()) {
+    if (blockReader.available()) {
       // still reading the current block
       return true;
     }
@@ -78,14 +81,13 @@ public class BlockExporterWrapper extends ExporterPlugin {
     currentBlock++;
     if (currentBlock < blockOffsets.length) {
       // open the next block
-      exporter.close();
       //System.out.println("Opening block at " + blockOffsets[currentBlock] + " with compressed length " + blockLengths[currentBlock]);
-      exporter.open(new Resource(sourceFile, "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
-      return exporter.available();
+      blockReader.open(exporter, new Resource(sourceFile, "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
+      return blockReader.available();
     }
     else {
       // finished reading the last block
-      exporter.close();
+      blockReader.close();
       return false;
     }
 
@@ -98,7 +100,7 @@ public class BlockExporterWrapper extends ExporterPlugin {
   **/
   @Override
   public void close() {
-    exporter.close();
+    blockReader.close();
   }
 
   public long[] getBlockLengths() {
@@ -127,7 +129,7 @@ public class BlockExporterWrapper extends ExporterPlugin {
 
       // open the first block, ready to go
       currentBlock = 0;
-      exporter.open(new Resource(sourceFile, "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
+      blockReader.open(exporter, new Resource(sourceFile, "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
 
     }
     catch (Throwable t) {
@@ -168,7 +170,7 @@ public class BlockExporterWrapper extends ExporterPlugin {
   @Override
   public int read() {
     try {
-      return exporter.read(); // available() already handles the transition between blocks
+      return blockReader.read(); // available() already handles the transition between blocks
     }
     catch (Throwable t) {
       return 0;
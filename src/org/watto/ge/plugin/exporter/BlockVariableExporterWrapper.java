@@ -39,6 +39,9 @@ public class BlockVariableExporterWrapper extends ExporterPlugin {
 
   int currentBlock = -1;
 
+  /** reads each block, through the DecompressedBlockCache **/
+  CachedBlockReader blockReader = new CachedBlockReader();
+
   /**
   **********************************************************************************************
   
@@ -71,7 +74,7 @@ public class BlockVariableExporterWrapper extends ExporterPlugin {
   **/
   @Override
   public boolean available() {
-    if (currentExporter.available()) {
+    if (blockReader.available()) {
       // still reading the current block
       return true;
     }
@@ -81,20 +84,17 @@ public class BlockVariableExporterWrapper extends ExporterPlugin {
     if (currentBlock < blockOffsets.length) {
       //System.out.println("multivariable extracting " + blockLengths[currentBlock] + " from offset " + blockOffsets[currentBlock]);
 
-      // open the next block...
-      currentExporter.close();
-
       // change to the next exporter
       currentExporter = exporters[currentBlock];
-      // open the block
 
-      currentExporter.open(new Resource(sourceFile, "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
-      return currentExporter.available();
+      // open the next block
+      blockReader.open(currentExporter, new Resource(sourceFile, "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
+      return blockReader.available();
     }
     else {
       //System.out.println("multivariable finished");
       // finished reading the last block
-      currentExporter.close();
+      blockReader.close();
       return false;
     }
 
@@ -108,7 +108,7 @@ public class BlockVariableExporterWrapper extends ExporterPlugin {
   @Override
   public void close() {
     //System.out.println("multivariable closing");
-    currentExporter.close();
+    blockReader.close();
   }
 
   public long[] getBlockLengths() {
@@ -142,7 +142,7 @@ public class BlockVariableExporterWrapper extends ExporterPlugin {
       // open the first block, ready to go
       currentBlock = 0;
       currentExporter = exporters[currentBlock];
-      currentExporter.open(new Resource(sourceFile, "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
+      blockReader.open(currentExporter, new Resource(sourceFile, "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
 
     }
     catch (Throwable t) {
@@ -183,7 +183,7 @@ public class BlockVariableExporterWrapper extends ExporterPlugin {
   @Override
   public int read() {
     try {
-      return currentExporter.read(); // available() already handles the transition between blocks
+      return blockReader.read(); // available() already handles the transition between blocks
     }
     catch (Throwable t) {
       return 0;
@@ -0,0 +1,153 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.ge.plugin.exporter;
+
+import org.watto.datatype.Resource;
+import org.watto.ge.helper.DecompressedBlockCache;
+import org.watto.ge.plugin.ExporterPlugin;
+
+/**
+**********************************************************************************************
+Reads a single compressed block for the block exporter wrappers, using the
+DecompressedBlockCache. If the block is in the cache, it is read from there without touching the
+exporter. Otherwise the block is read through the exporter as normal, and the bytes are recorded
+as they're read, so once the whole block has been read it can be added to the cache. Blocks that
+are only partly read (such as when a thumbnail only needs the header) aren't cached.
+**********************************************************************************************
+**/
+public class CachedBlockReader {
+
+  /** the exporter for the current block, or null if the block came from the cache **/
+  ExporterPlugin exporter = null;
+
+  /** the block from the cache **/
+  byte[] cachedBlock = null;
+
+  int cachedPos = 0;
+
+  /** the cache key for the block that is being recorded **/
+  String recordingKey = null;
+
+  /** the bytes of the current block that have been read so far, or null if it's not being recorded **/
+  byte[] recording = null;
+
+  int recordingLength = 0;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public boolean available() {
+    if (cachedBlock != null) {
+      return cachedPos < cachedBlock.length;
+    }
+
+    if (exporter == null) {
+      return false;
+    }
+
+    if (exporter.available()) {
+      return true;
+    }
+
+    // finished reading the whole block, so it can be cached
+    if (recording != null) {
+      byte[] block = recording;
+      if (recordingLength < block.length) {
+        block = new byte[recordingLength];
+        System.arraycopy(recording, 0, block, 0, recordingLength);
+      }
+      DecompressedBlockCache.put(recordingKey, block);
+
+      recording = null;
+      recordingKey = null;
+    }
+    return false;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public void close() {
+    if (exporter != null) {
+      exporter.close();
+      exporter = null;
+    }
+
+    cachedBlock = null;
+    recording = null;
+    recordingKey = null;
+  }
+
+  /**
+  **********************************************************************************************
+  Opens the <i>block</i>, which is decompressed by the <i>blockExporter</i>
+  **********************************************************************************************
+  **/
+  public void open(ExporterPlugin blockExporter, Resource block) {
+    close();
+
+    String key = DecompressedBlockCache.getKey(blockExporter, block);
+    if (key != null) {
+      byte[] cached = DecompressedBlockCache.get(key);
+      if (cached != null) {
+        cachedBlock = cached;
+        cachedPos = 0;
+        return;
+      }
+
+      recordingKey = key;
+      recording = new byte[(int) block.getDecompressedLength()];
+      recordingLength = 0;
+    }
+
+    exporter = blockExporter;
+    exporter.open(block);
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public int read() {
+    if (cachedBlock != null) {
+      int value = cachedBlock[cachedPos] & 255;
+      cachedPos++;
+      return value;
+    }
+
+    int value = exporter.read();
+
+    if (recording != null) {
+      if (recordingLength < recording.length) {
+        recording[recordingLength] = (byte) value;
+        recordingLength++;
+      }
+      else {
+        // the exporter gave us more than the decompressed length, so don't trust it for the cache
+        recording = null;
+        recordingKey = null;
+      }
+    }
+
+    return value;
+  }
+
+}
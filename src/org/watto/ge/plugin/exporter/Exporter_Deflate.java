@@ -21,6 +21,7 @@ import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
 
 import org.watto.datatype.Resource;
+import org.watto.ge.helper.ParallelDeflater;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.io.FileManipulator;
 import org.watto.io.stream.ManipulatorInputStream;
@@ -126,6 +127,22 @@ public class Exporter_Deflate extends ExporterPlugin {
   **/
   @Override
   public void pack(Resource source, FileManipulator destination) {
+    if (ParallelDeflater.isWorthwhile(source)) {
+      // large files are compressed in blocks over multiple threads
+      try {
+        ExporterPlugin exporter = source.getExporter();
+        exporter.open(source);
+
+        ParallelDeflater.deflate(exporter, new ManipulatorOutputStream(destination), false);
+
+        exporter.close();
+      }
+      catch (Throwable t) {
+        logError(t);
+      }
+      return;
+    }
+
     DeflaterOutputStream outputStream = null;
     try {
       outputStream = new DeflaterOutputStream(new ManipulatorOutputStream(destination), new Deflater(Deflater.DEFAULT_COMPRESSION, true));
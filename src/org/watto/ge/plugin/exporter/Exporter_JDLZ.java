@@ -17,13 +17,19 @@ package org.watto.ge.plugin.exporter;
 import org.watto.datatype.Resource;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.io.FileManipulator;
+import org.watto.io.codec.BlockCodec;
+import org.watto.io.codec.BlockCodecRegistry;
 
 public class Exporter_JDLZ extends ExporterPlugin {
 
   static Exporter_JDLZ instance = new Exporter_JDLZ();
 
-  static FileManipulator readSource;
-  static long readLength = 0;
+  /** the decompressed file **/
+  static byte[] decompBuffer = null;
+
+  static int decompPos = 0;
+
+  static int decompLength = 0;
 
   /**
   **********************************************************************************************
@@ -34,20 +40,6 @@ public class Exporter_JDLZ extends ExporterPlugin {
     return instance;
   }
 
-  int numRead;
-  short nPos;
-  short nSize;
-  byte nAction1 = 0;
-  byte nBitCount1 = 0;
-  byte nAction2 = 0;
-
-  byte nBitCount2 = 0;
-  int bufferSize = 150000;
-  byte[] buffer = new byte[bufferSize];
-  int bufferFillPos = 0;
-
-  int readPos = 0;
-
   // globals for packing
   long codeOffset1 = 16;
 
@@ -77,24 +69,7 @@ public class Exporter_JDLZ extends ExporterPlugin {
   **/
   @Override
   public boolean available() {
-    if (numRead < readLength) {
-      return true;
-    }
-
-    if (readPos < bufferFillPos) {
-      return true;
-    }
-    else {
-      fillBuffer();
-
-      if (numRead < readLength || readPos < bufferFillPos) {
-        return true;
-      }
-      else {
-        return false;
-      }
-    }
-
+    return decompPos < decompLength;
   }
 
   /**
@@ -136,88 +111,13 @@ public class Exporter_JDLZ extends ExporterPlugin {
   /**
   **********************************************************************************************
   
-  **********************************************************************************************
-  **/
-  public void checkFitsInBuffer(int length) {
-    if (bufferFillPos + length >= bufferSize) {
-      // data won't fit in the buffer, so move the buffer along
-      bufferFillPos -= length;
-      readPos -= length;
-      System.arraycopy(buffer, length, buffer, 0, bufferFillPos);
-    }
-  }
-
-  /**
-  **********************************************************************************************
-  
   **********************************************************************************************
   **/
   @Override
   public void close() {
-    try {
-      readSource.close();
-      readSource = null;
-    }
-    catch (Throwable t) {
-      readSource = null;
-    }
-  }
-
-  /**
-  **********************************************************************************************
-  
-  **********************************************************************************************
-  **/
-  public void fillBuffer() {
-
-    if (nBitCount1 == 0) {
-      nAction1 = readSource.readByte();
-      nBitCount1 = 8;
-      numRead++;
-    }
-
-    if (nBitCount2 == 0) {
-      nAction2 = readSource.readByte();
-      nBitCount2 = 8;
-      numRead++;
-    }
-
-    if ((nAction1 & 1) != 0) {
-      int byte1 = readSource.readByte();
-      int byte2 = readSource.readByte();
-      numRead += 2;
-
-      if ((nAction2 & 1) != 0) {
-        nPos = (short) ((byte1 & 0x0F) + 1);
-        nSize = (short) (((byte1 & 0xF0) << 4) + byte2 + 3);
-      }
-      else {
-        nPos = (short) (((byte1 & 0xE0) << 3) + byte2 + 17);
-        nSize = (short) ((byte1 & 0x1F) + 3);
-      }
-
-      checkFitsInBuffer(nSize);
-
-      for (int i = 0; i < nSize; i++) {
-        buffer[bufferFillPos] = buffer[bufferFillPos - nPos];
-        bufferFillPos++;
-      }
-
-      nAction2 >>= 1;
-      nBitCount2--;
-    }
-    else {
-
-      checkFitsInBuffer(1);
-
-      buffer[bufferFillPos] = readSource.readByte();
-      bufferFillPos++;
-
-      numRead++;
-    }
-
-    nAction1 >>= 1;
-    nBitCount1--;
+    decompBuffer = null;
+    decompPos = 0;
+    decompLength = 0;
   }
 
   /**
@@ -284,26 +184,44 @@ public class Exporter_JDLZ extends ExporterPlugin {
   @Override
   public void open(Resource source) {
     try {
-      readSource = new FileManipulator(source.getSource(), false);
-      readSource.seek(source.getOffset());
-      readLength = source.getLength();
+      FileManipulator fm = new FileManipulator(source.getSource(), false);
+      fm.seek(source.getOffset());
+
+      decompPos = 0;
+      decompLength = (int) source.getDecompressedLength();
+      int compLength = (int) source.getLength();
 
       // 4 - Header (JDLZ)
-      // 4 - Version
-      // 4 - Compressed Length
+      if (fm.readString(4).equals("JDLZ")) {
+        // 4 - Version
+        fm.skip(4);
+
+        // 4 - Decompressed Length
+        int headerDecompLength = fm.readInt();
+        if (headerDecompLength > 0) {
+          decompLength = headerDecompLength;
+        }
 
-      nAction1 = 0;
-      nBitCount1 = 0;
-      nAction2 = 0;
-      nBitCount2 = 0;
+        // 4 - Compressed Length
+        fm.skip(4);
 
-      numRead = 16;
+        compLength -= 16;
+      }
+      else {
+        fm.seek(source.getOffset()); // no header
+      }
+
+      byte[] compBytes = fm.readBytes(compLength);
+      fm.close();
 
-      bufferFillPos = 0;
-      readPos = 0;
+      decompBuffer = new byte[decompLength];
 
+      BlockCodec codec = BlockCodecRegistry.getCodec("JDLZ");
+      decompLength = codec.decompress(compBytes, 0, compLength, decompBuffer, 0, decompLength);
     }
     catch (Throwable t) {
+      logError(t);
+      decompLength = 0;
     }
   }
 
@@ -407,8 +325,8 @@ public class Exporter_JDLZ extends ExporterPlugin {
   @Override
   public int read() {
     try {
-      int value = buffer[readPos];
-      readPos++;
+      int value = decompBuffer[decompPos];
+      decompPos++;
       return value;
     }
     catch (Throwable t) {
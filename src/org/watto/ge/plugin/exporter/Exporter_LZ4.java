@@ -30,6 +30,9 @@ public class Exporter_LZ4 extends ExporterPlugin {
 
   static BlockLZ4CompressorInputStream readSource;
 
+  /** small files are decompressed all at once into here, larger files are read through the readSource **/
+  static BlockCodecBuffer blockBuffer = new BlockCodecBuffer("LZ4");
+
   static long readLength = 0;
 
   static int currentByte = 0;
@@ -63,6 +66,15 @@ public class Exporter_LZ4 extends ExporterPlugin {
   public boolean available() {
     try {
 
+      if (blockBuffer.isOpen()) {
+        if (readLength > 0 && blockBuffer.available()) {
+          currentByte = blockBuffer.read();
+          readLength--;
+          return true;
+        }
+        return false;
+      }
+
       if (readLength > 0) {
         currentByte = readSource.read();
         readLength--;
@@ -86,8 +98,11 @@ public class Exporter_LZ4 extends ExporterPlugin {
   **/
   @Override
   public void close() {
+    blockBuffer.close();
     try {
-      readSource.close();
+      if (readSource != null) {
+        readSource.close();
+      }
       fm.close();
       readSource = null;
     }
@@ -104,6 +119,7 @@ public class Exporter_LZ4 extends ExporterPlugin {
   public void open(FileManipulator fmIn, int compLengthIn, int decompLengthIn) {
     try {
       fm = fmIn;
+      blockBuffer.close(); // the compLengthIn isn't always right, so these are always streamed
 
       readSource = new BlockLZ4CompressorInputStream(new ManipulatorInputStream(fm));
       readLength = decompLengthIn;
@@ -123,8 +139,12 @@ public class Exporter_LZ4 extends ExporterPlugin {
       fm = new FileManipulator(source.getSource(), false);
       fm.seek(source.getOffset());
 
-      readSource = new BlockLZ4CompressorInputStream(new ManipulatorInputStream(fm));
       readLength = source.getDecompressedLength();
+      if (blockBuffer.open(fm, source.getLength(), readLength)) {
+        return;
+      }
+
+      readSource = new BlockLZ4CompressorInputStream(new ManipulatorInputStream(fm));
     }
     catch (Throwable t) {
       ErrorLogger.log(t);
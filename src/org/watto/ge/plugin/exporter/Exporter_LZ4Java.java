@@ -14,13 +14,15 @@
 
 package org.watto.ge.plugin.exporter;
 
+import java.io.IOException;
 import org.watto.ErrorLogger;
 import org.watto.datatype.Resource;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.io.FileManipulator;
+import org.watto.io.codec.BlockCodec;
+import org.watto.io.codec.BlockCodecRegistry;
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
-import net.jpountz.lz4.LZ4FastDecompressor;
 
 public class Exporter_LZ4Java extends ExporterPlugin {
 
@@ -82,6 +84,33 @@ public class Exporter_LZ4Java extends ExporterPlugin {
     buffer = null;
   }
 
+  /**
+  **********************************************************************************************
+  Decompresses all the <i>compBytes</i> into the buffer, using the preferred LZ4 BlockCodec
+  **********************************************************************************************
+  **/
+  void decompress(byte[] compBytes, int decompLength) throws IOException {
+    buffer = new byte[decompLength];
+
+    BlockCodec codec = BlockCodecRegistry.getCodec("LZ4");
+    int decompressedLength;
+    try {
+      decompressedLength = codec.decompress(compBytes, 0, compBytes.length, buffer, 0, decompLength);
+    }
+    catch (IOException e) {
+      // lz4-java needs the compressed data to end exactly at compBytes.length, but the Java codec copes with padding after it
+      BlockCodec javaCodec = BlockCodecRegistry.getCodec("LZ4", "Java");
+      if (javaCodec == null || javaCodec == codec) {
+        throw e;
+      }
+      decompressedLength = javaCodec.decompress(compBytes, 0, compBytes.length, buffer, 0, decompLength);
+    }
+
+    // ready to read from the buffer
+    bufferPos = 0;
+    bufferLength = decompressedLength;
+  }
+
   /**
   **********************************************************************************************
   So we can easily call this from within a Viewer plugin
@@ -94,17 +123,9 @@ public class Exporter_LZ4Java extends ExporterPlugin {
       bufferLength = 0;
 
       // Read in the compressed bytes
-      byte[] compBytes = fm.readBytes(compLengthIn);
+      byte[] compBytes = fmIn.readBytes(compLengthIn);
 
-      // Pass it into the LZ4 Decompressor
-      LZ4Factory factory = LZ4Factory.fastestInstance();
-      LZ4FastDecompressor decompressor = factory.fastDecompressor();
-      buffer = new byte[decompLengthIn];
-      decompressor.decompress(compBytes, 0, buffer, 0, decompLengthIn);
-
-      // ready to read from the buffer
-      bufferPos = 0;
-      bufferLength = decompLengthIn;
+      decompress(compBytes, decompLengthIn);
 
     }
     catch (Throwable t) {
@@ -133,15 +154,7 @@ public class Exporter_LZ4Java extends ExporterPlugin {
       byte[] compBytes = fm.readBytes(compLength);
       fm.close();
 
-      // Pass it into the LZ4 Decompressor
-      LZ4Factory factory = LZ4Factory.fastestInstance();
-      LZ4FastDecompressor decompressor = factory.fastDecompressor();
-      buffer = new byte[decompLength];
-      decompressor.decompress(compBytes, 0, buffer, 0, decompLength);
-
-      // ready to read from the buffer
-      bufferPos = 0;
-      bufferLength = decompLength;
+      decompress(compBytes, decompLength);
     }
     catch (Throwable t) {
       ErrorLogger.log(t);
@@ -18,7 +18,8 @@ import org.watto.ErrorLogger;
 import org.watto.datatype.Resource;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.io.FileManipulator;
-import com.ning.compress.lzf.impl.UnsafeChunkDecoder;
+import org.watto.io.codec.BlockCodec;
+import org.watto.io.codec.BlockCodecRegistry;
 
 public class Exporter_LZF extends ExporterPlugin {
 
@@ -118,8 +119,8 @@ public class Exporter_LZF extends ExporterPlugin {
 
       readLength = chunkLength;
 
-      UnsafeChunkDecoder decoder = new UnsafeChunkDecoder();
-      decoder.decodeChunkGE(compData, 0, chunkData, 0, chunkLength);// decomp the full file
+      BlockCodec codec = BlockCodecRegistry.getCodec("LZF");
+      codec.decompress(compData, 0, compData.length, chunkData, 0, chunkLength);// decomp the full file
 
     }
     catch (Throwable t) {
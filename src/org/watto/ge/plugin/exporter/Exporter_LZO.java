@@ -14,14 +14,13 @@
 
 package org.watto.ge.plugin.exporter;
 
-import org.lzo.Constants;
 import org.lzo.DataFormatException;
-import org.lzo.Int;
-import org.lzo.Lzo1xDecompressor;
 import org.lzo.Util;
 import org.watto.datatype.Resource;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.io.FileManipulator;
+import org.watto.io.codec.BlockCodec;
+import org.watto.io.codec.BlockCodecRegistry;
 import org.watto.io.stream.ManipulatorInputStream;
 
 public class Exporter_LZO extends ExporterPlugin {
@@ -31,7 +30,6 @@ public class Exporter_LZO extends ExporterPlugin {
   static long readLength = 0;
   static int currentByte = 0;
 
-  static Lzo1xDecompressor bc = null;
   static final byte magic[] = { 0x00, (byte) 0xe9, 0x4c, 0x5a, 0x4f, (byte) 0xff, 0x1a };
 
   /**
@@ -103,16 +101,15 @@ public class Exporter_LZO extends ExporterPlugin {
 
           if (inBufSize < outBufSize) {
             /* decompress */
-            Int newSize = new Int(outBufSize);
-            int r = bc.decompress(inBuf, in, inBufSize, outBuf, out, newSize);
-            if (r != Constants.LZO_E_OK || newSize.intValue() != outBufSize) {
+            BlockCodec codec = BlockCodecRegistry.getCodec("LZO1X");
+            int newSize = codec.decompress(inBuf, in, inBufSize, outBuf, out, outBufSize);
+            if (newSize != outBufSize) {
               throw new DataFormatException("compressed data violation");
             }
           }
           else {
-            /* write original (incompressible) block */
-            outBuf = inBuf;
-            outBufSize = inBufSize;
+            /* write original (incompressible) block, which was read in at the top of in_buf[] */
+            System.arraycopy(inBuf, in, outBuf, 0, inBufSize);
           }
 
           outBufReadPos = 0;
@@ -162,8 +159,6 @@ public class Exporter_LZO extends ExporterPlugin {
 
       readStream = new ManipulatorInputStream(fm);
 
-      bc = new Lzo1xDecompressor();
-
       /*
        * Step 1: check magic header, read flags & block size, init checksum
        */
@@ -29,6 +29,9 @@ public class Exporter_LZSS extends ExporterPlugin {
 
   static LZSSInputStream readSource;
 
+  /** small files are decompressed all at once into here, larger files are read through the readSource **/
+  static BlockCodecBuffer blockBuffer = new BlockCodecBuffer("LZSS");
+
   static long readLength = 0;
 
   static int currentByte = 0;
@@ -62,6 +65,15 @@ public class Exporter_LZSS extends ExporterPlugin {
   public boolean available() {
     try {
 
+      if (blockBuffer.isOpen()) {
+        if (readLength > 0 && blockBuffer.available()) {
+          currentByte = blockBuffer.read();
+          readLength--;
+          return true;
+        }
+        return false;
+      }
+
       if (readLength > 0) {
         currentByte = readSource.read();
         readLength--;
@@ -84,9 +96,12 @@ public class Exporter_LZSS extends ExporterPlugin {
   **/
   @Override
   public void close() {
+    blockBuffer.close();
     try {
       fm.close();
-      readSource.close();
+      if (readSource != null) {
+        readSource.close();
+      }
       readSource = null;
     }
     catch (Throwable t) {
@@ -102,6 +117,7 @@ public class Exporter_LZSS extends ExporterPlugin {
   public void open(FileManipulator fmIn, int readLengthIn) {
     try {
       fm = fmIn;
+      blockBuffer.close(); // there's no compressed length, so these are always streamed
 
       readSource = new LZSSInputStream(new ManipulatorInputStream(fm));
 
@@ -122,9 +138,12 @@ public class Exporter_LZSS extends ExporterPlugin {
       fm = new FileManipulator(source.getSource(), false);
       fm.seek(source.getOffset());
 
-      readSource = new LZSSInputStream(new ManipulatorInputStream(fm));
-
       readLength = source.getDecompressedLength();
+      if (blockBuffer.open(fm, source.getLength(), readLength)) {
+        return;
+      }
+
+      readSource = new LZSSInputStream(new ManipulatorInputStream(fm));
     }
     catch (Throwable t) {
     }
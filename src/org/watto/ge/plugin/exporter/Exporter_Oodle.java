@@ -14,10 +14,13 @@
 
 package org.watto.ge.plugin.exporter;
 
+import java.io.File;
+
 import org.watto.ErrorLogger;
 import org.watto.datatype.Resource;
 import org.watto.datatype.jna.JNA_UINT8;
 import org.watto.ge.helper.JNAHelper;
+import org.watto.ge.helper.MemoryBudget;
 import org.watto.ge.helper.NativeOodleDecomp32;
 import org.watto.ge.helper.NativeOodleDecomp64;
 import org.watto.ge.plugin.ExporterPlugin;
@@ -39,6 +42,12 @@ public class Exporter_Oodle extends ExporterPlugin {
 
   static int decompLength = 0;
 
+  /** The memory reserved from the MemoryBudget for the decompBuffer **/
+  static long reservedLength = 0;
+
+  /** If the decompressed file didn't fit in the MemoryBudget, it's read back from this temporary file instead **/
+  static FileManipulator spillFM = null;
+
   /**
   **********************************************************************************************
   
@@ -75,6 +84,16 @@ public class Exporter_Oodle extends ExporterPlugin {
   @Override
   public void close() {
     decompBuffer = null;
+
+    MemoryBudget.release(reservedLength);
+    reservedLength = 0;
+
+    if (spillFM != null) {
+      File spillFile = spillFM.getFile();
+      spillFM.close();
+      spillFM = null;
+      spillFile.delete();
+    }
   }
 
   /**
@@ -99,8 +118,34 @@ public class Exporter_Oodle extends ExporterPlugin {
       byte[] compBytes = fm.readBytes(compLength);
       fm.close();
 
+      close(); // in case the previous file wasn't closed
+
+      int decompressedLength = (int) source.getDecompressedLength();
       try {
-        decompBuffer = oodleDecompress(compBytes, (int) source.getDecompressedLength());
+        if (MemoryBudget.reserve(decompressedLength)) {
+          reservedLength = decompressedLength;
+          decompBuffer = oodleDecompress(compBytes, decompressedLength);
+          if (decompBuffer == null) {
+            // failed, so the compressed data is returned instead, which isn't part of the budget
+            MemoryBudget.release(reservedLength);
+            reservedLength = 0;
+          }
+        }
+        else {
+          // too big for the memory that's left, so decompress it to a temporary file, and read it back from there.
+          // This keeps it off the Java heap, but the native decompression buffer is still the full size.
+          File spillFile = MemoryBudget.createSpillFile();
+          if (spillFile != null) {
+            int spillLength = oodleDecompress(compBytes, decompressedLength, spillFile);
+            if (spillLength > 0) {
+              spillFM = new FileManipulator(spillFile, false);
+              decompPos = 0;
+              decompLength = spillLength;
+              return;
+            }
+            spillFile.delete();
+          }
+        }
       }
       catch (Throwable t) {
         // Hopefully just something simple like, can't find the DLL files
@@ -154,6 +199,10 @@ public class Exporter_Oodle extends ExporterPlugin {
   @Override
   public int read() {
     try {
+      if (spillFM != null) {
+        decompPos++;
+        return spillFM.readByte();
+      }
       return (decompBuffer[decompPos++]);
     }
     catch (Throwable t) {
@@ -173,16 +222,70 @@ public class Exporter_Oodle extends ExporterPlugin {
   **********************************************************************************************
   **/
   public static byte[] oodleDecompress(byte[] compBytes, int decompLength) {
+    try {
+      Memory resultPointer = new Memory(decompLength);
+      int result = oodleDecompress(compBytes, resultPointer, decompLength);
+      if (result <= 0) {
+        return null;
+      }
+
+      byte[] resultantBytes = resultPointer.getByteArray(0, result);
+      return resultantBytes;
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+      return null;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Decompresses into native memory, then writes it to the <i>destination</i> file a piece at a
+  time, so the whole decompressed file is never on the Java heap. OodleLZ_Decompress is only
+  called once for the whole file, so this still needs a native buffer of the full
+  <i>decompLength</i> while it runs, which is freed when the Memory is garbage collected.
+  @return the decompressed length, or 0 if it failed
+  **********************************************************************************************
+  **/
+  public static int oodleDecompress(byte[] compBytes, int decompLength, File destination) {
+    try {
+      Memory resultPointer = new Memory(decompLength);
+      int result = oodleDecompress(compBytes, resultPointer, decompLength);
+      if (result <= 0) {
+        return 0;
+      }
+
+      FileManipulator fm = new FileManipulator(destination, true);
+      int pieceSize = 1048576;
+      for (int pos = 0; pos < result; pos += pieceSize) {
+        int length = Math.min(pieceSize, result - pos);
+        fm.writeBytes(resultPointer.getByteArray(pos, length));
+      }
+      fm.close();
+
+      return result;
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+      return 0;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Decompresses the <i>compBytes</i> into the <i>resultPointer</i>, which must be at least
+  <i>decompLength</i> bytes.
+  @return the decompressed length, or a number <= 0 if it failed
+  **********************************************************************************************
+  **/
+  static int oodleDecompress(byte[] compBytes, Memory resultPointer, int decompLength) {
     try {
       loadLibrary();
 
       int compLength = compBytes.length;
-      byte[] decompBytes = new byte[decompLength];
 
       Memory sourcePointer = new Memory(compLength);
       sourcePointer.write(0, compBytes, 0, compLength);
-      Memory resultPointer = new Memory(decompLength);
-      resultPointer.write(0, decompBytes, 0, decompLength);
 
       int result = -1;
       if (System.getProperty("os.arch").equals("x86")) {
@@ -194,15 +297,12 @@ public class Exporter_Oodle extends ExporterPlugin {
 
       if (result <= 0) {
         ErrorLogger.log("Oodle Decompression failed: " + result);
-        return null;
       }
-
-      byte[] resultantBytes = resultPointer.getByteArray(0, result);
-      return resultantBytes;
+      return result;
     }
     catch (Throwable t) {
       ErrorLogger.log(t);
-      return null;
+      return -1;
     }
   }
 
@@ -17,7 +17,8 @@ package org.watto.ge.plugin.exporter;
 import org.watto.datatype.Resource;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.io.FileManipulator;
-import com.quicklz.QuickLZ;
+import org.watto.io.codec.BlockCodec;
+import org.watto.io.codec.BlockCodecRegistry;
 
 public class Exporter_QuickLZ extends ExporterPlugin {
 
@@ -191,7 +192,9 @@ public class Exporter_QuickLZ extends ExporterPlugin {
   public void decompressFile(FileManipulator fm, int compLength) {
     try {
       byte[] compBytes = fm.readBytes(compLength);
-      decompBuffer = QuickLZ.decompress(compBytes);
+
+      BlockCodec codec = BlockCodecRegistry.getCodec("QuickLZ");
+      decompLength = codec.decompress(compBytes, 0, compLength, decompBuffer, 0, decompBuffer.length);
     }
     catch (Throwable t) {
       t.printStackTrace();
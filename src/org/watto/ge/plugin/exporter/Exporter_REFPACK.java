@@ -40,6 +40,9 @@ public class Exporter_REFPACK extends ExporterPlugin {
 
   static boolean skipHeaders = false;
 
+  /** small files are decompressed all at once into here, larger files are decompressed into the readBuffer as they're read **/
+  static BlockCodecBuffer blockBuffer = new BlockCodecBuffer("RefPack");
+
   /**
   **********************************************************************************************
   A.K.A. DBPF compression. Refer to http://wiki.niotso.org/RefPack for more info
@@ -87,6 +90,10 @@ public class Exporter_REFPACK extends ExporterPlugin {
         return false;
       }
 
+      if (blockBuffer.isOpen()) {
+        return blockBuffer.available();
+      }
+
       if (readBufferPos >= readBufferLevel) {
         fillBuffer();
       }
@@ -105,6 +112,7 @@ public class Exporter_REFPACK extends ExporterPlugin {
   **/
   @Override
   public void close() {
+    blockBuffer.close();
     try {
       readSource.close();
       readSource = null;
@@ -274,6 +282,7 @@ public class Exporter_REFPACK extends ExporterPlugin {
   public void open(FileManipulator fmIn, int compLengthIn, int decompLengthIn) {
     try {
       readSource = fmIn;
+      blockBuffer.close(); // the compLengthIn isn't always right, so these are always decompressed as they're read
 
       readBufferPos = 0;
       readBufferLevel = 0;
@@ -343,6 +352,11 @@ public class Exporter_REFPACK extends ExporterPlugin {
         }
       }
 
+      long compLength = source.getOffset() + source.getLength() - readSource.getOffset();
+      if (blockBuffer.open(readSource, compLength, readLength)) {
+        return;
+      }
+
       int readBufferSize = 200000;
       if (readLength < readBufferSize) {
         readBufferSize = (int) readLength;
@@ -447,6 +461,11 @@ public class Exporter_REFPACK extends ExporterPlugin {
   @Override
   public int read() {
     try {
+      if (blockBuffer.isOpen()) {
+        readLength--;
+        return (byte) blockBuffer.read(); // signed, the same as the readBuffer
+      }
+
       int readByte = readBuffer[readBufferPos];
       readBufferPos++;
       readLength--;
@@ -29,6 +29,9 @@ public class Exporter_Snappy extends ExporterPlugin {
   static Exporter_Snappy instance = new Exporter_Snappy();
 
   static SnappyCompressorInputStream readSource;
+
+  /** small files are decompressed all at once into here, larger files are read through the readSource **/
+  static BlockCodecBuffer blockBuffer = new BlockCodecBuffer("Snappy");
   static long readLength = 0;
   static int currentByte = 0;
 
@@ -61,6 +64,15 @@ public class Exporter_Snappy extends ExporterPlugin {
   public boolean available() {
     try {
 
+      if (blockBuffer.isOpen()) {
+        if (readLength > 0 && blockBuffer.available()) {
+          currentByte = blockBuffer.read();
+          readLength--;
+          return true;
+        }
+        return false;
+      }
+
       if (readLength > 0) {
         currentByte = readSource.read();
         readLength--;
@@ -83,9 +95,12 @@ public class Exporter_Snappy extends ExporterPlugin {
   **/
   @Override
   public void close() {
+    blockBuffer.close();
     try {
       fm.close();
-      readSource.close();
+      if (readSource != null) {
+        readSource.close();
+      }
       readSource = null;
     }
     catch (Throwable t) {
@@ -104,8 +119,12 @@ public class Exporter_Snappy extends ExporterPlugin {
       fm = new FileManipulator(source.getSource(), false);
       fm.seek(source.getOffset());
 
-      readSource = new SnappyCompressorInputStream(new ManipulatorInputStream(fm));
       readLength = source.getDecompressedLength();
+      if (blockBuffer.open(fm, source.getLength(), readLength)) {
+        return;
+      }
+
+      readSource = new SnappyCompressorInputStream(new ManipulatorInputStream(fm));
     }
     catch (Throwable t) {
     }
@@ -119,6 +138,7 @@ public class Exporter_Snappy extends ExporterPlugin {
   public void open(FileManipulator fmIn, int compLengthIn, int decompLengthIn) {
     try {
       fm = fmIn;
+      blockBuffer.close(); // the compLengthIn isn't always right, so these are always streamed
 
       readSource = new SnappyCompressorInputStream(new ManipulatorInputStream(fm));
       readLength = decompLengthIn;
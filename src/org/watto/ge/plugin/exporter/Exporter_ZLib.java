@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
 import org.watto.datatype.Resource;
+import org.watto.ge.helper.ParallelDeflater;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.io.FileManipulator;
 import org.watto.io.stream.ManipulatorInputStream;
@@ -158,6 +159,22 @@ public class Exporter_ZLib extends ExporterPlugin {
   **/
   @Override
   public void pack(Resource source, FileManipulator destination) {
+    if (ParallelDeflater.isWorthwhile(source)) {
+      // large files are compressed in blocks over multiple threads
+      try {
+        ExporterPlugin exporter = source.getExporter();
+        exporter.open(source);
+
+        ParallelDeflater.deflate(exporter, new ManipulatorOutputStream(destination), true);
+
+        exporter.close();
+      }
+      catch (Throwable t) {
+        logError(t);
+      }
+      return;
+    }
+
     DeflaterOutputStream outputStream = null;
     try {
       outputStream = new DeflaterOutputStream(new ManipulatorOutputStream(destination));
@@ -14,17 +14,33 @@
 
 package org.watto.ge.plugin.exporter;
 
+import java.util.Hashtable;
+
+import org.watto.ErrorLogger;
+import org.watto.Settings;
 import org.watto.datatype.Resource;
+import org.watto.ge.helper.MemoryBudget;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.io.FileManipulator;
+import org.watto.io.codec.BlockCodecRegistry;
+import org.watto.io.stream.ManipulatorInputStream;
 import io.airlift.compress.zstd.ZstdDecompressor;
+import io.airlift.compress.zstd.ZstdDictionary;
+import io.airlift.compress.zstd.ZstdInputStream;
+import org.apache.commons.compress.utils.BoundedInputStream;
 
 public class Exporter_ZStd extends ExporterPlugin {
 
   static Exporter_ZStd instance = new Exporter_ZStd();
 
+  /** Dictionaries that have been loaded from the archives, keyed by their dictionary ID **/
+  static Hashtable<Long, ZstdDictionary> dictionaries = new Hashtable<Long, ZstdDictionary>();
+
   byte[] decompBuffer = null;
 
+  /** The memory reserved from the MemoryBudget for the decompBuffer **/
+  long reservedLength = 0;
+
   int decompPos = 0;
 
   int decompLength = 0;
@@ -35,6 +51,32 @@ public class Exporter_ZStd extends ExporterPlugin {
 
   int compLength = 0;
 
+  /** Re-used for each large file, or files that need a dictionary **/
+  ZstdInputStream readSource = null;
+
+  boolean streaming = false;
+
+  /**
+  **********************************************************************************************
+  Adds a trained ZStd dictionary, so that it can be used when decompressing files that need it.
+  Returns the ID of the dictionary.
+  **********************************************************************************************
+  **/
+  public static long addDictionary(byte[] dictionaryData) {
+    ZstdDictionary dictionary = new ZstdDictionary(dictionaryData);
+    dictionaries.put(dictionary.getId(), dictionary);
+    return dictionary.getId();
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  public static void clearDictionaries() {
+    dictionaries.clear();
+  }
+
   /**
   **********************************************************************************************
   ZStd / ZStandard
@@ -76,7 +118,24 @@ public class Exporter_ZStd extends ExporterPlugin {
   **/
   @Override
   public void close() {
-    decompBuffer = null;
+    if (streaming) {
+      try {
+        readSource.close();
+        readSource.trimWindow(getStreamingThreshold());
+      }
+      catch (Throwable t) {
+      }
+      if (fm != null) {
+        fm.close(); // the BoundedInputStream doesn't close it
+        fm = null;
+      }
+      streaming = false;
+    }
+
+    if (decompBuffer != null && decompBuffer.length > getStreamingThreshold()) {
+      releaseBuffer();
+    }
+
     decompPos = 0;
     decompLength = 0;
   }
@@ -91,8 +150,33 @@ public class Exporter_ZStd extends ExporterPlugin {
     return "This exporter decompresses ZStd / ZStandard files when exporting\n\n" + super.getDescription();
   }
 
+  /**
+  **********************************************************************************************
+  Files larger than this are decompressed a block at a time, rather than all at once
+  **********************************************************************************************
+  **/
+  int getStreamingThreshold() {
+    int threshold = Settings.getInt("ZStdStreamingThreshold");
+    if (threshold <= 0) {
+      threshold = 8388608; // 8MB
+    }
+    return threshold;
+  }
+
+  /** The file that is being streamed from **/
   FileManipulator fm;
 
+  /**
+  **********************************************************************************************
+  Frees the decompBuffer, and gives its memory back to the MemoryBudget
+  **********************************************************************************************
+  **/
+  void releaseBuffer() {
+    decompBuffer = null;
+    MemoryBudget.release(reservedLength);
+    reservedLength = 0;
+  }
+
   /**
   **********************************************************************************************
   
@@ -106,16 +190,65 @@ public class Exporter_ZStd extends ExporterPlugin {
 
       decompPos = 0;
       decompLength = (int) source.getDecompressedLength();
-      decompBuffer = new byte[(int) decompLength];
 
       compPos = 0;
       compLength = (int) source.getLength();
-      compBuffer = fm.readBytes(compLength);
 
-      ZstdDecompressor decompressor = new ZstdDecompressor();
-      decompressor.decompress(compBuffer, 0, compLength, decompBuffer, 0, decompLength);
+      // peek at the frame header, to see whether it needs a dictionary
+      long dictionaryID = -1;
+      try {
+        int headerLength = Math.min(compLength, 18);
+        byte[] header = fm.readBytes(headerLength);
+        fm.seek(source.getOffset());
+        dictionaryID = ZstdDecompressor.getDictionaryId(header, 0, headerLength);
+      }
+      catch (Throwable t) {
+        // not a valid header - let the decompressor report the error
+      }
+
+      boolean stream = (dictionaryID > 0 || decompLength > getStreamingThreshold());
+      if (!stream && (decompBuffer == null || decompBuffer.length < decompLength)) {
+        // need a bigger buffer - if there isn't enough memory left for it, decompress the file as it's read instead
+        releaseBuffer();
+        if (MemoryBudget.reserve(decompLength)) {
+          decompBuffer = new byte[(int) decompLength];
+          reservedLength = decompLength;
+        }
+        else {
+          stream = true;
+        }
+      }
 
-      compBuffer = null; // discard the comp buffer now that we've finished the decompression
+      if (stream) {
+        // large files (and files with dictionaries) are decompressed as they're read
+        if (dictionaryID > 0 && !dictionaries.containsKey(dictionaryID)) {
+          ErrorLogger.log("[Exporter_ZStd] Missing dictionary " + dictionaryID + " for " + source.getName());
+        }
+
+        // only read the compressed data for this file, not the rest of the archive after it
+        BoundedInputStream input = new BoundedInputStream(new ManipulatorInputStream(fm), compLength);
+        if (readSource == null) {
+          readSource = new ZstdInputStream(input, dictionaries);
+        }
+        else {
+          readSource.reset(input);
+        }
+        this.fm = fm;
+        streaming = true;
+        return;
+      }
+
+      if (compBuffer == null || compBuffer.length < compLength) {
+        compBuffer = new byte[compLength];
+      }
+      fm.getBuffer().read(compBuffer, 0, compLength);
+
+      // the codec keeps a decompressor per thread, so the decompression context is re-used for each small file
+      BlockCodecRegistry.getCodec("ZStd").decompress(compBuffer, 0, compLength, decompBuffer, 0, decompLength);
+
+      if (compLength > getStreamingThreshold()) {
+        compBuffer = null; // don't hold on to large comp buffers once we're finished with them
+      }
 
       // return the decompBuffer to the beginning, ready to read from
       decompPos = 0;
@@ -143,11 +276,22 @@ public class Exporter_ZStd extends ExporterPlugin {
   @Override
   public int read() {
     try {
-      byte currentByte = decompBuffer[decompPos];
+      if (streaming) {
+        decompPos++;
+        int currentByte = readSource.read();
+        if (currentByte < 0) {
+          decompLength = 0; // end of the stream
+          return 0;
+        }
+        return currentByte;
+      }
+
+      int currentByte = decompBuffer[decompPos] & 255;
       decompPos++;
       return currentByte;
     }
     catch (Throwable t) {
+      decompLength = 0;
       return 0;
     }
   }
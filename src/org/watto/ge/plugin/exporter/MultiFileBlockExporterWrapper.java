@@ -37,6 +37,9 @@ public class MultiFileBlockExporterWrapper extends ExporterPlugin {
 
   int currentBlock = -1;
 
+  /** reads each block, through the DecompressedBlockCache **/
+  CachedBlockReader blockReader = new CachedBlockReader();
+
   /**
   **********************************************************************************************
   A file that is stored in multiple blocks, in multiple files
@@ -70,7 +73,7 @@ public class MultiFileBlockExporterWrapper extends ExporterPlugin {
   **/
   @Override
   public boolean available() {
-    if (exporter.available()) {
+    if (blockReader.available()) {
       // still reading the current block
       return true;
     }
@@ -79,13 +82,12 @@ public class MultiFileBlockExporterWrapper extends ExporterPlugin {
     currentBlock++;
     if (currentBlock < blockOffsets.length) {
       // open the next block
-      exporter.close();
-      exporter.open(new Resource(sourceFiles[currentBlock], "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
-      return exporter.available();
+      blockReader.open(exporter, new Resource(sourceFiles[currentBlock], "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
+      return blockReader.available();
     }
     else {
       // finished reading the last block
-      exporter.close();
+      blockReader.close();
       return false;
     }
 
@@ -98,7 +100,7 @@ public class MultiFileBlockExporterWrapper extends ExporterPlugin {
   **/
   @Override
   public void close() {
-    exporter.close();
+    blockReader.close();
   }
 
   public long[] getBlockLengths() {
@@ -124,7 +126,7 @@ public class MultiFileBlockExporterWrapper extends ExporterPlugin {
 
       // open the first block, ready to go
       currentBlock = 0;
-      exporter.open(new Resource(sourceFiles[currentBlock], "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
+      blockReader.open(exporter, new Resource(sourceFiles[currentBlock], "", blockOffsets[currentBlock], blockLengths[currentBlock], decompLengths[currentBlock]));
 
     }
     catch (Throwable t) {
@@ -165,7 +167,7 @@ public class MultiFileBlockExporterWrapper extends ExporterPlugin {
   @Override
   public int read() {
     try {
-      return exporter.read(); // available() already handles the transition between blocks
+      return blockReader.read(); // available() already handles the transition between blocks
     }
     catch (Throwable t) {
       return 0;
@@ -50,6 +50,7 @@ public class Viewer_000_2_D3GR extends ViewerPlugin {
     setGames("Sanitarium");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
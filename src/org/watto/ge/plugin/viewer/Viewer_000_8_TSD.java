@@ -47,6 +47,7 @@ public class Viewer_000_8_TSD extends ViewerPlugin {
     setGames("Batman Vengeance");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
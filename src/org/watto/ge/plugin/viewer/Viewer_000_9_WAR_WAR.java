@@ -50,6 +50,7 @@ public class Viewer_000_9_WAR_WAR extends ViewerPlugin {
         "Tomb Raider: Underworld");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_000_SFDX_XBMP extends ViewerPlugin {
     setGames("The Hobbit");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
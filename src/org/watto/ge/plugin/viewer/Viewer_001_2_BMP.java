@@ -51,6 +51,7 @@ public class Viewer_001_2_BMP extends ViewerPlugin {
     setGames("Star Trek: 25th Anniversary");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -55,6 +55,7 @@ public class Viewer_AFS_AFS_WE00 extends ViewerPlugin {
     setPlatforms("PC");
 
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -51,6 +51,7 @@ public class Viewer_ANB_LZPK_IMG_IMG extends ViewerPlugin {
     setGames("Addiction Pinball");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
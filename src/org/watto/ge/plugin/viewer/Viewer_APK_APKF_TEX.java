@@ -51,6 +51,7 @@ public class Viewer_APK_APKF_TEX extends ViewerPlugin {
         "Kung Fu Panda");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
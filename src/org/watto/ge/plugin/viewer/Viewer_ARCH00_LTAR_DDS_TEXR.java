@@ -44,6 +44,7 @@ public class Viewer_ARCH00_LTAR_DDS_TEXR extends ViewerPlugin {
     setGames("Condemned: Criminal Origins");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_ARC_10_DDSC_AVTX extends ViewerPlugin {
     setGames("theHunter: Call Of The Wild");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
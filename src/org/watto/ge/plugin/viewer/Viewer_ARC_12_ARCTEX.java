@@ -46,6 +46,7 @@ public class Viewer_ARC_12_ARCTEX extends ViewerPlugin {
         "Mega Man X4");
     setPlatforms("PC", "PSX");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
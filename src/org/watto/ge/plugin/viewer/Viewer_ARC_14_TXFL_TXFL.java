@@ -62,6 +62,7 @@ public class Viewer_ARC_14_TXFL_TXFL extends ViewerPlugin {
         "The Sims 2");
     setPlatforms("XBox");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
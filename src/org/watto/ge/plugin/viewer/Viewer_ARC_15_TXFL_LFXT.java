@@ -48,6 +48,7 @@ public class Viewer_ARC_15_TXFL_LFXT extends ViewerPlugin {
     setGames("The Urbz: Sims in the City");
     setPlatforms("GameCube");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
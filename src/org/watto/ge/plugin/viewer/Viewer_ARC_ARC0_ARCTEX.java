@@ -48,6 +48,7 @@ public class Viewer_ARC_ARC0_ARCTEX extends ViewerPlugin {
     setGames("Big Mutha Truckers");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -52,6 +52,7 @@ public class Viewer_ARC_ARCC_ARCTEX extends ViewerPlugin {
     setGames("Street Racing Syndicate");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
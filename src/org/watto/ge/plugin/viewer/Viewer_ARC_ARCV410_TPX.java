@@ -45,6 +45,7 @@ public class Viewer_ARC_ARCV410_TPX extends ViewerPlugin {
     setGames("Hero of the Kingdom");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
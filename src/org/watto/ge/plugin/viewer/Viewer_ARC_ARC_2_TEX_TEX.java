@@ -50,6 +50,7 @@ public class Viewer_ARC_ARC_2_TEX_TEX extends ViewerPlugin {
         "Capcom Fighting Collection");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
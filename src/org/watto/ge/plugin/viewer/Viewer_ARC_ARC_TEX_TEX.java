@@ -44,6 +44,7 @@ public class Viewer_ARC_ARC_TEX_TEX extends ViewerPlugin {
     setGames("Titan Quest");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
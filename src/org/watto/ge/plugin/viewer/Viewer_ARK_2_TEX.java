@@ -48,6 +48,7 @@ public class Viewer_ARK_2_TEX extends ViewerPlugin {
         "MotoGP: Ultimate Racing Technology 3");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
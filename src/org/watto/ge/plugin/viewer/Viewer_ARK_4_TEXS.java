@@ -46,6 +46,7 @@ public class Viewer_ARK_4_TEXS extends ViewerPlugin {
     setGames("Split Second");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_ART_ARTTEX extends ViewerPlugin {
     setGames("Requiem: Avenging Angel");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_BAG_4_BM2_BM extends ViewerPlugin {
     setGames("Austerlitz");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -54,6 +54,7 @@ public class Viewer_BAG_TEX extends ViewerPlugin {
     setGames("Brian Lara International Cricket 2005");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
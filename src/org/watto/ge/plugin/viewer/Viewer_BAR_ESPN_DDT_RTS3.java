@@ -47,6 +47,7 @@ public class Viewer_BAR_ESPN_DDT_RTS3 extends ViewerPlugin {
     setGames("Age Of Empires 3");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
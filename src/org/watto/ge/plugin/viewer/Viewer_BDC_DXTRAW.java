@@ -45,6 +45,7 @@ public class Viewer_BDC_DXTRAW extends ViewerPlugin {
     setGames("Bioshock 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
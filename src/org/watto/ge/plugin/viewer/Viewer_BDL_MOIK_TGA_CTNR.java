@@ -47,6 +47,7 @@ public class Viewer_BDL_MOIK_TGA_CTNR extends ViewerPlugin {
     setGames("Worms Revolution");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_BF_BANKFILEV113_IMAGE extends ViewerPlugin {
     setGames("Ultimate Race Pro");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_BF_CRYOBF_SPR_SPRCRYO extends ViewerPlugin {
     setGames("Echo: Secret of the Lost Cavern");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_BGD_BTF extends ViewerPlugin {
     setGames("Redline");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
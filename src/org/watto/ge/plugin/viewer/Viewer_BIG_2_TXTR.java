@@ -47,6 +47,7 @@ public class Viewer_BIG_2_TXTR extends ViewerPlugin {
     setGames("Armed and Dangerous");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_BIG_4_TEX256 extends ViewerPlugin {
     setGames("Legacy of Kain: Soul Reaver");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
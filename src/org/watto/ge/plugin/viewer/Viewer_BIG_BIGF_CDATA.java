@@ -44,6 +44,7 @@ public class Viewer_BIG_BIGF_CDATA extends ViewerPlugin {
     setGames("Red Alert 3");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_BIG_GOEFILE_TEXTURE extends ViewerPlugin {
     setPlatforms("PC");
     setStandardFileFormat(false);
     setEnabled(false); // NO LONGER NEEDED, NOW THAT WE READ THE ARCHIVE PROPERLY.
+    setImageViewer(true);
   }
 
   /**
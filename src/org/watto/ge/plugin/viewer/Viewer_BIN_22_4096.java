@@ -45,6 +45,7 @@ public class Viewer_BIN_22_4096 extends ViewerPlugin {
     setGames("Star Wars: Episode 1 Racer");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
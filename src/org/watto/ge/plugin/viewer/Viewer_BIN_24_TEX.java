@@ -53,6 +53,7 @@ public class Viewer_BIN_24_TEX extends ViewerPlugin {
     setGames("Beyond Good & Evil");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_BIN_25_CD_CD extends ViewerPlugin {
     setGames("Wildfire");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_BIN_26_TT extends ViewerPlugin {
     setGames("Monopoly Tycoon");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
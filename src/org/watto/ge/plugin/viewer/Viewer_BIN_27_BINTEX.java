@@ -45,6 +45,7 @@ public class Viewer_BIN_27_BINTEX extends ViewerPlugin {
     setGames("Daytona USA");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_BIN_32_BINTEX extends ViewerPlugin {
     setGames("LEGO Super Mario");
     setPlatforms("Android", "iOS");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
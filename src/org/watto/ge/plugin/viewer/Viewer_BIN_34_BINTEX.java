@@ -46,6 +46,7 @@ public class Viewer_BIN_34_BINTEX extends ViewerPlugin {
     setGames("007: Tomorrow Never Dies");
     setPlatforms("PSX");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
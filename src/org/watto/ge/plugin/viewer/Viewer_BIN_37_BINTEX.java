@@ -47,6 +47,7 @@ public class Viewer_BIN_37_BINTEX extends ViewerPlugin {
     setGames("Michael Jackson: The Experience");
     setPlatforms("Wii");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_BIN_43_TEX extends ViewerPlugin {
     setGames("Prince of Persia: Revelations");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -44,6 +44,7 @@ public class Viewer_BIN_AllodsOnline_Texture extends ViewerPlugin {
     setGames("Allods Online");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -55,6 +55,7 @@ public class Viewer_BIN_DXP2_DDSX_DDSX extends ViewerPlugin {
     setGames("Wings of Prey");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_BIN_MWO3_BINTEX extends ViewerPlugin {
     setGames("ESPN National Hockey Night");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
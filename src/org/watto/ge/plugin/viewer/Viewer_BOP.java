@@ -49,6 +49,7 @@ public class Viewer_BOP extends ViewerPlugin {
     setStandardFileFormat(false);
 
     setEnabled(false); // because we don't know what the Palette format is
+    setImageViewer(true);
   }
 
   /**
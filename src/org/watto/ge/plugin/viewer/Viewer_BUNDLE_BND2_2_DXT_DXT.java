@@ -48,6 +48,7 @@ public class Viewer_BUNDLE_BND2_2_DXT_DXT extends ViewerPlugin {
     setGames("Burnout Paradise: The Ultimate Box");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_BUNDLE_PSR_TEX_XET extends ViewerPlugin {
     setGames("The Lion's Song");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,7 +49,7 @@ public class Viewer_CAM_CYLBPC_3_4_PICT extends ViewerPlugin {
     setStandardFileFormat(false);
 
     setEnabled(false); // Doesn't currently work, PICT has lots of different formats that need more analyzing
-
+    setImageViewer(true);
   }
 
   /**
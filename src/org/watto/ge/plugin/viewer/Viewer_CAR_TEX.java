@@ -47,6 +47,7 @@ public class Viewer_CAR_TEX extends ViewerPlugin {
         "Carnivores: Ice Age");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
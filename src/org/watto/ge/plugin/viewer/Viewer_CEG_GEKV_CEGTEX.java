@@ -52,6 +52,7 @@ public class Viewer_CEG_GEKV_CEGTEX extends ViewerPlugin {
     setGames("The Punisher");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
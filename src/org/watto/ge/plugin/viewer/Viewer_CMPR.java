@@ -47,6 +47,7 @@ public class Viewer_CMPR extends ViewerPlugin {
     setGames("Wii");
     setPlatforms("Wii");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
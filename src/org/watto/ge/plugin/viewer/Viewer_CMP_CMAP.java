@@ -46,6 +46,7 @@ public class Viewer_CMP_CMAP extends ViewerPlugin {
     setGames("Baram");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
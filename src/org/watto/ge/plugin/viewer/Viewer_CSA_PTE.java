@@ -46,6 +46,7 @@ public class Viewer_CSA_PTE extends ViewerPlugin {
     setGames("Star Stable Online");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
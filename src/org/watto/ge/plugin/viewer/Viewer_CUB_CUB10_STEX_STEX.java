@@ -50,6 +50,7 @@ public class Viewer_CUB_CUB10_STEX_STEX extends ViewerPlugin {
     setGames("My Brother Rabbit");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_DAN_ASVF_IMAGE extends ViewerPlugin {
     setGames("Claws and Feathers");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_DAS_DASP_DASTEX extends ViewerPlugin {
     setGames("Normality");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
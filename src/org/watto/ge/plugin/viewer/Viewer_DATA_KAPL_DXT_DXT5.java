@@ -49,6 +49,7 @@ public class Viewer_DATA_KAPL_DXT_DXT5 extends ViewerPlugin {
     setGames("Full Throttle Remastered");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
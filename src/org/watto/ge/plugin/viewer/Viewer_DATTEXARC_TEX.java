@@ -53,6 +53,7 @@ public class Viewer_DATTEXARC_TEX extends ViewerPlugin {
     setGames("The Great Escape");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
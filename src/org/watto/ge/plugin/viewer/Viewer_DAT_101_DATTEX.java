@@ -47,6 +47,7 @@ public class Viewer_DAT_101_DATTEX extends ViewerPlugin {
     setGames("NHL FaceOff 99");
     setPlatforms("PS1");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
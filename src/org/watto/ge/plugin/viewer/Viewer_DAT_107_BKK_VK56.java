@@ -46,6 +46,7 @@ public class Viewer_DAT_107_BKK_VK56 extends ViewerPlugin {
         "Screamer 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
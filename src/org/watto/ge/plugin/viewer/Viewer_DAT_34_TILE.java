@@ -49,6 +49,7 @@ public class Viewer_DAT_34_TILE extends ViewerPlugin {
     setGames("Nexus: The Kingdom Of The Winds");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
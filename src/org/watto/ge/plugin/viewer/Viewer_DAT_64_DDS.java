@@ -46,6 +46,7 @@ public class Viewer_DAT_64_DDS extends ViewerPlugin {
     setGames("Anomoly Defenders");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -55,6 +55,7 @@ public class Viewer_DAT_66_BITMAP extends ViewerPlugin {
     setGames("Rollercoaster Tycoon Classic");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_DAT_76_DATTEX extends ViewerPlugin {
     setGames("Legacy of Kain: Soul Reaver");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_DAT_89_DAT89TEX extends ViewerPlugin {
     setGames("Frostpunk");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
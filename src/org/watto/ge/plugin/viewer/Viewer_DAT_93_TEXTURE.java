@@ -48,6 +48,7 @@ public class Viewer_DAT_93_TEXTURE extends ViewerPlugin {
     setGames("Asheron's Call 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_DAT_96_DATTEX extends ViewerPlugin {
     setGames("ESPN NHL Hockey");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
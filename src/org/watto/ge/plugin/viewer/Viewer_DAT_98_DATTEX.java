@@ -46,6 +46,7 @@ public class Viewer_DAT_98_DATTEX extends ViewerPlugin {
     setGames("Turok: Dinosaur Hunter");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -53,6 +53,7 @@ public class Viewer_DAT_DAT_IFF_TXTR extends ViewerPlugin {
     setGames("ESPN NHL Hockey");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_DAT_DAVE_TEX extends ViewerPlugin {
     setGames("Red Dead Revolver");
     setPlatforms("XBox");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_DAT_HSFS_BM16_BM16 extends ViewerPlugin {
     setGames("Broken Sword: Shadow of the Templars");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -14,9 +14,11 @@
 
 package org.watto.ge.plugin.viewer;
 
+import java.util.Arrays;
 import org.watto.component.PreviewPanel;
 import org.watto.component.PreviewPanel_Image;
 import org.watto.datatype.Archive;
+import org.watto.datatype.ImageFrameSource;
 import org.watto.datatype.ImageResource;
 import org.watto.ge.helper.FieldValidator;
 import org.watto.ge.plugin.AllFilesPlugin;
@@ -25,6 +27,7 @@ import org.watto.ge.plugin.ViewerPlugin;
 import org.watto.ge.plugin.archive.Plugin_DAT_HSFS;
 import org.watto.io.FileManipulator;
 import org.watto.io.FilenameSplitter;
+import org.watto.io.buffer.ByteBuffer;
 import org.watto.io.converter.ByteConverter;
 import org.watto.io.converter.ShortConverter;
 
@@ -47,6 +50,7 @@ public class Viewer_DAT_HSFS_SPR8_SPR8 extends ViewerPlugin {
     setGames("Broken Sword: Shadow of the Templars");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -129,6 +133,65 @@ public class Viewer_DAT_HSFS_SPR8_SPR8 extends ViewerPlugin {
     }
   }
 
+  /**
+  **********************************************************************************************
+  Reads a single frame of the given <i>frameType</i> (SPR4, SPR8 or SPRA)
+  **********************************************************************************************
+  **/
+  public ImageResource readFrame(FileManipulator fm, String frameType, int width, int height, int xPos, int yPos, int maxWidth, int maxHeight, int[] palette) {
+    if (frameType.equals("SPR4")) {
+      return readFrame4(fm, width, height, xPos, yPos, maxWidth, maxHeight, palette);
+    }
+    else if (frameType.equals("SPRA")) {
+      return readFrameA(fm, width, height, xPos, yPos, maxWidth, maxHeight, palette);
+    }
+    return readFrame8(fm, width, height, xPos, yPos, maxWidth, maxHeight, palette);
+  }
+
+  /**
+  **********************************************************************************************
+  Reads the first frame, and links the other frames to an ImageFrameSource so they're only
+  decoded when they're shown. Every frame is the full size of the sprite, so decoding them all up
+  front used a lot of memory for sprites with lots of frames.
+  **********************************************************************************************
+  **/
+  public ImageResource readFrames(FileManipulator fm, final String frameType, int numFrames, final int[] offsets, final int[] widths, final int[] heights, final int[] x, final int[] y, final int maxWidth, final int maxHeight, final int[][] palettes) {
+    fm.relativeSeek(offsets[0]);
+    final ImageResource firstFrame = readFrame(fm, frameType, widths[0], heights[0], x[0], y[0], maxWidth, maxHeight, palettes[0]);
+    if (firstFrame == null) {
+      fm.close();
+      return null;
+    }
+
+    if (numFrames == 1) {
+      fm.close();
+      return firstFrame;
+    }
+
+    // keep the raw file, so the other frames can be decoded from it when they're needed
+    fm.seek(0);
+    final byte[] fileData = fm.readBytes((int) fm.getLength());
+    fm.close();
+
+    ImageFrameSource frameSource = new ImageFrameSource(numFrames) {
+
+      @Override
+      protected ImageResource decodeFrame(int frameNumber) {
+        if (frameNumber == 0) {
+          return firstFrame; // the first frame is only decoded once, as the frame source keeps it
+        }
+
+        FileManipulator frameFM = new FileManipulator(new ByteBuffer(fileData));
+        frameFM.seek(offsets[frameNumber]);
+        ImageResource frame = readFrame(frameFM, frameType, widths[frameNumber], heights[frameNumber], x[frameNumber], y[frameNumber], maxWidth, maxHeight, palettes[frameNumber]);
+        frameFM.close();
+        return frame;
+      }
+    };
+
+    return frameSource.getFrame(0);
+  }
+
   /**
   **********************************************************************************************
   
@@ -523,29 +586,7 @@ public class Viewer_DAT_HSFS_SPR8_SPR8 extends ViewerPlugin {
         y[i] -= minY;
       }
 
-      ImageResource[] frames = new ImageResource[numFrames];
-
-      for (int i = 0; i < numFrames; i++) {
-        fm.relativeSeek(offsets[i]); // should already be at the right spot each time
-        ImageResource frame = readFrameA(fm, widths[i], heights[i], x[i], y[i], maxWidth, maxHeight, palettes[i]);
-        if (frame == null) {
-          return null;
-        }
-        frames[i] = frame;
-      }
-
-      // Now join all the frames together
-      if (numFrames != 1) {
-        for (int i = 0; i < numFrames - 1; i++) {
-          frames[i].setNextFrame(frames[i + 1]);
-        }
-        frames[numFrames - 1].setNextFrame(frames[0]); // continue again from the start
-      }
-      //frames[0].setManualFrameTransition(true);// For Testing Only
-
-      fm.close();
-
-      return frames[0];
+      return readFrames(fm, "SPRA", numFrames, offsets, widths, heights, x, y, maxWidth, maxHeight, palettes);
 
     }
     catch (Throwable t) {
@@ -879,29 +920,10 @@ public class Viewer_DAT_HSFS_SPR8_SPR8 extends ViewerPlugin {
         y[i] -= minY;
       }
 
-      ImageResource[] frames = new ImageResource[numFrames];
-
-      for (int i = 0; i < numFrames; i++) {
-        fm.relativeSeek(offsets[i]); // should already be at the right spot each time
-        ImageResource frame = readFrame8(fm, widths[i], heights[i], x[i], y[i], maxWidth, maxHeight, palette);
-        if (frame == null) {
-          return null;
-        }
-        frames[i] = frame;
-      }
-
-      // Now join all the frames together
-      if (numFrames != 1) {
-        for (int i = 0; i < numFrames - 1; i++) {
-          frames[i].setNextFrame(frames[i + 1]);
-        }
-        frames[numFrames - 1].setNextFrame(frames[0]); // continue again from the start
-      }
-      //frames[0].setManualFrameTransition(true);// For Testing Only
-
-      fm.close();
+      int[][] palettes = new int[numFrames][0];
+      Arrays.fill(palettes, palette);
 
-      return frames[0];
+      return readFrames(fm, "SPR8", numFrames, offsets, widths, heights, x, y, maxWidth, maxHeight, palettes);
 
     }
     catch (Throwable t) {
@@ -1009,29 +1031,10 @@ public class Viewer_DAT_HSFS_SPR8_SPR8 extends ViewerPlugin {
         y[i] -= minY;
       }
 
-      ImageResource[] frames = new ImageResource[numFrames];
-
-      for (int i = 0; i < numFrames; i++) {
-        fm.relativeSeek(offsets[i]); // should already be at the right spot each time
-        ImageResource frame = readFrame4(fm, widths[i], heights[i], x[i], y[i], maxWidth, maxHeight, palette);
-        if (frame == null) {
-          return null;
-        }
-        frames[i] = frame;
-      }
-
-      // Now join all the frames together
-      if (numFrames != 1) {
-        for (int i = 0; i < numFrames - 1; i++) {
-          frames[i].setNextFrame(frames[i + 1]);
-        }
-        frames[numFrames - 1].setNextFrame(frames[0]); // continue again from the start
-      }
-      //frames[0].setManualFrameTransition(true);// For Testing Only
+      int[][] palettes = new int[numFrames][0];
+      Arrays.fill(palettes, palette);
 
-      fm.close();
-
-      return frames[0];
+      return readFrames(fm, "SPR4", numFrames, offsets, widths, heights, x, y, maxWidth, maxHeight, palettes);
 
     }
     catch (Throwable t) {
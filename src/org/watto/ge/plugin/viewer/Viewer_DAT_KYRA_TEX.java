@@ -46,6 +46,7 @@ public class Viewer_DAT_KYRA_TEX extends ViewerPlugin {
     setGames("Musaic Box");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -51,6 +51,7 @@ public class Viewer_DAT_RIDT_DXTMIPMAP extends ViewerPlugin {
     setGames("Duke Nukem Forever");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
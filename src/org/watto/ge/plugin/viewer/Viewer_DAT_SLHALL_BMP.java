@@ -46,6 +46,7 @@ public class Viewer_DAT_SLHALL_BMP extends ViewerPlugin {
     setGames("Temporal");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -43,6 +43,7 @@ public class Viewer_DCT_DC2 extends ViewerPlugin {
     setGames("Paris Chase");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
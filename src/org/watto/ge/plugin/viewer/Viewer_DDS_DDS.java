@@ -45,6 +45,7 @@ public class Viewer_DDS_DDS extends ViewerPlugin {
     super("DDS_DDS", "DirectX DDS Image");
     setExtensions("dds");
     setStandardFileFormat(true);
+    setImageViewer(true);
   }
 
   /**
@@ -211,6 +212,14 @@ public class Viewer_DDS_DDS extends ViewerPlugin {
       // Go to the start of the texture data
       //fm.seek(128); // We should already be here!
 
+      // If we're only generating a thumbnail, skip to a smaller mipmap
+      boolean blockCompressed = isBlockCompressed(fourCC, dxgiFormat);
+      int mipmapLevel = ImageFormatReader.skipToThumbnailMipmap(fm, width, height, mipMapCount, getBitsPerPixel(fourCC, dxgiFormat, rgbBitCount, blockCompressed), blockCompressed);
+      if (mipmapLevel > 0) {
+        width = Math.max(1, width >> mipmapLevel);
+        height = Math.max(1, height >> mipmapLevel);
+      }
+
       ImageResource imageResource = null;
 
       if (dxgiFormat != 0) {
@@ -941,6 +950,71 @@ public class Viewer_DDS_DDS extends ViewerPlugin {
     }
   }
 
+  /**
+  **********************************************************************************************
+  Whether the image data is stored in 4x4 blocks (DXT/BC formats)
+  **********************************************************************************************
+  **/
+  boolean isBlockCompressed(String fourCC, int dxgiFormat) {
+    if (dxgiFormat != 0) {
+      return (dxgiFormat >= 70 && dxgiFormat <= 84) || (dxgiFormat >= 94 && dxgiFormat <= 99);
+    }
+    return fourCC.startsWith("DXT") || fourCC.equals("DX1A") || fourCC.equals("ATI1") || fourCC.equals("ATI2") || fourCC.equals("BC4U") || fourCC.equals("BC5U");
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the number of bits per pixel for the image format, or 0 if it isn't known, so that the
+  larger mipmaps can be skipped when generating a thumbnail
+  **********************************************************************************************
+  **/
+  int getBitsPerPixel(String fourCC, int dxgiFormat, int rgbBitCount, boolean blockCompressed) {
+    if (blockCompressed) {
+      if (dxgiFormat >= 70 && dxgiFormat <= 72) {
+        return 4; // BC1
+      }
+      else if (dxgiFormat >= 79 && dxgiFormat <= 81) {
+        return 4; // BC4
+      }
+      else if (dxgiFormat != 0) {
+        return 8; // BC2, BC3, BC5, BC6H, BC7
+      }
+      else if (fourCC.equals("DXT1") || fourCC.equals("DX1A") || fourCC.equals("ATI1") || fourCC.equals("BC4U")) {
+        return 4;
+      }
+      return 8;
+    }
+
+    if (dxgiFormat != 0) {
+      return 0; // too many formats to know the size of each one - just read the largest mipmap
+    }
+
+    String trimmedFourCC = fourCC.trim();
+    if (trimmedFourCC.equals("q")) {
+      return 64;
+    }
+    else if (trimmedFourCC.equals("r")) {
+      return 32;
+    }
+    else if (trimmedFourCC.equals("t")) {
+      return 128;
+    }
+    else if (rgbBitCount == 8 || rgbBitCount == 16 || rgbBitCount == 24 || rgbBitCount == 32) {
+      return rgbBitCount;
+    }
+    return 0;
+  }
+
+  /**
+  **********************************************************************************************
+  The decoded image is returned as-is, so thumbnails can be read from a smaller mipmap
+  **********************************************************************************************
+  **/
+  @Override
+  public boolean canReadReducedThumbnail() {
+    return true;
+  }
+
   /**
   **********************************************************************************************
   
@@ -51,6 +51,7 @@ public class Viewer_DHB extends ViewerPlugin {
     setGames("Die Hard Trilogy 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
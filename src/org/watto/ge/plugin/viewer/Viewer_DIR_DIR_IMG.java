@@ -46,6 +46,7 @@ public class Viewer_DIR_DIR_IMG extends ViewerPlugin {
     setGames("Worms 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_DR_DR12_8IMAGE extends ViewerPlugin {
     setGames("Showdown: Legends of Wrestling");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
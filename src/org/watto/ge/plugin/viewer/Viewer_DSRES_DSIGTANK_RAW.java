@@ -45,6 +45,7 @@ public class Viewer_DSRES_DSIGTANK_RAW extends ViewerPlugin {
     setGames("Dungeon Siege: Legends of Aranna");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
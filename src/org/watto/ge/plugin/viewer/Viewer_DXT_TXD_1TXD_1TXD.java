@@ -48,6 +48,7 @@ public class Viewer_DXT_TXD_1TXD_1TXD extends ViewerPlugin {
     setGames("Hitman: Codename 47");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
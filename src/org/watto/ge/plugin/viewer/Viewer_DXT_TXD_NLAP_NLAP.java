@@ -47,6 +47,7 @@ public class Viewer_DXT_TXD_NLAP_NLAP extends ViewerPlugin {
     setGames("Hitman: Codename 47");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
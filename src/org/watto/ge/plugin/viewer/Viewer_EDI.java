@@ -41,6 +41,7 @@ public class Viewer_EDI extends ViewerPlugin {
     setGames("Project Eden");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
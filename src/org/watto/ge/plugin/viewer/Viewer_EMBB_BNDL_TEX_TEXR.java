@@ -48,6 +48,7 @@ public class Viewer_EMBB_BNDL_TEX_TEXR extends ViewerPlugin {
     setGames("Middle Earth: Shadow Of Mordor");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_EPC_EMDF_EMTR extends ViewerPlugin {
         "Doctor Who: Episode 4: Shadows of the Vashta Nerada");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
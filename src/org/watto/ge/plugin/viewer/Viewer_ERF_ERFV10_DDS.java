@@ -46,6 +46,7 @@ public class Viewer_ERF_ERFV10_DDS extends ViewerPlugin {
     setGames("Neverwinter Nights");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
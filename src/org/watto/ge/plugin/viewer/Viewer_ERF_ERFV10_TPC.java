@@ -46,6 +46,7 @@ public class Viewer_ERF_ERFV10_TPC extends ViewerPlugin {
     setGames("Star Wars: Knights Of The Old Republic");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
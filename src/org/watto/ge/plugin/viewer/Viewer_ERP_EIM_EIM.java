@@ -44,6 +44,7 @@ public class Viewer_ERP_EIM_EIM extends ViewerPlugin {
     setGames("Alter Ego");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_EXP_EXPTEX extends ViewerPlugin {
     setGames("Chef's Luv Shack");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_FIFAMOD_FIFATOOL_FIFATEX extends ViewerPlugin {
     setGames("FIFA 22", "FIFA 23");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_FORGEDAT_MAP extends ViewerPlugin {
     setGames("For Honor");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_FST_4_BMP extends ViewerPlugin {
     setGames("Super Bubsy");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_FST_FAST_2_FTEXTURE extends ViewerPlugin {
     setGames("Crazy Machines 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
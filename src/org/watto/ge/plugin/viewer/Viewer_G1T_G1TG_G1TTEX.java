@@ -47,6 +47,7 @@ public class Viewer_G1T_G1TG_G1TTEX extends ViewerPlugin {
     setGames("Nioh");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
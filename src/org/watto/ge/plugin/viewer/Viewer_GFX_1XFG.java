@@ -46,6 +46,7 @@ public class Viewer_GFX_1XFG extends ViewerPlugin {
         "Alice Greenfingers 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
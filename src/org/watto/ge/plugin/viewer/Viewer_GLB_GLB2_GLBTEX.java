@@ -55,6 +55,7 @@ public class Viewer_GLB_GLB2_GLBTEX extends ViewerPlugin {
     setGames("DemonStar");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_GLI_GLIB_IMG extends ViewerPlugin {
     setGames("Airline Tycoon");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
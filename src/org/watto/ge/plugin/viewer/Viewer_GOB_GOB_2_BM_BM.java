@@ -47,6 +47,7 @@ public class Viewer_GOB_GOB_2_BM_BM extends ViewerPlugin {
     setGames("Star Wars Jedi Knight: Dark Forces 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
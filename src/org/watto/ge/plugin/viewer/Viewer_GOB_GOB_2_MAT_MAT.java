@@ -46,6 +46,7 @@ public class Viewer_GOB_GOB_2_MAT_MAT extends ViewerPlugin {
     setGames("Jedi Knight: Mysteries Of The Sith");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
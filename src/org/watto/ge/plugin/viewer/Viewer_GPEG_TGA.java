@@ -47,6 +47,7 @@ public class Viewer_GPEG_TGA extends ViewerPlugin {
     setGames("Saints Row: The Third: Remastered");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
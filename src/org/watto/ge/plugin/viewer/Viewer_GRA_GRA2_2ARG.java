@@ -51,6 +51,7 @@ public class Viewer_GRA_GRA2_2ARG extends ViewerPlugin {
     setGames("Scrabble 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
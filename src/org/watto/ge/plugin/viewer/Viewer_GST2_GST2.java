@@ -45,6 +45,7 @@ public class Viewer_GST2_GST2 extends ViewerPlugin {
     setGames("Buckshot Roulette");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
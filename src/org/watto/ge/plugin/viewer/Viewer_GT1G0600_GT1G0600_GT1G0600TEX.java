@@ -48,6 +48,7 @@ public class Viewer_GT1G0600_GT1G0600_GT1G0600TEX extends ViewerPlugin {
     setGames("Ninja Gaiden Sigma");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_GTC_PCTEXTURE_2TCP extends ViewerPlugin {
     setGames("Drome Racers");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
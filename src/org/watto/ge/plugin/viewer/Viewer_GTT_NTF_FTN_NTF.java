@@ -46,6 +46,7 @@ public class Viewer_GTT_NTF_FTN_NTF extends ViewerPlugin {
         "Legend of Ares");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -43,6 +43,7 @@ public class Viewer_GXA_BMHD extends ViewerPlugin {
     setGames("Redguard: Elder Scrolls Adventures");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
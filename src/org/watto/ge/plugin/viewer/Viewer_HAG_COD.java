@@ -46,6 +46,7 @@ public class Viewer_HAG_COD extends ViewerPlugin {
         "Ripley's Believe It or Not!: The Riddle Of Master Lu");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_HAG_SS_SS4M extends ViewerPlugin {
         "Ripley's Believe It or Not!: The Riddle Of Master Lu");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
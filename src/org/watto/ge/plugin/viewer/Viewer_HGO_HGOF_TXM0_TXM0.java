@@ -52,6 +52,7 @@ public class Viewer_HGO_HGOF_TXM0_TXM0 extends ViewerPlugin {
     setGames("Crash Bandicoot: The Wrath of Cortex");
     setPlatforms("xbox", "ps2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_HNK_RENDERTEXTURESET extends ViewerPlugin {
     setGames("Scooby-Doo! First Frights");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -44,6 +44,7 @@ public class Viewer_HOGG_WTEX extends ViewerPlugin {
     setGames("Champions Online");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
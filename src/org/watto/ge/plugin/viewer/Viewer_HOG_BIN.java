@@ -50,6 +50,7 @@ public class Viewer_HOG_BIN extends ViewerPlugin {
     setGames("Syphon Filter");
     setPlatforms("PS1");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
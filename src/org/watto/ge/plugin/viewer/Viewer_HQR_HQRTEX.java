@@ -53,6 +53,7 @@ public class Viewer_HQR_HQRTEX extends ViewerPlugin {
     setGames("Little Big Adventure 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
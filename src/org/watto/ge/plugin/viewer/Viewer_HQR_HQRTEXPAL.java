@@ -46,6 +46,7 @@ public class Viewer_HQR_HQRTEXPAL extends ViewerPlugin {
     setGames("Little Big Adventure 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_IBT_DXT_DXT extends ViewerPlugin {
     setGames("Thief 3: Deadly Shadows");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
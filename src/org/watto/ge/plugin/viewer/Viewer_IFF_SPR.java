@@ -50,6 +50,7 @@ public class Viewer_IFF_SPR extends ViewerPlugin {
     setGames("The Sims");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_IMAGE_IMAGETEX extends ViewerPlugin {
     setGames("Shantae and the Pirates Curse");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -44,6 +44,7 @@ public class Viewer_IMG_GMI extends ViewerPlugin {
         "Jetboat Superchamps 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
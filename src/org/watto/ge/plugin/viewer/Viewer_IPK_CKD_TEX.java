@@ -45,6 +45,7 @@ public class Viewer_IPK_CKD_TEX extends ViewerPlugin {
     setGames("Rayman Legends");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
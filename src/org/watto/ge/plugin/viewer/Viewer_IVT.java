@@ -52,7 +52,7 @@ public class Viewer_IVT extends ViewerPlugin {
     setGames("International Volleyball 2009");
     setPlatforms("PC");
     setStandardFileFormat(false);
-
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_J2D_PLIB_PICTURE extends ViewerPlugin {
     setGames("Jazz Jackrabbit 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_JAM_FSTA_PNT_HVSIPNT extends ViewerPlugin {
     setGames("Codename Kids Next Door - Operation: V.I.D.E.O.G.A.M.E.");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
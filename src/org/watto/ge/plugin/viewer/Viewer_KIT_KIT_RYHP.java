@@ -46,6 +46,7 @@ public class Viewer_KIT_KIT_RYHP extends ViewerPlugin {
     setGames("Unravel");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_KWAD_KLEI_TEX extends ViewerPlugin {
     setGames("Invisible Inc.");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -51,6 +51,7 @@ public class Viewer_LMP_TEX extends ViewerPlugin {
     setGames("The Bard's Tale");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -44,6 +44,7 @@ public class Viewer_MAP extends ViewerPlugin {
     setGames("Baram");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
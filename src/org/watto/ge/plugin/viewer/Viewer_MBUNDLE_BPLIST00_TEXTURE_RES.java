@@ -45,6 +45,7 @@ public class Viewer_MBUNDLE_BPLIST00_TEXTURE_RES extends ViewerPlugin {
     setGames("Rune Factory 4 Special");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
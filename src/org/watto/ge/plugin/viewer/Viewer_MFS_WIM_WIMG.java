@@ -52,6 +52,7 @@ public class Viewer_MFS_WIM_WIMG extends ViewerPlugin {
     setGames("Made Man");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_MHK_MHWK_BMP extends ViewerPlugin {
     setStandardFileFormat(false);
 
     setEnabled(false);// not working
+    setImageViewer(true);
   }
 
   /**
@@ -56,6 +56,7 @@ public class Viewer_MLB_MLBTEX extends ViewerPlugin {
     setGames("Screamer");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
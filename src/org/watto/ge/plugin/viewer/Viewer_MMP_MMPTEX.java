@@ -47,6 +47,7 @@ public class Viewer_MMP_MMPTEX extends ViewerPlugin {
     setGames("Blade of Darkness");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
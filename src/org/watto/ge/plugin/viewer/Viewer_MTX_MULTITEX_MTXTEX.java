@@ -51,6 +51,7 @@ public class Viewer_MTX_MULTITEX_MTXTEX extends ViewerPlugin {
     setGames("Indiana Jones and the Emperors Tomb");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
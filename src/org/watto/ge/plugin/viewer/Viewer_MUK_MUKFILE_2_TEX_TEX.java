@@ -48,6 +48,7 @@ public class Viewer_MUK_MUKFILE_2_TEX_TEX extends ViewerPlugin {
     setGames("Mall Tycoon");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
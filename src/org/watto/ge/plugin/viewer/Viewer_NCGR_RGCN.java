@@ -53,6 +53,7 @@ public class Viewer_NCGR_RGCN extends ViewerPlugin {
         "Custom Robo Arena");
     setPlatforms("NDS");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
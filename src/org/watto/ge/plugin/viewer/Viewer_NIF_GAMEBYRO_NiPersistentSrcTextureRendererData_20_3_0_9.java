@@ -46,6 +46,7 @@ public class Viewer_NIF_GAMEBYRO_NiPersistentSrcTextureRendererData_20_3_0_9 ext
     setGames("Divinity 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_NPK_0KPN_NTX_1XTN extends ViewerPlugin {
     setGames("Project Nomad");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_N_DDS_DDS extends ViewerPlugin {
         "Ninja Gaiden Sigma 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_NoExt_4_BGRA extends ViewerPlugin {
     setGames("Little Inferno");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_NoExt_7_NOEXTTEX extends ViewerPlugin {
     setGames("Human Resource Machine");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_OIM_OIM3_IMG extends ViewerPlugin {
     setGames("Shadow Of Rome");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -44,6 +44,7 @@ public class Viewer_P00_PKF_JPT_JPT extends ViewerPlugin {
     setGames("Building the Great Wall of China");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
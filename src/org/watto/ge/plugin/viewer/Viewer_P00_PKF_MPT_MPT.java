@@ -48,6 +48,7 @@ public class Viewer_P00_PKF_MPT_MPT extends ViewerPlugin {
     setGames("Building the Great Wall of China");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -51,6 +51,7 @@ public class Viewer_P3D_BMP extends ViewerPlugin {
     setGames("NHL Championship 2000");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
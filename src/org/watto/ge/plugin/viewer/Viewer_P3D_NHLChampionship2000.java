@@ -48,6 +48,7 @@ public class Viewer_P3D_NHLChampionship2000 extends ViewerPlugin {
     setGames("NHL Championship 2000");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
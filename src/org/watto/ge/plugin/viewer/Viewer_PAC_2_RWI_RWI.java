@@ -45,6 +45,7 @@ public class Viewer_PAC_2_RWI_RWI extends ViewerPlugin {
     setGames("Black Matrix 2");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,7 +47,7 @@ public class Viewer_PAK_27_DXT extends ViewerPlugin {
     setGames("Cars");
     setPlatforms("PC");
     setStandardFileFormat(false);
-
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_PAK_41_BIT_BIT extends ViewerPlugin {
     setGames("Farm Mania");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_PAK_60_PTX extends ViewerPlugin {
     setGames("Praetorians");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
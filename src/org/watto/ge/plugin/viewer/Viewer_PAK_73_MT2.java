@@ -53,6 +53,7 @@ public class Viewer_PAK_73_MT2 extends ViewerPlugin {
     setGames("Indiana Jones and the Emperors Tomb");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
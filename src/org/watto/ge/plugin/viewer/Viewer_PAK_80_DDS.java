@@ -44,6 +44,7 @@ public class Viewer_PAK_80_DDS extends ViewerPlugin {
     setGames("Fashion Rush");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_PAK_EEPAK_3_DDS_DDS extends ViewerPlugin {
         "Fear for Sale: Endless Voyage");
     setExtensions("dds");
     setStandardFileFormat(true);
+    setImageViewer(true);
   }
 
   /**
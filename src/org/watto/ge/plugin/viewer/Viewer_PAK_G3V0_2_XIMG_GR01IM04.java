@@ -44,6 +44,7 @@ public class Viewer_PAK_G3V0_2_XIMG_GR01IM04 extends ViewerPlugin {
     setGames("Risen");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
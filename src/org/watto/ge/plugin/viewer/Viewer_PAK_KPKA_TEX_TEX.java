@@ -46,6 +46,7 @@ public class Viewer_PAK_KPKA_TEX_TEX extends ViewerPlugin {
     setGames("Capcom Arcade Stadium");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_PAK_P5CK_2_GCT extends ViewerPlugin {
     setGames("TimeSplitters: Future Perfect");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_PAK_PAK_10_GFX_GFX extends ViewerPlugin {
     setGames("Hot Farm Africa");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_PAK_PAK_2_PCT_RESPACK extends ViewerPlugin {
     setGames("The Club");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_PAK_SGMF_TM extends ViewerPlugin {
     setGames("A.I.M.2: Clan Wars");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
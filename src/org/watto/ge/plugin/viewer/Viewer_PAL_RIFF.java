@@ -44,6 +44,7 @@ public class Viewer_PAL_RIFF extends ViewerPlugin {
     setGames("Super Bubsy");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_PARTIMAGES_DXT_DXT extends ViewerPlugin {
     setGames("Evoluation GT");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
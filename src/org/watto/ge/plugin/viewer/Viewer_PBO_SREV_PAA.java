@@ -55,6 +55,7 @@ public class Viewer_PBO_SREV_PAA extends ViewerPlugin {
         "Argo");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
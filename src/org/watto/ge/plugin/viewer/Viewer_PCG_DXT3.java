@@ -45,6 +45,7 @@ public class Viewer_PCG_DXT3 extends ViewerPlugin {
     setGames("Ford Racing 3");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_PCK_5_TEX_TEX extends ViewerPlugin {
     setGames("Broken Age");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_PCK_GDPC_2_CTEX_GST2 extends ViewerPlugin {
     setGames("Kamaeru");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
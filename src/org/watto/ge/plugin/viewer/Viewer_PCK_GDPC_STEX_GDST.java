@@ -46,6 +46,7 @@ public class Viewer_PCK_GDPC_STEX_GDST extends ViewerPlugin {
     setGames("Lumencraft", "Rogue Rocks");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
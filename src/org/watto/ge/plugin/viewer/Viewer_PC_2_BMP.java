@@ -50,6 +50,7 @@ public class Viewer_PC_2_BMP extends ViewerPlugin {
     setGames("Bad Boys 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
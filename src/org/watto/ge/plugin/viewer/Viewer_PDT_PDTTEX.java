@@ -49,6 +49,7 @@ public class Viewer_PDT_PDTTEX extends ViewerPlugin {
     setGames("Fighting Force");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
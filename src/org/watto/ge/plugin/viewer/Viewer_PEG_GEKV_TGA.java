@@ -48,6 +48,7 @@ public class Viewer_PEG_GEKV_TGA extends ViewerPlugin {
     setGames("Red Faction 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_PGF_PGFTEX extends ViewerPlugin {
     setGames("The Time Warp of Dr. Brain");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
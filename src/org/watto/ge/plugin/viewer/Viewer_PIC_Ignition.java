@@ -44,6 +44,7 @@ public class Viewer_PIC_Ignition extends ViewerPlugin {
     setGames("Ignition");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
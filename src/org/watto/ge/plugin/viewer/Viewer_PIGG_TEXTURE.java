@@ -50,6 +50,7 @@ public class Viewer_PIGG_TEXTURE extends ViewerPlugin {
     setGames("City of Heroes");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
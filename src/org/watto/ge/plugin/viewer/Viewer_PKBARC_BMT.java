@@ -48,6 +48,7 @@ public class Viewer_PKBARC_BMT extends ViewerPlugin {
     setGames("Shadow Hearts");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
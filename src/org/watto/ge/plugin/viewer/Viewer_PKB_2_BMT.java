@@ -50,6 +50,7 @@ public class Viewer_PKB_2_BMT extends ViewerPlugin {
         "Shadow Hearts Covenant");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
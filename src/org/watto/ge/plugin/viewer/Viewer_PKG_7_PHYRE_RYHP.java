@@ -46,6 +46,7 @@ public class Viewer_PKG_7_PHYRE_RYHP extends ViewerPlugin {
     setGames("The Legend of Heroes: Trails of Cold Steel 3");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_PKG_PPKG_PTX_RIFF extends ViewerPlugin {
     setGames("WRC 7");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_POD_POD2_RAW extends ViewerPlugin {
         "Nocturne");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -51,6 +51,7 @@ public class Viewer_POD_POD6_TEX extends ViewerPlugin {
     setGames("Ghostbusters: The Video Game: Remastered");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
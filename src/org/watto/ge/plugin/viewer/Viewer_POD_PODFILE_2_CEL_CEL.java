@@ -50,7 +50,7 @@ public class Viewer_POD_PODFILE_2_CEL_CEL extends ViewerPlugin {
         "Ready To Read With Pooh");
     setPlatforms("PC");
     setStandardFileFormat(false);
-
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_PPF_PPAK_1TX_XT1 extends ViewerPlugin {
     setGames("Psychonauts");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_PPK_PRXYPCPC_TGV extends ViewerPlugin {
     setGames("Wargame: Red Dragon");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
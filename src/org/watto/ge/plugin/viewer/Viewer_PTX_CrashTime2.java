@@ -45,6 +45,7 @@ public class Viewer_PTX_CrashTime2 extends ViewerPlugin {
     setGames("Crash Time 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_PVM_PVMH_PVR_PVRT extends ViewerPlugin {
     setGames("Sonic Adventure DX");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_PXL extends ViewerPlugin {
     setGames("Dino Crisis 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -44,6 +44,7 @@ public class Viewer_P_DFPF_TEXTURE extends ViewerPlugin {
     setGames("Brutal Legend");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
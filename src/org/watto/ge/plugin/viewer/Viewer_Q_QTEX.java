@@ -48,6 +48,7 @@ public class Viewer_Q_QTEX extends ViewerPlugin {
     setGames("Beyond Pearl Harbor: Pacific Warriors");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_R3D_ZORRA_BMP extends ViewerPlugin {
     setGames("Rocko's Quest");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
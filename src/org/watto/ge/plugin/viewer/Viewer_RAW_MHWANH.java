@@ -41,6 +41,7 @@ public class Viewer_RAW_MHWANH extends ViewerPlugin {
     setGames("Ecstatica 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
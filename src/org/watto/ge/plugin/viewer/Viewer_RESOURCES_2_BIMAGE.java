@@ -53,6 +53,7 @@ public class Viewer_RESOURCES_2_BIMAGE extends ViewerPlugin {
     setGames("RAGE");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -53,6 +53,7 @@ public class Viewer_RESOURCES_BIMAGE_MIB extends ViewerPlugin {
     setGames("Doom 3");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_RES_0TSR_3_IMG_IGM extends ViewerPlugin {
     setGames("Dirt To Daytona");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
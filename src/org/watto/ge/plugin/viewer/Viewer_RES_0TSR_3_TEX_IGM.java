@@ -47,6 +47,7 @@ public class Viewer_RES_0TSR_3_TEX_IGM extends ViewerPlugin {
     setGames("Dirt To Daytona");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_RES_0TSR_4_TEX extends ViewerPlugin {
     setGames("Test Drive: Eve of Destruction");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
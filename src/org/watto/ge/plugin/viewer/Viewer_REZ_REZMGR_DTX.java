@@ -59,7 +59,7 @@ public class Viewer_REZ_REZMGR_DTX extends ViewerPlugin {
         "Mysterious Journey 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
-
+    setImageViewer(true);
   }
 
   /**
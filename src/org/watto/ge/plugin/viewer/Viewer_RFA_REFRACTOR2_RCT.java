@@ -49,6 +49,7 @@ public class Viewer_RFA_REFRACTOR2_RCT extends ViewerPlugin {
     setGames("RalliSport Challenge");
     setPlatforms("XBox");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_RGB extends ViewerPlugin {
     setGames("The Simpsons: Tapped Out");
     setPlatforms("Android");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
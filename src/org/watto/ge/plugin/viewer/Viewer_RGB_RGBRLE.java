@@ -47,6 +47,7 @@ public class Viewer_RGB_RGBRLE extends ViewerPlugin {
     setGames("Arsenal Extended Power");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_RGT_RELIC extends ViewerPlugin {
     setGames("Company of Heroes 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_RMDP_TEX extends ViewerPlugin {
     setGames("Alan Wake");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -51,6 +51,7 @@ public class Viewer_RPACK_RP6L_TEXDATA extends ViewerPlugin {
         "Dead Island");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_RRTEX_RELIC extends ViewerPlugin {
     setGames("Age Of Empires 4");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
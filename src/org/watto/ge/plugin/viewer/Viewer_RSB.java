@@ -41,6 +41,7 @@ public class Viewer_RSB extends ViewerPlugin {
     setGames("Ghost Recon");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_RSB_1BSR_PTX extends ViewerPlugin {
     setGames("Zuma's Revenge");
     setPlatforms("iOS");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
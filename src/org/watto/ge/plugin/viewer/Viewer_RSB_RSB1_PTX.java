@@ -48,6 +48,7 @@ public class Viewer_RSB_RSB1_PTX extends ViewerPlugin {
         "Zuma's Revenge");
     setPlatforms("ps3", "xbox 360");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
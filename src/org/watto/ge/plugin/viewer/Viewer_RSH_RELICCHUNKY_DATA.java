@@ -52,6 +52,7 @@ public class Viewer_RSH_RELICCHUNKY_DATA extends ViewerPlugin {
     setGames("Warhammer 40k: Dawn Of War");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_RSR_RSRC_PICT extends ViewerPlugin {
     setGames("Imperialism 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_S16_S16IMAGE extends ViewerPlugin {
     setGames("Warhammer 40K: Rites of War");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_S3DPAK_TCIP extends ViewerPlugin {
     setGames("TimeShift");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_SDU_SRSC_SDUTEX extends ViewerPlugin {
     setGames("The Suffering");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_SFS_AAMVHFSS_PNG_SPR extends ViewerPlugin {
     setGames("7 Wonders: The Treasures of Seven");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
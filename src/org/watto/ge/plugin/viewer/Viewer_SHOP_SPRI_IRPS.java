@@ -48,7 +48,7 @@ public class Viewer_SHOP_SPRI_IRPS extends ViewerPlugin {
     setGames("My Disney Kitchen");
     setPlatforms("PC");
     setStandardFileFormat(false);
-
+    setImageViewer(true);
   }
 
   /**
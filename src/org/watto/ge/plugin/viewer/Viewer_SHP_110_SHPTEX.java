@@ -48,6 +48,7 @@ public class Viewer_SHP_110_SHPTEX extends ViewerPlugin {
     setGames("Panzer General");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
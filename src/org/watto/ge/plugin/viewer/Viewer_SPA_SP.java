@@ -45,6 +45,7 @@ public class Viewer_SPA_SP extends ViewerPlugin {
     setGames("Saga");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_SPR_2_BMP extends ViewerPlugin {
     setGames("Killer Tank");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
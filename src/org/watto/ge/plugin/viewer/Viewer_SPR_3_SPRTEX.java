@@ -48,6 +48,7 @@ public class Viewer_SPR_3_SPRTEX extends ViewerPlugin {
     setGames("Screamer Rally");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -51,6 +51,7 @@ public class Viewer_SPR_PA_SPRTEX extends ViewerPlugin {
     setGames("Pax Corpus");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
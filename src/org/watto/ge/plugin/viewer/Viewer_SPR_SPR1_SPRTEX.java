@@ -49,6 +49,7 @@ public class Viewer_SPR_SPR1_SPRTEX extends ViewerPlugin {
     setGames("Gorky 17");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_SPR_SPRITEFILE_SPRTEX extends ViewerPlugin {
     setGames("Blackwell Unbound");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_STREAM_DXTMIPMAP extends ViewerPlugin {
         "King's Bounty: The Legend");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
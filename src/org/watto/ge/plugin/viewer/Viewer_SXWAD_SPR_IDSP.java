@@ -17,6 +17,7 @@ package org.watto.ge.plugin.viewer;
 import org.watto.component.PreviewPanel;
 import org.watto.component.PreviewPanel_Image;
 import org.watto.datatype.Archive;
+import org.watto.datatype.ImageFrameSource;
 import org.watto.datatype.ImageResource;
 import org.watto.ge.helper.FieldValidator;
 import org.watto.ge.helper.ImageFormatReader;
@@ -27,6 +28,7 @@ import org.watto.ge.plugin.ArchivePlugin;
 import org.watto.ge.plugin.ViewerPlugin;
 import org.watto.ge.plugin.archive.Plugin_SXWAD;
 import org.watto.io.FileManipulator;
+import org.watto.io.buffer.ByteBuffer;
 
 /**
 **********************************************************************************************
@@ -47,6 +49,7 @@ public class Viewer_SXWAD_SPR_IDSP extends ViewerPlugin {
     setGames("Counter-Strike");
     setPlatforms("XBox");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -192,7 +195,10 @@ public class Viewer_SXWAD_SPR_IDSP extends ViewerPlugin {
       // X - Palette
       int[] palette = ImageFormatReader.readPaletteRGB(fm, numColors);
 
-      ImageResource[] frames = new ImageResource[numFrames];
+      // read the raw frames, but don't decode them yet, so sprites with lots of frames open quickly
+      int[] frameWidths = new int[numFrames];
+      int[] frameHeights = new int[numFrames];
+      byte[][] frameData = new byte[numFrames][0];
 
       for (int f = 0; f < numFrames; f++) {
         // 4 - Group (0)
@@ -209,28 +215,28 @@ public class Viewer_SXWAD_SPR_IDSP extends ViewerPlugin {
         FieldValidator.checkHeight(frameHeight);
 
         // X - Pixels
-        ImageResource imageResource = ImageFormatReader.read8BitPaletted(fm, frameWidth, frameHeight, palette);
-        if (imageResource != null) {
-          frames[f] = imageResource;
-        }
+        frameWidths[f] = frameWidth;
+        frameHeights[f] = frameHeight;
+        frameData[f] = fm.readBytes(frameWidth * frameHeight);
       }
 
-      // set the frame transitions
-      for (int f = 1; f < numFrames; f++) {
-        frames[f - 1].setNextFrame(frames[f]);
-      }
-      frames[numFrames - 1].setNextFrame(frames[0]);
+      fm.close();
 
-      for (int f = 0; f < numFrames - 1; f++) {
-        frames[f + 1].setPreviousFrame(frames[f]);
-      }
-      frames[0].setPreviousFrame(frames[numFrames - 1]);
+      // each frame is decoded when it's shown (or exported)
+      ImageFrameSource frameSource = new ImageFrameSource(numFrames) {
 
-      fm.close();
+        @Override
+        protected ImageResource decodeFrame(int frameNumber) {
+          FileManipulator frameFM = new FileManipulator(new ByteBuffer(frameData[frameNumber]));
+          ImageResource frame = ImageFormatReader.read8BitPaletted(frameFM, frameWidths[frameNumber], frameHeights[frameNumber], palette);
+          frameFM.close();
+          return frame;
+        }
+      };
 
       //ColorConverter.convertToPaletted(resource);
 
-      return frames[0];
+      return frameSource.getFrame(0);
 
     }
     catch (Throwable t) {
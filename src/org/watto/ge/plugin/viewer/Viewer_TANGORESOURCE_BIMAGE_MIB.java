@@ -47,6 +47,7 @@ public class Viewer_TANGORESOURCE_BIMAGE_MIB extends ViewerPlugin {
     setGames("The Evil Within");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
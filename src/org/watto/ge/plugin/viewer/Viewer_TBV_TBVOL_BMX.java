@@ -48,6 +48,7 @@ public class Viewer_TBV_TBVOL_BMX extends ViewerPlugin {
     setGames("3D Ultra Lionel Traintown");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -53,6 +53,7 @@ public class Viewer_TB_TBTEX extends ViewerPlugin {
     setGames("Die Hard Trilogy 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_TCGIL_GIL3 extends ViewerPlugin {
     setGames("Utopia City");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
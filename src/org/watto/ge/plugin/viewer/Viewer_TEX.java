@@ -43,6 +43,7 @@ public class Viewer_TEX extends ViewerPlugin {
     setGames("PBA Bowling 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_TEX2_TEX extends ViewerPlugin {
     setGames("Fantastic 4", "Sopranos: Road to Respect");
     setPlatforms("PS2", "PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_TEX_3TEX_BMP extends ViewerPlugin {
     setGames("High Heat Baseball 2000");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_TEX_4_BCT extends ViewerPlugin {
     setGames("Dead Rising 4");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
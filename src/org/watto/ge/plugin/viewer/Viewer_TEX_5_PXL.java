@@ -50,6 +50,7 @@ public class Viewer_TEX_5_PXL extends ViewerPlugin {
     setGames("Dino Crisis 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_TEX_6_DATA extends ViewerPlugin {
     setGames("Hitman: Blood Money");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_TEX_ChromeSpecForce extends ViewerPlugin {
     setGames("Chrome SpecForce");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_TEX_Ignition extends ViewerPlugin {
     setGames("Ignition");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
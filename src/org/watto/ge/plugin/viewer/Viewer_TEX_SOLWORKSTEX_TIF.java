@@ -49,6 +49,7 @@ public class Viewer_TEX_SOLWORKSTEX_TIF extends ViewerPlugin {
     setGames("NHL FaceOff 2001");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
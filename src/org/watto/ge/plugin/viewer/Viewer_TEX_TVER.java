@@ -47,6 +47,7 @@ public class Viewer_TEX_TVER extends ViewerPlugin {
         "Serious Sam: The Second Encounter");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
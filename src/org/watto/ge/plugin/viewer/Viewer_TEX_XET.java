@@ -41,6 +41,7 @@ public class Viewer_TEX_XET extends ViewerPlugin {
     setGames("Nitro Stunt Racing");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
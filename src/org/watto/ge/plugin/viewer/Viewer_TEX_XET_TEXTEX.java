@@ -49,6 +49,7 @@ public class Viewer_TEX_XET_TEXTEX extends ViewerPlugin {
     setGames("Grand Theft Auto: Liberty City Stories");
     setPlatforms("PSP");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
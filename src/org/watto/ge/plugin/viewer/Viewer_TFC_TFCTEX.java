@@ -45,6 +45,7 @@ public class Viewer_TFC_TFCTEX extends ViewerPlugin {
     setGames("XXX");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -44,6 +44,7 @@ public class Viewer_TGA extends ViewerPlugin {
     super("TGA", "TGA Image");
     setExtensions("tga");
     setStandardFileFormat(true);
+    setImageViewer(true);
   }
 
   /**
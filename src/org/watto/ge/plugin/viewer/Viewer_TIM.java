@@ -59,6 +59,7 @@ public class Viewer_TIM extends ViewerPlugin {
         "Syphon Filter");
     setPlatforms("PSX");
     setStandardFileFormat(true);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_TM2_TIM2 extends ViewerPlugin {
         "LMA Manager 2007");
     setPlatforms("PS2", "PSP", "PC");
     setStandardFileFormat(true);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_TM2_TIM2_4 extends ViewerPlugin {
         "NHL 2K3");
     setPlatforms("PS2");
     setStandardFileFormat(true);
+    setImageViewer(true);
   }
 
   /**
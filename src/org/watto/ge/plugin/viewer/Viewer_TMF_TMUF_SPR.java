@@ -45,6 +45,7 @@ public class Viewer_TMF_TMUF_SPR extends ViewerPlugin {
     setGames("Test Drive Off-Road");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
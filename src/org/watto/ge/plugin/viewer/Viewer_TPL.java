@@ -48,6 +48,7 @@ public class Viewer_TPL extends ViewerPlugin {
     setGames("Wii");
     setPlatforms("Wii");
     setStandardFileFormat(true);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_TRC_TEXTUREPACK4_TGA extends ViewerPlugin {
     setGames("X Motor Racing");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
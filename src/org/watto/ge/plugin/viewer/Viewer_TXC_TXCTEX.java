@@ -46,6 +46,7 @@ public class Viewer_TXC_TXCTEX extends ViewerPlugin {
     setGames("Urban Chaos");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -53,6 +53,7 @@ public class Viewer_TXD_2_TXDTEX extends ViewerPlugin {
     setGames("Kill Switch");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_TXD_TEX extends ViewerPlugin {
     setGames("Sonic Heroes");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_UCAS_TEXTURE2D extends ViewerPlugin {
     setGames("Sapphire Safari");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
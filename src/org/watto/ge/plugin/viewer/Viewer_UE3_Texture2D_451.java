@@ -56,6 +56,7 @@ public class Viewer_UE3_Texture2D_451 extends ViewerPlugin {
         "Alliance of Valiant Arms (AVA)");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -53,6 +53,7 @@ public class Viewer_UE3_Texture2D_507 extends ViewerPlugin {
         "The Last Remnant");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
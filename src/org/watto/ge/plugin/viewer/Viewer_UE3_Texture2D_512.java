@@ -56,6 +56,7 @@ public class Viewer_UE3_Texture2D_512 extends ViewerPlugin {
         "Mass Effect 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
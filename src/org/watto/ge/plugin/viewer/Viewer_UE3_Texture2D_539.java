@@ -51,6 +51,7 @@ public class Viewer_UE3_Texture2D_539 extends ViewerPlugin {
         "Alpha Protocol");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
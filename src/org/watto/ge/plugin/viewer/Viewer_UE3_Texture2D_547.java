@@ -52,6 +52,7 @@ public class Viewer_UE3_Texture2D_547 extends ViewerPlugin {
         "APB Reloaded");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -52,6 +52,7 @@ public class Viewer_UE3_Texture2D_575 extends ViewerPlugin {
         "Global Ops: Commando Libya");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -56,6 +56,7 @@ public class Viewer_UE3_Texture2D_576 extends ViewerPlugin {
         "Dark Void");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -56,6 +56,7 @@ public class Viewer_UE3_Texture2D_584 extends ViewerPlugin {
         "Borderlands");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -56,6 +56,7 @@ public class Viewer_UE3_Texture2D_607 extends ViewerPlugin {
         "The Scourge Project");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
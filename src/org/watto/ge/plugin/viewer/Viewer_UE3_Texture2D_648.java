@@ -56,6 +56,7 @@ public class Viewer_UE3_Texture2D_648 extends ViewerPlugin {
         "Dungeon Defense");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -57,6 +57,7 @@ public class Viewer_UE3_Texture2D_807 extends ViewerPlugin {
         "Batman: Arkham Origins");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -56,6 +56,7 @@ public class Viewer_UE3_Texture2D_868 extends ViewerPlugin {
         "Dirty Bomb");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
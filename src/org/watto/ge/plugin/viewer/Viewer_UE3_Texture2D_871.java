@@ -56,6 +56,7 @@ public class Viewer_UE3_Texture2D_871 extends ViewerPlugin {
         "Killing Floor 2");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -56,6 +56,7 @@ public class Viewer_UE3_Texture2D_Generic extends ViewerPlugin {
     setGames("Unreal Engine 3");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -55,6 +55,17 @@ public class Viewer_UE4_2_Texture2D extends ViewerPlugin {
     setGames("ARK: Survival Evolved");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
+  }
+
+  /**
+  **********************************************************************************************
+  The decoded image is returned as-is, so thumbnails can be decoded at a smaller size
+  **********************************************************************************************
+  **/
+  @Override
+  public boolean canReadReducedThumbnail() {
+    return true;
   }
 
   /**
@@ -57,6 +57,17 @@ public class Viewer_UE4_Texture2D_4 extends ViewerPlugin {
         "Dispatcher");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
+  }
+
+  /**
+  **********************************************************************************************
+  The decoded image is returned as-is, so thumbnails can be decoded at a smaller size
+  **********************************************************************************************
+  **/
+  @Override
+  public boolean canReadReducedThumbnail() {
+    return true;
   }
 
   /**
@@ -60,6 +60,17 @@ public class Viewer_UE4_Texture2D_7 extends ViewerPlugin {
     setGames("Unreal Engine 4 Version 7");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
+  }
+
+  /**
+  **********************************************************************************************
+  The decoded image is returned as-is, so thumbnails can be decoded at a smaller size
+  **********************************************************************************************
+  **/
+  @Override
+  public boolean canReadReducedThumbnail() {
+    return true;
   }
 
   /**
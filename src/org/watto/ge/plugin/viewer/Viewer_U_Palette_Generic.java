@@ -50,6 +50,7 @@ public class Viewer_U_Palette_Generic extends ViewerPlugin {
         "Tom Clancy's Rainbow Six 3: Black Arrow");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_U_Texture_127 extends ViewerPlugin {
         "Brothers In Arms: Road To Hill 30");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
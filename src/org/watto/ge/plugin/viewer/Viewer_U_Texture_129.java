@@ -49,6 +49,7 @@ public class Viewer_U_Texture_129 extends ViewerPlugin {
         "SWAT 4");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
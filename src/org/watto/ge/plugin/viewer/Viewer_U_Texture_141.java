@@ -49,6 +49,7 @@ public class Viewer_U_Texture_141 extends ViewerPlugin {
         "BioShock");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
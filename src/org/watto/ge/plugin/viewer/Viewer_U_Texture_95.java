@@ -49,6 +49,7 @@ public class Viewer_U_Texture_95 extends ViewerPlugin {
         "Deus Ex: Invisible War");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
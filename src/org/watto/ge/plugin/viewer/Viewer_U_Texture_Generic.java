@@ -66,6 +66,7 @@ public class Viewer_U_Texture_Generic extends ViewerPlugin {
         "X-Com Enforcer");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
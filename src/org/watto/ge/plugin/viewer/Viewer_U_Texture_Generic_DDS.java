@@ -66,6 +66,7 @@ public class Viewer_U_Texture_Generic_DDS extends ViewerPlugin {
         "XIII");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
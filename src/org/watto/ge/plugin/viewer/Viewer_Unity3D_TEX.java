@@ -47,6 +47,51 @@ public class Viewer_Unity3D_TEX extends ViewerPlugin {
     setGames("Unity3D Engine");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the number of bits per pixel for the <i>formatCode</i>, or 0 if the mipmaps can't be
+  skipped over (crunched formats, or formats with extra header data)
+  **********************************************************************************************
+  **/
+  int getBitsPerPixel(int formatCode) {
+    switch (formatCode) {
+      case 1:
+        return 8;
+      case 2:
+      case 7:
+      case 13:
+        return 16;
+      case 3:
+        return 24;
+      case 4:
+      case 5:
+        return 32;
+      case 17:
+        return 64;
+      case 10:
+      case 26:
+        return 4;
+      case 12:
+      case 24:
+      case 25:
+      case 27:
+        return 8;
+      default:
+        return 0;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  The decoded image is returned as-is, so thumbnails can be read from a smaller mipmap
+  **********************************************************************************************
+  **/
+  @Override
+  public boolean canReadReducedThumbnail() {
+    return true;
   }
 
   /**
@@ -162,6 +207,14 @@ public class Viewer_Unity3D_TEX extends ViewerPlugin {
       // Go to the start of the texture data, just in case
       fm.seek(0);
 
+      // If we're only generating a thumbnail, skip to a smaller mipmap
+      boolean blockCompressed = (formatCode == 10 || formatCode == 12 || (formatCode >= 24 && formatCode <= 27));
+      int mipmapLevel = ImageFormatReader.skipToThumbnailMipmap(fm, width, height, mipMapCount, getBitsPerPixel(formatCode), blockCompressed);
+      if (mipmapLevel > 0) {
+        width = Math.max(1, width >> mipmapLevel);
+        height = Math.max(1, height >> mipmapLevel);
+      }
+
       // Note all the images are upside-down, so need to be flipped
       ImageResource imageResource = null;
       if (formatCode == 1) {
@@ -48,6 +48,7 @@ public class Viewer_VDF_GOTHIC_TEX_ZTEX extends ViewerPlugin {
     setGames("Gothic");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_VFS0_512 extends ViewerPlugin {
     setGames("Metro 2033");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
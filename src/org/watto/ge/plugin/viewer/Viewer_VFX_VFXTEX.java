@@ -46,6 +46,7 @@ public class Viewer_VFX_VFXTEX extends ViewerPlugin {
     setGames("Gex 2: Enter The Gecko");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
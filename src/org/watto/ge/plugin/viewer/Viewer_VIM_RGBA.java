@@ -51,6 +51,7 @@ public class Viewer_VIM_RGBA extends ViewerPlugin {
     setGames("Broken Sword 2: The Smoking Mirror");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
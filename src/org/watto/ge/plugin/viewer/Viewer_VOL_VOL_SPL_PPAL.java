@@ -45,6 +45,7 @@ public class Viewer_VOL_VOL_SPL_PPAL extends ViewerPlugin {
     setGames("Red Baron 3D");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_VPK_VPK_VTEXC extends ViewerPlugin {
     setGames("Valve Engine");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
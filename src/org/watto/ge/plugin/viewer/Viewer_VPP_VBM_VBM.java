@@ -48,6 +48,7 @@ public class Viewer_VPP_VBM_VBM extends ViewerPlugin {
     setGames("Red Faction");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
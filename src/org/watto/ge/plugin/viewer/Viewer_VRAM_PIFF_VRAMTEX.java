@@ -46,6 +46,7 @@ public class Viewer_VRAM_PIFF_VRAMTEX extends ViewerPlugin {
     setGames("South Park Rally");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_VRM_VRMTEX extends ViewerPlugin {
         "Legacy of Kain: Defiance");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_VT7A_VT7A_SDW_SDW extends ViewerPlugin {
     setGames("Broken Sword 5: The Serpent's Curse");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_VT7A_VT7A_STRM_STRM extends ViewerPlugin {
     setGames("Broken Sword 5: The Serpent's Curse");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -43,6 +43,7 @@ public class Viewer_VTF_VTF extends ViewerPlugin {
     setGames("Valve Engine");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_W32_ESPX_TEX extends ViewerPlugin {
     setGames("Psi-Ops: The Mindgate Conspiracy");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
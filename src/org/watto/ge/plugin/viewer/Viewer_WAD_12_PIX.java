@@ -48,6 +48,7 @@ public class Viewer_WAD_12_PIX extends ViewerPlugin {
     setGames("Croc: Legend of the Gobbos");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_WAD_5_PBL extends ViewerPlugin {
     setGames("Fighting Force");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_WAD_WAD2_LMP extends ViewerPlugin {
     setGames("Eternal War: Shadows Of Light");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
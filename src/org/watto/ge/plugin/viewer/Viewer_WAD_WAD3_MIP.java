@@ -45,6 +45,7 @@ public class Viewer_WAD_WAD3_MIP extends ViewerPlugin {
     setGames("Half-Life");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
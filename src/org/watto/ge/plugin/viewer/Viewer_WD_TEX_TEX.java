@@ -46,6 +46,7 @@ public class Viewer_WD_TEX_TEX extends ViewerPlugin {
         "World War 3: Black Gold");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
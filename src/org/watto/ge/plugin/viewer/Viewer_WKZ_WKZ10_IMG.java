@@ -46,6 +46,7 @@ public class Viewer_WKZ_WKZ10_IMG extends ViewerPlugin {
     setGames("Hammerting");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_WLD_WRLD_TEXP extends ViewerPlugin {
     setGames("The Sting!");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
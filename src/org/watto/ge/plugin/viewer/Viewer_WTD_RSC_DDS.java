@@ -47,6 +47,7 @@ public class Viewer_WTD_RSC_DDS extends ViewerPlugin {
     setGames("GTS 4");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_XAF_XAF_STX extends ViewerPlugin {
     setGames("Beat Down: Fist Of Vengeance");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
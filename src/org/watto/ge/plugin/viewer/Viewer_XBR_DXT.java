@@ -47,6 +47,7 @@ public class Viewer_XBR_DXT extends ViewerPlugin {
     setGames("Cars");
     setPlatforms("XBox");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
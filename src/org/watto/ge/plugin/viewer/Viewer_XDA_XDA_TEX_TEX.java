@@ -50,6 +50,7 @@ public class Viewer_XDA_XDA_TEX_TEX extends ViewerPlugin {
     setGames("Summon Night Granthese");
     setPlatforms("PS2");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
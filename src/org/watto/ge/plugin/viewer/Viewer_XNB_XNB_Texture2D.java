@@ -49,6 +49,7 @@ public class Viewer_XNB_XNB_Texture2D extends ViewerPlugin {
     setGames("Reus");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -50,6 +50,7 @@ public class Viewer_XPR_XPR1_DXT extends ViewerPlugin {
     setGames("Generic XBox Archive");
     setPlatforms("XBox");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -49,6 +49,7 @@ public class Viewer_XPR_XPR2_TX2D extends ViewerPlugin {
     setGames("XPR2");
     setPlatforms("XBox 360");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_XWC_MOS_XTCTEX extends ViewerPlugin {
     setGames("The Chronicles of Riddick: Escape From Butcher Bay");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
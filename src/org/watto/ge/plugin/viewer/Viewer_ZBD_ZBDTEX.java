@@ -50,6 +50,7 @@ public class Viewer_ZBD_ZBDTEX extends ViewerPlugin {
     setGames("Recoil");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -45,6 +45,7 @@ public class Viewer_ZCA_ZCA_2_ZIMG extends ViewerPlugin {
     setGames("Ballad of Solar");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
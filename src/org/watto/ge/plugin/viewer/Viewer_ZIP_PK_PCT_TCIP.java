@@ -47,6 +47,7 @@ public class Viewer_ZIP_PK_PCT_TCIP extends ViewerPlugin {
     setGames("World War Z");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -46,6 +46,7 @@ public class Viewer_ZIP_PK_RES extends ViewerPlugin {
     setGames("Onikira: Demon Killer");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
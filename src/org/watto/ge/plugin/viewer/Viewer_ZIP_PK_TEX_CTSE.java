@@ -46,6 +46,7 @@ public class Viewer_ZIP_PK_TEX_CTSE extends ViewerPlugin {
     setGames("The Talos Principle");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -48,6 +48,7 @@ public class Viewer_ZIP_PK_TEX_SIGSTRM12GIS extends ViewerPlugin {
     setGames("Serious Sam: The First Encounter");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
@@ -47,6 +47,7 @@ public class Viewer_ZIP_PK_ZAD_TDX extends ViewerPlugin {
     setGames("Carmageddon: Max Damage");
     setPlatforms("PC");
     setStandardFileFormat(false);
+    setImageViewer(true);
   }
 
   /**
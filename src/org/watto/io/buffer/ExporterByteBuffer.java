@@ -16,6 +16,7 @@ package org.watto.io.buffer;
 
 import org.watto.ErrorLogger;
 import org.watto.datatype.Resource;
+import org.watto.ge.helper.MemoryBudget;
 import org.watto.ge.plugin.ExporterPlugin;
 import org.watto.ge.plugin.exporter.Exporter_Custom_RGSSAD_RGSSAD;
 import org.watto.io.converter.ByteConverter;
@@ -60,6 +61,7 @@ public class ExporterByteBuffer implements ManipulatorBuffer {
     if (exporter instanceof Exporter_Custom_RGSSAD_RGSSAD) {
       if (resource.getExtension().equals("png")) {
         bufferSize = (int) resource.getDecompressedLength();
+        MemoryBudget.makeRoom(bufferSize); // the whole file is buffered, so make sure the caches aren't using the memory
         buffer = new byte[bufferSize];
       }
     }
@@ -151,7 +153,10 @@ public class ExporterByteBuffer implements ManipulatorBuffer {
   ***********************************************************************************************/
   @Override
   public void flush() {
-    buffer = new byte[bufferSize];
+    if (buffer.length != bufferSize) {
+      buffer = new byte[bufferSize];
+    }
+    // otherwise re-use the buffer - fill() overwrites every byte of it, so it doesn't need clearing
     bufferLevel = 0;
   }
 
@@ -165,7 +170,8 @@ public class ExporterByteBuffer implements ManipulatorBuffer {
 
   /***********************************************************************************************
   Copies <code>length</code> bytes of data from the buffer, and returns it. This does not move
-  any file pointers.
+  any file pointers. If <code>length</code> is larger than the buffer, the buffer itself is
+  returned rather than a copy, and it's overwritten the next time the buffer is filled.
   @param length the length of data to copy
   @return the data from the buffer
   ***********************************************************************************************/
@@ -0,0 +1,56 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+/**
+**********************************************************************************************
+A decompressor that works on whole blocks of data held in memory, rather than as a stream. The
+exporters read their compressed data into a byte[] and hand it to a BlockCodec, instead of each
+one implementing their own decompression loop. Implementations must be thread-safe, as a single
+instance is shared through the BlockCodecRegistry.
+**********************************************************************************************
+**/
+public interface BlockCodec {
+
+  /**
+  **********************************************************************************************
+  Decompresses <i>srcLen</i> bytes from <i>src</i>, starting at <i>srcOff</i>, and writes no
+  more than <i>dstLen</i> bytes into <i>dst</i>, starting at <i>dstOff</i>.
+  @return the number of bytes written to <i>dst</i>
+  @throws IOException if the compressed data is corrupt, or won't fit in <i>dst</i>
+  **********************************************************************************************
+  **/
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException;
+
+  /**
+  **********************************************************************************************
+  The compression format that this codec decodes (such as "LZ4" or "ZLib"). More than one codec
+  can decode the same format.
+  **********************************************************************************************
+  **/
+  public String getFormat();
+
+  /**
+  **********************************************************************************************
+  A short name for this implementation, which is unique within its format. This is the value
+  that is used in the BlockCodec_<i>format</i> setting to choose the codec for the format.
+  **********************************************************************************************
+  **/
+  public String getName();
+
+}
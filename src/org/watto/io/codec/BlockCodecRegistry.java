@@ -0,0 +1,189 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import org.watto.Settings;
+
+/**
+**********************************************************************************************
+Holds all the BlockCodecs, grouped by their compression format. When there's more than one
+codec for a format, the BlockCodec_<i>format</i> setting chooses which one is used, otherwise
+the first one that was registered is used.
+**********************************************************************************************
+**/
+public class BlockCodecRegistry {
+
+  static Hashtable<String, Vector<BlockCodec>> codecs = new Hashtable<String, Vector<BlockCodec>>();
+
+  /** The codec that was chosen for each format, so we don't need to look at the Settings every time **/
+  static Hashtable<String, BlockCodec> preferred = new Hashtable<String, BlockCodec>();
+
+  static {
+    // the first codec for each format is the default, so put the fastest one first
+    if (BlockCodec_LZ4Java.isAvailable()) {
+      register(new BlockCodec_LZ4Java());
+    }
+    register(new BlockCodec_LZ4());
+    register(new BlockCodec_LZF(true));
+    register(new BlockCodec_LZF(false));
+    register(new BlockCodec_ZLib(true));
+    register(new BlockCodec_ZLib(false));
+    register(new BlockCodec_ZStd());
+    register(new BlockCodec_LZO1X());
+    register(new BlockCodec_LZSS());
+    register(new BlockCodec_RefPack());
+    register(new BlockCodec_Snappy());
+    register(new BlockCodec_QuickLZ());
+    register(new BlockCodec_JDLZ());
+  }
+
+  /**
+  **********************************************************************************************
+  Files that decompress to more than this are decompressed as they're read (by the exporters that
+  can do that), rather than all at once into memory
+  **********************************************************************************************
+  **/
+  public static int getStreamingThreshold() {
+    int threshold = Settings.getInt("BlockCodecStreamingThreshold");
+    if (threshold <= 0) {
+      threshold = 8388608; // 8MB
+    }
+    return threshold;
+  }
+
+  /**
+  **********************************************************************************************
+  Clears the chosen codecs, so the BlockCodec_<i>format</i> settings are read again
+  **********************************************************************************************
+  **/
+  public static synchronized void clearPreferred() {
+    preferred.clear();
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the preferred codec for the <i>format</i>, or null if there isn't one
+  **********************************************************************************************
+  **/
+  public static synchronized BlockCodec getCodec(String format) {
+    BlockCodec codec = preferred.get(format);
+    if (codec != null) {
+      return codec;
+    }
+
+    Vector<BlockCodec> formatCodecs = codecs.get(format);
+    if (formatCodecs == null || formatCodecs.size() <= 0) {
+      return null;
+    }
+
+    codec = formatCodecs.get(0);
+
+    String settingCode = "BlockCodec_" + format;
+    String name = Settings.getString(settingCode);
+    if (name != null && !name.equals("")) {
+      BlockCodec namedCodec = getCodec(format, name);
+      if (namedCodec != null) {
+        codec = namedCodec;
+      }
+    }
+
+    preferred.put(format, codec);
+    return codec;
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the codec called <i>name</i> for the <i>format</i>, or null if there isn't one
+  **********************************************************************************************
+  **/
+  public static synchronized BlockCodec getCodec(String format, String name) {
+    Vector<BlockCodec> formatCodecs = codecs.get(format);
+    if (formatCodecs == null) {
+      return null;
+    }
+
+    int numCodecs = formatCodecs.size();
+    for (int i = 0; i < numCodecs; i++) {
+      BlockCodec codec = formatCodecs.get(i);
+      if (codec.getName().equals(name)) {
+        return codec;
+      }
+    }
+    return null;
+  }
+
+  /**
+  **********************************************************************************************
+  Gets all the codecs that can decode the <i>format</i>
+  **********************************************************************************************
+  **/
+  public static synchronized BlockCodec[] getCodecs(String format) {
+    Vector<BlockCodec> formatCodecs = codecs.get(format);
+    if (formatCodecs == null) {
+      return new BlockCodec[0];
+    }
+    return formatCodecs.toArray(new BlockCodec[formatCodecs.size()]);
+  }
+
+  /**
+  **********************************************************************************************
+  Gets the names of all the formats that have at least one codec
+  **********************************************************************************************
+  **/
+  public static synchronized String[] getFormats() {
+    String[] formats = new String[codecs.size()];
+    Enumeration<String> keys = codecs.keys();
+    int i = 0;
+    while (keys.hasMoreElements()) {
+      formats[i] = keys.nextElement();
+      i++;
+    }
+    Arrays.sort(formats);
+    return formats;
+  }
+
+  /**
+  **********************************************************************************************
+  Adds a codec. If there's already a codec with the same format and name, it is replaced.
+  **********************************************************************************************
+  **/
+  public static synchronized void register(BlockCodec codec) {
+    String format = codec.getFormat();
+
+    Vector<BlockCodec> formatCodecs = codecs.get(format);
+    if (formatCodecs == null) {
+      formatCodecs = new Vector<BlockCodec>();
+      codecs.put(format, formatCodecs);
+    }
+
+    int numCodecs = formatCodecs.size();
+    for (int i = 0; i < numCodecs; i++) {
+      if (formatCodecs.get(i).getName().equals(codec.getName())) {
+        formatCodecs.set(i, codec);
+        preferred.remove(format);
+        return;
+      }
+    }
+
+    formatCodecs.add(codec);
+  }
+
+}
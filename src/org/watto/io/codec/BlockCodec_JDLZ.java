@@ -0,0 +1,120 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+/**
+**********************************************************************************************
+JDLZ block decompression (used by several EA games), of the data after the 16-byte JDLZ header.
+There are 2 streams of flag bits - the first says whether the next item is a literal or a match,
+and the second says which of the 2 match encodings is used.
+**********************************************************************************************
+**/
+public class BlockCodec_JDLZ implements BlockCodec {
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    int srcPos = srcOff;
+    int srcEnd = srcOff + srcLen;
+    int dstPos = dstOff;
+    int dstEnd = dstOff + dstLen;
+
+    // the flags have a marker bit above them, so a value of 1 means all 8 flags have been used
+    int flags1 = 1;
+    int flags2 = 1;
+
+    try {
+      while (srcPos < srcEnd && dstPos < dstEnd) {
+        if (flags1 == 1) {
+          flags1 = (src[srcPos++] & 255) | 0x100;
+        }
+        if (flags2 == 1) {
+          flags2 = (src[srcPos++] & 255) | 0x100;
+        }
+
+        if ((flags1 & 1) == 1) {
+          // match
+          int byte1 = src[srcPos++] & 255;
+          int byte2 = src[srcPos++] & 255;
+
+          int distance;
+          int length;
+          if ((flags2 & 1) == 1) {
+            // short distance, long length
+            distance = (byte1 & 0x0F) + 1;
+            length = ((byte1 & 0xF0) << 4) + byte2 + 3;
+          }
+          else {
+            // long distance, short length
+            distance = ((byte1 & 0xE0) << 3) + byte2 + 17;
+            length = (byte1 & 0x1F) + 3;
+          }
+
+          int matchPos = dstPos - distance;
+          if (matchPos < dstOff) {
+            throw new IOException("Invalid JDLZ match distance " + distance + " at " + (srcPos - srcOff));
+          }
+
+          // matches can overlap the output, so copy a byte at a time
+          int matchEnd = Math.min(dstPos + length, dstEnd);
+          while (dstPos < matchEnd) {
+            dst[dstPos++] = dst[matchPos++];
+          }
+
+          flags2 >>= 1;
+        }
+        else {
+          // literal
+          dst[dstPos++] = src[srcPos++];
+        }
+
+        flags1 >>= 1;
+      }
+    }
+    catch (ArrayIndexOutOfBoundsException e) {
+      throw new IOException("JDLZ data is truncated", e);
+    }
+
+    return dstPos - dstOff;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "JDLZ";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "Java";
+  }
+
+}
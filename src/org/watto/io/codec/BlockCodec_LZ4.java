@@ -0,0 +1,137 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+/**
+**********************************************************************************************
+LZ4 block decompression in plain Java, with no other libraries. Used when lz4-java isn't
+available, and as a baseline for the benchmarks.
+**********************************************************************************************
+**/
+public class BlockCodec_LZ4 implements BlockCodec {
+
+  /** The shortest match that can be encoded **/
+  static final int MIN_MATCH = 4;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    int srcPos = srcOff;
+    int srcEnd = srcOff + srcLen;
+    int dstPos = dstOff;
+    int dstEnd = dstOff + dstLen;
+
+    try {
+      while (srcPos < srcEnd) {
+        int token = src[srcPos++] & 255;
+
+        // literals
+        int literalLength = token >>> 4;
+        if (literalLength == 15) {
+          int lengthByte;
+          do {
+            lengthByte = src[srcPos++] & 255;
+            literalLength += lengthByte;
+          }
+          while (lengthByte == 255);
+        }
+
+        if (literalLength > 0) {
+          if (srcPos + literalLength > srcEnd || dstPos + literalLength > dstEnd) {
+            throw new IOException("LZ4 literals overrun the buffer at " + (srcPos - srcOff));
+          }
+          System.arraycopy(src, srcPos, dst, dstPos, literalLength);
+          srcPos += literalLength;
+          dstPos += literalLength;
+        }
+
+        // the last sequence only has literals. Also stop once the output is full, in case there's
+        // padding after the compressed data.
+        if (srcPos >= srcEnd || dstPos >= dstEnd) {
+          break;
+        }
+
+        // match
+        int offset = (src[srcPos] & 255) | ((src[srcPos + 1] & 255) << 8);
+        srcPos += 2;
+
+        int matchPos = dstPos - offset;
+        if (offset == 0 || matchPos < dstOff) {
+          throw new IOException("Invalid LZ4 match offset " + offset + " at " + (srcPos - srcOff));
+        }
+
+        int matchLength = token & 15;
+        if (matchLength == 15) {
+          int lengthByte;
+          do {
+            lengthByte = src[srcPos++] & 255;
+            matchLength += lengthByte;
+          }
+          while (lengthByte == 255);
+        }
+        matchLength += MIN_MATCH;
+
+        if (dstPos + matchLength > dstEnd) {
+          throw new IOException("LZ4 match overruns the buffer at " + (srcPos - srcOff));
+        }
+
+        if (offset >= matchLength) {
+          System.arraycopy(dst, matchPos, dst, dstPos, matchLength);
+          dstPos += matchLength;
+        }
+        else {
+          // overlapping match, which repeats the last <i>offset</i> bytes
+          int matchEnd = dstPos + matchLength;
+          while (dstPos < matchEnd) {
+            dst[dstPos++] = dst[matchPos++];
+          }
+        }
+      }
+    }
+    catch (ArrayIndexOutOfBoundsException e) {
+      throw new IOException("LZ4 data is truncated", e);
+    }
+
+    return dstPos - dstOff;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "LZ4";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "Java";
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+**********************************************************************************************
+LZ4 block decompression using lz4-java (https://github.com/lz4/lz4-java)
+NOTE: REQUIRES JAVA CLASS FILES PUT DIRECTLY INTO THE BIN DIRECTORY
+(as many of the classes are generated from a Template, not from JAVA files)
+**********************************************************************************************
+**/
+public class BlockCodec_LZ4Java implements BlockCodec {
+
+  LZ4SafeDecompressor decompressor = null;
+
+  /**
+  **********************************************************************************************
+  Whether the lz4-java classes can be loaded. If not, the plain Java LZ4 codec is used instead.
+  **********************************************************************************************
+  **/
+  public static boolean isAvailable() {
+    try {
+      LZ4Factory.fastestInstance();
+      return true;
+    }
+    catch (Throwable t) {
+      return false;
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    try {
+      return getDecompressor().decompress(src, srcOff, srcLen, dst, dstOff, dstLen);
+    }
+    catch (Throwable t) {
+      throw new IOException("LZ4 decompression failed", t);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  The safe decompressor checks every read against <i>srcLen</i> and every write against
+  <i>dstLen</i>, so corrupt archive data throws an exception rather than reading past the end of
+  the source. It needs the compressed data to end exactly at <i>srcLen</i>, so data with padding
+  after it fails, and is decompressed by the stream decoder instead. The decompressors themselves
+  are thread-safe.
+  **********************************************************************************************
+  **/
+  synchronized LZ4SafeDecompressor getDecompressor() {
+    if (decompressor == null) {
+      decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+    }
+    return decompressor;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "LZ4";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "LZ4Java";
+  }
+
+}
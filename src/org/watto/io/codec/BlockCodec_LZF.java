@@ -0,0 +1,93 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+import com.ning.compress.lzf.ChunkDecoder;
+import com.ning.compress.lzf.impl.UnsafeChunkDecoder;
+import com.ning.compress.lzf.impl.VanillaChunkDecoder;
+
+/**
+**********************************************************************************************
+LZF decompression of a single raw chunk (with no LZF chunk header), using either the Unsafe or
+the plain Java decoder from compress-lzf. The whole <i>dst</i> length is decoded.
+**********************************************************************************************
+**/
+public class BlockCodec_LZF implements BlockCodec {
+
+  ChunkDecoder decoder;
+
+  boolean useUnsafe;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public BlockCodec_LZF(boolean useUnsafe) {
+    this.useUnsafe = useUnsafe;
+    if (useUnsafe) {
+      decoder = new UnsafeChunkDecoder();
+    }
+    else {
+      decoder = new VanillaChunkDecoder();
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    try {
+      decoder.decodeChunk(src, srcOff, dst, dstOff, dstOff + dstLen);
+      return dstLen;
+    }
+    catch (IOException e) {
+      throw e;
+    }
+    catch (Throwable t) {
+      throw new IOException("LZF decompression failed", t);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "LZF";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    if (useUnsafe) {
+      return "Unsafe";
+    }
+    return "Java";
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+import org.lzo.Constants;
+import org.lzo.Int;
+import org.lzo.Lzo1xDecompressor;
+
+/**
+**********************************************************************************************
+LZO1X decompression of a single block, using the Java port of miniLZO
+**********************************************************************************************
+**/
+public class BlockCodec_LZO1X implements BlockCodec {
+
+  /** Holds no state, so it can be shared between threads **/
+  Lzo1xDecompressor decompressor = new Lzo1xDecompressor();
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    Int newSize = new Int(dstLen);
+
+    int result;
+    try {
+      result = decompressor.decompress(src, srcOff, srcLen, dst, dstOff, newSize);
+    }
+    catch (ArrayIndexOutOfBoundsException e) {
+      throw new IOException("LZO1X data is corrupt", e);
+    }
+
+    if (result != Constants.LZO_E_OK) {
+      throw new IOException("LZO1X decompression failed with error " + result);
+    }
+    return newSize.intValue();
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "LZO1X";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "Java";
+  }
+
+}
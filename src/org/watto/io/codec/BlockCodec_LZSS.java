@@ -0,0 +1,116 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+/**
+**********************************************************************************************
+LZSS block decompression, in the same format as LZSSInputStream (a 4096-byte ring buffer that
+starts as zeros, with 8 flag bits in front of each group of 8 literals or matches). Stops when
+the output is full, so it copes with any padding after the compressed data.
+**********************************************************************************************
+**/
+public class BlockCodec_LZSS implements BlockCodec {
+
+  /** The size of the ring buffer **/
+  static final int N = 4096;
+
+  /** The longest match **/
+  static final int F = 18;
+
+  /** Matches are stored with this taken off their length **/
+  static final int THRESHOLD = 2;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    int srcPos = srcOff;
+    int srcEnd = srcOff + srcLen;
+    int dstPos = dstOff;
+    int dstEnd = dstOff + dstLen;
+
+    byte[] ring = new byte[N];
+    int ringPos = N - F;
+
+    int flags = 0;
+    while (dstPos < dstEnd) {
+      // the high byte counts down the 8 flags in each flag byte
+      flags >>>= 1;
+      if ((flags & 256) == 0) {
+        if (srcPos >= srcEnd) {
+          break;
+        }
+        flags = (src[srcPos++] & 255) | 0xFF00;
+      }
+
+      if ((flags & 1) == 1) {
+        // literal
+        if (srcPos >= srcEnd) {
+          break;
+        }
+        byte value = src[srcPos++];
+        ring[ringPos] = value;
+        ringPos = (ringPos + 1) & (N - 1);
+        dst[dstPos++] = value;
+      }
+      else {
+        // match - 12 bits of ring buffer position, 4 bits of length
+        if (srcPos + 1 >= srcEnd) {
+          break;
+        }
+        int matchPos = src[srcPos++] & 255;
+        int matchLength = src[srcPos++] & 255;
+        matchPos |= (matchLength & 0xF0) << 4;
+        matchLength = (matchLength & 0x0F) + THRESHOLD;
+
+        for (int i = 0; i <= matchLength && dstPos < dstEnd; i++) {
+          byte value = ring[(matchPos + i) & (N - 1)];
+          ring[ringPos] = value;
+          ringPos = (ringPos + 1) & (N - 1);
+          dst[dstPos++] = value;
+        }
+      }
+    }
+
+    return dstPos - dstOff;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "LZSS";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "Java";
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.quicklz.QuickLZ;
+
+/**
+**********************************************************************************************
+QuickLZ block decompression, using the QuickLZ port. QuickLZ reads the lengths from its own
+header, and only takes a whole array, so the compressed data is copied out if it's only part of
+<i>src</i>. If <i>dst</i> is a whole array with room for the data, it's decompressed straight
+into it.
+**********************************************************************************************
+**/
+public class BlockCodec_QuickLZ implements BlockCodec {
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    byte[] source = src;
+    if (srcOff != 0 || srcLen != src.length) {
+      source = Arrays.copyOfRange(src, srcOff, srcOff + srcLen);
+    }
+
+    try {
+      if (dstOff == 0 && dstLen == dst.length && QuickLZ.sizeDecompressed(source) <= dstLen) {
+        // straight into the output
+        return QuickLZ.decompress(source, dst);
+      }
+
+      byte[] decompBytes = QuickLZ.decompress(source);
+      int length = Math.min(decompBytes.length, dstLen);
+      System.arraycopy(decompBytes, 0, dst, dstOff, length);
+      return length;
+    }
+    catch (RuntimeException e) {
+      throw new IOException("QuickLZ data is corrupt", e);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "QuickLZ";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "Java";
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+/**
+**********************************************************************************************
+RefPack (DBPF) block decompression, of the data after the RefPack header. Refer to
+http://wiki.niotso.org/RefPack for the format.
+**********************************************************************************************
+**/
+public class BlockCodec_RefPack implements BlockCodec {
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    int srcPos = srcOff;
+    int srcEnd = srcOff + srcLen;
+    int dstPos = dstOff;
+    int dstEnd = dstOff + dstLen;
+
+    try {
+      boolean stop = false;
+      while (!stop && srcPos < srcEnd && dstPos < dstEnd) {
+        int code = src[srcPos++] & 255;
+
+        int numPlain = 0;
+        int numCopy = 0;
+        int copyOffset = 0;
+
+        if (code < 0x80) {
+          // 2-byte command
+          int code2 = src[srcPos++] & 255;
+          numPlain = code & 0x03;
+          numCopy = ((code & 0x1C) >> 2) + 3;
+          copyOffset = ((code & 0x60) << 3) + code2 + 1;
+        }
+        else if (code < 0xC0) {
+          // 3-byte command
+          int code2 = src[srcPos++] & 255;
+          int code3 = src[srcPos++] & 255;
+          numPlain = (code2 >> 6) & 0x03;
+          numCopy = (code & 0x3F) + 4;
+          copyOffset = ((code2 & 0x3F) << 8) + code3 + 1;
+        }
+        else if (code < 0xE0) {
+          // 4-byte command
+          int code2 = src[srcPos++] & 255;
+          int code3 = src[srcPos++] & 255;
+          int code4 = src[srcPos++] & 255;
+          numPlain = code & 0x03;
+          numCopy = ((code & 0x0C) << 6) + code4 + 5;
+          copyOffset = ((code & 0x10) << 12) + (code2 << 8) + code3 + 1;
+        }
+        else if (code < 0xFC) {
+          // plain bytes only
+          numPlain = ((code & 0x1F) << 2) + 4;
+        }
+        else {
+          // stop, with 0-3 plain bytes
+          numPlain = code & 0x03;
+          stop = true;
+        }
+
+        // plain bytes
+        if (srcPos + numPlain > srcEnd) {
+          throw new IOException("RefPack plain bytes overrun the data at " + (srcPos - srcOff));
+        }
+        numPlain = Math.min(numPlain, dstEnd - dstPos);
+        System.arraycopy(src, srcPos, dst, dstPos, numPlain);
+        srcPos += numPlain;
+        dstPos += numPlain;
+
+        // copy from earlier in the output
+        if (numCopy > 0) {
+          int copyPos = dstPos - copyOffset;
+          if (copyPos < dstOff) {
+            throw new IOException("Invalid RefPack copy offset " + copyOffset + " at " + (srcPos - srcOff));
+          }
+
+          int copyEnd = Math.min(dstPos + numCopy, dstEnd);
+          while (dstPos < copyEnd) {
+            dst[dstPos++] = dst[copyPos++];
+          }
+        }
+      }
+    }
+    catch (ArrayIndexOutOfBoundsException e) {
+      throw new IOException("RefPack data is truncated", e);
+    }
+
+    return dstPos - dstOff;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "RefPack";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "Java";
+  }
+
+}
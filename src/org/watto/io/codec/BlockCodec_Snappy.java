@@ -0,0 +1,138 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+/**
+**********************************************************************************************
+Snappy block decompression in plain Java (the raw format, which starts with the decompressed
+length as a varint, as read by SnappyCompressorInputStream)
+**********************************************************************************************
+**/
+public class BlockCodec_Snappy implements BlockCodec {
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    int srcPos = srcOff;
+    int srcEnd = srcOff + srcLen;
+    int dstPos = dstOff;
+
+    try {
+      // the decompressed length (varint)
+      long length = 0;
+      int shift = 0;
+      int lengthByte;
+      do {
+        lengthByte = src[srcPos++] & 255;
+        length |= (long) (lengthByte & 0x7F) << shift;
+        shift += 7;
+      }
+      while ((lengthByte & 0x80) != 0 && shift < 35);
+
+      int dstEnd = dstOff + (int) Math.min(length, dstLen);
+
+      while (srcPos < srcEnd && dstPos < dstEnd) {
+        int tag = src[srcPos++] & 255;
+        int type = tag & 3;
+
+        if (type == 0) {
+          // literal, with the length in the tag, or in the next 1-4 bytes
+          int literalLength = tag >>> 2;
+          if (literalLength >= 60) {
+            int numBytes = literalLength - 59;
+            literalLength = 0;
+            for (int i = 0; i < numBytes; i++) {
+              literalLength |= (src[srcPos++] & 255) << (i * 8);
+            }
+          }
+          literalLength++;
+
+          if (literalLength < 0 || srcPos + literalLength > srcEnd) {
+            throw new IOException("Snappy literal overruns the data at " + (srcPos - srcOff));
+          }
+          literalLength = Math.min(literalLength, dstEnd - dstPos);
+          System.arraycopy(src, srcPos, dst, dstPos, literalLength);
+          srcPos += literalLength;
+          dstPos += literalLength;
+          continue;
+        }
+
+        int matchLength;
+        int offset;
+        if (type == 1) {
+          // 1-byte offset
+          matchLength = ((tag >>> 2) & 7) + 4;
+          offset = ((tag >>> 5) << 8) | (src[srcPos++] & 255);
+        }
+        else if (type == 2) {
+          // 2-byte offset
+          matchLength = (tag >>> 2) + 1;
+          offset = (src[srcPos] & 255) | ((src[srcPos + 1] & 255) << 8);
+          srcPos += 2;
+        }
+        else {
+          // 4-byte offset
+          matchLength = (tag >>> 2) + 1;
+          offset = (src[srcPos] & 255) | ((src[srcPos + 1] & 255) << 8) | ((src[srcPos + 2] & 255) << 16) | ((src[srcPos + 3] & 255) << 24);
+          srcPos += 4;
+        }
+
+        int matchPos = dstPos - offset;
+        if (offset <= 0 || matchPos < dstOff) {
+          throw new IOException("Invalid Snappy match offset " + offset + " at " + (srcPos - srcOff));
+        }
+
+        // matches can overlap the output, so copy a byte at a time
+        int matchEnd = Math.min(dstPos + matchLength, dstEnd);
+        while (dstPos < matchEnd) {
+          dst[dstPos++] = dst[matchPos++];
+        }
+      }
+    }
+    catch (ArrayIndexOutOfBoundsException e) {
+      throw new IOException("Snappy data is truncated", e);
+    }
+
+    return dstPos - dstOff;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "Snappy";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "Java";
+  }
+
+}
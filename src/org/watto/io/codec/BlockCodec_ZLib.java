@@ -0,0 +1,102 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+**********************************************************************************************
+ZLib or raw Deflate decompression, using the Inflater built in to Java. Each thread keeps its own
+Inflater, so they're not created and destroyed for every block.
+**********************************************************************************************
+**/
+public class BlockCodec_ZLib implements BlockCodec {
+
+  boolean zlibWrapper;
+
+  ThreadLocal<Inflater> inflaters = new ThreadLocal<Inflater>();
+
+  /**
+  **********************************************************************************************
+  If <i>zlibWrapper</i> is false, the data is raw Deflate, with no ZLib header or checksum
+  **********************************************************************************************
+  **/
+  public BlockCodec_ZLib(boolean zlibWrapper) {
+    this.zlibWrapper = zlibWrapper;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    Inflater inflater = inflaters.get();
+    if (inflater == null) {
+      inflater = new Inflater(!zlibWrapper);
+      inflaters.set(inflater);
+    }
+    else {
+      inflater.reset();
+    }
+
+    inflater.setInput(src, srcOff, srcLen);
+
+    int dstPos = dstOff;
+    int dstEnd = dstOff + dstLen;
+    try {
+      while (dstPos < dstEnd && !inflater.finished()) {
+        int decompLength = inflater.inflate(dst, dstPos, dstEnd - dstPos);
+        if (decompLength == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break; // truncated data
+        }
+        dstPos += decompLength;
+      }
+    }
+    catch (DataFormatException e) {
+      throw new IOException("Invalid " + getFormat() + " data", e);
+    }
+
+    return dstPos - dstOff;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    if (zlibWrapper) {
+      return "ZLib";
+    }
+    return "Deflate";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "Inflater";
+  }
+
+}
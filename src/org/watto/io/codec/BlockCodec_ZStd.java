@@ -0,0 +1,73 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.io.codec;
+
+import java.io.IOException;
+
+import io.airlift.compress.zstd.ZstdDecompressor;
+
+/**
+**********************************************************************************************
+ZStd decompression of one or more complete frames. Each thread keeps its own decompressor, as
+they hold their decoding tables between frames.
+**********************************************************************************************
+**/
+public class BlockCodec_ZStd implements BlockCodec {
+
+  ThreadLocal<ZstdDecompressor> decompressors = new ThreadLocal<ZstdDecompressor>();
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+    ZstdDecompressor decompressor = decompressors.get();
+    if (decompressor == null) {
+      decompressor = new ZstdDecompressor();
+      decompressors.set(decompressor);
+    }
+
+    try {
+      return decompressor.decompress(src, srcOff, srcLen, dst, dstOff, dstLen);
+    }
+    catch (RuntimeException e) {
+      throw new IOException("ZStd decompression failed", e);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getFormat() {
+    return "ZStd";
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  @Override
+  public String getName() {
+    return "Java";
+  }
+
+}
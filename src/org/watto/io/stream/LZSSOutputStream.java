@@ -70,6 +70,9 @@ public class LZSSOutputStream extends FilterOutputStream {
   /** ring buffer, with F-1 extra bytes for string comparison */
   byte text_buf[];
 
+  /** holds the byte for write(int) **/
+  byte single_buf[] = new byte[1];
+
   /**
   **********************************************************************************************
 
@@ -428,4 +431,15 @@ public class LZSSOutputStream extends FilterOutputStream {
     pack_write(sz, zz, ofs, false);
   }
 
+  /**
+  **********************************************************************************************
+  FilterOutputStream would write single bytes straight to the output, uncompressed
+  **********************************************************************************************
+  **/
+  @Override
+  public void write(int b) throws IOException {
+    single_buf[0] = (byte) b;
+    pack_write(1, single_buf, 0, false);
+  }
+
 }
@@ -26,6 +26,7 @@ import javax.swing.JLabel;
 import javax.swing.border.EmptyBorder;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.basic.BasicLabelUI;
+import org.watto.component.WSStatusBar;
 
 
 /***********************************************************************************************
@@ -73,6 +74,17 @@ public class ButterflyStatusBarUI extends BasicLabelUI {
 
       ButterflyPainter.paintText((Graphics2D)graphics,text,textLeft,textTop);
     }
+
+    if (label instanceof WSStatusBar){
+      String indicatorText = ((WSStatusBar)label).getIndicatorText();
+      if (indicatorText != null && !indicatorText.equals("")) {
+        FontMetrics metrics = graphics.getFontMetrics();
+        int textHeight = metrics.getHeight();
+        int textLeft = w-pad-4-metrics.stringWidth(indicatorText);
+        int textTop = pad+3+textHeight/2;
+        ButterflyPainter.paintText((Graphics2D)graphics,indicatorText,textLeft,textTop);
+      }
+    }
   }
 
 
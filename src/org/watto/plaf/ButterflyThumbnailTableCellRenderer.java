@@ -44,6 +44,12 @@ public class ButterflyThumbnailTableCellRenderer extends DefaultTableCellRendere
   /** serialVersionUID */
   private static final long serialVersionUID = 1L;
 
+  /** The label showing the thumbnail. The same one is re-used for painting every cell. **/
+  WSLabel rend = null;
+
+  /** The panel around the <code>rend</code>, which paints the border and selection **/
+  WSPanel outerPanel = null;
+
   /***********************************************************************************************
   Constructor
   ***********************************************************************************************/
@@ -64,21 +70,33 @@ public class ButterflyThumbnailTableCellRenderer extends DefaultTableCellRendere
   public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
     //JComponent rend = (JComponent) super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
 
-    WSLabel rend = new WSLabel();
-
     //WSPanel innerPanel = new WSPanel(XMLReader.read("<WSPanel layout=\"CenteredLayout\" paintBackground=\"false\" opaque=\"true\" />"));
     //innerPanel.add(rend);
 
     // 3.16.0001 Added "codes" to every XML-built object, so that they're cleaned up when the object is destroyed (otherwise it was being retained in the ComponentRepository)
 
-    WSPanel outerPanel = new WSPanel(XMLReader.read("<WSPanel layout=\"CenteredLayout\" code=\"ButterflyThumbnailTableCellRenderer_getTableCellRendererComponent\" paintBackground=\"false\" />"));
-    outerPanel.add(rend);
+    // The label and panel are only built once, and re-used for every cell (like a normal JTable renderer), rather than
+    // building new components for every cell each time the table is painted
+    if (outerPanel == null) {
+      rend = new WSLabel();
+      outerPanel = new WSPanel(XMLReader.read("<WSPanel layout=\"CenteredLayout\" code=\"ButterflyThumbnailTableCellRenderer_getTableCellRendererComponent\" paintBackground=\"false\" />"));
+      outerPanel.add(rend);
+    }
 
-    if (value != null) {
-      outerPanel.setShowBorder(true);
-      if (isSelected) {
-        outerPanel.setPaintBackground(true); // selected items have full background painted, not just the border
-      }
+    // reset anything that was set when painting the previous cell
+    rend.setText_Super("");
+    rend.setHorizontalTextPosition(JLabel.TRAILING);
+    rend.setVerticalTextPosition(JLabel.CENTER);
+
+    boolean showBorder = (value != null);
+    boolean paintBackground = (value != null && isSelected); // selected items have full background painted, not just the border
+
+    // only change them if they're different, as changing the border fires an event
+    if (outerPanel.getShowBorder() != showBorder) {
+      outerPanel.setShowBorder(showBorder);
+    }
+    if (outerPanel.getPaintBackground() != paintBackground) {
+      outerPanel.setPaintBackground(paintBackground);
     }
 
     /*
@@ -214,7 +232,13 @@ public class ButterflyThumbnailTableCellRenderer extends DefaultTableCellRendere
           rend.setHorizontalTextPosition(JLabel.CENTER);
           rend.setVerticalTextPosition(JLabel.BOTTOM);
         }
-        label.setIcon(new ImageIcon(imageResource.getThumbnail()));
+        if (imageResource != null) {
+          label.setIcon(new ImageIcon(imageResource.getThumbnail()));
+        }
+        else {
+          // the thumbnail was removed from memory - it'll be loaded again the next time the cell is requested from the model
+          label.setIcon(null);
+        }
         //label.setText("");
         //label.setBorder(new EmptyBorder(0, 0, 0, 0));
       }
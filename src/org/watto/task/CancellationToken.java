@@ -0,0 +1,55 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.task;
+
+/**
+**********************************************************************************************
+Lets a task that has been given to the <code>TaskScheduler</code> be cancelled. If the task
+hasn't started yet, it won't be run at all. Long-running tasks can check
+<code>TaskScheduler.isCurrentTaskCancelled()</code> as they go, and stop early.
+**********************************************************************************************
+**/
+public class CancellationToken {
+
+  volatile boolean cancelled = false;
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public CancellationToken() {
+  }
+
+  /**
+  **********************************************************************************************
+  Asks the task to stop
+  **********************************************************************************************
+  **/
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+}
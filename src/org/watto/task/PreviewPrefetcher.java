@@ -0,0 +1,461 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+package org.watto.task;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.watto.ErrorLogger;
+import org.watto.Settings;
+import org.watto.SingletonManager;
+import org.watto.component.ComponentRepository;
+import org.watto.component.FileListPanel;
+import org.watto.component.WSFileListPanelHolder;
+import org.watto.component.WSPanel;
+import org.watto.datatype.ImageResource;
+import org.watto.datatype.Resource;
+import org.watto.ge.helper.ViewerPluginCache;
+import org.watto.ge.plugin.ExporterPlugin;
+import org.watto.ge.plugin.RatedPlugin;
+import org.watto.ge.plugin.ViewerPlugin;
+import org.watto.ge.plugin.exporter.BlockQuickBMSExporterWrapper;
+import org.watto.ge.plugin.exporter.Exporter_QuickBMSWrapper;
+import org.watto.ge.plugin.exporter.Exporter_QuickBMS_Decompression;
+import org.watto.io.FileManipulator;
+
+/**
+**********************************************************************************************
+Prepares the previews of the files either side of the selected file, so that when the user
+moves through the files (such as with the arrow keys), the preview can be shown straight away.
+The neighbouring files are extracted, the ViewerPlugins that can open them are found, and if
+the best ViewerPlugin is an image viewer (ViewerPlugin.isImageViewer()), the image is decoded as
+well. This is all done at a low priority, and is cancelled as soon as a different file is
+selected.
+<br /><br />
+Only the ImageResource is decoded in advance - the PreviewPanel_Image for it is built on the
+Event Dispatch Thread when it's shown, as the panels register their components in the shared
+ComponentRepository. Other previews (such as 3D models, or audio which starts playing as soon as
+it's read) only have their ViewerPlugins found. The decoded images are kept in least-recently-used
+order, within the PreviewPrefetchMemory setting. The number of files prepared either side of the
+selected file is set by PreviewPrefetchCount (0 to disable).
+**********************************************************************************************
+**/
+public class PreviewPrefetcher {
+
+  /** Held while extracting a file for previewing, as each ExporterPlugin can only extract one file at a time **/
+  public static final Object EXPORT_LOCK = new Object();
+
+  /** The prepared previews, in least-recently-used order **/
+  static LinkedHashMap<Resource, PrefetchedPreview> previews = new LinkedHashMap<Resource, PrefetchedPreview>(16, 0.75f, true);
+
+  /** The approximate memory used by the decoded images in the <code>previews</code> **/
+  static long memoryUsed = 0;
+
+  /** So the files around the previous selection can be abandoned when the selection moves **/
+  static CancellationToken token = null;
+
+  /**
+  **********************************************************************************************
+  Whether the <i>resource</i> can be extracted in the background. QuickBMS files are extracted by
+  an external program, which might need to ask the user something, so they're left alone.
+  **********************************************************************************************
+  **/
+  static boolean canPrefetch(Resource resource) {
+    ExporterPlugin exporter = resource.getExporter();
+    if (exporter instanceof Exporter_QuickBMSWrapper || exporter instanceof Exporter_QuickBMS_Decompression || exporter instanceof BlockQuickBMSExporterWrapper) {
+      return false;
+    }
+
+    // if it's bigger than the memory budget, it's not going to be kept anyway
+    long maxLength = Settings.getLong("PreviewPrefetchMemory");
+    return maxLength > 0 && resource.getDecompressedLength() <= maxLength;
+  }
+
+  /**
+  **********************************************************************************************
+  Whether the <i>plugin</i> can be read in the background. Only image viewers are read, as their
+  preview is just a PreviewPanel_Image of the decoded image - any others build their own
+  PreviewPanel, or do something the user can see or hear when they're read, such as playing audio.
+  **********************************************************************************************
+  **/
+  static boolean canDecode(ViewerPlugin plugin) {
+    return plugin.isImageViewer();
+  }
+
+  /**
+  **********************************************************************************************
+  Cancels the background work, and removes all the prepared previews, such as when a different
+  archive is opened
+  **********************************************************************************************
+  **/
+  public static synchronized void clear() {
+    if (token != null) {
+      token.cancel();
+      token = null;
+    }
+
+    Iterator<PrefetchedPreview> iterator = previews.values().iterator();
+    while (iterator.hasNext()) {
+      iterator.next().close();
+    }
+    previews.clear();
+    memoryUsed = 0;
+  }
+
+  /**
+  **********************************************************************************************
+  Removes the least-recently-used previews to free up (roughly) <i>bytes</i> of memory, such as
+  when the MemoryBudget is running out
+  @return the memory that was freed
+  **********************************************************************************************
+  **/
+  public static synchronized long evict(long bytes) {
+    long before = memoryUsed;
+    Iterator<PrefetchedPreview> iterator = previews.values().iterator();
+    while (before - memoryUsed < bytes && iterator.hasNext()) {
+      PrefetchedPreview oldest = iterator.next();
+      memoryUsed -= oldest.getMemorySize();
+      oldest.close();
+      iterator.remove();
+    }
+    return before - memoryUsed;
+  }
+
+  /**
+  **********************************************************************************************
+  The approximate memory used by a decoded <i>image</i>
+  **********************************************************************************************
+  **/
+  static long getMemorySize(ImageResource image) {
+    if (image == null) {
+      return 0;
+    }
+    return (long) image.getWidth() * image.getHeight() * 4;
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  public static synchronized long getMemoryUsed() {
+    return memoryUsed;
+  }
+
+  /**
+  **********************************************************************************************
+
+  **********************************************************************************************
+  **/
+  static synchronized boolean isPrefetched(Resource resource) {
+    return previews.containsKey(resource);
+  }
+
+  /**
+  **********************************************************************************************
+  Extracts the <i>resource</i>, finds the ViewerPlugins for it, and decodes it if it's an image.
+  Runs on a TaskScheduler thread.
+  **********************************************************************************************
+  **/
+  static void prefetch(Resource resource) {
+    if (isPrefetched(resource)) {
+      return;
+    }
+
+    try {
+      SingletonManager.setForThread("CurrentResource", resource); // so it can be detected by ViewerPlugins, without changing the file being previewed
+
+      File path = resource.getExportedPath();
+      if (path == null || !path.exists()) {
+        synchronized (EXPORT_LOCK) {
+          path = resource.getExportedPath();
+          if (path == null || !path.exists()) {
+            File directory = new File(new File(Settings.get("TempDirectory")).getAbsolutePath());
+            path = resource.extract(directory);
+          }
+        }
+      }
+
+      if (path == null || !path.exists() || path.length() == 0 || TaskScheduler.isCurrentTaskCancelled()) {
+        return;
+      }
+
+      RatedPlugin[] plugins = ViewerPluginCache.findPlugins(resource, path);
+
+      PrefetchedPreview preview = new PrefetchedPreview(path, plugins);
+
+      // Try the plugins in the same order as the preview would, but stop as soon as one can't be read in the background
+      if (plugins != null) {
+        for (int i = 0; i < plugins.length; i++) {
+          ViewerPlugin plugin = (ViewerPlugin) plugins[i].getPlugin();
+          if (!canDecode(plugin) || TaskScheduler.isCurrentTaskCancelled()) {
+            break;
+          }
+
+          // some image viewers extract other files (such as palettes) or change the shared PaletteManager while reading
+          ImageResource image;
+          synchronized (EXPORT_LOCK) {
+            FileManipulator fm = new FileManipulator(path, false);
+            image = plugin.readThumbnail(fm);
+            fm.close();
+          }
+
+          if (image != null) {
+            preview.setImage(plugin, image);
+            break;
+          }
+        }
+      }
+
+      store(resource, preview);
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+    }
+    finally {
+      SingletonManager.removeForThread("CurrentResource");
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Prepares the previews of the files either side of the selected file in the current file list,
+  in the order they're shown in the list. Called when a file is previewed.
+  **********************************************************************************************
+  **/
+  public static void prefetchNeighbours() {
+    int count = Settings.getInt("PreviewPrefetchCount");
+    if (count <= 0) {
+      return;
+    }
+
+    WSPanel currentPanel = ((WSFileListPanelHolder) ComponentRepository.get("FileListPanelHolder")).getCurrentPanel();
+    if (!(currentPanel instanceof FileListPanel)) {
+      return;
+    }
+    FileListPanel fileList = (FileListPanel) currentPanel;
+
+    int selectedRow = fileList.getFirstSelectedRow();
+    if (selectedRow < 0) {
+      return;
+    }
+
+    // closest first, alternating between the next and previous files
+    final ArrayList<Resource> neighbours = new ArrayList<Resource>(count * 2);
+    for (int i = 1; i <= count; i++) {
+      addNeighbour(neighbours, fileList, selectedRow + i);
+      addNeighbour(neighbours, fileList, selectedRow - i);
+    }
+
+    synchronized (PreviewPrefetcher.class) {
+      if (token != null) {
+        token.cancel();
+        token = null;
+      }
+
+      if (neighbours.size() <= 0) {
+        return;
+      }
+
+      token = TaskScheduler.submit(TaskScheduler.POOL_DECODE, TaskScheduler.PRIORITY_LOW, new Runnable() {
+
+        @Override
+        public void run() {
+          for (int i = 0; i < neighbours.size(); i++) {
+            if (TaskScheduler.isCurrentTaskCancelled()) {
+              return;
+            }
+            prefetch(neighbours.get(i));
+          }
+        }
+      });
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Adds the Resource in the <i>row</i> of the <i>fileList</i> to the <i>neighbours</i>, if it
+  exists and can be prefetched
+  **********************************************************************************************
+  **/
+  static void addNeighbour(ArrayList<Resource> neighbours, FileListPanel fileList, int row) {
+    if (row < 0) {
+      return;
+    }
+
+    try {
+      Resource resource = fileList.getResource(row);
+      if (resource != null && canPrefetch(resource)) {
+        neighbours.add(resource);
+      }
+    }
+    catch (Throwable t) {
+      // past the end of the list, or a row that isn't a file (such as a directory in the tree)
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Keeps the <i>preview</i> of the <i>resource</i>, and removes the least-recently-used previews if
+  the memory budget has been exceeded
+  **********************************************************************************************
+  **/
+  static synchronized void store(Resource resource, PrefetchedPreview preview) {
+    PrefetchedPreview previous = previews.put(resource, preview);
+    if (previous != null) {
+      memoryUsed -= previous.getMemorySize();
+      previous.close();
+    }
+    memoryUsed += preview.getMemorySize();
+
+    long budget = Settings.getLong("PreviewPrefetchMemory");
+    Iterator<PrefetchedPreview> iterator = previews.values().iterator();
+    while (memoryUsed > budget && iterator.hasNext()) {
+      PrefetchedPreview oldest = iterator.next();
+      if (oldest == preview) {
+        break; // always keep the one that was just prepared
+      }
+      memoryUsed -= oldest.getMemorySize();
+      oldest.close();
+      iterator.remove();
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Gets (and removes) the prepared preview of the <i>resource</i>, if there is one, and it was
+  prepared from the file at <i>path</i>
+  **********************************************************************************************
+  **/
+  public static synchronized PrefetchedPreview take(Resource resource, File path) {
+    if (resource == null || path == null) {
+      return null;
+    }
+
+    PrefetchedPreview preview = previews.remove(resource);
+    if (preview == null) {
+      return null;
+    }
+    memoryUsed -= preview.getMemorySize();
+
+    if (!path.equals(preview.getPath())) {
+      // the file has been extracted again since it was prepared (eg it was replaced)
+      preview.close();
+      return null;
+    }
+
+    return preview;
+  }
+
+  /**
+  **********************************************************************************************
+  A preview that was prepared in the background
+  **********************************************************************************************
+  **/
+  public static class PrefetchedPreview {
+
+    /** The extracted file **/
+    File path;
+
+    /** The ViewerPlugins that can open the file, in the order they should be tried (or null if there aren't any) **/
+    RatedPlugin[] plugins;
+
+    /** The decoded image, if it's an image **/
+    ImageResource image = null;
+
+    /** The plugin that decoded the <code>image</code> **/
+    ViewerPlugin viewer = null;
+
+    long memorySize = 0;
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public PrefetchedPreview(File path, RatedPlugin[] plugins) {
+      this.path = path;
+      this.plugins = plugins;
+    }
+
+    /**
+    **********************************************************************************************
+    Frees the decoded image, if it wasn't shown
+    **********************************************************************************************
+    **/
+    void close() {
+      image = null;
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public long getMemorySize() {
+      return memorySize;
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public ImageResource getImage() {
+      return image;
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public File getPath() {
+      return path;
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public RatedPlugin[] getPlugins() {
+      return plugins;
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    public ViewerPlugin getViewer() {
+      return viewer;
+    }
+
+    /**
+    **********************************************************************************************
+
+    **********************************************************************************************
+    **/
+    void setImage(ViewerPlugin viewer, ImageResource image) {
+      this.viewer = viewer;
+      this.image = image;
+      this.memorySize = PreviewPrefetcher.getMemorySize(image);
+    }
+  }
+
+}
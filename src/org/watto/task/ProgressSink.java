@@ -0,0 +1,314 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.task;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.watto.Language;
+
+/**
+**********************************************************************************************
+Collects the progress values reported by tasks, so the progress display only needs to be updated
+a few times a second, no matter how often the values change. Tasks can report progress from any
+thread without locking - each report just stores the latest value. The display reads the values
+back at its own refresh rate, and works out the throughput (bytes/s or files/s) and the time
+remaining for each progress bar.
+**********************************************************************************************
+**/
+public class ProgressSink {
+
+  public static final int UNITS_FILES = 0;
+
+  public static final int UNITS_BYTES = 1;
+
+  /** The most progress bars that are tracked **/
+  public static final int MAX_BARS = 8;
+
+  /** How much each new throughput measurement counts towards the smoothed throughput **/
+  static final double RATE_SMOOTHING = 0.3;
+
+  AtomicLongArray values = new AtomicLongArray(MAX_BARS);
+
+  AtomicLongArray maximums = new AtomicLongArray(MAX_BARS);
+
+  AtomicIntegerArray units = new AtomicIntegerArray(MAX_BARS);
+
+  /** Set when the maximum changes, so the throughput is measured again from the start **/
+  AtomicIntegerArray resetRate = new AtomicIntegerArray(MAX_BARS);
+
+  /** The last bar that a value was reported for **/
+  volatile int lastBar = 0;
+
+  /** Set every time a value changes, and cleared by hasChanged(), so the display knows if there's anything new to show **/
+  volatile boolean changed = true;
+
+  // The remaining fields are only used by the thread that refreshes the display
+
+  long[] lastValues = new long[MAX_BARS];
+
+  long[] lastTimes = new long[MAX_BARS];
+
+  double[] rates = new double[MAX_BARS];
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public ProgressSink() {
+  }
+
+  /**
+  **********************************************************************************************
+  Formats a number of bytes as B, KB, MB or GB
+  **********************************************************************************************
+  **/
+  static String formatBytes(double bytes) {
+    if (bytes < 1024) {
+      return ((long) bytes) + " B";
+    }
+    else if (bytes < 1024 * 1024) {
+      return String.format("%.1f KB", bytes / 1024);
+    }
+    else if (bytes < 1024 * 1024 * 1024) {
+      return String.format("%.1f MB", bytes / (1024 * 1024));
+    }
+    return String.format("%.2f GB", bytes / (1024 * 1024 * 1024));
+  }
+
+  /**
+  **********************************************************************************************
+  Formats a number of seconds as m:ss or h:mm:ss
+  **********************************************************************************************
+  **/
+  static String formatTime(long seconds) {
+    long hours = seconds / 3600;
+    long minutes = (seconds / 60) % 60;
+    seconds %= 60;
+
+    if (hours > 0) {
+      return hours + ":" + (minutes < 10 ? "0" : "") + minutes + ":" + (seconds < 10 ? "0" : "") + seconds;
+    }
+    return minutes + ":" + (seconds < 10 ? "0" : "") + seconds;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public int getLastBar() {
+    return lastBar;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public long getMaximum(int bar) {
+    return maximums.get(bar);
+  }
+
+  /**
+  **********************************************************************************************
+  The smoothed throughput of the <i>bar</i>, in units per second, as at the last call to
+  <code>updateRates()</code>
+  **********************************************************************************************
+  **/
+  public double getRate(int bar) {
+    return rates[bar];
+  }
+
+  /**
+  **********************************************************************************************
+  The estimated number of seconds until the <i>bar</i> reaches its maximum, or -1 if it's not
+  known
+  **********************************************************************************************
+  **/
+  public long getSecondsRemaining(int bar) {
+    long maximum = maximums.get(bar);
+    long value = values.get(bar);
+    double rate = rates[bar];
+    if (maximum <= 0 || value >= maximum || rate <= 0) {
+      return -1;
+    }
+    return (long) Math.ceil((maximum - value) / rate);
+  }
+
+  /**
+  **********************************************************************************************
+  Builds the text showing the throughput and time remaining for the <i>bar</i>, or null if
+  there's nothing to show yet
+  **********************************************************************************************
+  **/
+  public String getStatusText(int bar, boolean showPercentage) {
+    double rate = rates[bar];
+    if (rate <= 0) {
+      return null;
+    }
+
+    String text = "";
+
+    long maximum = maximums.get(bar);
+    if (showPercentage && maximum > 0) {
+      text = (int) (Math.min(values.get(bar), maximum) * 100 / maximum) + "%  ";
+    }
+
+    if (units.get(bar) == UNITS_BYTES) {
+      text += Language.get("Progress_Rate_Bytes").replace("&rate&", formatBytes(rate));
+    }
+    else {
+      text += Language.get("Progress_Rate_Files").replace("&rate&", "" + (rate < 10 ? Math.round(rate * 10) / 10.0 : Math.round(rate)));
+    }
+
+    long secondsRemaining = getSecondsRemaining(bar);
+    if (secondsRemaining >= 0) {
+      text += "  " + Language.get("Progress_TimeRemaining").replace("&time&", formatTime(secondsRemaining));
+    }
+
+    return text;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public int getUnits(int bar) {
+    return units.get(bar);
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public long getValue(int bar) {
+    return values.get(bar);
+  }
+
+  /**
+  **********************************************************************************************
+  Whether any values have changed since the last call to this method
+  **********************************************************************************************
+  **/
+  public boolean hasChanged() {
+    if (!changed) {
+      return false;
+    }
+    // cleared before the values are read, so a value that's set after this is picked up next time
+    changed = false;
+    return true;
+  }
+
+  /**
+  **********************************************************************************************
+  Clears all the values, ready for a new task
+  **********************************************************************************************
+  **/
+  public void reset() {
+    for (int i = 0; i < MAX_BARS; i++) {
+      values.set(i, 0);
+      maximums.set(i, 0);
+      units.set(i, UNITS_FILES);
+      resetRate.set(i, 1);
+    }
+    lastBar = 0;
+    changed = true;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public void setMaximum(long maximum, int bar) {
+    if (bar < 0 || bar >= MAX_BARS) {
+      return;
+    }
+    maximums.set(bar, maximum);
+    values.set(bar, 0);
+    resetRate.set(bar, 1);
+    changed = true;
+  }
+
+  /**
+  **********************************************************************************************
+  Sets whether the values of the <i>bar</i> are a number of files or a number of bytes
+  **********************************************************************************************
+  **/
+  public void setUnits(int newUnits, int bar) {
+    if (bar < 0 || bar >= MAX_BARS) {
+      return;
+    }
+    units.set(bar, newUnits);
+  }
+
+  /**
+  **********************************************************************************************
+  Stores the latest value of the <i>bar</i>. This is all that happens on the task thread.
+  **********************************************************************************************
+  **/
+  public void setValue(long value, int bar) {
+    if (bar < 0 || bar >= MAX_BARS) {
+      return;
+    }
+    values.set(bar, value);
+    lastBar = bar;
+    if (!changed) {
+      changed = true; // only written when it's been cleared, so tasks that set a value for every byte don't keep writing it
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Measures the throughput of each bar since the last call, and adds it to the smoothed
+  throughput. Only called by the thread that refreshes the display.
+  **********************************************************************************************
+  **/
+  public void updateRates(long currentTime) {
+    for (int i = 0; i < MAX_BARS; i++) {
+      long value = values.get(i);
+
+      if (resetRate.getAndSet(i, 0) == 1 || value < lastValues[i]) {
+        // new maximum, or the value went backwards - start measuring again
+        lastValues[i] = value;
+        lastTimes[i] = currentTime;
+        rates[i] = 0;
+        continue;
+      }
+
+      long elapsed = currentTime - lastTimes[i];
+      if (elapsed < 250) {
+        continue; // too short to measure accurately
+      }
+
+      double rate = (value - lastValues[i]) * 1000.0 / elapsed;
+      if (rates[i] <= 0) {
+        rates[i] = rate;
+      }
+      else {
+        rates[i] = rates[i] + RATE_SMOOTHING * (rate - rates[i]);
+      }
+
+      lastValues[i] = value;
+      lastTimes[i] = currentTime;
+    }
+  }
+
+}
@@ -15,7 +15,11 @@
 package org.watto.task;
 
 import java.awt.Cursor;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import javax.swing.Timer;
 import org.watto.ErrorLogger;
+import org.watto.Settings;
 import org.watto.component.ComponentRepository;
 import org.watto.component.WSOverlayProgressDialog;
 import org.watto.component.WSPanel;
@@ -36,6 +40,27 @@ public class TaskProgressManager {
   /** The dialog showing the progress bars **/
   static WSProgressDialogInterface progress = null;
 
+  /** Holds the latest progress values, which are only pushed to the display a few times a second **/
+  static ProgressSink sink = new ProgressSink();
+
+  /** Pushes the values in the <code>sink</code> to the <code>progress</code> dialog **/
+  static Timer refreshTimer = null;
+
+  /** Whether the <code>refreshTimer</code> is running, so setValue() can check it without asking the Timer (which locks) **/
+  static volatile boolean refreshing = false;
+
+  /** Whether the throughput text is currently shown on each bar **/
+  static boolean[] barTextShown = new boolean[ProgressSink.MAX_BARS];
+
+  /** If a maximum is set to this length, the bar is counting bytes rather than files **/
+  static long byteLength = -1;
+
+  /** Whether progress is being written to the console instead of a dialog **/
+  static boolean commandLine = false;
+
+  /** The message to show with the progress on the console **/
+  static String commandLineMessage = null;
+
   /**
   **********************************************************************************************
 
@@ -76,6 +101,8 @@ public class TaskProgressManager {
   **********************************************************************************************
   **/
   public static void setMaximum(long maximum) {
+    setSinkMaximum(maximum, 0);
+
     if (progress == null) {
       return; // probably running from the command line
     }
@@ -88,6 +115,8 @@ public class TaskProgressManager {
   @param barNumber the <code>JProgressBar</code> to set the maximum value of
   ***********************************************************************************************/
   public static void setMaximum(long newMaximum, int barNumber) {
+    setSinkMaximum(newMaximum, barNumber);
+
     if (progress == null) {
       return; // probably running from the command line
     }
@@ -99,6 +128,8 @@ public class TaskProgressManager {
   @param newMessage the message to show
   ***********************************************************************************************/
   public static void setMessage(String newMessage) {
+    commandLineMessage = newMessage;
+
     if (progress == null) {
       return; // probably running from the command line
     }
@@ -139,10 +170,7 @@ public class TaskProgressManager {
   **********************************************************************************************
   **/
   public static void setValue(long value) {
-    if (progress == null) {
-      return; // probably running from the command line
-    }
-    progress.setValue(value);
+    setValue(value, 0);
   }
 
   /***********************************************************************************************
@@ -151,10 +179,208 @@ public class TaskProgressManager {
   @param barNumber the <code>JProgressBar</code> to set the current value of
   ***********************************************************************************************/
   public static void setValue(long newValue, int barNumber) {
+    // only store the value here - the display picks it up on its next refresh, so tasks that
+    // report progress for every byte or every file aren't held up by the GUI
+    sink.setValue(newValue, barNumber);
+
     if (progress == null) {
       return; // probably running from the command line
     }
-    progress.setValue(newValue, barNumber);
+
+    if (!refreshing) {
+      startRefreshing();
+    }
+  }
+
+  /***********************************************************************************************
+  Sets whether the values of the main <code>JProgressBar</code> are a number of bytes or a
+  number of files, so the right throughput can be shown
+  @param units <code>ProgressSink.UNITS_BYTES</code> or <code>ProgressSink.UNITS_FILES</code>
+  ***********************************************************************************************/
+  public static void setUnits(int units) {
+    sink.setUnits(units, 0);
+  }
+
+  /***********************************************************************************************
+  Sets whether the values of the given <code>JProgressBar</code> are a number of bytes or a
+  number of files, so the right throughput can be shown
+  @param units <code>ProgressSink.UNITS_BYTES</code> or <code>ProgressSink.UNITS_FILES</code>
+  @param barNumber the <code>JProgressBar</code> to set the units of
+  ***********************************************************************************************/
+  public static void setUnits(int units, int barNumber) {
+    sink.setUnits(units, barNumber);
+  }
+
+  /***********************************************************************************************
+  Sets the length of the file being processed. If a <code>JProgressBar</code> is given this
+  length as its maximum, it is treated as counting bytes rather than files. This lets the
+  throughput be shown in bytes/s for the many plugins that use the archive length as the maximum.
+  @param length the length of the file, or -1 to clear it
+  ***********************************************************************************************/
+  public static void setByteLength(long length) {
+    byteLength = length;
+  }
+
+  /***********************************************************************************************
+  Writes the progress to the console, for when we're running from the command line
+  ***********************************************************************************************/
+  public static void setCommandLine(boolean commandLineOnly) {
+    if (commandLineOnly && !commandLine) {
+      Thread thread = new Thread(new Runnable() {
+
+        @Override
+        public void run() {
+          while (commandLine) {
+            try {
+              Thread.sleep(1000);
+            }
+            catch (InterruptedException e) {
+              return;
+            }
+            writeCommandLineProgress();
+          }
+        }
+      }, "TaskProgressManager Console");
+      thread.setDaemon(true);
+      commandLine = true;
+      thread.start();
+    }
+    else {
+      commandLine = commandLineOnly;
+    }
+  }
+
+  /***********************************************************************************************
+  Resets the <i>barNumber</i> in the <code>sink</code> for a new maximum
+  ***********************************************************************************************/
+  static void setSinkMaximum(long newMaximum, int barNumber) {
+    sink.setMaximum(newMaximum, barNumber);
+    if (byteLength > 0 && newMaximum == byteLength) {
+      sink.setUnits(ProgressSink.UNITS_BYTES, barNumber);
+    }
+    else {
+      sink.setUnits(ProgressSink.UNITS_FILES, barNumber);
+    }
+  }
+
+  /***********************************************************************************************
+  Starts pushing the progress values to the dialog, at the rate in the ProgressRefreshInterval
+  setting
+  ***********************************************************************************************/
+  static synchronized void startRefreshing() {
+    if (refreshTimer == null) {
+      int interval = Settings.getInt("ProgressRefreshInterval");
+      if (interval <= 0) {
+        interval = 100;
+      }
+
+      refreshTimer = new Timer(interval, new ActionListener() {
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+          refreshProgress();
+        }
+      });
+      refreshTimer.setCoalesce(true);
+    }
+
+    if (!refreshTimer.isRunning()) {
+      refreshTimer.start();
+    }
+    refreshing = true;
+  }
+
+  /***********************************************************************************************
+  Stops pushing the progress values to the dialog
+  ***********************************************************************************************/
+  static synchronized void stopRefreshing() {
+    refreshing = false;
+    if (refreshTimer != null) {
+      refreshTimer.stop();
+    }
+  }
+
+  /***********************************************************************************************
+  Pushes the latest progress values to the dialog, along with the throughput and time remaining.
+  Runs on the event thread, from the <code>refreshTimer</code>.
+  ***********************************************************************************************/
+  static void refreshProgress() {
+    if (progress == null) {
+      return;
+    }
+
+    sink.updateRates(System.currentTimeMillis());
+
+    if (!sink.hasChanged()) {
+      return;
+    }
+
+    try {
+      for (int i = 0; i < ProgressSink.MAX_BARS; i++) {
+        if (sink.getMaximum(i) <= 0) {
+          continue; // bar isn't being used
+        }
+
+        progress.setValue(sink.getValue(i), i);
+
+        String text = sink.getStatusText(i, true);
+        if (text != null) {
+          progress.setBarText(text, i);
+          barTextShown[i] = true;
+        }
+        else if (barTextShown[i]) {
+          progress.setBarText(null, i);
+          barTextShown[i] = false;
+        }
+      }
+    }
+    catch (Throwable t) {
+      ErrorLogger.log(t);
+    }
+  }
+
+  /***********************************************************************************************
+  Removes the throughput text from all the bars
+  ***********************************************************************************************/
+  static void clearBarText() {
+    if (progress == null) {
+      return;
+    }
+    for (int i = 0; i < ProgressSink.MAX_BARS; i++) {
+      if (barTextShown[i]) {
+        progress.setBarText(null, i);
+        barTextShown[i] = false;
+      }
+    }
+  }
+
+  /***********************************************************************************************
+  Writes the latest progress values to the console, if they've changed since last time
+  ***********************************************************************************************/
+  static void writeCommandLineProgress() {
+    sink.updateRates(System.currentTimeMillis());
+
+    if (!sink.hasChanged()) {
+      return;
+    }
+
+    int bar = sink.getLastBar();
+    long maximum = sink.getMaximum(bar);
+    if (maximum <= 0) {
+      return;
+    }
+
+    String text = sink.getStatusText(bar, true);
+    if (text == null) {
+      text = (int) (Math.min(sink.getValue(bar), maximum) * 100 / maximum) + "%";
+    }
+
+    if (commandLineMessage != null && commandLineMessage.length() > 0) {
+      text = commandLineMessage + "  " + text;
+    }
+
+    // written to stderr so it doesn't get mixed into a file list written to stdout
+    System.err.println(text);
   }
 
   /***********************************************************************************************
@@ -166,6 +392,10 @@ public class TaskProgressManager {
     if (progress == null) {
       return; // probably running from the command line
     }
+    if (!visible) {
+      stopRefreshing();
+      clearBarText();
+    }
     progress.setVisible(visible);
   }
 
@@ -175,6 +405,9 @@ public class TaskProgressManager {
   @param newMaximum the maximum value of the <code>JProgressBar</code>
   ***********************************************************************************************/
   public static void show(int newMaximum) {
+    sink.reset();
+    setSinkMaximum(newMaximum, 0);
+
     if (progress == null) {
       return; // probably running from the command line
     }
@@ -188,6 +421,12 @@ public class TaskProgressManager {
   @param newMessage the message to show on the <code>WSProgressDialog</code>
   ***********************************************************************************************/
   public static void show(int numBars, int newMaximum, String newMessage) {
+    sink.reset();
+    for (int i = 0; i < numBars && i < ProgressSink.MAX_BARS; i++) {
+      setSinkMaximum(newMaximum, i);
+    }
+    commandLineMessage = newMessage;
+
     if (progress == null) {
       return; // probably running from the command line
     }
@@ -200,6 +439,10 @@ public class TaskProgressManager {
   @param newMessage the message to show on the <code>WSProgressDialog</code>
   ***********************************************************************************************/
   public static void show(int newMaximum, String newMessage) {
+    sink.reset();
+    setSinkMaximum(newMaximum, 0);
+    commandLineMessage = newMessage;
+
     if (progress == null) {
       return; // probably running from the command line
     }
@@ -211,6 +454,9 @@ public class TaskProgressManager {
   @param newMessage the message to show on the <code>WSProgressDialog</code>
   ***********************************************************************************************/
   public static void show(String newMessage) {
+    sink.reset();
+    commandLineMessage = newMessage;
+
     if (progress == null) {
       return; // probably running from the command line
     }
@@ -245,10 +491,15 @@ public class TaskProgressManager {
   public static void stopTask() {
     setTaskRunning(false);
 
+    byteLength = -1;
+
     if (progress == null) {
       return; // probably running from the command line
     }
 
+    stopRefreshing();
+    clearBarText();
+
     Cursor cursor = Cursor.getDefaultCursor();
 
     // Remove the existing panel on the overlay
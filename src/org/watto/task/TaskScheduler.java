@@ -0,0 +1,285 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.task;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.watto.ErrorLogger;
+import org.watto.Settings;
+
+/**
+**********************************************************************************************
+Runs background tasks on a few named pools of threads, rather than each task starting its own
+<code>Thread</code>. Each pool has a fixed maximum number of threads, so heavy use queues the
+tasks up instead of having dozens of threads fighting over the same plugins and files.
+<br><br>
+- POOL_IO is for tasks that mostly read or write files (reading archives, adding files, etc)<br>
+- POOL_DECODE is for tasks that mostly use the CPU (decoding and converting)<br>
+- POOL_UI is for short tasks that support the interface (reloading lists, etc)<br>
+<br>
+Within a pool, tasks with a higher priority run first, otherwise they run in the order they were
+added. The size of each pool is set by the TaskSchedulerIOThreads, TaskSchedulerDecodeThreads and
+TaskSchedulerUIThreads settings (0 for the decode pool means 1 thread per processor). Threads
+that are idle for 30 seconds are stopped.
+<br><br>
+The <code>TaskQueue</code> is still run on its own thread, as its tasks must run one at a time,
+in order.
+**********************************************************************************************
+**/
+public class TaskScheduler {
+
+  public static final int POOL_IO = 0;
+
+  public static final int POOL_DECODE = 1;
+
+  public static final int POOL_UI = 2;
+
+  static final String[] POOL_NAMES = new String[] { "IO", "Decode", "UI" };
+
+  static final String[] POOL_SETTINGS = new String[] { "TaskSchedulerIOThreads", "TaskSchedulerDecodeThreads", "TaskSchedulerUIThreads" };
+
+  public static final int PRIORITY_LOW = 0;
+
+  public static final int PRIORITY_NORMAL = 5;
+
+  public static final int PRIORITY_HIGH = 10;
+
+  static ThreadPoolExecutor[] pools = new ThreadPoolExecutor[POOL_NAMES.length];
+
+  /** Keeps tasks with the same priority in the order they were added **/
+  static AtomicLong sequence = new AtomicLong();
+
+  static AtomicLong cancelledCount = new AtomicLong();
+
+  /** The token of the task that is running on the current thread **/
+  static ThreadLocal<CancellationToken> currentToken = new ThreadLocal<CancellationToken>();
+
+  /**
+  **********************************************************************************************
+  Gets the cancellation token of the task that's running on this thread, or null if this thread
+  isn't running a scheduled task
+  **********************************************************************************************
+  **/
+  public static CancellationToken getCurrentToken() {
+    return currentToken.get();
+  }
+
+  /**
+  **********************************************************************************************
+  The number of tasks that are running in the <i>pool</i> right now
+  **********************************************************************************************
+  **/
+  public static int getActiveCount(int pool) {
+    return getPool(pool).getActiveCount();
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static long getCancelledCount() {
+    return cancelledCount.get();
+  }
+
+  /**
+  **********************************************************************************************
+  The number of tasks that have finished running in the <i>pool</i>
+  **********************************************************************************************
+  **/
+  public static long getCompletedCount(int pool) {
+    return getPool(pool).getCompletedTaskCount();
+  }
+
+  /**
+  **********************************************************************************************
+  The most threads that the <i>pool</i> has had running at the same time
+  **********************************************************************************************
+  **/
+  public static int getLargestThreadCount(int pool) {
+    return getPool(pool).getLargestPoolSize();
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static synchronized ThreadPoolExecutor getPool(final int pool) {
+    if (pools[pool] == null) {
+      int threadCount = Settings.getInt(POOL_SETTINGS[pool]);
+      if (threadCount <= 0) {
+        if (pool == POOL_DECODE) {
+          threadCount = Runtime.getRuntime().availableProcessors();
+        }
+        if (threadCount <= 0) {
+          threadCount = 2; // the setting doesn't exist
+        }
+      }
+
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 30, TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+
+        int threadNumber = 0;
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+          threadNumber++;
+          Thread thread = new Thread(runnable, "TaskScheduler " + POOL_NAMES[pool] + " " + threadNumber);
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      executor.allowCoreThreadTimeOut(true);
+
+      pools[pool] = executor;
+    }
+    return pools[pool];
+  }
+
+  /**
+  **********************************************************************************************
+  The number of tasks waiting to run in the <i>pool</i>
+  **********************************************************************************************
+  **/
+  public static int getQueuedCount(int pool) {
+    return getPool(pool).getQueue().size();
+  }
+
+  /**
+  **********************************************************************************************
+  A summary of the thread and task counts of each pool, for the logs
+  **********************************************************************************************
+  **/
+  public static String getStatistics() {
+    String statistics = "TaskScheduler:";
+    for (int i = 0; i < POOL_NAMES.length; i++) {
+      ThreadPoolExecutor executor = getPool(i);
+      statistics += " " + POOL_NAMES[i] + " [" + executor.getPoolSize() + "/" + executor.getMaximumPoolSize() + " threads (" + executor.getLargestPoolSize() + " max), " + executor.getActiveCount() + " running, " + executor.getQueue().size() + " queued, " + executor.getCompletedTaskCount() + " completed]";
+    }
+    statistics += ", " + cancelledCount.get() + " cancelled";
+    return statistics;
+  }
+
+  /**
+  **********************************************************************************************
+  The number of threads that currently exist in the <i>pool</i>
+  **********************************************************************************************
+  **/
+  public static int getThreadCount(int pool) {
+    return getPool(pool).getPoolSize();
+  }
+
+  /**
+  **********************************************************************************************
+  Whether the task running on this thread has been cancelled. Long tasks should check this as
+  they go, and stop early if it's true.
+  **********************************************************************************************
+  **/
+  public static boolean isCurrentTaskCancelled() {
+    CancellationToken token = currentToken.get();
+    return token != null && token.isCancelled();
+  }
+
+  /**
+  **********************************************************************************************
+  Runs the <i>task</i> in the <i>pool</i>, with a normal priority
+  **********************************************************************************************
+  **/
+  public static CancellationToken submit(int pool, Runnable task) {
+    return submit(pool, PRIORITY_NORMAL, task);
+  }
+
+  /**
+  **********************************************************************************************
+  Runs the <i>task</i> in the <i>pool</i>. Returns a token that can be used to cancel the task.
+  **********************************************************************************************
+  **/
+  public static CancellationToken submit(int pool, int priority, Runnable task) {
+    CancellationToken token = new CancellationToken();
+    getPool(pool).execute(new ScheduledTask(task, priority, token));
+    return token;
+  }
+
+  /**
+  **********************************************************************************************
+  A task in a pool queue, ordered by priority, then by the order it was added
+  **********************************************************************************************
+  **/
+  static class ScheduledTask implements Runnable, Comparable<ScheduledTask> {
+
+    Runnable task;
+
+    int priority;
+
+    long order;
+
+    CancellationToken token;
+
+    /**
+    **********************************************************************************************
+    
+    **********************************************************************************************
+    **/
+    public ScheduledTask(Runnable task, int priority, CancellationToken token) {
+      this.task = task;
+      this.priority = priority;
+      this.token = token;
+      this.order = sequence.getAndIncrement();
+    }
+
+    /**
+    **********************************************************************************************
+    
+    **********************************************************************************************
+    **/
+    @Override
+    public int compareTo(ScheduledTask otherTask) {
+      if (priority != otherTask.priority) {
+        return otherTask.priority - priority; // highest priority first
+      }
+      return Long.compare(order, otherTask.order);
+    }
+
+    /**
+    **********************************************************************************************
+    
+    **********************************************************************************************
+    **/
+    @Override
+    public void run() {
+      if (token.isCancelled()) {
+        cancelledCount.incrementAndGet();
+        return; // cancelled before it started
+      }
+
+      currentToken.set(token);
+      try {
+        task.run();
+      }
+      catch (Throwable t) {
+        ErrorLogger.log(t);
+      }
+      finally {
+        currentToken.remove();
+      }
+    }
+  }
+
+}
@@ -33,6 +33,7 @@ import org.watto.ge.GameExtractor;
 import org.watto.ge.helper.AnalysisPluginGroup;
 import org.watto.ge.helper.AnalysisViewerGroup;
 import org.watto.ge.helper.FileTypeDetector;
+import org.watto.ge.helper.ViewerPluginCache;
 import org.watto.ge.plugin.ArchivePlugin;
 import org.watto.ge.plugin.PluginFinder;
 import org.watto.ge.plugin.RatedPlugin;
@@ -617,7 +618,7 @@ public class Task_AnalyzeDirectory extends AbstractTask {
           // No archive plugins found, or none opened the file successfully.
           // So, try to open with the viewers
 
-          plugins = PluginFinder.findPlugins(archiveFile, ViewerPlugin.class);
+          plugins = ViewerPluginCache.findPlugins(null, archiveFile);
 
           if (plugins != null && plugins.length > 0) {
             Arrays.sort(plugins);
@@ -1060,7 +1061,7 @@ public class Task_AnalyzeDirectory extends AbstractTask {
 
       // now find a previewer for the file
 
-      RatedPlugin[] viewerPlugins = PluginFinder.findPlugins(exportFM, ViewerPlugin.class); // NOTE: This closes the fm pointer!!!
+      RatedPlugin[] viewerPlugins = ViewerPluginCache.findPlugins(resource, exportFM); // NOTE: This closes the fm pointer!!!
       if (viewerPlugins != null && viewerPlugins.length >= 0) {
         // found a viewer
 
@@ -1270,7 +1271,7 @@ public class Task_AnalyzeDirectory extends AbstractTask {
       // now find a previewer for the file
       // preview the first selected file
 
-      RatedPlugin[] plugins = PluginFinder.findPlugins(fm, ViewerPlugin.class); // NOTE: This closes the fm pointer!!!
+      RatedPlugin[] plugins = ViewerPluginCache.findPlugins(resource, fm); // NOTE: This closes the fm pointer!!!
       if (plugins == null || plugins.length == 0) {
         // no viewer plugins found that will accept this file
         // leave the BlankResource here
@@ -1547,7 +1548,7 @@ public class Task_AnalyzeDirectory extends AbstractTask {
         if (useViewerPlugins) {
           // No archive plugins found, or none opened the file successfully.
           // So, try to open with the viewers
-          plugins = PluginFinder.findPlugins(file, ViewerPlugin.class);
+          plugins = ViewerPluginCache.findPlugins(null, file);
 
           if (plugins != null && plugins.length > 0) {
             java.util.Arrays.sort(plugins);
@@ -21,7 +21,7 @@ import org.watto.SingletonManager;
 import org.watto.datatype.BlankImageResource;
 import org.watto.datatype.ImageResource;
 import org.watto.datatype.Resource;
-import org.watto.ge.plugin.PluginFinder;
+import org.watto.ge.helper.ViewerPluginCache;
 import org.watto.ge.plugin.RatedPlugin;
 import org.watto.ge.plugin.ViewerPlugin;
 import org.watto.io.FileManipulator;
@@ -77,6 +77,19 @@ public class Task_CreateImageResource extends AbstractTask {
 
     SingletonManager.set("CurrentResource", resource); // so it can be detected by ViewerPlugins for Thumbnail Generation
 
+    // the ExporterPlugins keep their state in shared fields, so don't read through them while another thread is
+    synchronized (PreviewPrefetcher.EXPORT_LOCK) {
+      createImageResource();
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Reads the file through its exporter, and generates the thumbnail for it
+  **********************************************************************************************
+  **/
+  void createImageResource() {
+
     // Create a buffer that reads from the exporter
     ExporterByteBuffer byteBuffer = new ExporterByteBuffer(resource);
     FileManipulator fm = new FileManipulator(byteBuffer);
@@ -85,7 +98,7 @@ public class Task_CreateImageResource extends AbstractTask {
 
     // now find a previewer for the file
     // preview the first selected file
-    RatedPlugin[] plugins = PluginFinder.findPlugins(fm, ViewerPlugin.class); // NOTE: This closes the fm pointer!!!
+    RatedPlugin[] plugins = ViewerPluginCache.findPlugins(resource, fm); // NOTE: This closes the fm pointer!!!
     if (plugins == null || plugins.length == 0) {
       // no viewer plugins found that will accept this file
       resource.setImageResource(new BlankImageResource(resource));
@@ -101,7 +114,7 @@ public class Task_CreateImageResource extends AbstractTask {
     // try to open the preview using each plugin and previewFile(File,Plugin)
     for (int i = 0; i < plugins.length; i++) {
       fm.seek(0); // go back to the start of the file
-      ImageResource imageResource = ((ViewerPlugin) plugins[i].getPlugin()).readThumbnail(fm);
+      ImageResource imageResource = ((ViewerPlugin) plugins[i].getPlugin()).readReducedThumbnail(fm);
 
       if (imageResource != null) {
         // If the image is animated, remove the animations to clean up those memory areas.
@@ -26,11 +26,12 @@ import org.watto.component.PreviewPanel;
 import org.watto.component.PreviewPanel_Image;
 import org.watto.component.WSDirectoryListHolder;
 import org.watto.component.WSPopup;
+import org.watto.datatype.ImageFrameSource;
 import org.watto.datatype.ImageResource;
 import org.watto.datatype.Resource;
 import org.watto.ge.helper.ShellFolderFile;
+import org.watto.ge.helper.ViewerPluginCache;
 import org.watto.ge.plugin.ExporterPlugin;
-import org.watto.ge.plugin.PluginFinder;
 import org.watto.ge.plugin.RatedPlugin;
 import org.watto.ge.plugin.ViewerPlugin;
 import org.watto.ge.plugin.exporter.BlockQuickBMSExporterWrapper;
@@ -289,7 +290,7 @@ public class Task_ExportFiles extends AbstractTask {
         File path = resource.getExportedPath();
 
         // Analyse the file for compatible Viewers
-        RatedPlugin[] plugins = PluginFinder.findPlugins(path, ViewerPlugin.class);
+        RatedPlugin[] plugins = ViewerPluginCache.findPlugins(resource, path);
 
         // Try each matching Viewer until we find one that succeeds in previewing the file completely
         if (plugins != null && plugins.length > 0) {
@@ -349,15 +350,24 @@ public class Task_ExportFiles extends AbstractTask {
                       if (currentFrame < 0) {
                         currentFrame = 0;
                       }
-                      for (int f = 0; f < currentFrame; f++) {
-                        imageResource = imageResource.getPreviousFrame();
+                      int maxFrames = 5000; // max 5000 frames to export
+                      ImageFrameSource frameSource = imageResource.getFrameSource();
+                      if (frameSource != null && frameSource.getFrameCount() > 1) {
+                        // the frames are decoded on demand, so jump straight to the first one, and only decode each frame once
+                        imageResource = frameSource.getFrame(0);
+                        maxFrames = Math.min(maxFrames, frameSource.getFrameCount());
+                      }
+                      else {
+                        for (int f = 0; f < currentFrame; f++) {
+                          imageResource = imageResource.getPreviousFrame();
+                        }
                       }
 
                       ImageResource firstResource = imageResource;
 
                       // now if we're on the first frame, check that it's not an animation
                       //if (imageResource.isManualFrameTransition()) {
-                      for (int f = 0; f < 5000; f++) { // max 5000 frames to export
+                      for (int f = 0; f < maxFrames; f++) {
                         imagePanel.setImageResource(imageResource); // set the current frame
 
                         // prepare the filename
@@ -67,14 +67,22 @@ public class Task_ImagePreviewAnimation extends AbstractTask {
   @Override
   public void redo() {
     try {
+      long frameTime = 0; // how long it took to get the next frame ready
       while (true) {
-        Thread.sleep(speed);
+        long delay = speed - frameTime;
+        if (delay > 0) {
+          Thread.sleep(delay);
+        }
 
-        if (stopRequested) {
+        if (stopRequested || imageResource == null) {
           break;
         }
         label.setIcon(new ImageIcon(imageResource.getImage()));
+
+        // if the frames come from an ImageFrameSource, this decodes the next frame, so that time is taken off the next delay
+        long startTime = System.currentTimeMillis();
         imageResource = imageResource.getNextFrame();
+        frameTime = System.currentTimeMillis() - startTime;
       }
     }
     catch (Throwable t) {
@@ -18,27 +18,33 @@ import java.awt.Rectangle;
 import java.io.File;
 import java.util.Arrays;
 
+import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
 import org.watto.Language;
+import org.watto.Settings;
 import org.watto.SingletonManager;
 import org.watto.component.WSTable;
 import org.watto.datatype.ImageResource;
 import org.watto.datatype.Resource;
-import org.watto.ge.plugin.PluginFinder;
+import org.watto.ge.helper.ThumbnailDiskCache;
+import org.watto.ge.helper.ThumbnailMemoryCache;
+import org.watto.ge.helper.ViewerPluginCache;
 import org.watto.ge.plugin.RatedPlugin;
 import org.watto.ge.plugin.ViewerPlugin;
 import org.watto.ge.plugin.exporter.Exporter_Custom_FSB5_ProcessWithinArchive;
 import org.watto.io.FileManipulator;
+import org.watto.io.buffer.ByteBuffer;
 import org.watto.io.buffer.ExporterByteBuffer;
 
 /**
 **********************************************************************************************
 When given a Resource, will extract the file to a BufferArrayManipulator using an ExtractPlugin,
-then use a ViewerPlugin to generate the ImageResource (if it's an image file). This task should
-be added to the end of the Swing Event Dispatch Thread via SwingUtilities.invokeLater() so that
-*after* the whole table is drawn, it will start loading the thumbnails that were requested and
-will update the table thumbnails accordingly.
+then use a ViewerPlugin to generate the ImageResource (if it's an image file). This task is run
+by the ThumbnailDecodePool, closest to the visible rows first, and repaints the table cell once
+the thumbnail is generated. If the pool is turned off (or the file is waiting on a QuickBMS bulk
+export), it's added to the end of the Swing Event Dispatch Thread via SwingUtilities.invokeLater()
+instead, so that it runs *after* the whole table is drawn.
 **********************************************************************************************
 **/
 public class Task_LoadThumbnailLater extends AbstractTask {
@@ -76,6 +82,24 @@ public class Task_LoadThumbnailLater extends AbstractTask {
   /**
   **********************************************************************************************
   
+  **********************************************************************************************
+  **/
+  public Resource getResource() {
+    return resource;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public int getTableCellRow() {
+    return tableCellRow;
+  }
+
+  /**
+  **********************************************************************************************
+  
   **********************************************************************************************
   **/
   @Override
@@ -85,28 +109,83 @@ public class Task_LoadThumbnailLater extends AbstractTask {
       return; // can't view an empty file
     }
 
-    SingletonManager.set("CurrentResource", resource); // so it can be detected by ViewerPlugins for Thumbnail Generation
-
-    //if (resource.getName().equals("Unnamed File 000960")) {
-    //  System.out.println("TASK_LOADTHUMBNAILLATER_BREAKPOINT");
-    //}
-
-    FileManipulator fm = null;
-    // See if the Resource has been exported already - if it has, read from that file instead of the original archive.
-    File exportedPath = resource.getExportedPath();
-    if (exportedPath != null && exportedPath.exists()) {
-      // already exported - read from disk
-      fm = new FileManipulator(exportedPath, false);
-      //System.out.println("Loading Thumbnail for " + resource.getName() + " (already exported)");
+    if (SwingUtilities.isEventDispatchThread()) {
+      SingletonManager.set("CurrentResource", resource); // so it can be detected by ViewerPlugins for Thumbnail Generation
+      loadThumbnail();
     }
     else {
-      // Need to read the file from the archive
-      //System.out.println("Loading Thumbnail for " + resource.getName() + " (NEEDS EXPORTING)");
+      // running in the ThumbnailDecodePool, alongside other thumbnails, so each thread needs its own CurrentResource
+      SingletonManager.setForThread("CurrentResource", resource);
+      try {
+        loadThumbnail();
+      }
+      finally {
+        SingletonManager.removeForThread("CurrentResource");
+      }
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Extracts the file and generates the thumbnail for it. The ExporterPlugins keep their state in
+  shared fields, and many ViewerPlugins extract other files (such as palettes) or change the
+  shared PaletteManager while they're reading, so the whole thumbnail is generated while holding
+  the PreviewPrefetcher.EXPORT_LOCK. Small files (up to the ThumbnailBufferSizeLimit) are
+  extracted into memory once, rather than being read through the exporter for each ViewerPlugin.
+  **********************************************************************************************
+  **/
+  void loadThumbnail() {
+    // See if the thumbnail was stored the last time this archive was opened - if so, we don't need to decode it again.
+    // This reads from disk, so it's done here rather than when the table asks for the cell.
+    ImageResource storedThumbnail = ThumbnailDiskCache.get(resource);
+    if (storedThumbnail != null) {
+      resource.setImageResource(storedThumbnail);
+      ThumbnailMemoryCache.add(resource, storedThumbnail);
+      repaintCell();
+      return;
+    }
+
+    synchronized (PreviewPrefetcher.EXPORT_LOCK) {
+      File exportedPath = resource.getExportedPath();
+      if (exportedPath != null && exportedPath.exists()) {
+        // already exported - read from disk
+        loadThumbnail(new FileManipulator(exportedPath, false), exportedPath, null);
+        return;
+      }
 
       if (resource.getExporter() instanceof Exporter_Custom_FSB5_ProcessWithinArchive) {
         return; // SPECIAL CASE: this exporter is a bit intensive, and it doesn't generate thumbnails, so skip it early.
       }
 
+      long decompLength = resource.getDecompressedLength();
+      if (decompLength > 0 && decompLength <= Settings.getLong("ThumbnailBufferSizeLimit")) {
+        ByteBuffer byteBuffer = new ByteBuffer((int) decompLength);
+        FileManipulator fm = new FileManipulator(byteBuffer);
+        resource.extract(fm);
+        fm.seek(0);
+
+        // Need to set a fake file, so that the ViewerPlugins can get the extension when running getMatchRating()
+        fm.setFakeFile(new File(resource.getName()));
+
+        loadThumbnail(fm, null, byteBuffer);
+        return;
+      }
+
+      loadThumbnail(null, null, null);
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Generates the thumbnail from the <i>fm</i>, which reads from the <i>exportedPath</i> or the
+  <i>memoryBuffer</i>. If they're all null, the file is read from the exporter.
+  **********************************************************************************************
+  **/
+  void loadThumbnail(FileManipulator fm, File exportedPath, ByteBuffer memoryBuffer) {
+
+    if (fm == null) {
+      // Need to read the file from the archive
+
       // Create a buffer that reads from the exporter
       /*
       long length = resource.getLength();
@@ -132,16 +211,10 @@ public class Task_LoadThumbnailLater extends AbstractTask {
       fm.setFakeFile(new File(resource.getName()));
     }
 
-    //if (resource.getName().equalsIgnoreCase("CHARS\\CREATURES\\DUPLO_CHOMPERLEGO\\DUPLO_CHOMPERLEGO_UK.TXT")) {
-    // System.out.println("LoadThumbnailLater: Starting load for " + resource.getName());
-    //}
-
     // now find a previewer for the file
     // preview the first selected file
 
-    //System.out.println("Finding Plugins");
-    RatedPlugin[] plugins = PluginFinder.findPlugins(fm, ViewerPlugin.class); // NOTE: This closes the fm pointer!!!
-    //System.out.println("    Done");
+    RatedPlugin[] plugins = ViewerPluginCache.findPlugins(resource, fm); // NOTE: This closes the fm pointer!!!
     if (plugins == null || plugins.length == 0) {
       // no viewer plugins found that will accept this file
       // leave the BlankResource here
@@ -155,19 +228,22 @@ public class Task_LoadThumbnailLater extends AbstractTask {
       // already exported - read from disk
       fm = new FileManipulator(exportedPath, false);
     }
+    else if (memoryBuffer != null) {
+      // already extracted into memory
+      memoryBuffer.seek(0);
+      fm.open(memoryBuffer);
+    }
     else {
       // Need to read the file from the archive
       ExporterByteBuffer byteBuffer = new ExporterByteBuffer(resource);
       fm.open(byteBuffer);
     }
 
-    //System.out.println("Trying Plugins");
-
     // try to open the preview using each plugin and previewFile(File,Plugin)
     for (int i = 0; i < plugins.length; i++) {
 
       fm.seek(0); // go back to the start of the file
-      ImageResource imageResource = ((ViewerPlugin) plugins[i].getPlugin()).readThumbnail(fm);
+      ImageResource imageResource = ((ViewerPlugin) plugins[i].getPlugin()).readReducedThumbnail(fm);
 
       if (imageResource != null) {
         // If the image is animated, remove the animations to clean up those memory areas.
@@ -182,18 +258,15 @@ public class Task_LoadThumbnailLater extends AbstractTask {
 
         // a plugin opened the file successfully, so if it's an Image, generate and set an ImageResource for it.
         resource.setImageResource(imageResource);
+        ThumbnailMemoryCache.add(resource, imageResource); // so thumbnails that are no longer shown can be removed from memory
+
+        // store the thumbnail (in the background), so it doesn't need to be generated again next time the archive is opened
+        ThumbnailDiskCache.put(resource, imageResource);
 
         fm.close();
 
         // Now that we have the thumbnail, change the value in the table
-        if (tableModelToUpdate != null) {
-          // paint the cell immediately (as part of this call in the Swing Event Dispatch Thread)
-          Rectangle cellRect = tableToUpdate.getCellRect(tableCellRow, tableCellColumn, false);
-          tableToUpdate.paintImmediately(cellRect);
-
-          // This is an alternative to the above, but triggers the repaint after *all* the thumbnails are loaded
-          //tableModelToUpdate.fireTableCellUpdated(tableCellRow, tableCellColumn);
-        }
+        repaintCell();
 
         return;
       }
@@ -207,6 +280,37 @@ public class Task_LoadThumbnailLater extends AbstractTask {
     return;
   }
 
+  /**
+  **********************************************************************************************
+  Repaints the table cell, now that the thumbnail has been loaded
+  **********************************************************************************************
+  **/
+  void repaintCell() {
+    if (tableModelToUpdate == null) {
+      return;
+    }
+
+    if (SwingUtilities.isEventDispatchThread()) {
+      // paint the cell immediately (as part of this call in the Swing Event Dispatch Thread)
+      Rectangle cellRect = tableToUpdate.getCellRect(tableCellRow, tableCellColumn, false);
+      tableToUpdate.paintImmediately(cellRect);
+    }
+    else {
+      // generated on a worker thread, so only the repaint of the cell goes on the Swing Event Dispatch Thread
+      SwingUtilities.invokeLater(new Runnable() {
+
+        @Override
+        public void run() {
+          Rectangle cellRect = tableToUpdate.getCellRect(tableCellRow, tableCellColumn, false);
+          tableToUpdate.repaint(cellRect);
+        }
+      });
+    }
+
+    // This is an alternative to the above, but triggers the repaint after *all* the thumbnails are loaded
+    //tableModelToUpdate.fireTableCellUpdated(tableCellRow, tableCellColumn);
+  }
+
   /**
   **********************************************************************************************
   
@@ -71,12 +71,17 @@ public class Task_PreviewFile extends AbstractTask {
       // already extracted
     }
     else {
-      TemporarySettings.set("ExportForPreview", true);
-      Task_ExportFiles task = new Task_ExportFiles(directory, resource);
-      task.setShowPopups(false);
-      task.setShowProgressPopups(false); // this barely appears, and slows down the preview repainting significantly, so don't worry about it.
-      task.redo();
-      TemporarySettings.set("ExportForPreview", false);
+      synchronized (PreviewPrefetcher.EXPORT_LOCK) {
+        File exportedPath = resource.getExportedPath();
+        if (exportedPath == null || !exportedPath.exists()) { // might have just been extracted by the PreviewPrefetcher
+          TemporarySettings.set("ExportForPreview", true);
+          Task_ExportFiles task = new Task_ExportFiles(directory, resource);
+          task.setShowPopups(false);
+          task.setShowProgressPopups(false); // this barely appears, and slows down the preview repainting significantly, so don't worry about it.
+          task.redo();
+          TemporarySettings.set("ExportForPreview", false);
+        }
+      }
     }
     File path = resource.getExportedPath();
 
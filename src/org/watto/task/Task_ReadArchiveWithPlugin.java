@@ -142,6 +142,9 @@ public class Task_ReadArchiveWithPlugin extends AbstractTask {
           TaskProgressManager.startTask();
         }
 
+        // most plugins use the archive length as the progress maximum, so show their throughput in bytes
+        TaskProgressManager.setByteLength(path.length());
+
         Resource[] resources = (arcPlugin).read(path);
 
         if (resources != null && resources.length > 0) {
@@ -121,6 +121,10 @@ public class Task_ReloadDirectoryList extends AbstractTask {
     DefaultListModel<File> model = new DefaultListModel<File>();
 
     for (int i = 0; i < files.length; i++) {
+      if (TaskScheduler.isCurrentTaskCancelled()) {
+        return; // a newer reload has started, so stop checking the files in this one
+      }
+
       File file = files[i];
       if (file.isDirectory()) {
 
@@ -151,6 +155,10 @@ public class Task_ReloadDirectoryList extends AbstractTask {
       }
     }
 
+    if (TaskScheduler.isCurrentTaskCancelled()) {
+      return; // a newer reload has started, so don't show this one
+    }
+
     bypassListReloadBug();
     list.clearSelection();
     list.setModel(model);
@@ -199,6 +207,10 @@ public class Task_ReloadDirectoryList extends AbstractTask {
     int[] selectedIndexes = new int[files.length];
 
     for (int i = 0; i < files.length; i++) {
+      if (TaskScheduler.isCurrentTaskCancelled()) {
+        return; // a newer reload has started, so stop checking the files in this one
+      }
+
       File file = files[i];
       if (file.isDirectory()) {
 
@@ -238,6 +250,10 @@ public class Task_ReloadDirectoryList extends AbstractTask {
       }
     }
 
+    if (TaskScheduler.isCurrentTaskCancelled()) {
+      return; // a newer reload has started, so don't show this one
+    }
+
     bypassListReloadBug();
     list.clearSelection();
     list.setModel(model);
@@ -122,6 +122,7 @@ public class Task_ScanArchive extends AbstractTask {
     try {
       long arcSize = fm.getLength();
       TaskProgressManager.setMaximum(arcSize);
+      TaskProgressManager.setUnits(ProgressSink.UNITS_BYTES);
 
       // for each byte of the input file
       while (fm.getOffset() < arcSize) {
@@ -129,7 +130,7 @@ public class Task_ScanArchive extends AbstractTask {
         int b = fm.readByte();
         // record the offset so we can go back to the offset for each scanner
         long offset = fm.getOffset();
-        TaskProgressManager.setValue((int) offset);
+        TaskProgressManager.setValue(offset);
 
         // for each scanner
         for (int s = 0; s < scanners.length; s++) {
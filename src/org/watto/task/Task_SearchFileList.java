@@ -14,8 +14,8 @@
 
 package org.watto.task;
 
+import java.util.regex.Matcher;
 import org.watto.Language;
-import org.watto.Settings;
 import org.watto.component.ComponentRepository;
 import org.watto.component.FileListPanel;
 import org.watto.component.WSFileListPanelHolder;
@@ -23,7 +23,7 @@ import org.watto.component.WSPopup;
 import org.watto.component.WSTableColumn;
 import org.watto.datatype.Archive;
 import org.watto.datatype.Resource;
-import org.watto.ge.plugin.ArchivePlugin;
+import org.watto.ge.helper.ResourceMatcher;
 
 /**
 **********************************************************************************************
@@ -58,7 +58,6 @@ public class Task_SearchFileList extends AbstractTask {
   **********************************************************************************************
   **/
   @Override
-  @SuppressWarnings("rawtypes")
   public void redo() {
     if (!TaskProgressManager.canDoTask()) {
       return;
@@ -81,44 +80,14 @@ public class Task_SearchFileList extends AbstractTask {
 
     TaskProgressManager.startTask();
 
-    boolean isNumber = false;
-    long searchValNumber = -1;
-    try {
-      searchValNumber = Long.parseLong(searchVal);
-      isNumber = true;
-    }
-    catch (Throwable t) {
-    }
-
-    boolean isBoolean = false;
-    boolean searchValBoolean = true;
-    if (searchVal.equals("true")) {
-      isBoolean = true;
-      searchValBoolean = true;
-    }
-    else if (searchVal.equals("false")) {
-      isBoolean = true;
-      searchValBoolean = false;
-    }
-
-    boolean regexSearch = false;
-
-    String searchValString = searchVal;
-    if (Settings.getBoolean("SearchWildcardConversion")) {
-      searchValString = searchVal.replace("*", "(.*)");
-      regexSearch = true;
-    }
-
-    if (Settings.getBoolean("SearchRegExConversion")) {
-      regexSearch = true;
-    }
+    // prepare the search value once, rather than for every file
+    ResourceMatcher matcher = new ResourceMatcher(searchVal, columns);
+    Matcher regexMatcher = matcher.newMatcher();
 
     // determine the starting position
     int numFiles = Archive.getNumFiles();
     FileListPanel fileList = (FileListPanel) ((WSFileListPanelHolder) ComponentRepository.get("FileListPanelHolder")).getCurrentPanel();
 
-    ArchivePlugin readPlugin = Archive.getReadPlugin();
-
     int startPos = fileList.getFirstSelectedRow();
     if (startPos >= numFiles) {
       startPos = 0;
@@ -129,92 +98,16 @@ public class Task_SearchFileList extends AbstractTask {
 
     fileList.selectNone();
 
-    // search for the files (StartPos --> end)
-    for (int i = startPos; i < numFiles; i++) {
+    // search for the files (StartPos --> end, then beginning --> StartPos)
+    for (int n = 0; n < numFiles; n++) {
+      int i = (startPos + n) % numFiles;
       Resource resource = fileList.getResource(i);
-      if (resource != null) {
-        for (int c = 0; c < numColumns; c++) {
-          WSTableColumn column = columns[c];
-          Class type = column.getType();
-          char columnChar = column.getCharCode();
-
-          boolean found = false;
-          if (type == String.class) {
-            if (regexSearch) { // regex
-              try {
-                found = ((String) readPlugin.getColumnValue(resource, columnChar)).matches(searchValString);
-              }
-              catch (Throwable t) {
-              }
-            }
-            else { // literal
-              found = (((String) readPlugin.getColumnValue(resource, columnChar)).indexOf(searchValString) >= 0);
-            }
-          }
-          else if (isNumber && type == Long.class) {
-            found = (((Long) readPlugin.getColumnValue(resource, columnChar)).longValue() == searchValNumber);
-          }
-          else if (isBoolean && type == Boolean.class) {
-            found = (((Boolean) readPlugin.getColumnValue(resource, columnChar)).booleanValue() == searchValBoolean);
-          }
-
-          if (found) {
-            fileList.changeSelection(i);
-            if (firstMatchOnly) {
-              WSPopup.showMessage("Search_MatchFound", true);
-              TaskProgressManager.stopTask();
-              return;
-            }
-            else {
-              break; // stop searching the remaining columns - begin searching for the next file
-            }
-          }
-
-        }
-      }
-    }
-
-    // search for the files (beginning --> StartPos)
-    for (int i = 0; i < startPos; i++) {
-      Resource resource = fileList.getResource(i);
-      if (resource != null) {
-        for (int c = 0; c < numColumns; c++) {
-          WSTableColumn column = columns[c];
-          Class type = column.getType();
-          char columnChar = column.getCharCode();
-
-          boolean found = false;
-          if (type == String.class) {
-            if (regexSearch) { // regex
-              try {
-                found = ((String) readPlugin.getColumnValue(resource, columnChar)).matches(searchValString);
-              }
-              catch (Throwable t) {
-              }
-            }
-            else { // literal
-              found = (((String) readPlugin.getColumnValue(resource, columnChar)).indexOf(searchValString) >= 0);
-            }
-          }
-          else if (isNumber && type == Long.class) {
-            found = (((Long) readPlugin.getColumnValue(resource, columnChar)).longValue() == searchValNumber);
-          }
-          else if (isBoolean && type == Boolean.class) {
-            found = (((Boolean) readPlugin.getColumnValue(resource, columnChar)).booleanValue() == searchValBoolean);
-          }
-
-          if (found) {
-            fileList.changeSelection(i);
-            if (firstMatchOnly) {
-              WSPopup.showMessage("Search_MatchFound", true);
-              TaskProgressManager.stopTask();
-              return;
-            }
-            else {
-              break; // stop searching the remaining columns - begin searching for the next file
-            }
-          }
-
+      if (resource != null && matcher.matches(resource, regexMatcher)) {
+        fileList.changeSelection(i);
+        if (firstMatchOnly) {
+          WSPopup.showMessage("Search_MatchFound", true);
+          TaskProgressManager.stopTask();
+          return;
         }
       }
     }
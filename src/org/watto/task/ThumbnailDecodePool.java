@@ -0,0 +1,224 @@
+/*
+ * Application:  Game Extractor
+ * Author:       wattostudios
+ * Website:      http://www.watto.org
+ * Copyright:    Copyright (c) 2002-2025 wattostudios
+ *
+ * License Information:
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * published by the Free Software Foundation; either version 2 of the License, or (at your option) any later versions. This
+ * program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranties
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License at http://www.gnu.org for more
+ * details. For further information on this application, refer to the authors' website.
+ */
+
+
+package org.watto.task;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+
+import org.watto.ErrorLogger;
+import org.watto.Settings;
+import org.watto.datatype.BlankImageResource;
+import org.watto.datatype.Resource;
+
+/**
+**********************************************************************************************
+Generates thumbnails on a pool of worker threads, rather than on the Swing Event Dispatch Thread,
+so the interface doesn't freeze while scrolling through an archive. The thumbnails closest to the
+visible rows of the table are generated first. Thumbnails that have been scrolled well out of
+view are cancelled before they start, and are queued again if they're scrolled back into view.
+The number of worker threads is set by the ThumbnailDecodeThreads setting (0 to generate the
+thumbnails on the Event Dispatch Thread instead). It defaults to 1, because each thumbnail is
+extracted and decoded while holding the PreviewPrefetcher.EXPORT_LOCK (see Task_LoadThumbnailLater),
+so more threads only gain from reading the thumbnails that are stored in the ThumbnailDiskCache.
+**********************************************************************************************
+**/
+public class ThumbnailDecodePool {
+
+  /** The thumbnails waiting to be generated **/
+  static ArrayList<Task_LoadThumbnailLater> pending = new ArrayList<Task_LoadThumbnailLater>();
+
+  static Thread[] workers = null;
+
+  /** The rows of the table that are currently visible **/
+  static int firstVisibleRow = 0;
+
+  static int lastVisibleRow = 0;
+
+  static long cancelled = 0;
+
+  /**
+  **********************************************************************************************
+  Cancels all the thumbnails that haven't started yet, such as when the table is reloaded
+  **********************************************************************************************
+  **/
+  public static synchronized void cancelAll() {
+    for (int i = 0; i < pending.size(); i++) {
+      cancel(pending.get(i));
+    }
+    pending.clear();
+  }
+
+  /**
+  **********************************************************************************************
+  Removes the placeholder thumbnail, so the thumbnail is queued again when it is next painted
+  **********************************************************************************************
+  **/
+  static void cancel(Task_LoadThumbnailLater task) {
+    Resource resource = task.getResource();
+    if (resource.getImageResource() instanceof BlankImageResource) {
+      resource.setImageResource(null);
+    }
+    cancelled++;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized long getCancelledCount() {
+    return cancelled;
+  }
+
+  /**
+  **********************************************************************************************
+  How far the <i>row</i> is from the visible rows (0 if it's visible)
+  **********************************************************************************************
+  **/
+  static int getDistance(int row) {
+    if (row < firstVisibleRow) {
+      return firstVisibleRow - row;
+    }
+    else if (row > lastVisibleRow) {
+      return row - lastVisibleRow;
+    }
+    return 0;
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  public static synchronized int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+  **********************************************************************************************
+  Whether thumbnails should be generated in this pool, or on the Event Dispatch Thread
+  **********************************************************************************************
+  **/
+  public static boolean isEnabled() {
+    return Settings.getInt("ThumbnailDecodeThreads") > 0;
+  }
+
+  /**
+  **********************************************************************************************
+  Sets the rows of the table that are currently visible, so the closest thumbnails are generated
+  first
+  **********************************************************************************************
+  **/
+  public static synchronized void setVisibleRows(int firstRow, int lastRow) {
+    firstVisibleRow = firstRow;
+    lastVisibleRow = Math.max(firstRow, lastRow);
+  }
+
+  /**
+  **********************************************************************************************
+  
+  **********************************************************************************************
+  **/
+  static synchronized void startWorkers() {
+    if (workers != null) {
+      return;
+    }
+
+    int threadCount = Settings.getInt("ThumbnailDecodeThreads");
+    if (threadCount < 1) {
+      threadCount = 1;
+    }
+
+    workers = new Thread[threadCount];
+    for (int i = 0; i < threadCount; i++) {
+      workers[i] = new Thread(new Runnable() {
+
+        @Override
+        public void run() {
+          while (true) {
+            try {
+              take().run();
+            }
+            catch (InterruptedException e) {
+              return;
+            }
+            catch (Throwable t) {
+              ErrorLogger.log(t);
+            }
+          }
+        }
+      }, "ThumbnailDecodePool " + (i + 1));
+      workers[i].setDaemon(true);
+      workers[i].setPriority(Thread.NORM_PRIORITY - 1);
+      workers[i].start();
+    }
+  }
+
+  /**
+  **********************************************************************************************
+  Queues a thumbnail to be generated
+  **********************************************************************************************
+  **/
+  public static synchronized void submit(Task_LoadThumbnailLater task) {
+    startWorkers();
+    pending.add(task);
+    ThumbnailDecodePool.class.notify();
+  }
+
+  /**
+  **********************************************************************************************
+  Waits for the next thumbnail to generate, which is the one closest to the visible rows. Any
+  thumbnails that are more than 2 screens away from the visible rows are cancelled.
+  **********************************************************************************************
+  **/
+  static synchronized Task_LoadThumbnailLater take() throws InterruptedException {
+    while (true) {
+      int keepDistance = Math.max(4, (lastVisibleRow - firstVisibleRow + 1) * 2);
+
+      Task_LoadThumbnailLater closestTask = null;
+      int closestIndex = -1;
+      int closestDistance = Integer.MAX_VALUE;
+
+      int index = 0;
+      Iterator<Task_LoadThumbnailLater> iterator = pending.iterator();
+      while (iterator.hasNext()) {
+        Task_LoadThumbnailLater task = iterator.next();
+        int distance = getDistance(task.getTableCellRow());
+        if (distance > keepDistance) {
+          // scrolled away, so don't generate it now
+          iterator.remove();
+          cancel(task);
+          continue;
+        }
+
+        if (distance < closestDistance) {
+          closestTask = task;
+          closestIndex = index;
+          closestDistance = distance;
+        }
+        index++;
+      }
+
+      if (closestTask != null) {
+        pending.remove(closestIndex);
+        return closestTask;
+      }
+
+      ThumbnailDecodePool.class.wait();
+    }
+  }
+
+}